@@ -326,6 +326,7 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 		private int maxCallbackAnalysisDepth = -1;
 		private boolean serializeCallbacks = false;
 		private String callbacksFile = "";
+		private boolean reuseCallgraph = false;
 
 		/**
 		 * Copies the settings of the given configuration into this configuration object
@@ -341,6 +342,7 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 			this.maxCallbackAnalysisDepth = cbConfig.maxCallbackAnalysisDepth;
 			this.serializeCallbacks = cbConfig.serializeCallbacks;
 			this.callbacksFile = cbConfig.callbacksFile;
+			this.reuseCallgraph = cbConfig.reuseCallgraph;
 		}
 
 		/**
@@ -517,6 +519,35 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 			this.callbacksFile = callbacksFile;
 		}
 
+		/**
+		 * Gets whether the callback analysis shall skip the callgraph construction in
+		 * iterations in which the inputs of the dummy main method have not changed
+		 * 
+		 * @return True to skip the callgraph construction if the dummy main method is
+		 *         unchanged, false to rebuild the callgraph in every iteration
+		 */
+		public boolean getReuseCallgraph() {
+			return reuseCallgraph;
+		}
+
+		/**
+		 * Sets whether the callback analysis shall skip the callgraph construction in
+		 * iterations in which the inputs of the dummy main method have not changed.
+		 * The dummy main method and thus the callgraph would be the same, so this
+		 * saves a callgraph construction without changing the results. This only
+		 * happens if the previous iteration continued because the callgraph had
+		 * grown, but did not find any new callbacks, components or fragments. As
+		 * soon as the inputs change, the callgraph is rebuilt from scratch, i.e.,
+		 * this option does not extend an existing callgraph incrementally.
+		 * 
+		 * @param reuseCallgraph True to skip the callgraph construction if the dummy
+		 *                       main method is unchanged, false to rebuild the
+		 *                       callgraph in every iteration
+		 */
+		public void setReuseCallgraph(boolean reuseCallgraph) {
+			this.reuseCallgraph = reuseCallgraph;
+		}
+
 		@Override
 		public int hashCode() {
 			final int prime = 31;
@@ -528,6 +559,7 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 			result = prime * result + (filterThreadCallbacks ? 1231 : 1237);
 			result = prime * result + maxCallbackAnalysisDepth;
 			result = prime * result + maxCallbacksPerComponent;
+			result = prime * result + (reuseCallgraph ? 1231 : 1237);
 			result = prime * result + (serializeCallbacks ? 1231 : 1237);
 			return result;
 		}
@@ -558,6 +590,8 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 				return false;
 			if (maxCallbacksPerComponent != other.maxCallbacksPerComponent)
 				return false;
+			if (reuseCallgraph != other.reuseCallgraph)
+				return false;
 			if (serializeCallbacks != other.serializeCallbacks)
 				return false;
 			return true;
@@ -706,6 +740,8 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 	private final AnalysisFileConfiguration analysisFileConfig = new AnalysisFileConfiguration();
 
 	private boolean mergeDexFiles = false;
+	private boolean lazyResourceDecoding = false;
+	private boolean parallelLayoutParsing = false;
 	private static boolean createActivityEntryMethods = true;
 
 	public InfoflowAndroidConfiguration() {
@@ -731,6 +767,8 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 			this.analysisFileConfig.merge(androidConfig.analysisFileConfig);
 
 			this.mergeDexFiles = androidConfig.mergeDexFiles;
+			this.lazyResourceDecoding = androidConfig.lazyResourceDecoding;
+			this.parallelLayoutParsing = androidConfig.parallelLayoutParsing;
 			this.createActivityEntryMethods = androidConfig.createActivityEntryMethods;
 		}
 	}
@@ -816,6 +854,54 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 		this.mergeDexFiles = mergeDexFiles;
 	}
 
+	/**
+	 * Gets whether FlowDroid shall only decode the entries of the app's resource
+	 * file when they are first accessed
+	 * 
+	 * @return True if FlowDroid shall decode the resources on demand, false if it
+	 *         shall decode all resources upfront
+	 */
+	public boolean getLazyResourceDecoding() {
+		return this.lazyResourceDecoding;
+	}
+
+	/**
+	 * Sets whether FlowDroid shall only decode the entries of the app's resource
+	 * file when they are first accessed. This saves time and memory on apps with
+	 * many resources, because only few of them are usually needed.
+	 * 
+	 * @param lazyResourceDecoding True if FlowDroid shall decode the resources on
+	 *                             demand, false if it shall decode all resources
+	 *                             upfront
+	 */
+	public void setLazyResourceDecoding(boolean lazyResourceDecoding) {
+		this.lazyResourceDecoding = lazyResourceDecoding;
+	}
+
+	/**
+	 * Gets whether FlowDroid shall decode the layout XML files of the app in
+	 * parallel
+	 * 
+	 * @return True if FlowDroid shall decode the layout files in parallel, false
+	 *         if it shall decode them one after the other
+	 */
+	public boolean getParallelLayoutParsing() {
+		return this.parallelLayoutParsing;
+	}
+
+	/**
+	 * Sets whether FlowDroid shall decode the layout XML files of the app in
+	 * parallel. The number of threads is bounded by the maximum number of threads
+	 * of the analysis. The results do not depend on this option.
+	 * 
+	 * @param parallelLayoutParsing True if FlowDroid shall decode the layout files
+	 *                              in parallel, false if it shall decode them one
+	 *                              after the other
+	 */
+	public void setParallelLayoutParsing(boolean parallelLayoutParsing) {
+		this.parallelLayoutParsing = parallelLayoutParsing;
+	}
+
 	/**
 	 * Gets if Flowdroid should create new Methods when creating the Activity Entry
 	 * point
@@ -844,8 +930,10 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 		result = prime * result + ((analysisFileConfig == null) ? 0 : analysisFileConfig.hashCode());
 		result = prime * result + ((callbackConfig == null) ? 0 : callbackConfig.hashCode());
 		result = prime * result + ((iccConfig == null) ? 0 : iccConfig.hashCode());
+		result = prime * result + (lazyResourceDecoding ? 1231 : 1237);
 		result = prime * result + (mergeDexFiles ? 1231 : 1237);
 		result = prime * result + (oneComponentAtATime ? 1231 : 1237);
+		result = prime * result + (parallelLayoutParsing ? 1231 : 1237);
 		result = prime * result + ((sourceSinkConfig == null) ? 0 : sourceSinkConfig.hashCode());
 		return result;
 	}
@@ -874,10 +962,14 @@ public class InfoflowAndroidConfiguration extends InfoflowConfiguration {
 				return false;
 		} else if (!iccConfig.equals(other.iccConfig))
 			return false;
+		if (lazyResourceDecoding != other.lazyResourceDecoding)
+			return false;
 		if (mergeDexFiles != other.mergeDexFiles)
 			return false;
 		if (oneComponentAtATime != other.oneComponentAtATime)
 			return false;
+		if (parallelLayoutParsing != other.parallelLayoutParsing)
+			return false;
 		if (sourceSinkConfig == null) {
 			if (other.sourceSinkConfig != null)
 				return false;
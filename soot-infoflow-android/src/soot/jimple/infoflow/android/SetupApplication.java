@@ -157,6 +157,8 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 
 	protected IInPlaceInfoflow infoflow = null;
 
+	protected int callgraphConstructionCount = 0;
+
 	/**
 	 * Class for aggregating the data flow results obtained through multiple runs of
 	 * the data flow solver.
@@ -377,6 +379,26 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 		return entrypoints;
 	}
 
+	/**
+	 * Gets the callback methods that have been collected for the components of the
+	 * app
+	 * 
+	 * @return The callback methods per component
+	 */
+	public MultiMap<SootClass, AndroidCallbackDefinition> getCallbackMethods() {
+		return callbackMethods;
+	}
+
+	/**
+	 * Gets the number of times that this instance has run Soot's callgraph
+	 * construction, including all iterations of the callback analysis
+	 * 
+	 * @return The number of callgraph constructions
+	 */
+	public int getCallgraphConstructionCount() {
+		return callgraphConstructionCount;
+	}
+
 	/**
 	 * Prints list of classes containing entry points to stdout
 	 */
@@ -433,6 +455,7 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 		// Parse the resource file
 		long beforeARSC = System.nanoTime();
 		this.resources = new ARSCFileParser();
+		this.resources.setLazyDecoding(config.getLazyResourceDecoding());
 		this.resources.parse(targetAPK.getAbsolutePath());
 		logger.info("ARSC file parsing took " + (System.nanoTime() - beforeARSC) / 1E9 + " seconds");
 
@@ -570,7 +593,13 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 	 * @return The newly created layout file parser.
 	 */
 	protected LayoutFileParser createLayoutFileParser() {
-		return new LayoutFileParser(this.manifest.getPackageName(), this.resources);
+		LayoutFileParser lfp = new LayoutFileParser(this.manifest.getPackageName(), this.resources);
+		if (config.getParallelLayoutParsing()) {
+			int numThreads = Runtime.getRuntime().availableProcessors();
+			lfp.setThreadCount(
+					config.getMaxThreadNum() == -1 ? numThreads : Math.min(config.getMaxThreadNum(), numThreads));
+		}
+		return lfp;
 	}
 
 	/**
@@ -636,6 +665,7 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 
 		// Construct the actual callgraph
 		logger.info("Constructing the callgraph...");
+		callgraphConstructionCount++;
 		PackManager.v().getPack("cg").apply();
 		CallGraph cg = Scene.v().getCallGraph();
 
@@ -725,6 +755,7 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 			int depthIdx = 0;
 			boolean hasChanged = true;
 			boolean isInitial = true;
+			DummyMainInputs callgraphInputs = null;
 			while (hasChanged) {
 				hasChanged = false;
 
@@ -734,8 +765,19 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 						break;
 				}
 
+				// If the dummy main method would be the same as in the last
+				// iteration, we can keep the callgraph we already have. This is the
+				// case if the last iteration only continued because the callgraph
+				// had grown, but did not find any new callbacks, components or
+				// fragments. If anything has changed, the callgraph is built from
+				// scratch. There is no incremental extension of an existing
+				// callgraph.
+				DummyMainInputs inputs = callbackConfig.getReuseCallgraph() ? new DummyMainInputs(component) : null;
+				boolean reuseCallgraph = inputs != null && inputs.equals(callgraphInputs) && Scene.v().hasCallGraph();
+
 				// Create the new iteration of the main method
-				createMainMethod(component);
+				if (!reuseCallgraph)
+					createMainMethod(component);
 
 				int numPrevEdges = 0;
 				if (Scene.v().hasCallGraph()) {
@@ -752,7 +794,8 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 
 				if (!isInitial) {
 					// Reset the callgraph
-					releaseCallgraph();
+					if (!reuseCallgraph)
+						releaseCallgraph();
 
 					// We only want to parse the layout files once
 					PackManager.v().getPack("wjtp").remove("wjtp.lfp");
@@ -760,7 +803,12 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 				isInitial = false;
 
 				// Run the soot-based operations
-				constructCallgraphInternal();
+				if (reuseCallgraph)
+					logger.info("Dummy main method has not changed, reusing the existing callgraph");
+				else {
+					constructCallgraphInternal();
+					callgraphInputs = inputs;
+				}
 				if (!Scene.v().hasCallGraph())
 					throw new RuntimeException("No callgraph in Scene even after creating one. That's very sad "
 							+ "and should never happen.");
@@ -1012,7 +1060,7 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 					Set<AndroidLayoutControl> controls = lfp.getUserControls().get(layoutFileName);
 					if (controls != null) {
 						for (AndroidLayoutControl lc : controls) {
-							if (!SystemClassHandler.v().isClassInSystemPackage(lc.getViewClass().getName()))
+							if (!SystemClassHandler.v().isClassInSystemPackage(lc.getViewClass()))
 								hasNewCallback |= registerCallbackMethodsForView(callbackClass, lc);
 						}
 					}
@@ -1088,7 +1136,7 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 	 */
 	private boolean registerCallbackMethodsForView(SootClass callbackClass, AndroidLayoutControl lc) {
 		// Ignore system classes
-		if (SystemClassHandler.v().isClassInSystemPackage(callbackClass.getName()))
+		if (SystemClassHandler.v().isClassInSystemPackage(callbackClass))
 			return false;
 
 		// Get common Android classes
@@ -1777,6 +1825,22 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 			entryPointCreator.reset();
 		}
 
+		entryPointCreator.setCallbackFunctions(getCallbackTargets(component, components));
+		entryPointCreator.setFragments(fragmentClasses);
+		entryPointCreator.setComponents(components);
+		return entryPointCreator;
+	}
+
+	/**
+	 * Gets the target methods of the callbacks that the dummy main method shall
+	 * invoke
+	 * 
+	 * @param component  The component for which to create the dummy main method,
+	 *                   or null to create the dummy main method for all components
+	 * @param components The components to analyze
+	 * @return The target methods of the callbacks per component
+	 */
+	private MultiMap<SootClass, SootMethod> getCallbackTargets(SootClass component, Set<SootClass> components) {
 		MultiMap<SootClass, SootMethod> callbackMethodSigs = new HashMultiMap<>();
 		if (component == null) {
 			// Get all callbacks for all components
@@ -1795,10 +1859,56 @@ public class SetupApplication implements ITaintWrapperDataFlowAnalysis {
 						callbackMethodSigs.put(sc, cd.getTargetMethod());
 			}
 		}
-		entryPointCreator.setCallbackFunctions(callbackMethodSigs);
-		entryPointCreator.setFragments(fragmentClasses);
-		entryPointCreator.setComponents(components);
-		return entryPointCreator;
+		return callbackMethodSigs;
+	}
+
+	/**
+	 * Snapshot of everything that goes into the dummy main method. If the inputs
+	 * are the same, the dummy main method and thus the callgraph are the same as
+	 * well.
+	 */
+	private class DummyMainInputs {
+
+		private final Set<SootClass> components;
+		private final Map<SootClass, Set<SootMethod>> callbackTargets;
+		private final Map<SootClass, Set<SootClass>> fragments;
+
+		private DummyMainInputs(SootClass component) {
+			this.components = new HashSet<>(getComponentsToAnalyze(component));
+			this.callbackTargets = copyMultiMap(getCallbackTargets(component, components));
+			this.fragments = copyMultiMap(fragmentClasses);
+		}
+
+		private <K, V> Map<K, Set<V>> copyMultiMap(MultiMap<K, V> original) {
+			Map<K, Set<V>> copy = new HashMap<>();
+			for (K key : original.keySet())
+				copy.put(key, new HashSet<>(original.get(key)));
+			return copy;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + callbackTargets.hashCode();
+			result = prime * result + components.hashCode();
+			result = prime * result + fragments.hashCode();
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			DummyMainInputs other = (DummyMainInputs) obj;
+			return callbackTargets.equals(other.callbackTargets) && components.equals(other.components)
+					&& fragments.equals(other.fragments);
+		}
+
 	}
 
 	/**
@@ -12,6 +12,7 @@ import soot.Scene;
 import soot.SootClass;
 import soot.SootField;
 import soot.jimple.infoflow.android.axml.parsers.AXML20Parser;
+import soot.jimple.infoflow.android.axml.parsers.IBinaryXMLEventHandler;
 import soot.jimple.infoflow.android.axml.parsers.IBinaryXMLFileParser;
 import soot.tagkit.IntegerConstantValueTag;
 import soot.tagkit.Tag;
@@ -55,35 +56,61 @@ public class AXmlHandler {
 		if (aXmlIs == null)
 			throw new RuntimeException("NULL input stream for AXmlHandler");
 
+		// read xml one time for writing the output later on
+		this.xml = readFully(aXmlIs);
+		parser.parseFile(this.xml);
+		this.parser = parser;
+	}
+
+	/**
+	 * Parses the binary XML file from the given {@link InputStream} and reports
+	 * its elements to the given handler. Other than the constructor, this method
+	 * does not build a document tree.
+	 * 
+	 * @param	aXmlIs					InputStream reading a byte compressed android xml file
+	 * @param	parser					The parser implementation to be used
+	 * @param	handler					The handler that receives the elements
+	 * @throws	IOException				if an I/O error occurs.
+	 */
+	public static void parse(InputStream aXmlIs, IBinaryXMLFileParser parser, IBinaryXMLEventHandler handler)
+			throws IOException {
+		if (aXmlIs == null)
+			throw new RuntimeException("NULL input stream for AXmlHandler");
+		parser.parseFile(readFully(aXmlIs), handler);
+	}
+
+	/**
+	 * Reads the complete contents of the given {@link InputStream}
+	 * 
+	 * @param	aXmlIs					InputStream reading a byte compressed android xml file
+	 * @return	The contents of the stream
+	 * @throws	IOException				if an I/O error occurs.
+	 */
+	private static byte[] readFully(InputStream aXmlIs) throws IOException {
 		// wrap the InputStream within a BufferedInputStream
 		// to have mark() and reset() methods
 		BufferedInputStream buffer = new BufferedInputStream(aXmlIs);
 
-		// read xml one time for writing the output later on
-		{
-			List<byte[]> chunks = new ArrayList<byte[]>();
-			int bytesRead = 0;
-			while (aXmlIs.available() > 0) {
-				byte[] nextChunk = new byte[aXmlIs.available()];
-				int chunkSize = buffer.read(nextChunk);
-				if (chunkSize < 0)
-					break;
-				chunks.add(nextChunk);
-				bytesRead += chunkSize;
-			}
-
-			// Create the full array
-			this.xml = new byte[bytesRead];
-			int bytesCopied = 0;
-			for (byte[] chunk : chunks) {
-				int toCopy = Math.min(chunk.length, bytesRead - bytesCopied);
-				System.arraycopy(chunk, 0, this.xml, bytesCopied, toCopy);
-				bytesCopied += toCopy;
-			}
+		List<byte[]> chunks = new ArrayList<byte[]>();
+		int bytesRead = 0;
+		while (aXmlIs.available() > 0) {
+			byte[] nextChunk = new byte[aXmlIs.available()];
+			int chunkSize = buffer.read(nextChunk);
+			if (chunkSize < 0)
+				break;
+			chunks.add(nextChunk);
+			bytesRead += chunkSize;
 		}
 
-		parser.parseFile(this.xml);
-		this.parser = parser;
+		// Create the full array
+		byte[] xml = new byte[bytesRead];
+		int bytesCopied = 0;
+		for (byte[] chunk : chunks) {
+			int toCopy = Math.min(chunk.length, bytesRead - bytesCopied);
+			System.arraycopy(chunk, 0, xml, bytesCopied, toCopy);
+			bytesCopied += toCopy;
+		}
+		return xml;
 	}
 
 	/**
@@ -5,21 +5,18 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
-import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.google.common.io.Files;
 
+import soot.jimple.infoflow.android.resources.ApkContainer;
+
 /**
  * Provides access to the files within an APK and can add and replace files.
  * 
@@ -27,19 +24,18 @@ import com.google.common.io.Files;
  */
 public class ApkHandler implements AutoCloseable {
 
-	private final Logger logger = LoggerFactory.getLogger(getClass());
-
 	/**
 	 * The handled APK file.
 	 */
 	protected File apk;
 
 	/**
-	 * Pointer to the ZipFile. If an InputStream for a file within the ZipFile is
-	 * returned by {@link ApkHandler#getInputStream(String)} the ZipFile object has
-	 * to remain available in order to read the InputStream.
+	 * The shared view on the files within the APK. It is only opened when the
+	 * first file is requested and must be released through {@link #close()}.
+	 * Streams obtained from this handler must not be used after it has been
+	 * closed.
 	 */
-	protected ZipFile zip;
+	protected ApkContainer container;
 
 	/**
 	 * @param path the APK's path
@@ -99,24 +95,10 @@ public class ApkHandler implements AutoCloseable {
 	 * @throws IOException if an I/O error occurs.
 	 */
 	public InputStream getInputStream(String filename) throws IOException {
-		InputStream is = null;
-
-		// check if zip file is already opened
-		if (this.zip == null)
-			this.zip = new ZipFile(this.apk);
-
-		// search for file with given filename
-		Enumeration<?> entries = this.zip.entries();
-		while (entries.hasMoreElements()) {
-			ZipEntry entry = (ZipEntry) entries.nextElement();
-			String entryName = entry.getName();
-			if (entryName.equals(filename)) {
-				is = this.zip.getInputStream(entry);
-				break;
-			}
-		}
-
-		return is;
+		// check if the apk file is already opened
+		if (this.container == null)
+			this.container = ApkContainer.open(this.apk);
+		return this.container.getInputStream(filename);
 	}
 
 	/**
@@ -137,11 +119,11 @@ public class ApkHandler implements AutoCloseable {
 	 * @throws IOException if an I/O error occurs.
 	 */
 	public void addFilesToApk(List<File> files, Map<String, String> paths) throws IOException {
-		// close zip file to rename apk
-		if (this.zip != null) {
-			this.zip.close();
-			this.zip = null;
-		}
+		// release the shared view on the apk, because we are going to replace the
+		// file. Some operating systems do not allow us to rename a file that is
+		// still mapped.
+		close();
+		boolean released = ApkContainer.invalidate(this.apk);
 
 		// add missing paths to directories parameter
 		for (File file : files) {
@@ -160,9 +142,9 @@ public class ApkHandler implements AutoCloseable {
 			try {
 				Files.move(this.apk, tempFile);
 			} catch (IOException ex) {
-				throw new IOException(
-						"could not rename the file " + this.apk.getAbsolutePath() + " to " + tempFile.getAbsolutePath(),
-						ex);
+				throw new IOException("could not rename the file " + this.apk.getAbsolutePath() + " to "
+						+ tempFile.getAbsolutePath()
+						+ (released ? "" : ", the file is still opened by another parser"), ex);
 			}
 		}
 
@@ -230,14 +212,11 @@ public class ApkHandler implements AutoCloseable {
 	/**
 	 * Closes this apk file
 	 */
+	@Override
 	public void close() {
-		if (this.zip != null) {
-			try {
-				this.zip.close();
-			} catch (IOException e) {
-				logger.error("Could not close apk file", e);
-			}
-			this.zip = null;
+		if (this.container != null) {
+			this.container.close();
+			this.container = null;
 		}
 	}
 
@@ -30,6 +30,28 @@ public class AXML20Parser extends AbstractBinaryXMLFileParser {
 	private final Map<Integer, String> idToNameMap = new HashMap<>();
 	private static final Map<Integer, String> ANDROID_CONSTANTS = new HashMap<>();
 
+	private final Map<Integer, String> attributeNames;
+
+	/**
+	 * Creates a new parser that looks up unnamed attributes in the Soot scene
+	 */
+	public AXML20Parser() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new parser that looks up unnamed attributes in the given map
+	 * instead of the Soot scene. Such a parser does not access the Soot scene
+	 * and can thus run on any thread.
+	 * 
+	 * @param attributeNames The mapping from resource IDs to attribute names,
+	 *                       as created by {@link #loadAttributeNames()}, or null
+	 *                       to look up the attributes in the Soot scene
+	 */
+	public AXML20Parser(Map<Integer, String> attributeNames) {
+		this.attributeNames = attributeNames;
+	}
+
 	private class MyNodeVisitor extends AxmlVisitor {
 
 		public final AXmlNode node;
@@ -47,154 +69,7 @@ public class AXML20Parser extends AbstractBinaryXMLFileParser {
 			if (this.node == null)
 				throw new RuntimeException("NULL nodes cannot have attributes");
 
-			String tname = name;
-
-			// If we have no node name, we use the resourceId to look up the
-			// attribute in the android.R.attr class.
-			if (tname == null || tname.isEmpty())
-				tname = idToNameMap.get(resourceId);
-
-			if (tname == null) {
-				try {
-					SootClass rClass = Scene.v().forceResolve("android.R$attr", SootClass.BODIES);
-					if (rClass != null && !rClass.isPhantom()) {
-						outer: for (SootField sf : rClass.getFields())
-							for (Tag t : sf.getTags())
-								if (t instanceof IntegerConstantValueTag) {
-									IntegerConstantValueTag cvt = (IntegerConstantValueTag) t;
-									if (cvt.getIntValue() == resourceId) {
-										tname = sf.getName();
-										idToNameMap.put(resourceId, tname);
-										// fake the Android namespace
-										ns = "http://schemas.android.com/apk/res/android";
-										break outer;
-									}
-									break;
-								}
-					}
-				} catch (SootClassNotFoundException ex) {
-					// We try the next option
-				}
-			}
-
-			// Check the well-known resource IDs
-			if (tname == null) {
-				tname = ANDROID_CONSTANTS.get(resourceId);
-			}
-
-			// If we have nothing better, we use the resource ID
-			if (tname == null && resourceId > 0)
-				tname = String.valueOf(resourceId);
-
-			if (tname == null) {
-				// Without a tag name, we cannot continue
-				return;
-			}
-
-			// Avoid whitespaces
-			tname = tname.trim();
-
-			// Read out the field data
-			if (type == AXmlConstants.TYPE_REFERENCE || type == AXmlConstants.TYPE_INT_HEX
-					|| type == AXmlConstants.TYPE_INT_DEC) {
-				if (obj instanceof Integer)
-					this.node.addAttribute(
-							new AXmlAttribute<Integer>(tname, resourceId, type, (Integer) obj, ns, false));
-				else if (obj instanceof ValueWrapper) {
-					ValueWrapper wrapper = (ValueWrapper) obj;
-
-					if (wrapper.raw != null)
-						this.node.addAttribute(
-								new AXmlAttribute<String>(tname, resourceId, type, wrapper.raw, ns, false));
-					else if (wrapper.type == ValueWrapper.ID) {
-						this.node.addAttribute(
-								new AXmlAttribute<Integer>(tname, resourceId, type, wrapper.ref, ns, false));
-					}
-				} else
-					throw new RuntimeException("Unsupported value type");
-			} else if (type == AXmlConstants.TYPE_STRING) {
-				if (obj instanceof String)
-					this.node.addAttribute(new AXmlAttribute<String>(tname, resourceId, type, (String) obj, ns, false));
-				else if (obj instanceof ValueWrapper) {
-					ValueWrapper wrapper = (ValueWrapper) obj;
-					this.node.addAttribute(new AXmlAttribute<String>(tname, resourceId, type, wrapper.raw, ns, false));
-				} else
-					throw new RuntimeException("Unsupported value type");
-			} else if (type == AXmlConstants.TYPE_INT_BOOLEAN) {
-				if (obj instanceof Boolean)
-					this.node.addAttribute(
-							new AXmlAttribute<Boolean>(tname, resourceId, type, (Boolean) obj, ns, false));
-				else if (obj instanceof ValueWrapper) {
-					ValueWrapper wrapper = (ValueWrapper) obj;
-					this.node.addAttribute(new AXmlAttribute<Boolean>(tname, resourceId, type,
-							Boolean.valueOf(wrapper.raw), ns, false));
-				} else
-					throw new RuntimeException("Unsupported value type");
-			} else if (type == AXmlConstants.TYPE_FLOAT) {
-				if (obj instanceof Integer) {
-					float floatVal = Float.intBitsToFloat((Integer) obj);
-					this.node.addAttribute(new AXmlAttribute<Float>(tname, resourceId, type, floatVal, ns, false));
-				} else
-					throw new RuntimeException("Unsupported value type");
-			} else if (type == AXmlConstants.TYPE_DIMENSION) {
-				if (obj instanceof Integer) {
-					int x = (Integer) obj;
-					AXmlComplexValue complexValue = AXmlComplexValue.parseComplexValue(x);
-					if (complexValue.getInt() != x)
-						throw new RuntimeException("Miscalculated: Original complex values is " + x
-								+ "; reinterpreted is " + complexValue.getInt());
-					this.node.addAttribute(
-							new AXmlAttribute<AXmlComplexValue>(tname, resourceId, type, complexValue, ns, false));
-				} else
-					throw new RuntimeException("Unsupported value type");
-			} else if (type == AXmlConstants.TYPE_INT_COLOR_ARGB8) {
-				if (obj instanceof Integer) {
-					int color = (Integer) obj;
-					int bb = color & 0x000000FF;
-					int gg = (color & 0x0000FF00) >> 8;
-					int rr = (color & 0x00FF0000) >> 16;
-					int aa = (color & 0xFF000000) >> 24;
-					AXmlColorValue colorVal = new AXmlColorValue(aa, rr, gg, bb);
-					this.node.addAttribute(
-							new AXmlAttribute<AXmlColorValue>(tname, resourceId, type, colorVal, ns, false));
-				} else
-					throw new RuntimeException("Unsupported value type");
-			} else if (type == AXmlConstants.TYPE_INT_COLOR_ARGB4) {
-				if (obj instanceof Integer) {
-					int color = (Integer) obj;
-					int b = color & 0x000F << 4;
-					int g = (color & 0x00F0);
-					int r = (color & 0x0F00) >> 4;
-					int a = (color & 0xF000) >> 8;
-					AXmlColorValue colorVal = new AXmlColorValue(a, r, g, b);
-					this.node.addAttribute(
-							new AXmlAttribute<AXmlColorValue>(tname, resourceId, type, colorVal, ns, false));
-				} else
-					throw new RuntimeException("Unsupported value type");
-			} else if (type == AXmlConstants.TYPE_INT_COLOR_RGB8) {
-				if (obj instanceof Integer) {
-					int color = (Integer) obj;
-					int bb = color & 0x000000FF;
-					int gg = (color & 0x0000FF00) >> 8;
-					int rr = (color & 0x00FF0000) >> 16;
-					AXmlColorValue colorVal = new AXmlColorValue(rr, gg, bb);
-					this.node.addAttribute(
-							new AXmlAttribute<AXmlColorValue>(tname, resourceId, type, colorVal, ns, false));
-				} else
-					throw new RuntimeException("Unsupported value type");
-			} else if (type == AXmlConstants.TYPE_INT_COLOR_RGB4) {
-				if (obj instanceof Integer) {
-					int color = (Integer) obj;
-					int b = color & 0x000F << 4;
-					int g = (color & 0x00F0);
-					int r = (color & 0x0F00) >> 4;
-					AXmlColorValue colorVal = new AXmlColorValue(r, g, b);
-					this.node.addAttribute(
-							new AXmlAttribute<AXmlColorValue>(tname, resourceId, type, colorVal, ns, false));
-				} else
-					throw new RuntimeException("Unsupported value type");
-			}
-
+			addAttribute(this.node, ns, name, resourceId, type, obj);
 			super.attr(ns, name, resourceId, type, obj);
 		}
 
@@ -224,12 +99,279 @@ public class AXML20Parser extends AbstractBinaryXMLFileParser {
 
 	}
 
+	/**
+	 * Visitor that reports the elements of the binary XML file to an event
+	 * handler instead of building a document tree. Since the binary format
+	 * stores all attributes of an element before its children, an element is
+	 * reported when its first child or its end is reached.
+	 */
+	private class StreamingNodeVisitor extends AxmlVisitor {
+
+		private final IBinaryXMLEventHandler handler;
+		private final AXmlNode node;
+		private boolean started = false;
+
+		/**
+		 * Creates the visitor for the document itself, which does not correspond
+		 * to an element
+		 * 
+		 * @param handler The handler that receives the elements
+		 */
+		public StreamingNodeVisitor(IBinaryXMLEventHandler handler) {
+			this.handler = handler;
+			this.node = null;
+		}
+
+		public StreamingNodeVisitor(IBinaryXMLEventHandler handler, AXmlNode node) {
+			this.handler = handler;
+			this.node = node;
+		}
+
+		/**
+		 * Reports the current element to the handler if this has not been done
+		 * before
+		 */
+		private void startElement() {
+			if (!started) {
+				started = true;
+				if (node != null)
+					handler.startElement(node);
+			}
+		}
+
+		@Override
+		public void attr(String ns, String name, int resourceId, int type, Object obj) {
+			if (this.node == null)
+				throw new RuntimeException("NULL nodes cannot have attributes");
+
+			addAttribute(this.node, ns, name, resourceId, type, obj);
+		}
+
+		@Override
+		public NodeVisitor child(String ns, String name) {
+			startElement();
+			AXmlNode childNode = new AXmlNode(name == null ? null : name.trim(), ns == null ? null : ns.trim(), null);
+			return new StreamingNodeVisitor(handler, childNode);
+		}
+
+		@Override
+		public void end() {
+			startElement();
+			if (node != null)
+				handler.endElement(node);
+		}
+
+		@Override
+		public void text(int lineNumber, String value) {
+			if (node != null)
+				node.setText(value);
+		}
+
+	}
+
+	/**
+	 * Decodes an attribute of a binary XML element and adds it to the given node
+	 * 
+	 * @param node       The node to which to add the attribute
+	 * @param ns         The namespace of the attribute
+	 * @param name       The name of the attribute
+	 * @param resourceId The resource ID of the attribute name
+	 * @param type       The type of the attribute value
+	 * @param obj        The attribute value
+	 */
+	private void addAttribute(AXmlNode node, String ns, String name, int resourceId, int type, Object obj) {
+		String tname = name;
+
+		// If we have no node name, we use the resourceId to look up the
+		// attribute in the android.R.attr class.
+		if (tname == null || tname.isEmpty())
+			tname = idToNameMap.get(resourceId);
+
+		if (tname == null && attributeNames != null) {
+			tname = attributeNames.get(resourceId);
+			if (tname != null) {
+				idToNameMap.put(resourceId, tname);
+				// fake the Android namespace
+				ns = "http://schemas.android.com/apk/res/android";
+			}
+		} else if (tname == null) {
+			try {
+				SootClass rClass = Scene.v().forceResolve("android.R$attr", SootClass.BODIES);
+				if (rClass != null && !rClass.isPhantom()) {
+					outer: for (SootField sf : rClass.getFields())
+						for (Tag t : sf.getTags())
+							if (t instanceof IntegerConstantValueTag) {
+								IntegerConstantValueTag cvt = (IntegerConstantValueTag) t;
+								if (cvt.getIntValue() == resourceId) {
+									tname = sf.getName();
+									idToNameMap.put(resourceId, tname);
+									// fake the Android namespace
+									ns = "http://schemas.android.com/apk/res/android";
+									break outer;
+								}
+								break;
+							}
+				}
+			} catch (SootClassNotFoundException ex) {
+				// We try the next option
+			}
+		}
+
+		// Check the well-known resource IDs
+		if (tname == null) {
+			tname = ANDROID_CONSTANTS.get(resourceId);
+		}
+
+		// If we have nothing better, we use the resource ID
+		if (tname == null && resourceId > 0)
+			tname = String.valueOf(resourceId);
+
+		if (tname == null) {
+			// Without a tag name, we cannot continue
+			return;
+		}
+
+		// Avoid whitespaces
+		tname = tname.trim();
+
+		// Read out the field data
+		if (type == AXmlConstants.TYPE_REFERENCE || type == AXmlConstants.TYPE_INT_HEX
+				|| type == AXmlConstants.TYPE_INT_DEC) {
+			if (obj instanceof Integer)
+				node.addAttribute(
+						new AXmlAttribute<Integer>(tname, resourceId, type, (Integer) obj, ns, false));
+			else if (obj instanceof ValueWrapper) {
+				ValueWrapper wrapper = (ValueWrapper) obj;
+
+				if (wrapper.raw != null)
+					node.addAttribute(
+							new AXmlAttribute<String>(tname, resourceId, type, wrapper.raw, ns, false));
+				else if (wrapper.type == ValueWrapper.ID) {
+					node.addAttribute(
+							new AXmlAttribute<Integer>(tname, resourceId, type, wrapper.ref, ns, false));
+				}
+			} else
+				throw new RuntimeException("Unsupported value type");
+		} else if (type == AXmlConstants.TYPE_STRING) {
+			if (obj instanceof String)
+				node.addAttribute(new AXmlAttribute<String>(tname, resourceId, type, (String) obj, ns, false));
+			else if (obj instanceof ValueWrapper) {
+				ValueWrapper wrapper = (ValueWrapper) obj;
+				node.addAttribute(new AXmlAttribute<String>(tname, resourceId, type, wrapper.raw, ns, false));
+			} else
+				throw new RuntimeException("Unsupported value type");
+		} else if (type == AXmlConstants.TYPE_INT_BOOLEAN) {
+			if (obj instanceof Boolean)
+				node.addAttribute(
+						new AXmlAttribute<Boolean>(tname, resourceId, type, (Boolean) obj, ns, false));
+			else if (obj instanceof ValueWrapper) {
+				ValueWrapper wrapper = (ValueWrapper) obj;
+				node.addAttribute(new AXmlAttribute<Boolean>(tname, resourceId, type,
+						Boolean.valueOf(wrapper.raw), ns, false));
+			} else
+				throw new RuntimeException("Unsupported value type");
+		} else if (type == AXmlConstants.TYPE_FLOAT) {
+			if (obj instanceof Integer) {
+				float floatVal = Float.intBitsToFloat((Integer) obj);
+				node.addAttribute(new AXmlAttribute<Float>(tname, resourceId, type, floatVal, ns, false));
+			} else
+				throw new RuntimeException("Unsupported value type");
+		} else if (type == AXmlConstants.TYPE_DIMENSION) {
+			if (obj instanceof Integer) {
+				int x = (Integer) obj;
+				AXmlComplexValue complexValue = AXmlComplexValue.parseComplexValue(x);
+				if (complexValue.getInt() != x)
+					throw new RuntimeException("Miscalculated: Original complex values is " + x
+							+ "; reinterpreted is " + complexValue.getInt());
+				node.addAttribute(
+						new AXmlAttribute<AXmlComplexValue>(tname, resourceId, type, complexValue, ns, false));
+			} else
+				throw new RuntimeException("Unsupported value type");
+		} else if (type == AXmlConstants.TYPE_INT_COLOR_ARGB8) {
+			if (obj instanceof Integer) {
+				int color = (Integer) obj;
+				int bb = color & 0x000000FF;
+				int gg = (color & 0x0000FF00) >> 8;
+				int rr = (color & 0x00FF0000) >> 16;
+				int aa = (color & 0xFF000000) >> 24;
+				AXmlColorValue colorVal = new AXmlColorValue(aa, rr, gg, bb);
+				node.addAttribute(
+						new AXmlAttribute<AXmlColorValue>(tname, resourceId, type, colorVal, ns, false));
+			} else
+				throw new RuntimeException("Unsupported value type");
+		} else if (type == AXmlConstants.TYPE_INT_COLOR_ARGB4) {
+			if (obj instanceof Integer) {
+				int color = (Integer) obj;
+				int b = color & 0x000F << 4;
+				int g = (color & 0x00F0);
+				int r = (color & 0x0F00) >> 4;
+				int a = (color & 0xF000) >> 8;
+				AXmlColorValue colorVal = new AXmlColorValue(a, r, g, b);
+				node.addAttribute(
+						new AXmlAttribute<AXmlColorValue>(tname, resourceId, type, colorVal, ns, false));
+			} else
+				throw new RuntimeException("Unsupported value type");
+		} else if (type == AXmlConstants.TYPE_INT_COLOR_RGB8) {
+			if (obj instanceof Integer) {
+				int color = (Integer) obj;
+				int bb = color & 0x000000FF;
+				int gg = (color & 0x0000FF00) >> 8;
+				int rr = (color & 0x00FF0000) >> 16;
+				AXmlColorValue colorVal = new AXmlColorValue(rr, gg, bb);
+				node.addAttribute(
+						new AXmlAttribute<AXmlColorValue>(tname, resourceId, type, colorVal, ns, false));
+			} else
+				throw new RuntimeException("Unsupported value type");
+		} else if (type == AXmlConstants.TYPE_INT_COLOR_RGB4) {
+			if (obj instanceof Integer) {
+				int color = (Integer) obj;
+				int b = color & 0x000F << 4;
+				int g = (color & 0x00F0);
+				int r = (color & 0x0F00) >> 4;
+				AXmlColorValue colorVal = new AXmlColorValue(r, g, b);
+				node.addAttribute(
+						new AXmlAttribute<AXmlColorValue>(tname, resourceId, type, colorVal, ns, false));
+			} else
+				throw new RuntimeException("Unsupported value type");
+		}
+	}
+
+	/**
+	 * Loads the names of all attributes in the android.R.attr class
+	 * 
+	 * @return A mapping from resource IDs to attribute names
+	 */
+	public static Map<Integer, String> loadAttributeNames() {
+		Map<Integer, String> attributeNames = new HashMap<>();
+		try {
+			SootClass rClass = Scene.v().forceResolve("android.R$attr", SootClass.BODIES);
+			if (rClass != null && !rClass.isPhantom()) {
+				for (SootField sf : rClass.getFields())
+					for (Tag t : sf.getTags())
+						if (t instanceof IntegerConstantValueTag) {
+							IntegerConstantValueTag cvt = (IntegerConstantValueTag) t;
+							attributeNames.putIfAbsent(cvt.getIntValue(), sf.getName());
+							break;
+						}
+			}
+		} catch (SootClassNotFoundException ex) {
+			// There are no attribute names we could load
+		}
+		return attributeNames;
+	}
+
 	@Override
 	public void parseFile(byte[] buffer) throws IOException {
 		AxmlReader rdr = new AxmlReader(buffer);
 		rdr.accept(new MyNodeVisitor());
 	}
 
+	@Override
+	public void parseFile(byte[] buffer, IBinaryXMLEventHandler handler) throws IOException {
+		AxmlReader rdr = new AxmlReader(buffer);
+		rdr.accept(new StreamingNodeVisitor(handler));
+	}
+
 	static {
 		ANDROID_CONSTANTS.put(16842858, "absListViewStyle");
 		ANDROID_CONSTANTS.put(16843648, "accessibilityEventTypes");
@@ -0,0 +1,48 @@
+package soot.jimple.infoflow.android.axml.parsers;
+
+import soot.jimple.infoflow.android.axml.AXmlNode;
+
+/**
+ * Handler for streaming the contents of a binary Android XML file. In
+ * streaming mode, the parser does not build a document tree. Instead, it
+ * reports every element to this handler as soon as the element's attributes
+ * have been read.
+ *
+ * @author Steven Arzt
+ */
+public interface IBinaryXMLEventHandler {
+
+	/**
+	 * Called when a new element starts. The given node carries the tag,
+	 * namespace and attributes of the element, but it has neither a parent nor
+	 * children. The parser does not keep any reference to the node.
+	 *
+	 * @param element The element that starts
+	 */
+	public void startElement(AXmlNode element);
+
+	/**
+	 * Called when an element ends, i.e., after all of its children have been
+	 * reported
+	 *
+	 * @param element The element that ends. This is the same node that was
+	 *                previously passed to {@link #startElement(AXmlNode)}.
+	 */
+	public default void endElement(AXmlNode element) {
+	}
+
+	/**
+	 * Reports the given node and all nodes below it to the given handler in
+	 * document order
+	 *
+	 * @param node    The root of the tree to report
+	 * @param handler The handler that receives the nodes
+	 */
+	public static void reportTree(AXmlNode node, IBinaryXMLEventHandler handler) {
+		handler.startElement(node);
+		for (AXmlNode child : node.getChildren())
+			reportTree(child, handler);
+		handler.endElement(node);
+	}
+
+}
@@ -20,6 +20,24 @@ public interface IBinaryXMLFileParser {
 	 */
 	public void parseFile(byte[] buffer) throws IOException;
 
+	/**
+	 * Parses the binary XML file and reports its elements to the given handler.
+	 * Parsers that support streaming override this method to report the elements
+	 * without building a document tree and without updating the document and
+	 * node lists of the parser. The default implementation parses the complete
+	 * document and then reports the nodes of the tree.
+	 *
+	 * @param	buffer					The buffer to be parsed
+	 * @param	handler					The handler that receives the elements
+	 * @throws	IOException				if an I/O error occurs.
+	 */
+	public default void parseFile(byte[] buffer, IBinaryXMLEventHandler handler) throws IOException {
+		parseFile(buffer);
+		AXmlDocument document = getDocument();
+		if (document != null && document.getRootNode() != null)
+			IBinaryXMLEventHandler.reportTree(document.getRootNode(), handler);
+	}
+
 	/**
 	 * Returns the Android XML document.
 	 * 
@@ -288,7 +288,7 @@ public abstract class AbstractCallbackAnalyzer {
 	 */
 	protected void analyzeMethodForCallbackRegistrations(SootClass lifecycleElement, SootMethod method) {
 		// Do not analyze system classes
-		if (SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass().getName()))
+		if (SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass()))
 			return;
 		if (!method.isConcrete())
 			return;
@@ -313,7 +313,7 @@ public abstract class AbstractCallbackAnalyzer {
 						// This call must be to a system API in order to
 						// register an OS-level callback
 						if (!SystemClassHandler.v()
-								.isClassInSystemPackage(iinv.getMethod().getDeclaringClass().getName()))
+								.isClassInSystemPackage(iinv.getMethod().getDeclaringClass()))
 							continue;
 						// We have a formal parameter type that corresponds to one of the Android
 						// callback interfaces. Look for definitions of the parameter to estimate the
@@ -407,7 +407,7 @@ public abstract class AbstractCallbackAnalyzer {
 	 */
 	protected void analyzeMethodForDynamicBroadcastReceiver(SootMethod method) {
 		// Do not analyze system classes
-		if (SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass().getName()))
+		if (SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass()))
 			return;
 		if (!method.isConcrete() || !method.hasActiveBody())
 			return;
@@ -424,7 +424,7 @@ public abstract class AbstractCallbackAnalyzer {
 					Value br = iexpr.getArg(0);
 					if (br.getType() instanceof RefType) {
 						RefType rt = (RefType) br.getType();
-						if (!SystemClassHandler.v().isClassInSystemPackage(rt.getSootClass().getName()))
+						if (!SystemClassHandler.v().isClassInSystemPackage(rt.getSootClass()))
 							dynamicManifestComponents.add(rt.getSootClass());
 					}
 				}
@@ -440,7 +440,7 @@ public abstract class AbstractCallbackAnalyzer {
 	 */
 	protected void analyzeMethodForServiceConnection(SootMethod method) {
 		// Do not analyze system classes
-		if (SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass().getName()))
+		if (SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass()))
 			return;
 		if (!method.isConcrete() || !method.hasActiveBody())
 			return;
@@ -459,7 +459,7 @@ public abstract class AbstractCallbackAnalyzer {
 						for (Type tp : pts.possibleTypes()) {
 							if (tp instanceof RefType) {
 								RefType rt = (RefType) tp;
-								if (!SystemClassHandler.v().isClassInSystemPackage(rt.getSootClass().getName()))
+								if (!SystemClassHandler.v().isClassInSystemPackage(rt.getSootClass()))
 									dynamicManifestComponents.add(rt.getSootClass());
 							}
 						}
@@ -468,7 +468,7 @@ public abstract class AbstractCallbackAnalyzer {
 					// Just to be sure, also add the declared type
 					if (br.getType() instanceof RefType) {
 						RefType rt = (RefType) br.getType();
-						if (!SystemClassHandler.v().isClassInSystemPackage(rt.getSootClass().getName()))
+						if (!SystemClassHandler.v().isClassInSystemPackage(rt.getSootClass()))
 							dynamicManifestComponents.add(rt.getSootClass());
 					}
 				}
@@ -806,7 +806,7 @@ public abstract class AbstractCallbackAnalyzer {
 
 		// Do not start the search in system classes
 		if (config.getIgnoreFlowsInSystemPackages()
-				&& SystemClassHandler.v().isClassInSystemPackage(sootClass.getName()))
+				&& SystemClassHandler.v().isClassInSystemPackage(sootClass))
 			return;
 
 		// There are also some classes that implement interesting callback
@@ -815,7 +815,7 @@ public abstract class AbstractCallbackAnalyzer {
 		// Android OS class, we treat it as a potential callback.
 		Map<String, SootMethod> systemMethods = new HashMap<>(10000);
 		for (SootClass parentClass : Scene.v().getActiveHierarchy().getSuperclassesOf(sootClass)) {
-			if (SystemClassHandler.v().isClassInSystemPackage(parentClass.getName()))
+			if (SystemClassHandler.v().isClassInSystemPackage(parentClass))
 				for (SootMethod sm : parentClass.getMethods())
 					if (!sm.isConstructor())
 						systemMethods.put(sm.getSubSignature(), sm);
@@ -824,7 +824,7 @@ public abstract class AbstractCallbackAnalyzer {
 		// Iterate over all user-implemented methods. If they are inherited
 		// from a system class, they are callback candidates.
 		for (SootClass parentClass : Scene.v().getActiveHierarchy().getSuperclassesOfIncluding(sootClass)) {
-			if (SystemClassHandler.v().isClassInSystemPackage(parentClass.getName()))
+			if (SystemClassHandler.v().isClassInSystemPackage(parentClass))
 				continue;
 			for (SootMethod method : parentClass.getMethods()) {
 				if (!method.hasTag(SimulatedCodeElementTag.TAG_NAME)) {
@@ -859,9 +859,9 @@ public abstract class AbstractCallbackAnalyzer {
 			return;
 
 		// Do not analyze system classes
-		if (SystemClassHandler.v().isClassInSystemPackage(baseClass.getName()))
+		if (SystemClassHandler.v().isClassInSystemPackage(baseClass))
 			return;
-		if (SystemClassHandler.v().isClassInSystemPackage(sootClass.getName()))
+		if (SystemClassHandler.v().isClassInSystemPackage(sootClass))
 			return;
 
 		// Check the filters
@@ -934,7 +934,7 @@ public abstract class AbstractCallbackAnalyzer {
 	protected boolean checkAndAddMethod(SootMethod method, SootMethod parentMethod, SootClass lifecycleClass,
 			CallbackType callbackType) {
 		// Do not call system methods
-		if (SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass().getName()))
+		if (SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass()))
 			return false;
 
 		// Skip empty methods
@@ -14,6 +14,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -21,13 +25,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import soot.jimple.infoflow.android.axml.ApkHandler;
 
 /**
  * Parser for reading out the contents of Android's resource.arsc file.
@@ -241,6 +244,10 @@ public class ARSCFileParser extends AbstractResourceParser {
 	private final Map<Integer, String> stringTable = new HashMap<Integer, String>();
 	private final List<ResPackage> packages = new ArrayList<ResPackage>();
 
+	private boolean lazyDecoding = false;
+	private boolean stringPoolCaching = true;
+	private volatile StringPool globalStringPool;
+
 	public static class ResPackage {
 		private int packageId;
 		private String packageName;
@@ -503,6 +510,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 	public static class ResConfig {
 		private ResTable_Config config;
 		private List<AbstractResource> resources = new ArrayList<AbstractResource>();
+		private volatile EntryDecoder pendingEntries;
 
 		public ResTable_Config getConfig() {
 			return config;
@@ -514,10 +522,29 @@ public class ARSCFileParser extends AbstractResourceParser {
 		 * @param other The configuration object from which to read the data
 		 */
 		private void addAll(ResConfig other) {
-			this.resources.addAll(other.resources);
+			getResources().addAll(other.getResources());
 		}
 
+		/**
+		 * Gets the resources in this configuration. If the resource file has been
+		 * parsed lazily, the resources are decoded on the first call.
+		 * 
+		 * @return The resources in this configuration
+		 */
 		public List<AbstractResource> getResources() {
+			if (pendingEntries != null) {
+				synchronized (this) {
+					EntryDecoder decoder = pendingEntries;
+					if (decoder != null) {
+						try {
+							decoder.decode(this);
+						} catch (IOException e) {
+							throw new RuntimeException("Could not decode resource entries", e);
+						}
+						pendingEntries = null;
+					}
+				}
+			}
 			return this.resources;
 		}
 
@@ -526,7 +553,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 			final int prime = 31;
 			int result = 1;
 			result = prime * result + ((config == null) ? 0 : config.hashCode());
-			result = prime * result + ((resources == null) ? 0 : resources.hashCode());
+			result = prime * result + getResources().hashCode();
 			return result;
 		}
 
@@ -544,15 +571,66 @@ public class ARSCFileParser extends AbstractResourceParser {
 					return false;
 			} else if (!config.equals(other.config))
 				return false;
-			if (resources == null) {
-				if (other.resources != null)
-					return false;
-			} else if (!resources.equals(other.resources))
+			if (!getResources().equals(other.getResources()))
 				return false;
 			return true;
 		}
 	}
 
+	/**
+	 * Decodes the entries of a configuration that has not been read yet
+	 */
+	private interface EntryDecoder {
+
+		void decode(ResConfig config) throws IOException;
+
+	}
+
+	/**
+	 * A string pool that decodes its strings directly from the resource file
+	 * when they are requested
+	 */
+	private class StringPool {
+		private final ByteBuffer data;
+		private final int blockStart;
+		private final int indexStart;
+		private final ResStringPool_Header header;
+		private final String[] cache;
+
+		private StringPool(ByteBuffer data, int blockStart, int indexStart, ResStringPool_Header header) {
+			this.data = data;
+			this.blockStart = blockStart;
+			this.indexStart = indexStart;
+			this.header = header;
+			this.cache = stringPoolCaching ? new String[header.stringCount] : null;
+		}
+
+		/**
+		 * Gets the string with the given index
+		 * 
+		 * @param idx The index of the string in the pool
+		 * @return The string with the given index, or null if the pool has no such
+		 *         string
+		 */
+		private String get(int idx) {
+			if (idx < 0 || idx >= header.stringCount)
+				return null;
+			if (cache != null && cache[idx] != null)
+				return cache[idx];
+
+			// Offset begins at block start
+			int stringIdx = readUInt32(data, indexStart + idx * 4) + header.stringsStart + blockStart;
+			String str;
+			if (header.flagsUTF8)
+				str = readStringUTF8(data, stringIdx).trim();
+			else
+				str = readString(data, stringIdx).trim();
+			if (cache != null)
+				cache[idx] = str;
+			return str;
+		}
+	}
+
 	/**
 	 * Abstract base class for all Android resources.
 	 */
@@ -2058,6 +2136,52 @@ public class ARSCFileParser extends AbstractResourceParser {
 	public ARSCFileParser() {
 	}
 
+	/**
+	 * Sets whether the resource entries shall only be decoded when they are first
+	 * accessed. In lazy mode, parsing only indexes the chunks of the resource
+	 * file and reads the configuration headers. The entries of a configuration
+	 * and the strings they refer to are decoded on demand, e.g., when
+	 * {@link #findResource(int)} looks into the configuration. The parser then
+	 * keeps a reference to the parsed data.
+	 * 
+	 * @param lazyDecoding True to decode resource entries on demand, false to
+	 *                     decode all resources while parsing
+	 */
+	public void setLazyDecoding(boolean lazyDecoding) {
+		this.lazyDecoding = lazyDecoding;
+	}
+
+	/**
+	 * Gets whether the resource entries are only decoded when they are first
+	 * accessed
+	 * 
+	 * @return True if resource entries are decoded on demand, false if all
+	 *         resources are decoded while parsing
+	 */
+	public boolean getLazyDecoding() {
+		return this.lazyDecoding;
+	}
+
+	/**
+	 * Sets whether strings that have been decoded in lazy mode shall be cached.
+	 * Without the cache, every lookup decodes the string again, which saves
+	 * memory if only few resources are accessed.
+	 * 
+	 * @param stringPoolCaching True to cache decoded strings, otherwise false
+	 */
+	public void setStringPoolCaching(boolean stringPoolCaching) {
+		this.stringPoolCaching = stringPoolCaching;
+	}
+
+	/**
+	 * Gets whether strings that have been decoded in lazy mode are cached
+	 * 
+	 * @return True if decoded strings are cached, otherwise false
+	 */
+	public boolean getStringPoolCaching() {
+		return this.stringPoolCaching;
+	}
+
 	/**
 	 * Parses the resource definition file in the given APK
 	 * 
@@ -2065,28 +2189,74 @@ public class ARSCFileParser extends AbstractResourceParser {
 	 * @throws IOException Thrown if the given APK file cannot be opened
 	 */
 	public void parse(String apkFile) throws IOException {
-		this.handleAndroidResourceFiles(apkFile, null, new IResourceHandler() {
-
-			@Override
-			public void handleResourceFile(String fileName, Set<String> fileNameFilter, InputStream stream) {
-				try {
-					if (fileName.equals("resources.arsc"))
-						parse(stream);
-				} catch (IOException ex) {
-					logger.error("Could not read resource file", ex);
-				}
-			}
+		File apk = new File(apkFile);
+		if (!apk.exists())
+			throw new RuntimeException("file '" + apkFile + "' does not exist!");
 
-		});
+		try (ApkContainer container = ApkContainer.open(apk)) {
+			ByteBuffer data = container.getEntryData("resources.arsc");
+			if (data != null)
+				parse(copyToHeap(data));
+		}
+	}
+
+	/**
+	 * The parser keeps references to the resource table for decoding strings and
+	 * entries on demand. Data from a mapped APK must thus be copied, because the
+	 * mapping is released once the APK has been changed.
+	 * 
+	 * @param data The buffer to copy
+	 * @return A buffer with the same contents that is not backed by a mapped file
+	 */
+	private static ByteBuffer copyToHeap(ByteBuffer data) {
+		if (!data.isDirect())
+			return data;
+		byte[] copy = new byte[data.remaining()];
+		data.duplicate().get(copy);
+		return ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN);
 	}
 
 	public void parse(InputStream stream) throws IOException {
 		readResourceHeader(stream);
 	}
 
-	private void readResourceHeader(InputStream stream) throws IOException {
-		final int BLOCK_SIZE = 2048;
+	/**
+	 * Parses the resource definition file in the given buffer
+	 * 
+	 * @param data The buffer that contains the resource definition file, starting
+	 *             at its current position. The parser keeps references to this
+	 *             buffer, so it must remain valid while the parser is in use.
+	 * @throws IOException Thrown if the data cannot be parsed
+	 */
+	public void parse(ByteBuffer data) throws IOException {
+		ByteBuffer buffer = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.remaining() < 12) {
+			logger.error("Could not read header from resource file");
+			return;
+		}
+
+		ResTable_Header resourceHeader = new ResTable_Header();
+		resourceHeader.header.type = buffer.getShort() & 0xFFFF;
+		resourceHeader.header.headerSize = buffer.getShort() & 0xFFFF;
+		resourceHeader.header.size = buffer.getInt();
+		resourceHeader.packageCount = buffer.getInt();
+		logger.debug(String.format("Package Groups (%d)", resourceHeader.packageCount));
 
+		// Do we have any packages to read?
+		int remainingSize = resourceHeader.header.size - resourceHeader.header.headerSize;
+		if (remainingSize <= 0)
+			return;
+		if (buffer.remaining() < remainingSize) {
+			logger.error("Could not read block from resource file");
+			return;
+		}
+
+		// Read the remaining data in place
+		buffer.limit(buffer.position() + remainingSize);
+		readResourceTable(buffer.slice().order(ByteOrder.LITTLE_ENDIAN));
+	}
+
+	private void readResourceHeader(InputStream stream) throws IOException {
 		ResTable_Header resourceHeader = new ResTable_Header();
 		readChunkHeader(stream, resourceHeader.header);
 		resourceHeader.packageCount = readUInt32(stream);
@@ -2101,15 +2271,24 @@ public class ARSCFileParser extends AbstractResourceParser {
 		byte[] remainingData = new byte[remainingSize];
 		int totalBytesRead = 0;
 		while (totalBytesRead < remainingSize) {
-			byte[] block = new byte[Math.min(BLOCK_SIZE, remainingSize - totalBytesRead)];
-			int bytesRead = stream.read(block);
+			int bytesRead = stream.read(remainingData, totalBytesRead, remainingSize - totalBytesRead);
 			if (bytesRead < 0) {
 				logger.error("Could not read block from resource file");
 				return;
 			}
-			System.arraycopy(block, 0, remainingData, totalBytesRead, bytesRead);
 			totalBytesRead += bytesRead;
 		}
+		readResourceTable(ByteBuffer.wrap(remainingData).order(ByteOrder.LITTLE_ENDIAN));
+	}
+
+	/**
+	 * Reads the packages and string pools of a resource definition file
+	 * 
+	 * @param remainingData The contents of the resource definition file after the
+	 *                      table header
+	 * @throws IOException Thrown if the data cannot be parsed
+	 */
+	private void readResourceTable(ByteBuffer remainingData) throws IOException {
 		int offset = 0;
 		int beforeBlock = 0;
 
@@ -2117,7 +2296,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 		int packageCtr = 0;
 		Map<Integer, String> keyStrings = new HashMap<Integer, String>();
 		Map<Integer, String> typeStrings = new HashMap<Integer, String>();
-		while (offset < remainingData.length - 1) {
+		while (offset < remainingData.limit() - 1) {
 			beforeBlock = offset;
 			ResChunk_Header nextChunkHeader = new ResChunk_Header();
 			offset = readChunkHeader(nextChunkHeader, remainingData, offset);
@@ -2128,8 +2307,12 @@ public class ARSCFileParser extends AbstractResourceParser {
 				offset = parseStringPoolHeader(stringPoolHeader, remainingData, offset);
 
 				// Read the string data
-				offset = readStringTable(remainingData, offset, beforeBlock, stringPoolHeader, this.stringTable);
-				assert this.stringTable.size() == stringPoolHeader.stringCount;
+				if (lazyDecoding)
+					this.globalStringPool = new StringPool(remainingData, beforeBlock, offset, stringPoolHeader);
+				else {
+					offset = readStringTable(remainingData, offset, beforeBlock, stringPoolHeader, this.stringTable);
+					assert this.stringTable.size() == stringPoolHeader.stringCount;
+				}
 			} else if (nextChunkHeader.type == RES_TABLE_PACKAGE_TYPE) {
 				// Read the package header
 				ResTable_Package packageTable = new ResTable_Package();
@@ -2148,6 +2331,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 				this.packages.add(resPackage);
 				resPackage.packageId = packageTable.id;
 				resPackage.packageName = packageTable.name;
+				IntFunction<String> packageKeyStrings = keyStrings::get;
 
 				{
 					// Find the type strings
@@ -2184,7 +2368,12 @@ public class ARSCFileParser extends AbstractResourceParser {
 					// StringPool
 					// block, not the at the beginning of the Package block
 					// referring to it.
-					readStringTable(remainingData, keyStringsOffset, beforeStringBlock, keyPool, keyStrings);
+					if (lazyDecoding) {
+						StringPool keyStringPool = new StringPool(remainingData, beforeStringBlock, keyStringsOffset,
+								keyPool);
+						packageKeyStrings = keyStringPool::get;
+					} else
+						readStringTable(remainingData, keyStringsOffset, beforeStringBlock, keyPool, keyStrings);
 
 					// Jump to the end of the string block
 					offset = beforeStringBlock + keyPoolHeader.size;
@@ -2233,78 +2422,20 @@ public class ARSCFileParser extends AbstractResourceParser {
 						config.config = typeTable.config;
 						resType.configurations.add(config);
 
-						// Read the table entries
-						int resourceIdx = 0;
-						for (int i = 0; i < typeTable.entryCount; i++) {
-							int entryOffset = readUInt32(remainingData, offset);
-							offset += 4;
-							if (entryOffset == 0xFFFFFFFF) { // NoEntry
-								resourceIdx++;
-								continue;
-							}
-							entryOffset += beforeInnerBlock + typeTable.entriesStart;
-							ResTable_Entry entry = readEntryTable(remainingData, entryOffset);
-							entryOffset += entry.size;
-
-							AbstractResource res;
-
-							// If this is a simple entry, the data structure is
-							// followed by RES_VALUE
-							if (entry.flagsComplex) {
-								ComplexResource cmpRes = new ComplexResource(resType.typeName);
-								res = cmpRes;
-
-								for (int j = 0; j < ((ResTable_Map_Entry) entry).count; j++) {
-									ResTable_Map map = new ResTable_Map();
-									entryOffset = readComplexValue(map, remainingData, entryOffset);
-
-									final String mapName = map.name + "";
-									AbstractResource value = parseValue(map.value);
-
-									// If we are dealing with an array, we put it into a special array container
-									if (resType.typeName != null && resType.typeName.equals("array")
-											&& value instanceof StringResource) {
-
-										AbstractResource existingResource = cmpRes.value.get(mapName);
-										if (existingResource == null) {
-											existingResource = new ArrayResource();
-											cmpRes.value.put(mapName, existingResource);
-										}
-
-										// We silently ignore inconsistencies at thze moment
-										if (existingResource instanceof ArrayResource)
-											((ArrayResource) existingResource).add(value);
-									} else {
-										cmpRes.value.put(mapName, value);
-									}
-								}
-							} else {
-								Res_Value val = new Res_Value();
-								entryOffset = readValue(val, remainingData, entryOffset);
-								res = parseValue(val);
-								if (res == null) {
-									logger.error(
-											String.format("Could not parse resource %s of type 0x%x, skipping entry",
-													keyStrings.get(entry.key), val.dataType));
-									continue;
-								}
-							}
-
-							// Create the data object. For finding the correct ID, we
-							// must check whether the entry is really new - if so, it
-							// gets a new ID, otherwise, we reuse the old one
-							if (keyStrings.containsKey(entry.key)) {
-								res.resourceName = keyStrings.get(entry.key);
-							} else {
-								res.resourceName = "<INVALID RESOURCE>";
-							}
-
-							if (res.resourceID <= 0) {
-								res.resourceID = (packageTable.id << 24) + (typeTable.id << 16) + resourceIdx;
-							}
-							config.resources.add(res);
-							resourceIdx++;
-						}
+						// Read the table entries. In lazy mode, we only remember
+						// where to find them.
+						final String typeName = resType.typeName;
+						final int packageId = packageTable.id;
+						final int entryIndexOffset = offset;
+						final IntFunction<String> typeKeyStrings = packageKeyStrings;
+						if (lazyDecoding) {
+							final StringPool globalStrings = globalStringPool;
+							config.pendingEntries = c -> readTypeEntries(c, typeName, packageId, typeTable,
+									globalStrings == null ? i -> null : globalStrings::get, typeKeyStrings,
+									remainingData, beforeInnerBlock, entryIndexOffset);
+						} else
+							readTypeEntries(config, typeName, packageId, typeTable, stringTable::get, typeKeyStrings,
+									remainingData, beforeInnerBlock, entryIndexOffset);
 					}
 					offset = beforeInnerBlock + innerHeader.size;
 				}
@@ -2314,10 +2445,11 @@ public class ARSCFileParser extends AbstractResourceParser {
 					for (ResType resType : resPackage.types) {
 						logger.trace("\t\tType {} ({}), configCount={}, entryCount={}", resType.typeName,
 								resType.id - 1, resType.configurations.size(),
-								resType.configurations.size() > 0 ? resType.configurations.get(0).resources.size() : 0);
+								resType.configurations.size() > 0 ? resType.configurations.get(0).getResources().size()
+										: 0);
 						for (ResConfig resConfig : resType.configurations) {
 							logger.trace("\t\t\tconfig");
-							for (AbstractResource res : resConfig.resources)
+							for (AbstractResource res : resConfig.getResources())
 								logger.trace("\t\t\t\tresource {}: {}", Integer.toHexString(res.resourceID),
 										res.resourceName);
 						}
@@ -2328,7 +2460,96 @@ public class ARSCFileParser extends AbstractResourceParser {
 
 			// Skip the block
 			offset = beforeBlock + nextChunkHeader.size;
-			remainingSize -= nextChunkHeader.size;
+		}
+	}
+
+	/**
+	 * Reads the resource entries of a type chunk into the given configuration
+	 * 
+	 * @param config           The configuration to which to add the resources
+	 * @param typeName         The name of the resource type
+	 * @param packageId        The ID of the package that contains the type
+	 * @param typeTable        The header of the type chunk
+	 * @param globalStrings    The global string pool
+	 * @param keyStrings       The key strings of the package
+	 * @param remainingData    The contents of the resource definition file
+	 * @param beforeInnerBlock The offset of the type chunk
+	 * @param offset           The offset of the entry index after the header of
+	 *                         the type chunk
+	 * @throws IOException Thrown if the data cannot be parsed
+	 */
+	private void readTypeEntries(ResConfig config, String typeName, int packageId, ResTable_Type typeTable,
+			IntFunction<String> globalStrings, IntFunction<String> keyStrings, ByteBuffer remainingData,
+			int beforeInnerBlock, int offset) throws IOException {
+		int resourceIdx = 0;
+		for (int i = 0; i < typeTable.entryCount; i++) {
+			int entryOffset = readUInt32(remainingData, offset);
+			offset += 4;
+			if (entryOffset == 0xFFFFFFFF) { // NoEntry
+				resourceIdx++;
+				continue;
+			}
+			entryOffset += beforeInnerBlock + typeTable.entriesStart;
+			ResTable_Entry entry = readEntryTable(remainingData, entryOffset);
+			entryOffset += entry.size;
+
+			AbstractResource res;
+
+			// If this is a simple entry, the data structure is
+			// followed by RES_VALUE
+			if (entry.flagsComplex) {
+				ComplexResource cmpRes = new ComplexResource(typeName);
+				res = cmpRes;
+
+				for (int j = 0; j < ((ResTable_Map_Entry) entry).count; j++) {
+					ResTable_Map map = new ResTable_Map();
+					entryOffset = readComplexValue(map, remainingData, entryOffset);
+
+					final String mapName = map.name + "";
+					AbstractResource value = parseValue(map.value, globalStrings);
+
+					// If we are dealing with an array, we put it into a special array container
+					if (typeName != null && typeName.equals("array") && value instanceof StringResource) {
+
+						AbstractResource existingResource = cmpRes.value.get(mapName);
+						if (existingResource == null) {
+							existingResource = new ArrayResource();
+							cmpRes.value.put(mapName, existingResource);
+						}
+
+						// We silently ignore inconsistencies at thze moment
+						if (existingResource instanceof ArrayResource)
+							((ArrayResource) existingResource).add(value);
+					} else {
+						cmpRes.value.put(mapName, value);
+					}
+				}
+			} else {
+				Res_Value val = new Res_Value();
+				entryOffset = readValue(val, remainingData, entryOffset);
+				res = parseValue(val, globalStrings);
+				if (res == null) {
+					logger.error(String.format("Could not parse resource %s of type 0x%x, skipping entry",
+							keyStrings.apply(entry.key), val.dataType));
+					continue;
+				}
+			}
+
+			// Create the data object. For finding the correct ID, we
+			// must check whether the entry is really new - if so, it
+			// gets a new ID, otherwise, we reuse the old one
+			String keyName = keyStrings.apply(entry.key);
+			if (keyName != null) {
+				res.resourceName = keyName;
+			} else {
+				res.resourceName = "<INVALID RESOURCE>";
+			}
+
+			if (res.resourceID <= 0) {
+				res.resourceID = (packageId << 24) + (typeTable.id << 16) + resourceIdx;
+			}
+			config.resources.add(res);
+			resourceIdx++;
 		}
 	}
 
@@ -2358,7 +2579,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 				* RADIX_MULTS[(complex >> COMPLEX_RADIX_SHIFT) & COMPLEX_RADIX_MASK];
 	}
 
-	private AbstractResource parseValue(Res_Value val) {
+	private AbstractResource parseValue(Res_Value val, IntFunction<String> globalStrings) {
 		AbstractResource res;
 		switch (val.dataType) {
 		case TYPE_NULL:
@@ -2371,7 +2592,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 			res = new AttributeResource(val.data);
 			break;
 		case TYPE_STRING:
-			res = new StringResource(stringTable.get(val.data));
+			res = new StringResource(globalStrings.apply(val.data));
 			break;
 		case TYPE_INT_DEC:
 		case TYPE_INT_HEX:
@@ -2408,14 +2629,14 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return res;
 	}
 
-	private int readComplexValue(ResTable_Map map, byte[] remainingData, int offset) throws IOException {
+	private int readComplexValue(ResTable_Map map, ByteBuffer remainingData, int offset) throws IOException {
 		map.name = readUInt32(remainingData, offset);
 		offset += 4;
 
 		return readValue(map.value, remainingData, offset);
 	}
 
-	private int readValue(Res_Value val, byte[] remainingData, int offset) throws IOException {
+	private int readValue(Res_Value val, ByteBuffer remainingData, int offset) throws IOException {
 		int initialOffset = offset;
 
 		val.size = readUInt16(remainingData, offset);
@@ -2439,7 +2660,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return offset;
 	}
 
-	private ResTable_Entry readEntryTable(byte[] data, int offset) throws IOException {
+	private ResTable_Entry readEntryTable(ByteBuffer data, int offset) throws IOException {
 		// The exact type of entry depends on the size
 		int size = readUInt16(data, offset);
 		offset += 2;
@@ -2471,7 +2692,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return entry;
 	}
 
-	private int readTypeTable(ResTable_Type typeTable, byte[] data, int offset) throws IOException {
+	private int readTypeTable(ResTable_Type typeTable, ByteBuffer data, int offset) throws IOException {
 		typeTable.id = readUInt8(data, offset);
 		offset += 1;
 
@@ -2494,7 +2715,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return readConfigTable(typeTable.config, data, offset);
 	}
 
-	private int readConfigTable(ResTable_Config config, byte[] data, int offset) throws IOException {
+	private int readConfigTable(ResTable_Config config, ByteBuffer data, int offset) throws IOException {
 		config.size = readUInt32(data, offset);
 		offset += 4;
 
@@ -2504,12 +2725,12 @@ public class ARSCFileParser extends AbstractResourceParser {
 		config.mnc = readUInt16(data, offset);
 		offset += 2;
 
-		config.language[0] = (char) data[offset];
-		config.language[1] = (char) data[offset + 1];
+		config.language[0] = (char) data.get(offset);
+		config.language[1] = (char) data.get(offset + 1);
 		offset += 2;
 
-		config.country[0] = (char) data[offset];
-		config.country[1] = (char) data[offset + 1];
+		config.country[0] = (char) data.get(offset);
+		config.country[1] = (char) data.get(offset + 1);
 		offset += 2;
 
 		config.orientation = readUInt8(data, offset);
@@ -2557,13 +2778,13 @@ public class ARSCFileParser extends AbstractResourceParser {
 			return offset;
 
 		for (int i = 0; i < 4; i++)
-			config.localeScript[i] = (char) data[offset + i];
+			config.localeScript[i] = (char) data.get(offset + i);
 		offset += 4;
 		if (config.size <= 40)
 			return offset;
 
 		for (int i = 0; i < 8; i++)
-			config.localeVariant[i] = (char) data[offset + i];
+			config.localeVariant[i] = (char) data.get(offset + i);
 		offset += 8;
 		if (config.size <= 48)
 			return offset;
@@ -2573,7 +2794,9 @@ public class ARSCFileParser extends AbstractResourceParser {
 		int remainingSize = config.size - 48;
 		if (remainingSize > 0) {
 			byte[] remainingBytes = new byte[remainingSize];
-			System.arraycopy(data, offset, remainingBytes, 0, remainingSize);
+			ByteBuffer remainingBuffer = data.duplicate();
+			remainingBuffer.position(offset);
+			remainingBuffer.get(remainingBytes);
 			BigInteger remainingData = new BigInteger(1, remainingBytes);
 			if (!(remainingData.equals(BigInteger.ZERO))) {
 				logger.debug("Excessive {} non-null bytes in ResTable_Config ignored", remainingSize);
@@ -2587,7 +2810,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return offset;
 	}
 
-	private int readTypeSpecTable(ResTable_TypeSpec typeSpecTable, byte[] data, int offset) throws IOException {
+	private int readTypeSpecTable(ResTable_TypeSpec typeSpecTable, ByteBuffer data, int offset) throws IOException {
 		typeSpecTable.id = readUInt8(data, offset);
 		offset += 1;
 
@@ -2607,7 +2830,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return offset;
 	}
 
-	private int readStringTable(byte[] remainingData, int offset, int blockStart, ResStringPool_Header stringPoolHeader,
+	private int readStringTable(ByteBuffer remainingData, int offset, int blockStart, ResStringPool_Header stringPoolHeader,
 			Map<Integer, String> stringList) throws IOException {
 		// Read the strings
 		for (int i = 0; i < stringPoolHeader.stringCount; i++) {
@@ -2626,7 +2849,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return offset;
 	}
 
-	private int parsePackageTable(ResTable_Package packageTable, byte[] data, int offset) throws IOException {
+	private int parsePackageTable(ResTable_Package packageTable, ByteBuffer data, int offset) throws IOException {
 		packageTable.id = readUInt32(data, offset);
 		offset += 4;
 
@@ -2654,27 +2877,35 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return offset;
 	}
 
-	private String readString(byte[] remainingData, int stringIdx) throws IOException {
+	private String readString(ByteBuffer remainingData, int stringIdx) {
 		int strLen = readUInt16(remainingData, stringIdx);
 		if (strLen == 0)
 			return "";
 		stringIdx += 2;
-		byte[] str = new byte[strLen * 2];
-		System.arraycopy(remainingData, stringIdx, str, 0, strLen * 2);
-		return new String(remainingData, stringIdx, strLen * 2, "UTF-16LE");
+		return decodeString(remainingData, stringIdx, strLen * 2, StandardCharsets.UTF_16LE);
 	}
 
-	private String readStringUTF8(byte[] remainingData, int stringIdx) throws IOException {
+	private String readStringUTF8(ByteBuffer remainingData, int stringIdx) {
 		// skip the length, will usually be 0x1A1A
 		// int strLen = readUInt16(remainingData, stringIdx);
 		// the length here is somehow weird
 		int strLen = readUInt8(remainingData, stringIdx + 1);
 		stringIdx += 2;
-		String str = new String(remainingData, stringIdx, strLen, "UTF-8");
-		return str;
+		return decodeString(remainingData, stringIdx, strLen, StandardCharsets.UTF_8);
 	}
 
-	private int parseStringPoolHeader(ResStringPool_Header stringPoolHeader, byte[] data, int offset)
+	private static String decodeString(ByteBuffer data, int offset, int length, Charset charset) {
+		if (data.hasArray())
+			return new String(data.array(), data.arrayOffset() + offset, length, charset);
+
+		byte[] str = new byte[length];
+		ByteBuffer strBuffer = data.duplicate();
+		strBuffer.position(offset);
+		strBuffer.get(str);
+		return new String(str, charset);
+	}
+
+	private int parseStringPoolHeader(ResStringPool_Header stringPoolHeader, ByteBuffer data, int offset)
 			throws IOException {
 		stringPoolHeader.stringCount = readUInt32(data, offset);
 		stringPoolHeader.styleCount = readUInt32(data, offset + 4);
@@ -2699,7 +2930,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 	private void readChunkHeader(InputStream stream, ResChunk_Header nextChunkHeader) throws IOException {
 		byte[] header = new byte[8];
 		stream.read(header);
-		readChunkHeader(nextChunkHeader, header, 0);
+		readChunkHeader(nextChunkHeader, ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN), 0);
 	}
 
 	/**
@@ -2711,7 +2942,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 	 * @param offset          The offset from which to start reading
 	 * @throws IOException Thrown if an error occurs during read
 	 */
-	private int readChunkHeader(ResChunk_Header nextChunkHeader, byte[] data, int offset) throws IOException {
+	private int readChunkHeader(ResChunk_Header nextChunkHeader, ByteBuffer data, int offset) throws IOException {
 		nextChunkHeader.type = readUInt16(data, offset);
 		offset += 2;
 
@@ -2724,32 +2955,36 @@ public class ARSCFileParser extends AbstractResourceParser {
 		return offset;
 	}
 
-	private int readUInt8(byte[] uint16, int offset) throws IOException {
-		int b0 = uint16[0 + offset] & 0x000000FF;
-		return b0;
+	private int readUInt8(ByteBuffer data, int offset) {
+		return data.get(offset) & 0x000000FF;
 	}
 
-	private int readUInt16(byte[] uint16, int offset) throws IOException {
-		int b0 = uint16[0 + offset] & 0x000000FF;
-		int b1 = uint16[1 + offset] & 0x000000FF;
-		return (b1 << 8) + b0;
+	private int readUInt16(ByteBuffer data, int offset) {
+		return data.getShort(offset) & 0x0000FFFF;
 	}
 
 	private int readUInt32(InputStream stream) throws IOException {
 		byte[] uint32 = new byte[4];
 		stream.read(uint32);
-		return readUInt32(uint32, 0);
+		return readUInt32(ByteBuffer.wrap(uint32).order(ByteOrder.LITTLE_ENDIAN), 0);
 	}
 
-	private int readUInt32(byte[] uint32, int offset) throws IOException {
-		int b0 = uint32[0 + offset] & 0x000000FF;
-		int b1 = uint32[1 + offset] & 0x000000FF;
-		int b2 = uint32[2 + offset] & 0x000000FF;
-		int b3 = uint32[3 + offset] & 0x000000FF;
-		return (Math.abs(b3) << 24) + (Math.abs(b2) << 16) + (Math.abs(b1) << 8) + Math.abs(b0);
+	private int readUInt32(ByteBuffer data, int offset) {
+		return data.getInt(offset);
 	}
 
 	public Map<Integer, String> getGlobalStringPool() {
+		// In lazy mode, we need to decode all strings first
+		if (globalStringPool != null) {
+			synchronized (this) {
+				StringPool pool = globalStringPool;
+				if (pool != null) {
+					for (int i = 0; i < pool.header.stringCount; i++)
+						stringTable.put(i, pool.get(i));
+					globalStringPool = null;
+				}
+			}
+		}
 		return this.stringTable;
 	}
 
@@ -2851,10 +3086,10 @@ public class ARSCFileParser extends AbstractResourceParser {
 		for (ResPackage resPackage : this.packages) {
 			ResType resType = resPackage.getResourceType(type);
 			if (resType != null) {
-				for (AbstractResource res : resType.getAllResources()) {
-					if (res.resourceName.equals(resourceName))
-						return res;
-				}
+				// Only look into as many configurations as necessary
+				AbstractResource res = resType.getFirstResource(resourceName);
+				if (res != null)
+					return res;
 			}
 		}
 		return null;
@@ -2902,13 +3137,14 @@ public class ARSCFileParser extends AbstractResourceParser {
 	 * @throws IOException
 	 */
 	public static ARSCFileParser getInstance(File apkFile) throws IOException {
-		ARSCFileParser parser = new ARSCFileParser();
-		try (ApkHandler handler = new ApkHandler(apkFile); InputStream is = handler.getInputStream("resources.arsc")) {
-			if (is == null)
+		try (ApkContainer container = ApkContainer.open(apkFile)) {
+			ByteBuffer data = container.getEntryData("resources.arsc");
+			if (data == null)
 				return null;
-			parser.parse(is);
+			ARSCFileParser parser = new ARSCFileParser();
+			parser.parse(copyToHeap(data));
+			return parser;
 		}
-		return parser;
 	}
 
 	/**
@@ -2928,7 +3164,7 @@ public class ARSCFileParser extends AbstractResourceParser {
 		}
 
 		// Merge the string table
-		stringTable.putAll(otherParser.stringTable);
+		getGlobalStringPool().putAll(otherParser.getGlobalStringPool());
 	}
 
 }
\ No newline at end of file
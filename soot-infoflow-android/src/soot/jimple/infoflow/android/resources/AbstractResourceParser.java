@@ -12,10 +12,7 @@ package soot.jimple.infoflow.android.resources;
 
 import java.io.File;
 import java.io.InputStream;
-import java.util.Enumeration;
 import java.util.Set;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,7 +28,8 @@ public abstract class AbstractResourceParser {
 
 	/**
 	 * Opens the given apk file and provides the given handler with a stream for
-	 * accessing the contained resource manifest files
+	 * accessing the contained resource manifest files. The apk file is shared
+	 * with all other parsers through an {@link ApkContainer}.
 	 * 
 	 * @param apk            The apk file to process
 	 * @param fileNameFilter If this parameter is non-null, only files with a name
@@ -43,16 +41,10 @@ public abstract class AbstractResourceParser {
 		if (!apkF.exists())
 			throw new RuntimeException("file '" + apk + "' does not exist!");
 
-		try {
-			try (ZipFile archive = new ZipFile(apkF)) {
-				Enumeration<?> entries = archive.entries();
-				while (entries.hasMoreElements()) {
-					ZipEntry entry = (ZipEntry) entries.nextElement();
-					String entryName = entry.getName();
-
-					try (InputStream is = archive.getInputStream(entry)) {
-						handler.handleResourceFile(entryName, fileNameFilter, is);
-					}
+		try (ApkContainer archive = ApkContainer.open(apkF)) {
+			for (String entryName : archive.getEntryNames()) {
+				try (InputStream is = archive.getInputStream(entryName)) {
+					handler.handleResourceFile(entryName, fileNameFilter, is);
 				}
 			}
 		} catch (Exception e) {
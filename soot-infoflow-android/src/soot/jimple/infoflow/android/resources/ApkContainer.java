@@ -0,0 +1,609 @@
+package soot.jimple.infoflow.android.resources;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Read-only view on the files inside an APK. The APK is mapped into memory once
+ * and its central directory is only indexed once, regardless of how many
+ * resource parsers read from it. Stored files are returned as slices of the
+ * mapping without copying them. Deflated files are decompressed with inflaters
+ * from a shared pool.
+ *
+ * Containers are shared through {@link #open(File)}, which must be paired with
+ * a call to {@link #close()}. Closing a container does not release the APK,
+ * so that the next parser can reuse it. The container only drops its mapping
+ * once the file has been invalidated, e.g., because it is about to be
+ * rewritten, and all users have closed the container. The JVM unmaps the file
+ * when the mapping has been garbage-collected. Buffers that were obtained
+ * before keep the mapping alive, so they stay readable, but new reads from a
+ * released container fail.
+ */
+public class ApkContainer implements AutoCloseable {
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int END_SIZE = 22;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+	private static final int ZIP64_EXTRA_ID = 0x0001;
+
+	private static final int METHOD_STORED = 0;
+	private static final int METHOD_DEFLATED = 8;
+
+	private static final int MAX_POOLED_INFLATERS = 16;
+
+	/**
+	 * A single file inside the APK
+	 */
+	private static class Entry {
+
+		private final String name;
+		private final int method;
+		private final long compressedSize;
+		private final long size;
+		private final long localHeaderOffset;
+
+		private Entry(String name, int method, long compressedSize, long size, long localHeaderOffset) {
+			this.name = name;
+			this.method = method;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.localHeaderOffset = localHeaderOffset;
+		}
+
+	}
+
+	/**
+	 * Key for the shared containers. A file that has been modified since it was
+	 * mapped gets a new container.
+	 */
+	private static class ContainerKey {
+
+		private final String path;
+		private final long length;
+		private final long lastModified;
+
+		private ContainerKey(File file) throws IOException {
+			this.path = file.getCanonicalPath();
+			this.length = file.length();
+			this.lastModified = file.lastModified();
+		}
+
+		@Override
+		public int hashCode() {
+			return path.hashCode() * 31 + Long.hashCode(length) * 17 + Long.hashCode(lastModified);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			ContainerKey other = (ContainerKey) obj;
+			return path.equals(other.path) && length == other.length && lastModified == other.lastModified;
+		}
+
+	}
+
+	/**
+	 * The shared containers. All accesses, including the reference counts of the
+	 * containers, are synchronized on this map.
+	 */
+	private static final Map<ContainerKey, SoftReference<ApkContainer>> containers = new HashMap<>();
+	private static final ConcurrentLinkedQueue<Inflater> inflaterPool = new ConcurrentLinkedQueue<>();
+
+	private final File file;
+	private final int size;
+	private volatile ByteBuffer data;
+	private final List<Entry> entries;
+	private final Map<String, Entry> nameToEntry;
+
+	private int references = 0;
+	private boolean retired = false;
+
+	/**
+	 * Gets the container for the given APK file. If the file has already been
+	 * opened and has not changed since, the existing container is reused. Every
+	 * call to this method must be paired with a call to {@link #close()}.
+	 *
+	 * @param apk The APK file
+	 * @return The container for the given APK file
+	 * @throws IOException Thrown if the file cannot be read or is not a valid zip
+	 *                     file
+	 */
+	public static ApkContainer open(File apk) throws IOException {
+		ContainerKey key = new ContainerKey(apk);
+		synchronized (containers) {
+			SoftReference<ApkContainer> ref = containers.get(key);
+			ApkContainer container = ref == null ? null : ref.get();
+			if (container == null) {
+				// Remove outdated versions of the same file and containers that have
+				// already been garbage-collected
+				for (Iterator<Map.Entry<ContainerKey, SoftReference<ApkContainer>>> it = containers.entrySet()
+						.iterator(); it.hasNext();) {
+					Map.Entry<ContainerKey, SoftReference<ApkContainer>> e = it.next();
+					ApkContainer other = e.getValue().get();
+					if (other == null)
+						it.remove();
+					else if (e.getKey().path.equals(key.path)) {
+						it.remove();
+						other.retire();
+					}
+				}
+				container = new ApkContainer(apk);
+				containers.put(key, new SoftReference<>(container));
+			}
+			container.references++;
+			return container;
+		}
+	}
+
+	/**
+	 * Removes the given APK file from the shared containers, e.g., because the
+	 * file is about to be changed. The containers drop the mapping of the file as
+	 * soon as all users have closed them.
+	 *
+	 * @param apk The APK file
+	 * @return True if all containers on the file have been released, false if
+	 *         some container on the file is still open
+	 * @throws IOException Thrown if the path of the file cannot be resolved
+	 */
+	public static boolean invalidate(File apk) throws IOException {
+		String path = apk.getCanonicalPath();
+		boolean released = true;
+		synchronized (containers) {
+			for (Iterator<Map.Entry<ContainerKey, SoftReference<ApkContainer>>> it = containers.entrySet()
+					.iterator(); it.hasNext();) {
+				Map.Entry<ContainerKey, SoftReference<ApkContainer>> e = it.next();
+				if (e.getKey().path.equals(path)) {
+					it.remove();
+					ApkContainer container = e.getValue().get();
+					if (container != null)
+						released &= container.retire();
+				}
+			}
+		}
+		return released;
+	}
+
+	private ApkContainer(File file) throws IOException {
+		this.file = file;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException(String.format("APK file %s is too large to be mapped", file));
+			this.size = (int) size;
+			this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		this.entries = Collections.unmodifiableList(readCentralDirectory());
+		this.nameToEntry = new HashMap<>(entries.size() * 2);
+		for (Entry entry : entries)
+			nameToEntry.putIfAbsent(entry.name, entry);
+	}
+
+	/**
+	 * Reads all entries from the central directory of the zip file
+	 *
+	 * @return The entries in the order of the central directory
+	 * @throws IOException Thrown if the central directory is malformed
+	 */
+	private List<Entry> readCentralDirectory() throws IOException {
+		ByteBuffer data = this.data;
+		int endOffset = findEndOfCentralDirectory();
+		long entryCount = data.getShort(endOffset + 10) & 0xFFFF;
+		long dirOffset = data.getInt(endOffset + 16) & 0xFFFFFFFFL;
+
+		// Large archives store the real values in the ZIP64 end record
+		int locatorOffset = endOffset - ZIP64_LOCATOR_SIZE;
+		if (locatorOffset >= 0 && data.getInt(locatorOffset) == ZIP64_LOCATOR_SIGNATURE) {
+			int zip64EndOffset = checkOffset(data.getLong(locatorOffset + 8), 56);
+			if (data.getInt(zip64EndOffset) != ZIP64_END_SIGNATURE)
+				throw new ZipException("Invalid ZIP64 end of central directory in " + file);
+			entryCount = data.getLong(zip64EndOffset + 32);
+			dirOffset = data.getLong(zip64EndOffset + 48);
+		}
+
+		List<Entry> entries = new ArrayList<>((int) Math.min(entryCount, 1 << 16));
+		int offset = checkOffset(dirOffset, 0);
+		for (long i = 0; i < entryCount; i++) {
+			checkOffset(offset, CENTRAL_HEADER_SIZE);
+			if (data.getInt(offset) != CENTRAL_HEADER_SIGNATURE)
+				throw new ZipException("Invalid central directory entry in " + file);
+			int method = data.getShort(offset + 10) & 0xFFFF;
+			long compressedSize = data.getInt(offset + 20) & 0xFFFFFFFFL;
+			long size = data.getInt(offset + 24) & 0xFFFFFFFFL;
+			int nameLength = data.getShort(offset + 28) & 0xFFFF;
+			int extraLength = data.getShort(offset + 30) & 0xFFFF;
+			int commentLength = data.getShort(offset + 32) & 0xFFFF;
+			long localHeaderOffset = data.getInt(offset + 42) & 0xFFFFFFFFL;
+			checkOffset(offset, CENTRAL_HEADER_SIZE + nameLength + extraLength);
+
+			// Entry names in APKs are UTF-8
+			byte[] nameBytes = new byte[nameLength];
+			ByteBuffer nameBuffer = data.duplicate();
+			nameBuffer.position(offset + CENTRAL_HEADER_SIZE);
+			nameBuffer.get(nameBytes);
+			String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+			// Values that do not fit into 32 bits are in the ZIP64 extra field
+			if (size == 0xFFFFFFFFL || compressedSize == 0xFFFFFFFFL || localHeaderOffset == 0xFFFFFFFFL) {
+				int extraOffset = offset + CENTRAL_HEADER_SIZE + nameLength;
+				int extraEnd = extraOffset + extraLength;
+				while (extraOffset + 4 <= extraEnd) {
+					int id = data.getShort(extraOffset) & 0xFFFF;
+					int length = data.getShort(extraOffset + 2) & 0xFFFF;
+					if (id == ZIP64_EXTRA_ID) {
+						int fieldOffset = extraOffset + 4;
+						if (size == 0xFFFFFFFFL) {
+							size = data.getLong(fieldOffset);
+							fieldOffset += 8;
+						}
+						if (compressedSize == 0xFFFFFFFFL) {
+							compressedSize = data.getLong(fieldOffset);
+							fieldOffset += 8;
+						}
+						if (localHeaderOffset == 0xFFFFFFFFL)
+							localHeaderOffset = data.getLong(fieldOffset);
+						break;
+					}
+					extraOffset += 4 + length;
+				}
+			}
+
+			entries.add(new Entry(name, method, compressedSize, size, localHeaderOffset));
+			offset += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+		}
+		return entries;
+	}
+
+	/**
+	 * Finds the end of central directory record, which is followed by a comment
+	 * of at most 64 KB
+	 *
+	 * @return The offset of the end of central directory record
+	 * @throws IOException Thrown if the file does not contain such a record
+	 */
+	private int findEndOfCentralDirectory() throws IOException {
+		ByteBuffer data = this.data;
+		int last = size - END_SIZE;
+		int first = Math.max(0, last - 0xFFFF);
+		for (int offset = last; offset >= first; offset--) {
+			if (data.getInt(offset) == END_SIGNATURE
+					&& offset + END_SIZE + (data.getShort(offset + 20) & 0xFFFF) == size)
+				return offset;
+		}
+		throw new ZipException("Could not find the central directory in " + file);
+	}
+
+	private int checkOffset(long offset, int length) throws ZipException {
+		if (offset < 0 || offset + length > size)
+			throw new ZipException("Invalid offset in zip file " + file);
+		return (int) offset;
+	}
+
+	/**
+	 * Gets the APK file of this container
+	 *
+	 * @return The APK file
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Releases this reference to the container. If the file has been invalidated
+	 * in the meantime and this was the last reference, the container drops its
+	 * mapping.
+	 */
+	@Override
+	public void close() {
+		synchronized (containers) {
+			if (references > 0 && --references == 0 && retired)
+				release();
+		}
+	}
+
+	/**
+	 * Marks this container as outdated. It can no longer be obtained through
+	 * {@link #open(File)}. Callers must synchronize on the shared containers.
+	 *
+	 * @return True if the mapping has been released, false if the container is
+	 *         still in use
+	 */
+	private boolean retire() {
+		retired = true;
+		if (references == 0)
+			release();
+		return data == null;
+	}
+
+	/**
+	 * Drops the mapping of the APK file. We do not unmap the file explicitly,
+	 * because a buffer that is still in use would then point to unmapped memory
+	 * and crash the JVM. The JVM unmaps the file once the mapping and all buffers
+	 * obtained from it have been garbage-collected.
+	 */
+	private void release() {
+		data = null;
+	}
+
+	/**
+	 * Gets the names of all files in the APK in the order of the central directory
+	 *
+	 * @return The names of all files in the APK
+	 */
+	public List<String> getEntryNames() {
+		List<String> names = new ArrayList<>(entries.size());
+		for (Entry entry : entries)
+			names.add(entry.name);
+		return names;
+	}
+
+	/**
+	 * Checks whether the APK contains a file with the given name
+	 *
+	 * @param name The path of the file inside the APK, e.g.,
+	 *             <code>res/layout/main.xml</code>
+	 * @return True if the APK contains the given file, otherwise false
+	 */
+	public boolean hasEntry(String name) {
+		return nameToEntry.containsKey(name);
+	}
+
+	/**
+	 * Gets the contents of the file with the given name. Stored files are returned
+	 * as a slice of the mapped APK, deflated files are decompressed into a new
+	 * buffer.
+	 *
+	 * @param name The path of the file inside the APK
+	 * @return A read-only little-endian buffer with the contents of the file, or
+	 *         <code>null</code> if the APK does not contain the file
+	 * @throws IOException Thrown if the file cannot be decompressed
+	 */
+	public ByteBuffer getEntryData(String name) throws IOException {
+		Entry entry = nameToEntry.get(name);
+		return entry == null ? null : getEntryData(entry);
+	}
+
+	private ByteBuffer getEntryData(Entry entry) throws IOException {
+		ByteBuffer raw = getRawData(entry);
+		if (entry.method == METHOD_STORED)
+			return raw.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+		if (entry.size > Integer.MAX_VALUE)
+			throw new ZipException(String.format("File %s in %s is too large", entry.name, file));
+
+		byte[] buffer = new byte[(int) entry.size];
+		try (InputStream is = new PooledInflaterInputStream(raw, entry.size)) {
+			int total = 0;
+			while (total < buffer.length) {
+				int read = is.read(buffer, total, buffer.length - total);
+				if (read < 0)
+					throw new ZipException(String.format("Truncated file %s in %s", entry.name, file));
+				total += read;
+			}
+		}
+		return ByteBuffer.wrap(buffer).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Opens a stream on the file with the given name. Deflated files are
+	 * decompressed while they are read.
+	 *
+	 * @param name The path of the file inside the APK
+	 * @return A stream with the contents of the file, or <code>null</code> if the
+	 *         APK does not contain the file
+	 * @throws IOException Thrown if the file cannot be read
+	 */
+	public InputStream getInputStream(String name) throws IOException {
+		Entry entry = nameToEntry.get(name);
+		if (entry == null)
+			return null;
+		ByteBuffer raw = getRawData(entry);
+		if (entry.method == METHOD_STORED)
+			return new ByteBufferInputStream(raw);
+		return new PooledInflaterInputStream(raw, entry.size);
+	}
+
+	/**
+	 * Gets the raw, possibly compressed, data of the given entry
+	 *
+	 * @param entry The entry
+	 * @return A slice of the mapped APK that contains the raw data of the entry
+	 * @throws IOException Thrown if the entry cannot be found or its compression
+	 *                     method is not supported
+	 */
+	private ByteBuffer getRawData(Entry entry) throws IOException {
+		// Once we hold the buffer, it stays valid even if the container is released
+		// concurrently
+		ByteBuffer data = this.data;
+		if (data == null)
+			throw new IllegalStateException(String.format("The container for %s has already been released", file));
+		if (entry.method != METHOD_STORED && entry.method != METHOD_DEFLATED)
+			throw new ZipException(String.format("Unsupported compression method %d for %s in %s", entry.method,
+					entry.name, file));
+
+		// The local header may have a different extra field than the central
+		// directory
+		int headerOffset = checkOffset(entry.localHeaderOffset, LOCAL_HEADER_SIZE);
+		if (data.getInt(headerOffset) != LOCAL_HEADER_SIGNATURE)
+			throw new ZipException(String.format("Invalid local header for %s in %s", entry.name, file));
+		int nameLength = data.getShort(headerOffset + 26) & 0xFFFF;
+		int extraLength = data.getShort(headerOffset + 28) & 0xFFFF;
+		int dataOffset = headerOffset + LOCAL_HEADER_SIZE + nameLength + extraLength;
+		if (entry.compressedSize > Integer.MAX_VALUE)
+			throw new ZipException(String.format("File %s in %s is too large", entry.name, file));
+		checkOffset(dataOffset, (int) entry.compressedSize);
+
+		ByteBuffer raw = data.duplicate();
+		raw.position(dataOffset);
+		raw.limit(dataOffset + (int) entry.compressedSize);
+		return raw.slice();
+	}
+
+	private static Inflater acquireInflater() {
+		Inflater inflater = inflaterPool.poll();
+		return inflater == null ? new Inflater(true) : inflater;
+	}
+
+	private static void releaseInflater(Inflater inflater) {
+		inflater.reset();
+		if (inflaterPool.size() < MAX_POOLED_INFLATERS)
+			inflaterPool.offer(inflater);
+		else
+			inflater.end();
+	}
+
+	/**
+	 * Stream that reads from a buffer
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		private ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0)
+				return 0;
+			if (!buffer.hasRemaining())
+				return -1;
+			len = Math.min(len, buffer.remaining());
+			buffer.get(b, off, len);
+			return len;
+		}
+
+		@Override
+		public long skip(long n) {
+			int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+
+	}
+
+	/**
+	 * Stream that decompresses a deflated buffer with an inflater from the pool.
+	 * The inflater is only taken from the pool on the first read and goes back
+	 * when the stream has been read completely or is closed.
+	 */
+	private static class PooledInflaterInputStream extends InputStream {
+
+		private static final int INPUT_CHUNK_SIZE = 8192;
+
+		private final ByteBuffer input;
+		private final byte[] inputChunk;
+		private Inflater inflater;
+		private boolean finished = false;
+		private long remaining;
+		private final byte[] single = new byte[1];
+
+		private PooledInflaterInputStream(ByteBuffer input, long size) {
+			this.input = input;
+			this.remaining = size;
+			this.inputChunk = new byte[Math.min(INPUT_CHUNK_SIZE, Math.max(1, input.remaining()))];
+		}
+
+		@Override
+		public int read() throws IOException {
+			return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0)
+				return 0;
+			if (finished)
+				return -1;
+			if (inflater == null)
+				inflater = acquireInflater();
+
+			try {
+				while (true) {
+					int read = inflater.inflate(b, off, len);
+					if (read > 0) {
+						remaining -= read;
+						return read;
+					}
+					if (inflater.finished() || inflater.needsDictionary()) {
+						finish();
+						return -1;
+					}
+					if (inflater.needsInput()) {
+						if (!input.hasRemaining()) {
+							finish();
+							throw new ZipException("Unexpected end of compressed data");
+						}
+						int chunk = Math.min(inputChunk.length, input.remaining());
+						input.get(inputChunk, 0, chunk);
+						inflater.setInput(inputChunk, 0, chunk);
+					}
+				}
+			} catch (DataFormatException e) {
+				finish();
+				throw new ZipException("Invalid compressed data: " + e.getMessage());
+			}
+		}
+
+		/**
+		 * Returns the number of bytes that have not been decompressed yet, like the
+		 * streams of {@link java.util.zip.ZipFile} do. Some parsers rely on this.
+		 */
+		@Override
+		public int available() {
+			return finished ? 0 : (int) Math.max(0, Math.min(remaining, Integer.MAX_VALUE));
+		}
+
+		private void finish() {
+			finished = true;
+			if (inflater != null) {
+				releaseInflater(inflater);
+				inflater = null;
+			}
+		}
+
+		@Override
+		public void close() {
+			finish();
+		}
+
+	}
+
+}
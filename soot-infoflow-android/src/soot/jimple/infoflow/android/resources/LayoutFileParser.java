@@ -10,11 +10,21 @@
  ******************************************************************************/
 package soot.jimple.infoflow.android.resources;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import pxb.android.axml.AxmlVisitor;
 import soot.FastHierarchy;
@@ -27,10 +37,13 @@ import soot.jimple.infoflow.android.axml.AXmlAttribute;
 import soot.jimple.infoflow.android.axml.AXmlHandler;
 import soot.jimple.infoflow.android.axml.AXmlNode;
 import soot.jimple.infoflow.android.axml.parsers.AXML20Parser;
+import soot.jimple.infoflow.android.axml.parsers.IBinaryXMLEventHandler;
+import soot.jimple.infoflow.android.axml.parsers.IBinaryXMLFileParser;
 import soot.jimple.infoflow.android.resources.ARSCFileParser.AbstractResource;
 import soot.jimple.infoflow.android.resources.ARSCFileParser.StringResource;
 import soot.jimple.infoflow.android.resources.controls.AndroidLayoutControl;
 import soot.jimple.infoflow.android.resources.controls.LayoutControlFactory;
+import soot.jimple.infoflow.util.ThreadUtils;
 import soot.util.HashMultiMap;
 import soot.util.MultiMap;
 
@@ -56,6 +69,7 @@ public class LayoutFileParser extends AbstractResourceParser {
 	private SootClass scWebView = null;
 
 	private LayoutControlFactory controlFactory = new LayoutControlFactory();
+	private int numThreads = 1;
 
 	public LayoutFileParser(String packageName, ARSCFileParser resParser) {
 		this.packageName = packageName;
@@ -190,43 +204,25 @@ public class LayoutFileParser extends AbstractResourceParser {
 	 * @param fileName The APK file in which to look for user controls
 	 */
 	public void parseLayoutFileDirect(final String fileName) {
+		if (numThreads > 1) {
+			parseLayoutFilesParallel(fileName);
+			return;
+		}
+
 		handleAndroidResourceFiles(fileName, /* classes, */ null, new IResourceHandler() {
 
 			@Override
 			public void handleResourceFile(final String fileName, Set<String> fileNameFilter, InputStream stream) {
-				// We only process valid layout XML files
-				if (!fileName.startsWith("res/layout") && !fileName.startsWith("res/navigation"))
+				if (!isLayoutFile(fileName, fileNameFilter))
 					return;
-				if (!fileName.endsWith(".xml")) {
-					logger.warn(String.format("Skipping file %s in layout folder...", fileName));
-					return;
-				}
 
 				// Initialize the Soot classes
-				scViewGroup = Scene.v().getSootClassUnsafe("android.view.ViewGroup");
-				scView = Scene.v().getSootClassUnsafe("android.view.View");
-				scWebView = Scene.v().getSootClassUnsafe("android.webkit.WebView");
-
-				// Get the fully-qualified class name
-				String entryClass = fileName.substring(0, fileName.lastIndexOf("."));
-				if (!packageName.isEmpty())
-					entryClass = packageName + "." + entryClass;
-
-				// We are dealing with resource files
-				if (fileNameFilter != null) {
-					boolean found = false;
-					for (String s : fileNameFilter)
-						if (s.equalsIgnoreCase(entryClass)) {
-							found = true;
-							break;
-						}
-					if (!found)
-						return;
-				}
+				initializeSootClasses();
 
 				try {
-					AXmlHandler handler = new AXmlHandler(stream, new AXML20Parser());
-					parseLayoutNode(fileName, handler.getDocument().getRootNode());
+					// We stream the elements instead of building the full node tree
+					AXmlHandler.parse(stream, createBinaryXMLParser(null), new UnnamedElementFilter(fileName,
+							element -> parseLayoutNode(fileName, element)));
 				} catch (Exception ex) {
 					logger.error("Could not read binary XML file: " + ex.getMessage(), ex);
 				}
@@ -235,17 +231,201 @@ public class LayoutFileParser extends AbstractResourceParser {
 	}
 
 	/**
-	 * Parses the layout file with the given root node
+	 * Parses all layout XML files in the given APK file. The files are decoded on
+	 * a thread pool. The Soot scene is not thread-safe, so the decoded elements
+	 * are analyzed on the calling thread, in the order of the files in the APK.
+	 * The results are thus the same as with the sequential parser.
 	 * 
-	 * @param layoutFile The full path and file name of the file being parsed
-	 * @param rootNode   The root node from where to start parsing
+	 * @param fileName The APK file in which to look for user controls
 	 */
-	private void parseLayoutNode(String layoutFile, AXmlNode rootNode) {
-		if (rootNode.getTag() == null || rootNode.getTag().isEmpty()) {
-			logger.warn("Encountered a null or empty node name in file %s, skipping node...", layoutFile);
-			return;
+	private void parseLayoutFilesParallel(final String fileName) {
+		File apkF = new File(fileName);
+		if (!apkF.exists())
+			throw new RuntimeException("file '" + fileName + "' does not exist!");
+
+		initializeSootClasses();
+		final Map<Integer, String> attributeNames = AXML20Parser.loadAttributeNames();
+
+		ExecutorService executor = ThreadUtils.createDaemonExecutor(numThreads, "FlowDroid Layout Parser");
+		try (ApkContainer archive = ApkContainer.open(apkF)) {
+			List<String> layoutFiles = new ArrayList<>();
+			for (String entryName : archive.getEntryNames())
+				if (isLayoutFile(entryName, null))
+					layoutFiles.add(entryName);
+
+			// We only decode a bounded number of files ahead of the analysis
+			final int maxPending = numThreads * 4;
+			Queue<Future<DecodedLayoutFile>> pending = new ArrayDeque<>();
+			int nextFile = 0;
+			while (nextFile < layoutFiles.size() || !pending.isEmpty()) {
+				while (nextFile < layoutFiles.size() && pending.size() < maxPending) {
+					final String layoutFile = layoutFiles.get(nextFile++);
+					pending.add(executor.submit(() -> decodeLayoutFile(archive, layoutFile, attributeNames)));
+				}
+
+				DecodedLayoutFile decodedFile = pending.poll().get();
+				try {
+					for (AXmlNode element : decodedFile.elements)
+						parseLayoutNode(decodedFile.fileName, element);
+				} catch (Exception ex) {
+					logger.error("Could not read binary XML file: " + ex.getMessage(), ex);
+				}
+				// A decoding error must not get lost just because the analysis of the
+				// elements before it failed as well
+				if (decodedFile.exception != null)
+					logger.error("Could not read binary XML file: " + decodedFile.exception.getMessage(),
+							decodedFile.exception);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while parsing layout files", e);
+		} catch (ExecutionException | IOException e) {
+			logger.error("Error when looking for XML resource files in apk " + fileName, e);
+			throw new RuntimeException(e);
+		} finally {
+			executor.shutdownNow();
 		}
+	}
+
+	/**
+	 * The elements of a layout file that has been decoded on a worker thread
+	 */
+	private static class DecodedLayoutFile {
+
+		private final String fileName;
+		private final List<AXmlNode> elements = new ArrayList<>();
+		private Exception exception;
+
+		private DecodedLayoutFile(String fileName) {
+			this.fileName = fileName;
+		}
+
+	}
+
+	/**
+	 * Handler that skips elements without a tag name together with all elements
+	 * below them, and passes all other elements on to the given handler
+	 */
+	private class UnnamedElementFilter implements IBinaryXMLEventHandler {
+
+		private final String layoutFile;
+		private final IBinaryXMLEventHandler handler;
+		private int skipDepth = 0;
+
+		private UnnamedElementFilter(String layoutFile, IBinaryXMLEventHandler handler) {
+			this.layoutFile = layoutFile;
+			this.handler = handler;
+		}
+
+		@Override
+		public void startElement(AXmlNode element) {
+			if (skipDepth > 0)
+				skipDepth++;
+			else if (element.getTag() == null || element.getTag().isEmpty()) {
+				logger.warn("Encountered a null or empty node name in file {}, skipping node...", layoutFile);
+				skipDepth = 1;
+			} else
+				handler.startElement(element);
+		}
+
+		@Override
+		public void endElement(AXmlNode element) {
+			if (skipDepth > 0)
+				skipDepth--;
+			else
+				handler.endElement(element);
+		}
+
+	}
 
+	/**
+	 * Creates the parser for the binary layout files. In parallel mode, this
+	 * method is called on the decoding threads.
+	 * 
+	 * @param attributeNames The names of the Android attributes, or null to look
+	 *                       up the attributes in the Soot scene
+	 * @return The new parser
+	 */
+	protected IBinaryXMLFileParser createBinaryXMLParser(Map<Integer, String> attributeNames) {
+		return new AXML20Parser(attributeNames);
+	}
+
+	/**
+	 * Decodes the given layout file without accessing the Soot scene
+	 * 
+	 * @param archive        The APK that contains the layout file
+	 * @param fileName       The name of the layout file in the APK
+	 * @param attributeNames The names of the Android attributes
+	 * @return The elements of the layout file in document order, and the
+	 *         exception that stopped the decoding, if any
+	 */
+	private DecodedLayoutFile decodeLayoutFile(ApkContainer archive, String fileName,
+			Map<Integer, String> attributeNames) {
+		DecodedLayoutFile decodedFile = new DecodedLayoutFile(fileName);
+		try {
+			ByteBuffer data = archive.getEntryData(fileName);
+			byte[] buffer = new byte[data.remaining()];
+			data.get(buffer);
+			createBinaryXMLParser(attributeNames).parseFile(buffer,
+					new UnnamedElementFilter(fileName, decodedFile.elements::add));
+		} catch (Exception ex) {
+			decodedFile.exception = ex;
+		}
+		return decodedFile;
+	}
+
+	/**
+	 * Checks whether the given file from the APK is a layout file that shall be
+	 * parsed
+	 * 
+	 * @param fileName       The name of the file in the APK
+	 * @param fileNameFilter If this parameter is non-null, only files with a name
+	 *                       (excluding extension) in this set will be analyzed.
+	 * @return True if the given file shall be parsed, otherwise false
+	 */
+	private boolean isLayoutFile(String fileName, Set<String> fileNameFilter) {
+		// We only process valid layout XML files
+		if (!fileName.startsWith("res/layout") && !fileName.startsWith("res/navigation"))
+			return false;
+		if (!fileName.endsWith(".xml")) {
+			logger.warn(String.format("Skipping file %s in layout folder...", fileName));
+			return false;
+		}
+
+		// Get the fully-qualified class name
+		String entryClass = fileName.substring(0, fileName.lastIndexOf("."));
+		if (!packageName.isEmpty())
+			entryClass = packageName + "." + entryClass;
+
+		// We are dealing with resource files
+		if (fileNameFilter != null) {
+			for (String s : fileNameFilter)
+				if (s.equalsIgnoreCase(entryClass))
+					return true;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Initializes the Soot classes against which the layout classes are checked
+	 */
+	private void initializeSootClasses() {
+		scViewGroup = Scene.v().getSootClassUnsafe("android.view.ViewGroup");
+		scView = Scene.v().getSootClassUnsafe("android.view.View");
+		scWebView = Scene.v().getSootClassUnsafe("android.webkit.WebView");
+	}
+
+	/**
+	 * Parses a single element of a layout file. The children of the element are
+	 * reported separately by the streaming parser. Elements without a tag name
+	 * and their children never reach this method, see
+	 * {@link UnnamedElementFilter}.
+	 * 
+	 * @param layoutFile The full path and file name of the file being parsed
+	 * @param rootNode   The element to parse
+	 */
+	private void parseLayoutNode(String layoutFile, AXmlNode rootNode) {
 		String tname = rootNode.getTag().trim();
 		if (tname.equals("dummy")) {
 			// dummy root node, ignore it
@@ -277,10 +457,6 @@ public class LayoutFileParser extends AbstractResourceParser {
 			if (childClass != null && (isLayoutClass(childClass) || isViewClass(childClass)))
 				parseLayoutAttributes(layoutFile, childClass, rootNode);
 		}
-
-		// Parse the child nodes
-		for (AXmlNode childNode : rootNode.getChildren())
-			parseLayoutNode(layoutFile, childNode);
 	}
 
 	/**
@@ -405,6 +581,18 @@ public class LayoutFileParser extends AbstractResourceParser {
 		return this.loadOnlySensitiveControls;
 	}
 
+	/**
+	 * Sets the number of threads to use for decoding the layout files. With more
+	 * than one thread, the files are decoded in parallel, but still analyzed in
+	 * the order in which they appear in the APK.
+	 * 
+	 * @param numThreads The number of threads to use for decoding the layout
+	 *                   files
+	 */
+	public void setThreadCount(int numThreads) {
+		this.numThreads = numThreads;
+	}
+
 	/**
 	 * Sets the layout control factory to use for creating new layout controls
 	 * 
@@ -0,0 +1,100 @@
+package soot.jimple.infoflow.android.test.droidBench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import heros.solver.Pair;
+import soot.SootClass;
+import soot.jimple.infoflow.android.SetupApplication;
+import soot.jimple.infoflow.android.callbacks.AndroidCallbackDefinition;
+import soot.util.MultiMap;
+
+/**
+ * Checks that skipping the callgraph construction for an unchanged dummy main
+ * method saves callgraph constructions without changing the collected callbacks
+ */
+public class CallgraphReuseTest {
+
+	private static final String[] APKS = { "Callbacks/Button1.apk", "Callbacks/Button2.apk",
+			"Callbacks/LocationLeak1.apk", "Callbacks/MultiHandlers1.apk", "Callbacks/RegisterGlobal1.apk",
+			"Lifecycle/FragmentLifecycle1.apk" };
+
+	private static String getAndroidJars() {
+		String androidJars = System.getenv("ANDROID_JARS");
+		if (androidJars == null)
+			androidJars = System.getProperty("ANDROID_JARS");
+		if (androidJars == null)
+			throw new RuntimeException("Android JAR dir not set");
+		return androidJars;
+	}
+
+	private static String getDroidBenchDir() {
+		String droidBenchDir = System.getenv("DROIDBENCH");
+		if (droidBenchDir == null)
+			droidBenchDir = System.getProperty("DROIDBENCH");
+		if (droidBenchDir == null) {
+			File droidBenchFile = new File("DroidBench/apk");
+			if (!droidBenchFile.exists())
+				droidBenchFile = new File("../DroidBench/apk");
+			if (droidBenchFile.exists())
+				droidBenchDir = droidBenchFile.getAbsolutePath();
+		}
+		if (droidBenchDir == null)
+			throw new RuntimeException("DroidBench dir not set");
+		return droidBenchDir;
+	}
+
+	/**
+	 * Collects the callbacks of the given APK file. Every run resets Soot, so the
+	 * callbacks are returned as strings that can be compared across runs.
+	 *
+	 * @param fileName       The APK file in DroidBench
+	 * @param reuseCallgraph True to reuse an unchanged callgraph between the
+	 *                       iterations of the callback analysis
+	 * @return The callbacks per component and the number of callgraph
+	 *         constructions
+	 */
+	private static Pair<Set<String>, Integer> collectCallbacks(String fileName, boolean reuseCallgraph) {
+		SetupApplication setupApplication = new SetupApplication(getAndroidJars(),
+				getDroidBenchDir() + File.separator + fileName);
+		setupApplication.getConfig().getCallbackConfig().setReuseCallgraph(reuseCallgraph);
+		setupApplication.constructCallgraph();
+
+		Set<String> callbacks = new HashSet<>();
+		MultiMap<SootClass, AndroidCallbackDefinition> callbackMethods = setupApplication.getCallbackMethods();
+		for (SootClass component : callbackMethods.keySet())
+			for (AndroidCallbackDefinition cd : callbackMethods.get(component))
+				callbacks.add(component.getName() + " / " + cd.getCallbackType() + " / "
+						+ cd.getTargetMethod().getSignature());
+		return new Pair<>(callbacks, setupApplication.getCallgraphConstructionCount());
+	}
+
+	@Test(timeout = 600000)
+	public void reuseCallgraphTest() {
+		int constructions = 0;
+		int reuseConstructions = 0;
+		for (String apk : APKS) {
+			Pair<Set<String>, Integer> expected = collectCallbacks(apk, false);
+			assertFalse(apk, expected.getO1().isEmpty());
+
+			Pair<Set<String>, Integer> reused = collectCallbacks(apk, true);
+			assertEquals(apk, expected.getO1(), reused.getO1());
+			assertTrue(apk, reused.getO2() <= expected.getO2());
+
+			constructions += expected.getO2();
+			reuseConstructions += reused.getO2();
+		}
+
+		// At least one of the apps must have an iteration in which the callgraph
+		// construction was skipped
+		assertTrue(reuseConstructions < constructions);
+	}
+
+}
@@ -0,0 +1,60 @@
+package soot.jimple.infoflow.android.test.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import soot.jimple.infoflow.android.resources.ARSCFileParser;
+import soot.jimple.infoflow.android.resources.ARSCFileParser.AbstractResource;
+import soot.jimple.infoflow.android.resources.ARSCFileParser.ResConfig;
+import soot.jimple.infoflow.android.resources.ARSCFileParser.ResPackage;
+import soot.jimple.infoflow.android.resources.ARSCFileParser.ResType;
+
+public class ARSCFileParserLazyTest {
+
+	private static final File APK = new File("testAPKs/FlowDroidAliasActivity.apk");
+
+	private static ARSCFileParser parse(boolean lazy, boolean stringPoolCaching) throws IOException {
+		ARSCFileParser parser = new ARSCFileParser();
+		parser.setLazyDecoding(lazy);
+		parser.setStringPoolCaching(stringPoolCaching);
+		parser.parse(APK.getAbsolutePath());
+		return parser;
+	}
+
+	@Test
+	public void lazyLookupTest() throws IOException {
+		ARSCFileParser eager = parse(false, true);
+		ARSCFileParser lazy = parse(true, false);
+
+		// Look up the resources before anything else forces the lazy parser to
+		// decode its configurations
+		for (ResPackage resPackage : eager.getPackages())
+			for (ResType resType : resPackage.getDeclaredTypes())
+				for (ResConfig resConfig : resType.getConfigurations())
+					for (AbstractResource res : resConfig.getResources()) {
+						AbstractResource expected = eager.findResource(res.getResourceID());
+						AbstractResource actual = lazy.findResource(res.getResourceID());
+						assertNotNull(actual);
+						assertEquals(expected.getResourceName(), actual.getResourceName());
+						assertEquals(String.valueOf(expected), String.valueOf(actual));
+
+						AbstractResource byName = lazy.findResourceByName(resType.getTypeName(),
+								res.getResourceName());
+						assertNotNull(byName);
+					}
+	}
+
+	@Test
+	public void lazyMatchesEagerTest() throws IOException {
+		ARSCFileParser eager = parse(false, true);
+		ARSCFileParser lazy = parse(true, true);
+		assertEquals(eager.getPackages(), lazy.getPackages());
+		assertEquals(eager.getGlobalStringPool(), lazy.getGlobalStringPool());
+	}
+
+}
@@ -0,0 +1,155 @@
+package soot.jimple.infoflow.android.test.resources;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.Test;
+
+import soot.jimple.infoflow.android.axml.ApkHandler;
+import soot.jimple.infoflow.android.resources.ARSCFileParser;
+import soot.jimple.infoflow.android.resources.ApkContainer;
+
+public class ApkContainerTest {
+
+	private static final File APK = new File("testAPKs/FlowDroidAliasActivity.apk");
+
+	private static byte[] readAll(InputStream is) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int len;
+		while ((len = is.read(buffer)) > 0)
+			bos.write(buffer, 0, len);
+		return bos.toByteArray();
+	}
+
+	@Test
+	public void entriesMatchZipFileTest() throws IOException {
+		try (ApkContainer container = ApkContainer.open(APK); ApkContainer other = ApkContainer.open(APK)) {
+			assertSame(container, other);
+			checkEntries(container);
+		}
+	}
+
+	private void checkEntries(ApkContainer container) throws IOException {
+		List<String> names = new ArrayList<>();
+		try (ZipFile zip = new ZipFile(APK)) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				names.add(entry.getName());
+				byte[] expected;
+				try (InputStream is = zip.getInputStream(entry)) {
+					expected = readAll(is);
+				}
+
+				try (InputStream is = container.getInputStream(entry.getName())) {
+					assertArrayEquals(entry.getName(), expected, readAll(is));
+				}
+				ByteBuffer data = container.getEntryData(entry.getName());
+				byte[] actual = new byte[data.remaining()];
+				data.get(actual);
+				assertArrayEquals(entry.getName(), expected, actual);
+			}
+		}
+		assertEquals(names, container.getEntryNames());
+
+		assertTrue(container.hasEntry("AndroidManifest.xml"));
+		assertFalse(container.hasEntry("doesNotExist.xml"));
+		assertNull(container.getInputStream("doesNotExist.xml"));
+		assertNull(container.getEntryData("doesNotExist.xml"));
+	}
+
+	@Test
+	public void arscFromContainerTest() throws IOException {
+		ARSCFileParser fromStream = new ARSCFileParser();
+		try (ZipFile zip = new ZipFile(APK); InputStream is = zip.getInputStream(zip.getEntry("resources.arsc"))) {
+			fromStream.parse(is);
+		}
+		ARSCFileParser fromContainer = ARSCFileParser.getInstance(APK);
+
+		assertEquals(fromStream.getGlobalStringPool(), fromContainer.getGlobalStringPool());
+		assertEquals(fromStream.getPackages().size(), fromContainer.getPackages().size());
+		assertEquals(fromStream.findResourceByName("layout", "activity_main").getResourceID(),
+				fromContainer.findResourceByName("layout", "activity_main").getResourceID());
+	}
+
+	@Test
+	public void releaseTest() throws IOException {
+		File copy = File.createTempFile("apkcontainer", ".apk");
+		try {
+			Files.copy(APK.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+			// A container that is still open keeps the mapping until it is closed
+			ApkContainer container = ApkContainer.open(copy);
+			ByteBuffer manifest = container.getEntryData("AndroidManifest.xml");
+			assertFalse(ApkContainer.invalidate(copy));
+			container.close();
+
+			// Buffers that were obtained before stay readable
+			assertTrue(manifest.remaining() > 0);
+			manifest.get(manifest.limit() - 1);
+			try {
+				container.getEntryData("AndroidManifest.xml");
+				fail("Released container must not be accessed");
+			} catch (IllegalStateException e) {
+				// expected
+			}
+
+			// A closed container is released right away
+			try (ApkContainer c = ApkContainer.open(copy)) {
+				assertTrue(c.hasEntry("AndroidManifest.xml"));
+			}
+			assertTrue(ApkContainer.invalidate(copy));
+		} finally {
+			copy.delete();
+		}
+	}
+
+	@Test
+	public void rewriteAfterParsingTest() throws IOException {
+		File copy = File.createTempFile("apkcontainer", ".apk");
+		File extra = File.createTempFile("extra", ".txt");
+		try {
+			Files.copy(APK.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			Files.write(extra.toPath(), "extra".getBytes());
+
+			// The resource parser keeps its data after the APK has been rewritten
+			ARSCFileParser parser = ARSCFileParser.getInstance(copy);
+			try (ApkHandler handler = new ApkHandler(copy)) {
+				try (InputStream is = handler.getInputStream("AndroidManifest.xml")) {
+					assertTrue(readAll(is).length > 0);
+				}
+				handler.addFilesToApk(Collections.singletonList(extra));
+				try (InputStream is = handler.getInputStream(extra.getName())) {
+					assertArrayEquals("extra".getBytes(), readAll(is));
+				}
+			}
+			assertTrue(ApkContainer.invalidate(copy));
+			assertNotNull(parser.findResourceByName("layout", "activity_main"));
+		} finally {
+			copy.delete();
+			extra.delete();
+		}
+	}
+
+}
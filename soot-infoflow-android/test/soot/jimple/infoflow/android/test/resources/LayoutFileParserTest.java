@@ -0,0 +1,166 @@
+package soot.jimple.infoflow.android.test.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.xmlpull.v1.XmlPullParserException;
+
+import soot.G;
+import soot.Scene;
+import soot.jimple.infoflow.android.axml.AXmlDocument;
+import soot.jimple.infoflow.android.axml.AXmlNode;
+import soot.jimple.infoflow.android.axml.parsers.AXML20Parser;
+import soot.jimple.infoflow.android.axml.parsers.IBinaryXMLFileParser;
+import soot.jimple.infoflow.android.manifest.ProcessManifest;
+import soot.jimple.infoflow.android.resources.ARSCFileParser;
+import soot.jimple.infoflow.android.resources.LayoutFileParser;
+import soot.options.Options;
+import soot.util.MultiMap;
+
+/**
+ * Checks that the streaming layout file parser finds the same controls,
+ * callbacks and inclusions as the parser on the complete document tree
+ */
+public class LayoutFileParserTest {
+
+	private static final File APK = new File("testAPKs/FlowDroidAliasActivity.apk");
+
+	/**
+	 * Binary XML parser that always builds the complete document tree, and thus
+	 * reports the elements through the default implementation of
+	 * {@link IBinaryXMLFileParser}
+	 */
+	private static class TreeParser implements IBinaryXMLFileParser {
+
+		private final AXML20Parser parser;
+
+		private TreeParser(Map<Integer, String> attributeNames) {
+			this.parser = new AXML20Parser(attributeNames);
+		}
+
+		@Override
+		public void parseFile(byte[] buffer) throws IOException {
+			parser.parseFile(buffer);
+		}
+
+		@Override
+		public AXmlDocument getDocument() {
+			return parser.getDocument();
+		}
+
+		@Override
+		public List<AXmlNode> getNodesWithTag(String tag) {
+			return parser.getNodesWithTag(tag);
+		}
+
+	}
+
+	/**
+	 * Layout file parser that exposes the inclusions between the layout files
+	 */
+	private static class TestLayoutFileParser extends LayoutFileParser {
+
+		private final boolean useTree;
+
+		private TestLayoutFileParser(String packageName, ARSCFileParser resParser, boolean useTree) {
+			super(packageName, resParser);
+			this.useTree = useTree;
+		}
+
+		@Override
+		protected IBinaryXMLFileParser createBinaryXMLParser(Map<Integer, String> attributeNames) {
+			if (useTree)
+				return new TreeParser(attributeNames);
+			return super.createBinaryXMLParser(attributeNames);
+		}
+
+		private MultiMap<String, String> getIncludeDependencies() {
+			return includeDependencies;
+		}
+
+	}
+
+	/**
+	 * Loads the test APK into a fresh Soot scene
+	 */
+	private static void initializeSoot() {
+		String androidJars = System.getenv("ANDROID_JARS");
+		if (androidJars == null)
+			androidJars = System.getProperty("ANDROID_JARS");
+		if (androidJars == null)
+			throw new RuntimeException("Android JAR dir not set");
+
+		G.reset();
+		Options.v().set_allow_phantom_refs(true);
+		Options.v().set_whole_program(true);
+		Options.v().set_output_format(Options.output_format_none);
+		Options.v().set_process_dir(Collections.singletonList(APK.getAbsolutePath()));
+		Options.v().set_android_jars(androidJars);
+		Options.v().set_src_prec(Options.src_prec_apk);
+		Options.v().set_ignore_resolution_errors(true);
+		Scene.v().loadNecessaryClasses();
+	}
+
+	/**
+	 * Parses the layout files of the test APK
+	 *
+	 * @param useTree    True to parse the layout files as complete document
+	 *                   trees, false to stream them
+	 * @param numThreads The number of threads for decoding the layout files
+	 * @return The layout file parser after parsing
+	 */
+	private static TestLayoutFileParser parseLayoutFiles(boolean useTree, int numThreads)
+			throws IOException, XmlPullParserException {
+		initializeSoot();
+		ARSCFileParser resParser = ARSCFileParser.getInstance(APK);
+		String packageName;
+		try (ProcessManifest manifest = new ProcessManifest(APK, resParser)) {
+			packageName = manifest.getPackageName();
+		}
+
+		TestLayoutFileParser lfp = new TestLayoutFileParser(packageName, resParser, useTree);
+		lfp.setThreadCount(numThreads);
+		lfp.parseLayoutFileDirect(APK.getAbsolutePath());
+		return lfp;
+	}
+
+	private static <K, V> void assertMultiMapEquals(String message, MultiMap<K, V> expected,
+			MultiMap<K, V> actual) {
+		assertEquals(message, expected.keySet(), actual.keySet());
+		for (K key : expected.keySet())
+			assertEquals(message + " / " + key, expected.get(key), actual.get(key));
+	}
+
+	private static void assertSameResults(TestLayoutFileParser expected, TestLayoutFileParser actual) {
+		assertMultiMapEquals("controls", expected.getUserControls(), actual.getUserControls());
+		assertMultiMapEquals("callbacks", expected.getCallbackMethods(), actual.getCallbackMethods());
+		assertMultiMapEquals("includes", expected.getIncludeDependencies(), actual.getIncludeDependencies());
+	}
+
+	@Test
+	public void streamingMatchesTreeTest() throws IOException, XmlPullParserException {
+		TestLayoutFileParser tree = parseLayoutFiles(true, 1);
+		TestLayoutFileParser streaming = parseLayoutFiles(false, 1);
+
+		assertFalse(tree.getUserControls().isEmpty());
+		assertFalse(tree.getIncludeDependencies().isEmpty());
+		assertSameResults(tree, streaming);
+	}
+
+	@Test
+	public void parallelMatchesSequentialTest() throws IOException, XmlPullParserException {
+		TestLayoutFileParser sequential = parseLayoutFiles(false, 1);
+		TestLayoutFileParser parallel = parseLayoutFiles(false, 4);
+
+		assertFalse(sequential.getUserControls().isEmpty());
+		assertSameResults(sequential, parallel);
+	}
+
+}
@@ -0,0 +1,100 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import soot.Body;
+import soot.Local;
+import soot.SootField;
+import soot.jimple.Stmt;
+import soot.jimple.infoflow.InfoflowConfiguration;
+import soot.jimple.infoflow.InfoflowManager;
+import soot.jimple.infoflow.data.Abstraction;
+import soot.jimple.infoflow.data.AccessPath;
+import soot.jimple.infoflow.data.AccessPathFactory;
+
+/**
+ * Benchmarks for deriving and comparing taint abstractions
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbstractionBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean internAccessPaths;
+
+	private Abstraction source;
+	private AccessPath derivedPath;
+	private Stmt stmt;
+
+	private Abstraction equalLeft;
+	private Abstraction equalRight;
+	private Abstraction different;
+
+	@Setup
+	public void setup() {
+		BenchmarkScene.loadFixture();
+		InfoflowConfiguration config = new InfoflowConfiguration();
+		config.getAccessPathConfiguration().setUseAccessPathInterning(internAccessPaths);
+		InfoflowManager manager = BenchmarkScene.createManager(config);
+		AccessPathFactory factory = manager.getAccessPathFactory();
+
+		Body body = BenchmarkScene.getFixtureBody("void fieldFlows()");
+		List<Local> nodes = BenchmarkScene.getNodeLocals(body);
+		Local n = nodes.get(0);
+		Local cur = nodes.get(1);
+		SootField next = BenchmarkScene.getNodeField("next");
+		SootField data = BenchmarkScene.getNodeField("data");
+		stmt = (Stmt) body.getUnits().getLast();
+
+		source = Abstraction.createAbstraction(null, factory.createAccessPath(n, true), stmt, null, false, false);
+		derivedPath = factory.createAccessPath(n, new SootField[] { next, data }, true);
+
+		// Two distinct, but equal abstractions and one that differs only in the
+		// access path
+		equalLeft = source.deriveNewAbstraction(factory.createAccessPath(n, new SootField[] { next, data }, true),
+				stmt);
+		equalRight = source.deriveNewAbstraction(factory.createAccessPath(n, new SootField[] { next, data }, true),
+				stmt);
+		different = source.deriveNewAbstraction(factory.createAccessPath(cur, new SootField[] { next, data }, true),
+				stmt);
+	}
+
+	@Benchmark
+	public Abstraction deriveNewAbstraction() {
+		return source.deriveNewAbstraction(derivedPath, stmt);
+	}
+
+	@Benchmark
+	public boolean equalsEqual() {
+		return equalLeft.equals(equalRight);
+	}
+
+	@Benchmark
+	public boolean equalsDifferent() {
+		return equalLeft.equals(different);
+	}
+
+	@Benchmark
+	public int hashCodeFresh() {
+		// Abstractions cache their hash code, so we need a new object every time
+		return source.deriveNewAbstraction(derivedPath, stmt).hashCode();
+	}
+
+}
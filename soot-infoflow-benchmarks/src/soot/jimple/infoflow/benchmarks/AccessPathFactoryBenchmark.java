@@ -0,0 +1,90 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import soot.Body;
+import soot.Local;
+import soot.SootField;
+import soot.jimple.Jimple;
+import soot.jimple.infoflow.InfoflowConfiguration;
+import soot.jimple.infoflow.data.AccessPath;
+import soot.jimple.infoflow.data.AccessPathFactory;
+
+/**
+ * Benchmarks for creating access paths
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessPathFactoryBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean internAccessPaths;
+
+	private AccessPathFactory factory;
+	private Local base;
+	private Local other;
+	private SootField[] fields;
+	private SootField[] recursiveFields;
+	private AccessPath fieldPath;
+
+	@Setup
+	public void setup() {
+		BenchmarkScene.loadFixture();
+		InfoflowConfiguration config = new InfoflowConfiguration();
+		config.getAccessPathConfiguration().setUseAccessPathInterning(internAccessPaths);
+		factory = BenchmarkScene.createManager(config).getAccessPathFactory();
+
+		Body body = BenchmarkScene.getFixtureBody("void aliasFlows()");
+		List<Local> nodes = BenchmarkScene.getNodeLocals(body);
+		base = nodes.get(0);
+		other = nodes.get(1);
+		SootField next = BenchmarkScene.getNodeField("next");
+		SootField data = BenchmarkScene.getNodeField("data");
+		fields = new SootField[] { next, data };
+		recursiveFields = new SootField[] { next, next, next, data };
+		fieldPath = factory.createAccessPath(base, fields, true);
+	}
+
+	@Benchmark
+	public AccessPath createLocal() {
+		return factory.createAccessPath(base, true);
+	}
+
+	@Benchmark
+	public AccessPath createWithFields() {
+		return factory.createAccessPath(base, fields, true);
+	}
+
+	@Benchmark
+	public AccessPath createWithRecursiveFields() {
+		return factory.createAccessPath(base, recursiveFields, true);
+	}
+
+	@Benchmark
+	public AccessPath createFromFieldRef() {
+		return factory.createAccessPath(Jimple.v().newInstanceFieldRef(base, fields[0].makeRef()), true);
+	}
+
+	@Benchmark
+	public AccessPath copyWithNewValue() {
+		return factory.copyWithNewValue(fieldPath, other);
+	}
+
+}
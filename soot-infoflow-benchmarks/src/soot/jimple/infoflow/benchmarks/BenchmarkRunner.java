@@ -0,0 +1,50 @@
+package soot.jimple.infoflow.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the FlowDroid benchmarks and writes the results as JSON, so that the
+ * numbers of different FlowDroid versions can be compared.
+ *
+ * Usage: <code>java -jar soot-infoflow-benchmarks.jar [result.json] [regex]*</code>.
+ * If no regular expression is given, all benchmarks are executed.
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * The file into which the results are written if no other file is given
+	 */
+	public static final String DEFAULT_RESULT_FILE = "flowdroid-benchmarks.json";
+
+	/**
+	 * The resource that the JMH annotation processor generates for the benchmarks
+	 * in this module
+	 */
+	private static final String BENCHMARK_LIST = "META-INF/BenchmarkList";
+
+	public static void main(String[] args) throws RunnerException {
+		// Without the generated benchmark list, JMH would only report that no
+		// benchmarks match
+		if (BenchmarkRunner.class.getClassLoader().getResource(BENCHMARK_LIST) == null)
+			throw new RunnerException(String.format(
+					"%s not found, the benchmarks were compiled without the JMH annotation processor",
+					BENCHMARK_LIST));
+
+		String resultFile = args.length > 0 ? args[0] : DEFAULT_RESULT_FILE;
+
+		OptionsBuilder builder = new OptionsBuilder();
+		if (args.length > 1) {
+			for (int i = 1; i < args.length; i++)
+				builder.include(args[i]);
+		} else
+			builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+
+		Options options = builder.resultFormat(ResultFormatType.JSON).result(resultFile).build();
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,153 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import soot.Body;
+import soot.G;
+import soot.Local;
+import soot.RefType;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootField;
+import soot.SootMethod;
+import soot.jimple.infoflow.InfoflowConfiguration;
+import soot.jimple.infoflow.InfoflowManager;
+import soot.jimple.infoflow.benchmarks.fixture.BenchmarkFixture;
+import soot.jimple.infoflow.data.Abstraction;
+import soot.options.Options;
+
+/**
+ * Shared setup code for the benchmarks. All benchmarks operate on the fixed
+ * {@link BenchmarkFixture} program, so that the numbers of different FlowDroid
+ * versions remain comparable.
+ */
+public class BenchmarkScene {
+
+	public static final String FIXTURE_CLASS = BenchmarkFixture.class.getName();
+	public static final String NODE_CLASS = FIXTURE_CLASS + "$Node";
+
+	public static final String ENTRY_POINT = "<" + FIXTURE_CLASS + ": void main(java.lang.String[])>";
+	public static final String SOURCE = "<" + FIXTURE_CLASS + ": java.lang.String source()>";
+	public static final String SINK = "<" + FIXTURE_CLASS + ": void sink(java.lang.String)>";
+
+	private BenchmarkScene() {
+		// only static methods
+	}
+
+	/**
+	 * Gets the class path entry that contains the benchmark fixture
+	 *
+	 * @return The application path for the data flow analysis
+	 */
+	public static String getAppPath() {
+		try {
+			return new File(BenchmarkFixture.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+					.getCanonicalPath();
+		} catch (URISyntaxException | IOException e) {
+			throw new RuntimeException("Could not locate the benchmark fixture", e);
+		}
+	}
+
+	/**
+	 * Gets the library path that contains the Java runtime classes
+	 *
+	 * @return The library path for the data flow analysis
+	 */
+	public static String getLibPath() {
+		return Scene.defaultJavaClassPath();
+	}
+
+	/**
+	 * Gets the sources in the benchmark fixture
+	 *
+	 * @return The signatures of the source methods
+	 */
+	public static List<String> getSources() {
+		return Collections.singletonList(SOURCE);
+	}
+
+	/**
+	 * Gets the sinks in the benchmark fixture
+	 *
+	 * @return The signatures of the sink methods
+	 */
+	public static List<String> getSinks() {
+		return Collections.singletonList(SINK);
+	}
+
+	/**
+	 * Resets Soot and loads the benchmark fixture without running any analysis
+	 */
+	public static void loadFixture() {
+		G.reset();
+		Options.v().set_soot_classpath(getAppPath() + File.pathSeparator + getLibPath());
+		Options.v().set_allow_phantom_refs(true);
+		Options.v().set_no_bodies_for_excluded(true);
+		Options.v().set_output_format(Options.output_format_none);
+		Options.v().setPhaseOption("jb.ulp", "off");
+
+		Scene.v().addBasicClass(FIXTURE_CLASS, SootClass.BODIES);
+		Scene.v().addBasicClass(NODE_CLASS, SootClass.SIGNATURES);
+		Scene.v().loadNecessaryClasses();
+		Scene.v().getSootClass(FIXTURE_CLASS).setApplicationClass();
+	}
+
+	/**
+	 * Creates a data flow manager that is not connected to any solver. Such a
+	 * manager is sufficient for creating access paths and abstractions.
+	 *
+	 * @param config The data flow configuration
+	 * @return The new data flow manager
+	 */
+	public static InfoflowManager createManager(InfoflowConfiguration config) {
+		Abstraction.initialize(config);
+		Abstraction.getZeroAbstraction(config.getFlowSensitiveAliasing());
+		return new InfoflowManager(config, null, null) {
+		};
+	}
+
+	/**
+	 * Gets the body of a method in the benchmark fixture
+	 *
+	 * @param subSignature The sub-signature of the method
+	 * @return The Jimple body of the method
+	 */
+	public static Body getFixtureBody(String subSignature) {
+		SootMethod sm = Scene.v().getSootClass(FIXTURE_CLASS).getMethod(subSignature);
+		return sm.retrieveActiveBody();
+	}
+
+	/**
+	 * Gets all local variables that reference nodes of the linked node class in
+	 * the benchmark fixture
+	 *
+	 * @param body The body in which to look for the locals
+	 * @return The locals that reference nodes, in the order of declaration
+	 */
+	public static List<Local> getNodeLocals(Body body) {
+		RefType nodeType = Scene.v().getSootClass(NODE_CLASS).getType();
+		List<Local> locals = new ArrayList<>();
+		for (Local l : body.getLocals())
+			if (l.getType() == nodeType)
+				locals.add(l);
+		if (locals.size() < 2)
+			throw new IllegalStateException(String.format("Method %s uses too few nodes", body.getMethod()));
+		return locals;
+	}
+
+	/**
+	 * Gets a field of the linked node class in the benchmark fixture
+	 *
+	 * @param name The name of the field
+	 * @return The field with the given name
+	 */
+	public static SootField getNodeField(String name) {
+		return Scene.v().getSootClass(NODE_CLASS).getFieldByName(name);
+	}
+
+}
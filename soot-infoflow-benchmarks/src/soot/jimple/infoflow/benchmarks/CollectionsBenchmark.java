@@ -0,0 +1,113 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soot.jimple.infoflow.collect.ConcurrentCountingMap;
+import soot.jimple.infoflow.collect.MyConcurrentHashMap;
+import soot.jimple.infoflow.util.extensiblelist.ExtensibleList;
+
+/**
+ * Benchmarks for the collections that are used on the hot paths of the data
+ * flow solvers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionsBenchmark {
+
+	private static final int KEY_COUNT = 1024;
+
+	private Integer[] keys;
+
+	private MyConcurrentHashMap<Integer, Integer> concurrentMap;
+	private ConcurrentCountingMap<Integer> countingMap;
+	private ExtensibleList<Integer> sharedPrefix;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		keys = new Integer[KEY_COUNT];
+		for (int i = 0; i < KEY_COUNT; i++)
+			keys[i] = i * 31;
+	}
+
+	@Setup(Level.Iteration)
+	public void resetCollections() {
+		// Half of the keys are already present, so we measure both hits and
+		// misses
+		concurrentMap = new MyConcurrentHashMap<>();
+		for (int i = 0; i < KEY_COUNT; i += 2)
+			concurrentMap.put(keys[i], keys[i]);
+
+		countingMap = new ConcurrentCountingMap<>();
+
+		sharedPrefix = new ExtensibleList<>();
+		for (int i = 0; i < 16; i++)
+			sharedPrefix = sharedPrefix.add(keys[i]);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(KEY_COUNT)
+	public void myConcurrentHashMapPutIfAbsentElseGet(Blackhole bh) {
+		for (Integer key : keys)
+			bh.consume(concurrentMap.putIfAbsentElseGet(key, key));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(KEY_COUNT)
+	public void concurrentCountingMapIncrement(Blackhole bh) {
+		for (Integer key : keys)
+			bh.consume(countingMap.increment(key));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(KEY_COUNT)
+	public void concurrentCountingMapGet(Blackhole bh) {
+		for (Integer key : keys)
+			bh.consume(countingMap.get(key));
+	}
+
+	@Benchmark
+	public ExtensibleList<Integer> extensibleListExtend() {
+		// Extending a shared prefix is what the path builders do for every
+		// new path element
+		ExtensibleList<Integer> list = new ExtensibleList<>(sharedPrefix);
+		for (int i = 0; i < 8; i++)
+			list = list.add(keys[i]);
+		return list;
+	}
+
+	@Benchmark
+	public int extensibleListHashCode() {
+		ExtensibleList<Integer> list = new ExtensibleList<>(sharedPrefix);
+		list = list.add(keys[0]);
+		return list.hashCode();
+	}
+
+	@Benchmark
+	public int extensibleListIterate() {
+		int sum = 0;
+		Iterator<Integer> it = sharedPrefix.reverseIterator();
+		while (it.hasNext())
+			sum += it.next();
+		return sum;
+	}
+
+}
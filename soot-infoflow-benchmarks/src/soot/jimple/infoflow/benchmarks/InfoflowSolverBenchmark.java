@@ -0,0 +1,68 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
+import soot.jimple.infoflow.InfoflowConfiguration.JumpFunctionStoreMode;
+import soot.jimple.infoflow.InfoflowConfiguration.SootIntegrationMode;
+import soot.jimple.infoflow.results.InfoflowResults;
+import soot.jimple.infoflow.sourcesSinks.manager.DefaultSourceSinkManager;
+
+/**
+ * Benchmark for a complete taint propagation over the benchmark fixture. The
+ * callgraph is only built once, every invocation then runs the IFDS solvers on
+ * the existing callgraph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InfoflowSolverBenchmark {
+
+	@Param({ "ContextFlowSensitive", "GarbageCollecting" })
+	public DataFlowSolver dataFlowSolver;
+
+	@Param({ "HashMap", "Compact" })
+	public JumpFunctionStoreMode jumpFunctionStore;
+
+	@Setup
+	public void setup() {
+		// Build the callgraph once
+		InfoflowResults results = runAnalysis(SootIntegrationMode.CreateNewInstance);
+		if (results == null || results.isEmpty())
+			throw new IllegalStateException("The benchmark fixture did not produce any data flows");
+	}
+
+	@Benchmark
+	public InfoflowResults solve() {
+		return runAnalysis(SootIntegrationMode.UseExistingCallgraph);
+	}
+
+	private InfoflowResults runAnalysis(SootIntegrationMode integrationMode) {
+		Infoflow infoflow = new Infoflow("", false, null);
+		infoflow.setThrowExceptions(true);
+		infoflow.getConfig().setSootIntegrationMode(integrationMode);
+		infoflow.getConfig().getSolverConfiguration().setDataFlowSolver(dataFlowSolver);
+		infoflow.getConfig().getSolverConfiguration().setJumpFunctionStoreMode(jumpFunctionStore);
+		infoflow.computeInfoflow(BenchmarkScene.getAppPath(), BenchmarkScene.getLibPath(),
+				BenchmarkScene.ENTRY_POINT,
+				new DefaultSourceSinkManager(BenchmarkScene.getSources(), BenchmarkScene.getSinks()));
+		return infoflow.getResults();
+	}
+
+}
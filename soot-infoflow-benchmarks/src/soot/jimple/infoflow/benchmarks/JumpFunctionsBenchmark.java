@@ -0,0 +1,153 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soot.jimple.infoflow.solver.jumpFunctions.CompactJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.IJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.MapJumpFunctions;
+
+/**
+ * Benchmarks for the throughput and the retained heap of the jump function
+ * stores. The retained heap is reported as the secondary result
+ * "bytesPerFunction" of the single-shot benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JumpFunctionsBenchmark {
+
+	private static final int FUNCTION_COUNT = 1 << 16;
+	private static final int RETAINED_FUNCTION_COUNT = 1 << 20;
+
+	private static final int SOURCE_FACT_COUNT = 1000;
+	private static final int TARGET_FACT_COUNT = 1000;
+	private static final int NODE_COUNT = 5000;
+
+	public enum Store {
+		Map, Compact
+	}
+
+	@Param({ "Map", "Compact" })
+	public Store store;
+
+	private Object[] sourceFacts;
+	private Object[] targetFacts;
+	private Integer[] nodes;
+
+	private IJumpFunctions<Integer, Object> filledStore;
+	private IJumpFunctions<Integer, Object> freshStore;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RetainedHeap {
+
+		public double bytesPerFunction;
+
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		// The solver compares facts and nodes by identity in the common case, so
+		// plain objects are a reasonable stand-in for abstractions and units
+		sourceFacts = new Object[SOURCE_FACT_COUNT];
+		for (int i = 0; i < SOURCE_FACT_COUNT; i++)
+			sourceFacts[i] = new Object();
+		targetFacts = new Object[TARGET_FACT_COUNT];
+		for (int i = 0; i < TARGET_FACT_COUNT; i++)
+			targetFacts[i] = new Object();
+		nodes = new Integer[NODE_COUNT];
+		for (int i = 0; i < NODE_COUNT; i++)
+			nodes[i] = Integer.valueOf(100000 + i);
+
+		filledStore = createStore();
+		fill(filledStore, FUNCTION_COUNT);
+	}
+
+	@Setup(Level.Invocation)
+	public void resetStore() {
+		freshStore = createStore();
+	}
+
+	private IJumpFunctions<Integer, Object> createStore() {
+		switch (store) {
+		case Compact:
+			return new CompactJumpFunctions<>();
+		default:
+			return new MapJumpFunctions<>();
+		}
+	}
+
+	private void fill(IJumpFunctions<Integer, Object> jumpFunctions, int count) {
+		for (int i = 0; i < count; i++)
+			jumpFunctions.addFunction(sourceFact(i), node(i), targetFact(i));
+	}
+
+	private Object sourceFact(int i) {
+		return sourceFacts[i % SOURCE_FACT_COUNT];
+	}
+
+	private Integer node(int i) {
+		return nodes[(i * 7) % NODE_COUNT];
+	}
+
+	private Object targetFact(int i) {
+		return targetFacts[(i / SOURCE_FACT_COUNT) % TARGET_FACT_COUNT];
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FUNCTION_COUNT)
+	public void addNewFunctions(Blackhole bh) {
+		for (int i = 0; i < FUNCTION_COUNT; i++)
+			bh.consume(freshStore.addFunction(sourceFact(i), node(i), targetFact(i)));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FUNCTION_COUNT)
+	public void addExistingFunctions(Blackhole bh) {
+		// The solver re-derives most edges many times, so the lookup of an
+		// existing jump function is the common case
+		for (int i = 0; i < FUNCTION_COUNT; i++)
+			bh.consume(filledStore.addFunction(sourceFact(i), node(i), targetFact(i)));
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 2)
+	@Measurement(iterations = 5)
+	public long retainedHeap(RetainedHeap heap) {
+		long before = usedHeap();
+		IJumpFunctions<Integer, Object> jumpFunctions = createStore();
+		fill(jumpFunctions, RETAINED_FUNCTION_COUNT);
+		long after = usedHeap();
+		heap.bytesPerFunction = (after - before) / (double) jumpFunctions.size();
+		return jumpFunctions.size();
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,74 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
+import soot.jimple.infoflow.InfoflowConfiguration.SootIntegrationMode;
+import soot.jimple.infoflow.InfoflowConfiguration.SparsePropagationStrategy;
+import soot.jimple.infoflow.results.InfoflowResults;
+import soot.jimple.infoflow.sourcesSinks.manager.DefaultSourceSinkManager;
+
+/**
+ * Benchmark for the propagation strategies of the sparse solver. The dense
+ * strategy visits every statement and serves as the baseline. The simple
+ * strategy looks up the successors of facts on locals in the precomputed sparse
+ * value-flow graph, the precise strategy searches for them on demand. Every
+ * invocation runs the solvers on the existing callgraph, so the time includes
+ * building the value-flow graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SparsePropagationBenchmark {
+
+	@Param({ "Dense", "Simple", "Precise" })
+	public SparsePropagationStrategy propagationStrategy;
+
+	private int expectedFlows;
+
+	@Setup
+	public void setup() {
+		// Build the callgraph once
+		InfoflowResults results = runAnalysis(SootIntegrationMode.CreateNewInstance);
+		if (results == null || results.isEmpty())
+			throw new IllegalStateException("The benchmark fixture did not produce any data flows");
+		expectedFlows = results.size();
+	}
+
+	@Benchmark
+	public InfoflowResults solve() {
+		InfoflowResults results = runAnalysis(SootIntegrationMode.UseExistingCallgraph);
+		if (results.size() != expectedFlows)
+			throw new IllegalStateException("The propagation strategy produced a different number of flows");
+		return results;
+	}
+
+	private InfoflowResults runAnalysis(SootIntegrationMode integrationMode) {
+		Infoflow infoflow = new Infoflow("", false, null);
+		infoflow.setThrowExceptions(true);
+		infoflow.getConfig().setSootIntegrationMode(integrationMode);
+		infoflow.getConfig().getSolverConfiguration().setDataFlowSolver(DataFlowSolver.SparseContextFlowSensitive);
+		infoflow.getConfig().getSolverConfiguration().setSparsePropagationStrategy(propagationStrategy);
+		infoflow.computeInfoflow(BenchmarkScene.getAppPath(), BenchmarkScene.getLibPath(),
+				BenchmarkScene.ENTRY_POINT,
+				new DefaultSourceSinkManager(BenchmarkScene.getSources(), BenchmarkScene.getSinks()));
+		return infoflow.getResults();
+	}
+
+}
@@ -0,0 +1,112 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import soot.jimple.Stmt;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.data.Abstraction;
+import soot.jimple.infoflow.methodSummary.data.provider.EagerSummaryProvider;
+import soot.jimple.infoflow.methodSummary.taintWrappers.SummaryTaintWrapper;
+import soot.jimple.infoflow.methodSummary.taintWrappers.TaintWrapperFactory;
+import soot.jimple.infoflow.sourcesSinks.manager.DefaultSourceSinkManager;
+
+/**
+ * Benchmark for looking up the taints of library methods in the summary taint
+ * wrapper. The calls to the taint wrapper are recorded during a data flow
+ * analysis of the benchmark fixture, and then replayed one at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryTaintWrapperBenchmark {
+
+	/**
+	 * A single call to the taint wrapper
+	 */
+	private static class WrapperCall {
+
+		private final Stmt stmt;
+		private final Abstraction d1;
+		private final Abstraction taintedAbs;
+
+		private WrapperCall(Stmt stmt, Abstraction d1, Abstraction taintedAbs) {
+			this.stmt = stmt;
+			this.d1 = d1;
+			this.taintedAbs = taintedAbs;
+		}
+
+	}
+
+	/**
+	 * Summary taint wrapper that records all calls while the data flow analysis is
+	 * running
+	 */
+	private static class RecordingSummaryTaintWrapper extends SummaryTaintWrapper {
+
+		private final List<WrapperCall> calls = new ArrayList<>();
+		private boolean recording = true;
+
+		private RecordingSummaryTaintWrapper() throws URISyntaxException, IOException {
+			super(new EagerSummaryProvider(TaintWrapperFactory.DEFAULT_SUMMARY_DIR));
+		}
+
+		@Override
+		public Set<Abstraction> getTaintsForMethod(Stmt stmt, Abstraction d1, Abstraction taintedAbs) {
+			if (recording) {
+				synchronized (calls) {
+					calls.add(new WrapperCall(stmt, d1, taintedAbs));
+				}
+			}
+			return super.getTaintsForMethod(stmt, d1, taintedAbs);
+		}
+
+	}
+
+	private RecordingSummaryTaintWrapper wrapper;
+	private WrapperCall[] calls;
+	private int nextCall = 0;
+
+	@Setup
+	public void setup() throws URISyntaxException, IOException {
+		wrapper = new RecordingSummaryTaintWrapper();
+
+		Infoflow infoflow = new Infoflow("", false, null);
+		infoflow.setThrowExceptions(true);
+		infoflow.setTaintWrapper(wrapper);
+		infoflow.computeInfoflow(BenchmarkScene.getAppPath(), BenchmarkScene.getLibPath(),
+				BenchmarkScene.ENTRY_POINT,
+				new DefaultSourceSinkManager(BenchmarkScene.getSources(), BenchmarkScene.getSinks()));
+
+		wrapper.recording = false;
+		calls = wrapper.calls.toArray(new WrapperCall[wrapper.calls.size()]);
+		if (calls.length == 0)
+			throw new IllegalStateException("The benchmark fixture did not call the taint wrapper");
+	}
+
+	@Benchmark
+	public Set<Abstraction> getTaintsForMethod() {
+		WrapperCall call = calls[nextCall];
+		nextCall = (nextCall + 1) % calls.length;
+		return wrapper.getTaintsForMethod(call.stmt, call.d1, call.taintedAbs);
+	}
+
+}
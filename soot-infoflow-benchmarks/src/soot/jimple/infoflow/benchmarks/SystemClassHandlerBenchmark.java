@@ -0,0 +1,115 @@
+package soot.jimple.infoflow.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soot.G;
+import soot.Scene;
+import soot.SootClass;
+import soot.jimple.infoflow.util.SystemClassHandler;
+
+/**
+ * Benchmarks for the per-call cost of checking whether a class is in a system
+ * package. The baseline compares the class name with every default system
+ * package in turn, like the hard-coded check did before the system packages
+ * became configurable. The handler looks up the class name in a trie, or the
+ * cached result for a class in the scene.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SystemClassHandlerBenchmark {
+
+	/**
+	 * A mix of application and system classes. Application classes miss all
+	 * prefixes and are thus the most expensive ones for the legacy check.
+	 */
+	private static final String[] CLASS_NAMES = { "com.example.app.MainActivity", "com.example.app.ui.LoginFragment",
+			"de.fraunhofer.sit.Util", "org.apache.http.client.HttpClient", "android.app.Activity",
+			"android.app.NativeActivity", "java.lang.String", "java.util.HashMap", "javax.crypto.Cipher",
+			"com.google.gson.Gson", "com.android.internal.Foo", "org.w3c.dom.Node", "okhttp3.OkHttpClient",
+			"kotlin.jvm.internal.Intrinsics", "com.example.app.Database", "sun.misc.Unsafe" };
+
+	private static final String[] DEFAULT_PACKAGES = SystemClassHandler.DEFAULT_SYSTEM_PACKAGES
+			.toArray(new String[0]);
+	private static final String[] DEFAULT_NON_SYSTEM_CLASSES = SystemClassHandler.DEFAULT_NON_SYSTEM_CLASSES
+			.toArray(new String[0]);
+
+	private SystemClassHandler handler;
+	private SystemClassHandler customHandler;
+	private SootClass[] classes;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		G.reset();
+		handler = new SystemClassHandler();
+
+		List<String> packages = new ArrayList<>(SystemClassHandler.DEFAULT_SYSTEM_PACKAGES);
+		packages.add("org.apache.");
+		customHandler = new SystemClassHandler(packages, SystemClassHandler.DEFAULT_NON_SYSTEM_CLASSES);
+
+		classes = new SootClass[CLASS_NAMES.length];
+		for (int i = 0; i < CLASS_NAMES.length; i++) {
+			// Only classes in the scene have a number and can be cached
+			classes[i] = new SootClass(CLASS_NAMES[i]);
+			Scene.v().addClass(classes[i]);
+		}
+	}
+
+	private static boolean isClassInSystemPackagePrefixScan(String className) {
+		for (String nonSystemClass : DEFAULT_NON_SYSTEM_CLASSES)
+			if (className.equals(nonSystemClass))
+				return false;
+		for (String prefix : DEFAULT_PACKAGES)
+			if (className.startsWith(prefix))
+				return true;
+		return false;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(16)
+	public void prefixScan(Blackhole bh) {
+		for (String className : CLASS_NAMES)
+			bh.consume(isClassInSystemPackagePrefixScan(className));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(16)
+	public void handlerClassName(Blackhole bh) {
+		for (String className : CLASS_NAMES)
+			bh.consume(handler.isClassInSystemPackage(className));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(16)
+	public void customPackagesClassName(Blackhole bh) {
+		for (String className : CLASS_NAMES)
+			bh.consume(customHandler.isClassInSystemPackage(className));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(16)
+	public void cachedSootClass(Blackhole bh) {
+		for (SootClass sc : classes)
+			bh.consume(handler.isClassInSystemPackage(sc));
+	}
+
+}
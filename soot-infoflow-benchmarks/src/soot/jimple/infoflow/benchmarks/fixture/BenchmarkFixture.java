@@ -0,0 +1,103 @@
+package soot.jimple.infoflow.benchmarks.fixture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed target program for the data flow benchmarks. The code is never
+ * executed, it is only analyzed. Do not change it without resetting the
+ * benchmark baselines, because the results of different versions are no longer
+ * comparable otherwise.
+ */
+public class BenchmarkFixture {
+
+	static class Node {
+		String data;
+		Node next;
+		Object[] items;
+	}
+
+	static String cache;
+
+	public static String source() {
+		return "secret";
+	}
+
+	public static void sink(String data) {
+		// only a marker for the analysis
+	}
+
+	public static void main(String[] args) {
+		fieldFlows();
+		aliasFlows();
+		collectionFlows();
+		stringFlows();
+		staticFlows();
+		sink(callChain(source(), 5));
+	}
+
+	private static void fieldFlows() {
+		Node n = new Node();
+		n.next = new Node();
+		n.next.next = new Node();
+		n.next.next.data = source();
+		Node cur = n;
+		while (cur.next != null)
+			cur = cur.next;
+		sink(cur.data);
+	}
+
+	private static void aliasFlows() {
+		Node a = new Node();
+		Node b = a;
+		a.next = new Node();
+		Node c = b.next;
+		c.data = source();
+		sink(a.next.data);
+
+		Object[] arr = new Object[3];
+		a.items = arr;
+		arr[1] = source();
+		sink((String) b.items[0]);
+	}
+
+	private static void collectionFlows() {
+		List<String> list = new ArrayList<>();
+		list.add(source());
+		list.add("constant");
+		sink(list.get(0));
+
+		Map<String, String> map = new HashMap<>();
+		map.put("key", list.get(1));
+		sink(map.get("key"));
+	}
+
+	private static void stringFlows() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("prefix");
+		sb.append(source());
+		String s = sb.toString();
+		sink(s.substring(2).trim());
+		sink(String.valueOf(s.length()));
+	}
+
+	private static void staticFlows() {
+		cache = source();
+		readCache();
+	}
+
+	private static void readCache() {
+		sink(cache);
+	}
+
+	private static String callChain(String data, int depth) {
+		if (depth == 0)
+			return data;
+		Node n = new Node();
+		n.data = data;
+		return callChain(n.data, depth - 1);
+	}
+
+}
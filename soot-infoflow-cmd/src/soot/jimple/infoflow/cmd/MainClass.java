@@ -28,9 +28,12 @@ import soot.jimple.infoflow.InfoflowConfiguration.CodeEliminationMode;
 import soot.jimple.infoflow.InfoflowConfiguration.DataFlowDirection;
 import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
 import soot.jimple.infoflow.InfoflowConfiguration.ImplicitFlowMode;
+import soot.jimple.infoflow.InfoflowConfiguration.JumpFunctionStoreMode;
 import soot.jimple.infoflow.InfoflowConfiguration.LayoutMatchingMode;
 import soot.jimple.infoflow.InfoflowConfiguration.PathBuildingAlgorithm;
 import soot.jimple.infoflow.InfoflowConfiguration.PathReconstructionMode;
+import soot.jimple.infoflow.InfoflowConfiguration.SchedulingStrategy;
+import soot.jimple.infoflow.InfoflowConfiguration.SolverExecutorMode;
 import soot.jimple.infoflow.InfoflowConfiguration.StaticFieldTrackingMode;
 import soot.jimple.infoflow.android.InfoflowAndroidConfiguration;
 import soot.jimple.infoflow.android.InfoflowAndroidConfiguration.CallbackAnalyzer;
@@ -43,6 +46,7 @@ import soot.jimple.infoflow.methodSummary.data.summary.ClassMethodSummaries;
 import soot.jimple.infoflow.methodSummary.taintWrappers.ReportMissingSummaryWrapper;
 import soot.jimple.infoflow.methodSummary.taintWrappers.SummaryTaintWrapper;
 import soot.jimple.infoflow.methodSummary.taintWrappers.TaintWrapperFactory;
+import soot.jimple.infoflow.solver.gcSolver.GarbageCollectionTrigger;
 import soot.jimple.infoflow.taintWrappers.EasyTaintWrapper;
 import soot.jimple.infoflow.taintWrappers.ITaintPropagationWrapper;
 import soot.jimple.infoflow.taintWrappers.TaintWrapperSet;
@@ -98,6 +102,7 @@ public class MainClass {
 	// Individual settings
 	private static final String OPTION_ACCESS_PATH_LENGTH = "al";
 	private static final String OPTION_NO_THIS_CHAIN_REDUCTION = "nr";
+	private static final String OPTION_INTERN_ACCESS_PATHS = "ia";
 	private static final String OPTION_FLOW_INSENSITIVE_ALIASING = "af";
 	private static final String OPTION_COMPUTE_PATHS = "cp";
 	private static final String OPTION_ONE_SOURCE = "os";
@@ -105,11 +110,23 @@ public class MainClass {
 	private static final String OPTION_SEQUENTIAL_PATHS = "sp";
 	private static final String OPTION_LOG_SOURCES_SINKS = "ls";
 	private static final String OPTION_MERGE_DEX_FILES = "d";
+	private static final String OPTION_LAZY_RESOURCES = "lr";
+	private static final String OPTION_PARALLEL_LAYOUTS = "pl";
 	private static final String OPTION_SINGLE_JOIN_POINT = "sa";
 	private static final String OPTION_MAX_CALLBACKS_COMPONENT = "mc";
 	private static final String OPTION_MAX_CALLBACKS_DEPTH = "md";
+	private static final String OPTION_REUSE_CALLGRAPH = "rc";
 	private static final String OPTION_PATH_SPECIFIC_RESULTS = "ps";
 	private static final String OPTION_MAX_THREAD_NUMBER = "mt";
+	private static final String OPTION_EXECUTOR_MODE = "em";
+	private static final String OPTION_JUMP_FUNCTION_STORE = "jf";
+	private static final String OPTION_SCHEDULING_STRATEGY = "sh";
+	private static final String OPTION_EDGE_BATCH_SIZE = "eb";
+	private static final String OPTION_SUMMARY_STORE = "ss";
+	private static final String OPTION_SPILL_JUMP_FUNCTIONS = "sj";
+	private static final String OPTION_SPILL_DIRECTORY = "sd";
+	private static final String OPTION_METRICS_REPORT_INTERVAL = "mr";
+	private static final String OPTION_METRICS_FILE = "mf";
 
 	// Inter-component communication
 	private static final String OPTION_ICC_MODEL = "im";
@@ -121,7 +138,10 @@ public class MainClass {
 	private static final String OPTION_PATH_RECONSTRUCTION_ALGO = "pa";
 	private static final String OPTION_CALLBACK_ANALYZER = "ca";
 	private static final String OPTION_DATA_FLOW_SOLVER = "ds";
+	private static final String OPTION_GC_TRIGGER = "gt";
+	private static final String OPTION_INCREMENTAL_GC = "ig";
 	private static final String OPTION_ALIAS_ALGO = "aa";
+	private static final String OPTION_SHARE_ALIAS_QUERIES = "sq";
 	private static final String OPTION_CODE_ELIMINATION_MODE = "ce";
 	private static final String OPTION_CALLBACK_SOURCE_MODE = "cs";
 	private static final String OPTION_PATH_RECONSTRUCTION_MODE = "pr";
@@ -191,6 +211,8 @@ public class MainClass {
 		options.addOption(OPTION_ACCESS_PATH_LENGTH, "aplength", true, "Maximum access path length");
 		options.addOption(OPTION_NO_THIS_CHAIN_REDUCTION, "nothischainreduction", false,
 				"Disable reduction of inner class chains");
+		options.addOption(OPTION_INTERN_ACCESS_PATHS, "internaccesspaths", false,
+				"Map equal access paths to a single canonical instance");
 		options.addOption(OPTION_FLOW_INSENSITIVE_ALIASING, "aliasflowins", false,
 				"Use a flow-insensitive alias analysis");
 		options.addOption(OPTION_COMPUTE_PATHS, "paths", false,
@@ -199,6 +221,24 @@ public class MainClass {
 				"Write the discovered sources and sinks to the log output");
 		options.addOption(OPTION_MAX_THREAD_NUMBER, "maxthreadnum", true,
 				"Limit the maximum number of threads to the given value");
+		options.addOption(OPTION_EXECUTOR_MODE, "executormode", true,
+				"Use the specified executor for the solver threads (THREADPOOL, WORKSTEALING)");
+		options.addOption(OPTION_JUMP_FUNCTION_STORE, "jumpfunctionstore", true,
+				"Use the specified data structure for the jump functions of the solvers (HASHMAP, COMPACT)");
+		options.addOption(OPTION_SCHEDULING_STRATEGY, "schedulingstrategy", true,
+				"Use the specified strategy for scheduling the solvers' edges (EACHEDGE, EACHMETHOD, LOCAL, PRIORITY)");
+		options.addOption(OPTION_EDGE_BATCH_SIZE, "edgebatchsize", true,
+				"Submit up to the given number of path edges to the solver threads as a single task");
+		options.addOption(OPTION_SUMMARY_STORE, "summarystore", true,
+				"Re-use the end summaries of library methods from the given file across analysis runs");
+		options.addOption(OPTION_SPILL_JUMP_FUNCTIONS, "spilljumpfunctions", false,
+				"Move unused jump functions to disk instead of aborting when running out of memory");
+		options.addOption(OPTION_SPILL_DIRECTORY, "spilldir", true,
+				"Store spilled jump functions in the given directory");
+		options.addOption(OPTION_METRICS_REPORT_INTERVAL, "metricsreportinterval", true,
+				"Log the solver metrics every n seconds while the data flow analysis is running");
+		options.addOption(OPTION_METRICS_FILE, "metricsfile", true,
+				"Write the solver metrics as JSON to the given file after the analysis");
 		options.addOption(OPTION_ONE_COMPONENT, "onecomponentatatime", false,
 				"Analyze one Android component at a time");
 		options.addOption(OPTION_ONE_SOURCE, "onesourceatatime", false, "Analyze one source at a time");
@@ -210,8 +250,14 @@ public class MainClass {
 				"Eliminate Android components that have more than the given number of callbacks");
 		options.addOption(OPTION_MAX_CALLBACKS_DEPTH, "maxcallbacksdepth", true,
 				"Only analyze callback chains up to the given depth");
+		options.addOption(OPTION_REUSE_CALLGRAPH, "reusecallgraph", false,
+				"Skip the callgraph construction in callback collection iterations in which the dummy main method is unchanged");
 		options.addOption(OPTION_MERGE_DEX_FILES, "mergedexfiles", false,
 				"Merge all dex files in the given APK file into one analysis target");
+		options.addOption(OPTION_LAZY_RESOURCES, "lazyresources", false,
+				"Only decode the entries of the app's resource file when they are needed");
+		options.addOption(OPTION_PARALLEL_LAYOUTS, "parallellayouts", false,
+				"Decode the layout XML files of the app in parallel");
 		options.addOption(OPTION_PATH_SPECIFIC_RESULTS, "pathspecificresults", false,
 				"Report different results for same source/sink pairs if they differ in their propagation paths");
 
@@ -232,8 +278,14 @@ public class MainClass {
 				"Use the specified callback analyzer (DEFAULT, FAST)");
 		options.addOption(OPTION_DATA_FLOW_SOLVER, "dataflowsolver", true,
 				"Use the specified data flow solver (CONTEXTFLOWSENSITIVE, FLOWINSENSITIVE)");
+		options.addOption(OPTION_GC_TRIGGER, "gctrigger", true,
+				"Use the specified trigger for the garbage-collecting solvers (IMMEDIATE, METHODTHRESHOLD, EDGETHRESHOLD, ADAPTIVE, NEVER)");
+		options.addOption(OPTION_INCREMENTAL_GC, "incrementalgc", false,
+				"Collect the jump functions of the garbage-collecting solvers incrementally");
 		options.addOption(OPTION_ALIAS_ALGO, "aliasalgo", true,
 				"Use the specified aliasing algorithm (NONE, FLOWSENSITIVE, PTSBASED, LAZY)");
+		options.addOption(OPTION_SHARE_ALIAS_QUERIES, "sharealiasqueries", false,
+				"Share the flow-sensitive alias queries between calling contexts");
 		options.addOption(OPTION_CODE_ELIMINATION_MODE, "codeelimination", true,
 				"Use the specified code elimination algorithm (NONE, PROPAGATECONSTS, REMOVECODE)");
 		options.addOption(OPTION_CALLBACK_SOURCE_MODE, "callbacksourcemode", true,
@@ -603,6 +655,23 @@ public class MainClass {
 		}
 	}
 
+	private static GarbageCollectionTrigger parseGcTrigger(String gcTrigger) {
+		if (gcTrigger.equalsIgnoreCase("IMMEDIATE"))
+			return GarbageCollectionTrigger.Immediate;
+		else if (gcTrigger.equalsIgnoreCase("METHODTHRESHOLD"))
+			return GarbageCollectionTrigger.MethodThreshold;
+		else if (gcTrigger.equalsIgnoreCase("EDGETHRESHOLD"))
+			return GarbageCollectionTrigger.EdgeThreshold;
+		else if (gcTrigger.equalsIgnoreCase("ADAPTIVE"))
+			return GarbageCollectionTrigger.Adaptive;
+		else if (gcTrigger.equalsIgnoreCase("NEVER"))
+			return GarbageCollectionTrigger.Never;
+		else {
+			System.err.println(String.format("Invalid garbage collection trigger: %s", gcTrigger));
+			throw new AbortAnalysisException();
+		}
+	}
+
 	private static AliasingAlgorithm parseAliasAlgorithm(String aliasAlgo) {
 		if (aliasAlgo.equalsIgnoreCase("NONE"))
 			return AliasingAlgorithm.None;
@@ -694,6 +763,43 @@ public class MainClass {
 		}
 	}
 
+	private static SolverExecutorMode parseExecutorMode(String executorMode) {
+		if (executorMode.equalsIgnoreCase("THREADPOOL"))
+			return SolverExecutorMode.ThreadPool;
+		else if (executorMode.equalsIgnoreCase("WORKSTEALING"))
+			return SolverExecutorMode.WorkStealing;
+		else {
+			System.err.println(String.format("Invalid executor mode: %s", executorMode));
+			throw new AbortAnalysisException();
+		}
+	}
+
+	private static JumpFunctionStoreMode parseJumpFunctionStoreMode(String storeMode) {
+		if (storeMode.equalsIgnoreCase("HASHMAP"))
+			return JumpFunctionStoreMode.HashMap;
+		else if (storeMode.equalsIgnoreCase("COMPACT"))
+			return JumpFunctionStoreMode.Compact;
+		else {
+			System.err.println(String.format("Invalid jump function store: %s", storeMode));
+			throw new AbortAnalysisException();
+		}
+	}
+
+	private static SchedulingStrategy parseSchedulingStrategy(String strategy) {
+		if (strategy.equalsIgnoreCase("EACHEDGE"))
+			return SchedulingStrategy.EachEdgeIndividually;
+		else if (strategy.equalsIgnoreCase("EACHMETHOD"))
+			return SchedulingStrategy.EachMethodIndividually;
+		else if (strategy.equalsIgnoreCase("LOCAL"))
+			return SchedulingStrategy.AllEdgesLocally;
+		else if (strategy.equalsIgnoreCase("PRIORITY"))
+			return SchedulingStrategy.Priority;
+		else {
+			System.err.println(String.format("Invalid scheduling strategy: %s", strategy));
+			throw new AbortAnalysisException();
+		}
+	}
+
 	/**
 	 * Parses the given command-line options and fills the given configuration
 	 * object accordingly
@@ -776,6 +882,8 @@ public class MainClass {
 		}
 		if (cmd.hasOption(OPTION_NO_THIS_CHAIN_REDUCTION))
 			config.getAccessPathConfiguration().setUseThisChainReduction(false);
+		if (cmd.hasOption(OPTION_INTERN_ACCESS_PATHS))
+			config.getAccessPathConfiguration().setUseAccessPathInterning(true);
 		if (cmd.hasOption(OPTION_FLOW_INSENSITIVE_ALIASING))
 			config.setFlowSensitiveAliasing(false);
 		if (cmd.hasOption(OPTION_COMPUTE_PATHS))
@@ -790,6 +898,10 @@ public class MainClass {
 			config.setLogSourcesAndSinks(true);
 		if (cmd.hasOption(OPTION_MERGE_DEX_FILES))
 			config.setMergeDexFiles(true);
+		if (cmd.hasOption(OPTION_LAZY_RESOURCES))
+			config.setLazyResourceDecoding(true);
+		if (cmd.hasOption(OPTION_PARALLEL_LAYOUTS))
+			config.setParallelLayoutParsing(true);
 		if (cmd.hasOption(OPTION_PATH_SPECIFIC_RESULTS))
 			config.setPathAgnosticResults(false);
 		if (cmd.hasOption(OPTION_SINGLE_JOIN_POINT))
@@ -804,12 +916,56 @@ public class MainClass {
 			if (maxDepth != null)
 				config.getCallbackConfig().setMaxAnalysisCallbackDepth(maxDepth);
 		}
+		if (cmd.hasOption(OPTION_REUSE_CALLGRAPH))
+			config.getCallbackConfig().setReuseCallgraph(true);
 		{
 			Integer maxthreadnum = getIntOption(cmd, OPTION_MAX_THREAD_NUMBER);
 			if (maxthreadnum != null) {
 				config.setMaxThreadNum(maxthreadnum);
 			}
 		}
+		{
+			String executorMode = cmd.getOptionValue(OPTION_EXECUTOR_MODE);
+			if (executorMode != null && !executorMode.isEmpty())
+				config.getSolverConfiguration().setExecutorMode(parseExecutorMode(executorMode));
+		}
+		{
+			String storeMode = cmd.getOptionValue(OPTION_JUMP_FUNCTION_STORE);
+			if (storeMode != null && !storeMode.isEmpty())
+				config.getSolverConfiguration().setJumpFunctionStoreMode(parseJumpFunctionStoreMode(storeMode));
+		}
+		{
+			String strategy = cmd.getOptionValue(OPTION_SCHEDULING_STRATEGY);
+			if (strategy != null && !strategy.isEmpty())
+				config.getSolverConfiguration().setSchedulingStrategy(parseSchedulingStrategy(strategy));
+		}
+		{
+			Integer edgeBatchSize = getIntOption(cmd, OPTION_EDGE_BATCH_SIZE);
+			if (edgeBatchSize != null)
+				config.getSolverConfiguration().setEdgeBatchSize(edgeBatchSize);
+		}
+		{
+			String summaryStore = cmd.getOptionValue(OPTION_SUMMARY_STORE);
+			if (summaryStore != null && !summaryStore.isEmpty())
+				config.getSolverConfiguration().setSummaryStoreFile(summaryStore);
+		}
+		if (cmd.hasOption(OPTION_SPILL_JUMP_FUNCTIONS))
+			config.getSolverConfiguration().setSpillJumpFunctions(true);
+		{
+			String spillDirectory = cmd.getOptionValue(OPTION_SPILL_DIRECTORY);
+			if (spillDirectory != null && !spillDirectory.isEmpty())
+				config.getSolverConfiguration().setSpillDirectory(spillDirectory);
+		}
+		{
+			Integer reportInterval = getIntOption(cmd, OPTION_METRICS_REPORT_INTERVAL);
+			if (reportInterval != null)
+				config.getSolverConfiguration().setMetricsReportInterval(reportInterval);
+		}
+		{
+			String metricsFile = cmd.getOptionValue(OPTION_METRICS_FILE);
+			if (metricsFile != null && !metricsFile.isEmpty())
+				config.getSolverConfiguration().setMetricsFile(metricsFile);
+		}
 
 		// Inter-component communication
 		if (cmd.hasOption(OPTION_ICC_NO_PURIFY))
@@ -846,11 +1002,20 @@ public class MainClass {
 			if (solver != null && !solver.isEmpty())
 				config.getSolverConfiguration().setDataFlowSolver(parseDataFlowSolver(solver));
 		}
+		{
+			String gcTrigger = cmd.getOptionValue(OPTION_GC_TRIGGER);
+			if (gcTrigger != null && !gcTrigger.isEmpty())
+				config.getSolverConfiguration().setGcTrigger(parseGcTrigger(gcTrigger));
+		}
+		if (cmd.hasOption(OPTION_INCREMENTAL_GC))
+			config.getSolverConfiguration().setIncrementalGc(true);
 		{
 			String aliasAlgo = cmd.getOptionValue(OPTION_ALIAS_ALGO);
 			if (aliasAlgo != null && !aliasAlgo.isEmpty())
 				config.setAliasingAlgorithm(parseAliasAlgorithm(aliasAlgo));
 		}
+		if (cmd.hasOption(OPTION_SHARE_ALIAS_QUERIES))
+			config.setShareAliasQueries(true);
 		{
 			String eliminationMode = cmd.getOptionValue(OPTION_CODE_ELIMINATION_MODE);
 			if (eliminationMode != null && !eliminationMode.isEmpty())
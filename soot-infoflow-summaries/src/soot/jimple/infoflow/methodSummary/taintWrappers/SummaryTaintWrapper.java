@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -561,7 +562,7 @@ public class SummaryTaintWrapper implements IReversibleTaintWrapper {
 	 */
 	protected void reportMissingMethod(SootMethod method) {
 		if (reportMissingSummaries
-				&& SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass().getName()))
+				&& SystemClassHandler.v().isClassInSystemPackage(method.getDeclaringClass()))
 			System.out.println("Missing summary for class " + method.getDeclaringClass());
 	}
 
@@ -800,7 +801,7 @@ public class SummaryTaintWrapper implements IReversibleTaintWrapper {
 		if (aps.isEmpty())
 			return null;
 		Set<Abstraction> absSet = new HashSet<>();
-		aps.forEach(ap -> absSet.add(new Abstraction(null, ap, null, null, false, false)));
+		aps.forEach(ap -> absSet.add(Abstraction.createAbstraction(null, ap, null, null, false, false)));
 		absSet.remove(null);
 
 		// We need to pop the last gap element off the stack
@@ -1651,6 +1652,20 @@ public class SummaryTaintWrapper implements IReversibleTaintWrapper {
 		return wrapperMisses.get();
 	}
 
+	@Override
+	public String getConfigurationFingerprint() {
+		StringBuilder sb = new StringBuilder(getClass().getName());
+		sb.append(';').append(flows.getClass().getName());
+		sb.append(';').append(new TreeSet<>(flows.getAllClassesWithSummaries()));
+		if (fallbackWrapper != null) {
+			String fallbackFingerprint = fallbackWrapper.getConfigurationFingerprint();
+			if (fallbackFingerprint == null)
+				return null;
+			sb.append(';').append(fallbackFingerprint);
+		}
+		return sb.toString();
+	}
+
 	@Override
 	public Set<Abstraction> getAliasesForMethod(Stmt stmt, Abstraction d1, Abstraction taintedAbs) {
 		// We only care about method invocations
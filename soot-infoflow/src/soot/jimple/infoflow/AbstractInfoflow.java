@@ -1,8 +1,13 @@
 package soot.jimple.infoflow;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,6 +40,7 @@ import soot.jimple.infoflow.InfoflowConfiguration.CallgraphAlgorithm;
 import soot.jimple.infoflow.InfoflowConfiguration.CodeEliminationMode;
 import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
 import soot.jimple.infoflow.InfoflowConfiguration.PathConfiguration;
+import soot.jimple.infoflow.InfoflowConfiguration.SchedulingStrategy;
 import soot.jimple.infoflow.InfoflowConfiguration.SolverConfiguration;
 import soot.jimple.infoflow.InfoflowConfiguration.SootIntegrationMode;
 import soot.jimple.infoflow.InfoflowConfiguration.StaticFieldTrackingMode;
@@ -50,6 +56,7 @@ import soot.jimple.infoflow.codeOptimization.ICodeOptimizer;
 import soot.jimple.infoflow.config.IInfoflowConfig;
 import soot.jimple.infoflow.data.Abstraction;
 import soot.jimple.infoflow.data.AbstractionAtSink;
+import soot.jimple.infoflow.data.AccessPathInterner;
 import soot.jimple.infoflow.data.FlowDroidMemoryManager;
 import soot.jimple.infoflow.data.pathBuilders.DefaultPathBuilderFactory;
 import soot.jimple.infoflow.data.pathBuilders.IAbstractionPathBuilder;
@@ -99,11 +106,17 @@ import soot.jimple.infoflow.solver.DefaultSolverPeerGroup;
 import soot.jimple.infoflow.solver.cfg.BackwardsInfoflowCFG;
 import soot.jimple.infoflow.solver.cfg.IInfoflowCFG;
 import soot.jimple.infoflow.solver.executors.InterruptableExecutor;
+import soot.jimple.infoflow.solver.fastSolver.DefaultSchedulingStrategy;
 import soot.jimple.infoflow.solver.fastSolver.InfoflowSolver;
 import soot.jimple.infoflow.solver.gcSolver.GCSolverPeerGroup;
+import soot.jimple.infoflow.solver.gcSolver.IGarbageCollector;
 import soot.jimple.infoflow.solver.memory.DefaultMemoryManagerFactory;
 import soot.jimple.infoflow.solver.memory.IMemoryManager;
 import soot.jimple.infoflow.solver.memory.IMemoryManagerFactory;
+import soot.jimple.infoflow.solver.metrics.SolverMetrics;
+import soot.jimple.infoflow.solver.metrics.SolverMetricsReporter;
+import soot.jimple.infoflow.solver.persistence.LibrarySummaryCache;
+import soot.jimple.infoflow.solver.persistence.PersistentSummaryStore;
 import soot.jimple.infoflow.solver.sparseSolver.SparseInfoflowSolver;
 import soot.jimple.infoflow.sourcesSinks.manager.DefaultSourceSinkManager;
 import soot.jimple.infoflow.sourcesSinks.manager.IOneSourceAtATimeManager;
@@ -116,6 +129,7 @@ import soot.jimple.infoflow.util.SystemClassHandler;
 import soot.jimple.toolkits.callgraph.ReachableMethods;
 import soot.jimple.toolkits.pointer.DumbPointerAnalysis;
 import soot.options.Options;
+import soot.util.queue.QueueReader;
 
 /**
  * Abstract base class for all data/information flow analyses in FlowDroid
@@ -169,6 +183,8 @@ public abstract class AbstractInfoflow implements IInfoflow {
 
 	protected FlowDroidMemoryWatcher memoryWatcher = null;
 
+	protected SolverMetrics solverMetrics = null;
+
 	/**
 	 * Creates a new instance of the abstract info flow problem
 	 */
@@ -593,6 +609,14 @@ public abstract class AbstractInfoflow implements IInfoflow {
 				memoryWatcher = null;
 			}
 			memoryWatcher = new FlowDroidMemoryWatcher(results, config.getMemoryThreshold());
+			memoryWatcher.setSpillBeforeAbort(config.getSolverConfiguration().getSpillJumpFunctions());
+
+			// Create the registry for the solver metrics
+			SolverConfiguration solverConfig = config.getSolverConfiguration();
+			String metricsFile = solverConfig.getMetricsFile();
+			solverMetrics = null;
+			if (solverConfig.getMetricsReportInterval() > 0 || (metricsFile != null && !metricsFile.isEmpty()))
+				solverMetrics = createSolverMetrics();
 
 			// Initialize the abstraction configuration
 			Abstraction.initialize(config);
@@ -632,8 +656,19 @@ public abstract class AbstractInfoflow implements IInfoflow {
 			IInfoflowCFG iCfg = icfgFactory.buildBiDirICFG(config.getCallgraphAlgorithm(),
 					config.getEnableExceptionTracking());
 
-			if (config.isTaintAnalysisEnabled())
+			// Index the locals of all reachable methods before the solvers need them
+			if (config.isTaintAnalysisEnabled() && Scene.v().hasCallGraph()) {
+				long beforeIndex = System.nanoTime();
+				precomputeDefUseIndex(iCfg);
+				logger.info("Def/use index for {} methods computed in {} seconds", iCfg.getDefUseIndex().size(),
+						(System.nanoTime() - beforeIndex) / 1E9);
+			}
+
+			if (config.isTaintAnalysisEnabled()) {
+				if (solverMetrics != null)
+					solverMetrics.start();
 				runTaintAnalysis(sourcesSinks, additionalSeeds, iCfg, performanceData);
+			}
 
 			// Gather performance data
 			performanceData.setTotalRuntimeSeconds((int) Math.round((System.nanoTime() - beforeCallgraph) / 1E9));
@@ -641,6 +676,10 @@ public abstract class AbstractInfoflow implements IInfoflow {
 			logger.info(String.format("Data flow solver took %d seconds. Maximum memory consumption: %d MB",
 					performanceData.getTotalRuntimeSeconds(), performanceData.getMaxMemoryConsumption()));
 
+			// Write out the solver metrics
+			if (solverMetrics != null && metricsFile != null && !metricsFile.isEmpty())
+				writeSolverMetrics(metricsFile);
+
 			// Provide the handler with the final results
 			for (ResultsAvailableHandler handler : onResultsAvailable)
 				handler.onResultsAvailable(iCfg, results);
@@ -660,6 +699,44 @@ public abstract class AbstractInfoflow implements IInfoflow {
 		}
 	}
 
+	/**
+	 * Computes the def/use index of the given control-flow graph for all reachable
+	 * methods in parallel
+	 * 
+	 * @param iCfg The interprocedural control-flow graph
+	 */
+	protected void precomputeDefUseIndex(IInfoflowCFG iCfg) {
+		iCfg.getDefUseIndex().precompute(getReachableMethodsWithBodies(), getPrecomputationThreadCount());
+	}
+
+	/**
+	 * Gets all reachable methods that have an active body
+	 *
+	 * @return The reachable methods with active bodies
+	 */
+	private List<SootMethod> getReachableMethodsWithBodies() {
+		List<SootMethod> methods = new ArrayList<>();
+		for (QueueReader<MethodOrMethodContext> rdr = Scene.v().getReachableMethods().listener(); rdr.hasNext();) {
+			SootMethod sm = rdr.next().method();
+			if (sm.isConcrete() && sm.hasActiveBody())
+				methods.add(sm);
+		}
+		return methods;
+	}
+
+	/**
+	 * Gets the number of threads to use for precomputing data structures before
+	 * the solvers start
+	 *
+	 * @return The number of threads to use
+	 */
+	private int getPrecomputationThreadCount() {
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		if (config.getMaxThreadNum() != -1)
+			numThreads = Math.min(config.getMaxThreadNum(), numThreads);
+		return numThreads;
+	}
+
 	private void runTaintAnalysis(final ISourceSinkManager sourcesSinks, final Set<String> additionalSeeds,
 			IInfoflowCFG iCfg, InfoflowPerformanceData performanceData) {
 		logger.info("Starting Taint Analysis");
@@ -752,6 +829,32 @@ public abstract class AbstractInfoflow implements IInfoflow {
 			forwardSolver.setMemoryManager(memoryManager);
 			// forwardSolver.setEnableMergePointChecking(true);
 
+			// Re-use the end summaries of library methods from previous runs
+			PersistentSummaryStore summaryStore = null;
+			LibrarySummaryCache summaryCache = null;
+			String summaryStoreFile = config.getSolverConfiguration().getSummaryStoreFile();
+			if (summaryStoreFile != null && !summaryStoreFile.isEmpty()
+					&& config.getDataFlowDirection() == InfoflowConfiguration.DataFlowDirection.Forwards
+					&& forwardSolver instanceof InfoflowSolver) {
+				if (taintWrapper != null && taintWrapper.getConfigurationFingerprint() == null)
+					logger.warn("The taint wrapper cannot describe its configuration, the summary store is not used");
+				else if (aliasingStrategy.isInteractive() || aliasingStrategy.isFlowSensitive()) {
+					// A stored summary is applied without entering the callee. The alias
+					// queries that these strategies raise inside the callee would never be
+					// run, and aliases in the caller would be lost.
+					logger.warn("The summary store is not used with a flow-sensitive or interactive aliasing strategy");
+				} else {
+					try {
+						summaryStore = PersistentSummaryStore.open(new File(summaryStoreFile),
+								LibrarySummaryCache.getConfigurationHash(config, taintWrapper));
+						summaryCache = new LibrarySummaryCache(manager, summaryStore);
+						((InfoflowSolver) forwardSolver).setSummaryCache(summaryCache);
+					} catch (IOException e) {
+						logger.error("Could not open the persistent summary store", e);
+					}
+				}
+			}
+
 			forwardProblem.setTaintPropagationHandler(taintPropagationHandler);
 			forwardProblem.setTaintWrapper(taintWrapper);
 			if (nativeCallHandler != null)
@@ -850,6 +953,21 @@ public abstract class AbstractInfoflow implements IInfoflow {
 				timeoutWatcher.start();
 			}
 
+			// Start recording the solver metrics
+			SolverMetricsReporter metricsReporter = null;
+			if (solverMetrics != null) {
+				registerSolverMetrics(forwardSolver, "infoflow");
+				registerSolverMetrics(aliasingStrategy.getSolver(), "alias");
+				registerSolverMetrics(additionalSolver, "additionalInfoflow");
+				registerSolverMetrics(additionalAliasSolver, "additionalAlias");
+
+				int reportInterval = config.getSolverConfiguration().getMetricsReportInterval();
+				if (reportInterval > 0) {
+					metricsReporter = new SolverMetricsReporter(solverMetrics, reportInterval);
+					metricsReporter.start();
+				}
+			}
+
 			InterruptableExecutor resultExecutor = null;
 			long beforePathReconstruction = 0;
 			try {
@@ -958,13 +1076,46 @@ public abstract class AbstractInfoflow implements IInfoflow {
 					throw new RuntimeException("An exception has occurred in an executor", executor.getException());
 				}
 
+				// Record the final state of the solvers before we clean them up
+				if (metricsReporter != null)
+					metricsReporter.stop();
+				if (solverMetrics != null)
+					solverMetrics.stop();
+
 				// Update performance statistics
 				performanceData.updateMaxMemoryConsumption(getUsedMemory());
 				int taintPropagationSeconds = (int) Math.round((System.nanoTime() - beforeTaintPropagation) / 1E9);
 				performanceData.addTaintPropagationSeconds(taintPropagationSeconds);
 				performanceData.addEdgePropagationCount(forwardSolver.getPropagationCount());
-				if (backwardSolver != null)
+				performanceData.addInfoflowPropagationCount(forwardSolver.getPropagationCount());
+				if (backwardSolver != null) {
 					performanceData.addEdgePropagationCount(backwardSolver.getPropagationCount());
+					performanceData.addAliasPropagationCount(backwardSolver.getPropagationCount());
+				}
+				addGarbageCollectionStatistics(forwardSolver, performanceData);
+				if (backwardSolver != null)
+					addGarbageCollectionStatistics(backwardSolver, performanceData);
+				AccessPathInterner interner = manager.getAccessPathFactory().getInterner();
+				if (interner != null) {
+					performanceData.addAccessPathInternHits(interner.getHitCount());
+					performanceData.addAccessPathInternMisses(interner.getMissCount());
+				}
+
+				// Save the end summaries of the library methods for the next run. If the
+				// solver was aborted, the summaries are incomplete.
+				if (summaryStore != null) {
+					logger.info("Persistent summaries: {} hits, {} misses", summaryCache.getHitCount(),
+							summaryCache.getMissCount());
+					performanceData.addSummaryStoreHits(summaryCache.getHitCount());
+					performanceData.addSummaryStoreMisses(summaryCache.getMissCount());
+					if (((IMemoryBoundedSolver) forwardSolver).getTerminationReason() == null)
+						((InfoflowSolver) forwardSolver).storeSummaries();
+					try {
+						summaryStore.close();
+					} catch (IOException e) {
+						logger.error("Could not write the persistent summary store", e);
+					}
+				}
 
 				// Print taint wrapper statistics
 				if (taintWrapper != null) {
@@ -1041,6 +1192,8 @@ public abstract class AbstractInfoflow implements IInfoflow {
 				forwardSolver = null;
 				forwardProblem = null;
 
+				if (solverPeerGroup != null)
+					solverPeerGroup.cleanup();
 				solverPeerGroup = null;
 
 				// Remove the alias analysis from memory
@@ -1154,6 +1307,8 @@ public abstract class AbstractInfoflow implements IInfoflow {
 					timeoutWatcher.stop();
 				if (pathTimeoutWatcher != null)
 					pathTimeoutWatcher.stop();
+				if (metricsReporter != null)
+					metricsReporter.stop();
 
 				if (aliasingStrategy != null) {
 					IInfoflowSolver solver = aliasingStrategy.getSolver();
@@ -1252,7 +1407,12 @@ public abstract class AbstractInfoflow implements IInfoflow {
 		case SparseContextFlowSensitive:
 			InfoflowConfiguration.SparsePropagationStrategy opt = config.getSolverConfiguration().getSparsePropagationStrategy();
 			logger.info("Using sparse context-sensitive and flow-sensitive solver with sparsification " + opt.toString());
-			IInfoflowSolver sparseSolver = new SparseInfoflowSolver(problem, executor, opt);
+			SparseInfoflowSolver sparseSolver = new SparseInfoflowSolver(problem, executor, opt);
+			if (opt == InfoflowConfiguration.SparsePropagationStrategy.Simple && Scene.v().hasCallGraph()) {
+				long beforeGraph = System.nanoTime();
+				sparseSolver.precomputeValueFlowGraph(getReachableMethodsWithBodies(), getPrecomputationThreadCount());
+				logger.info("Sparse value-flow graph computed in {} seconds", (System.nanoTime() - beforeGraph) / 1E9);
+			}
 			solverPeerGroup.addSolver(sparseSolver);
 			return sparseSolver;
 		case FlowInsensitive:
@@ -1260,14 +1420,18 @@ public abstract class AbstractInfoflow implements IInfoflow {
 			return new soot.jimple.infoflow.solver.fastSolver.flowInsensitive.InfoflowSolver(problem, executor);
 		case GarbageCollecting:
 			logger.info("Using garbage-collecting solver");
-			IInfoflowSolver solver = new soot.jimple.infoflow.solver.gcSolver.InfoflowSolver(problem, executor,
-					solverConfig.getSleepTime());
+			soot.jimple.infoflow.solver.gcSolver.InfoflowSolver solver = new soot.jimple.infoflow.solver.gcSolver.InfoflowSolver(
+					problem, executor, solverConfig.getSleepTime());
+			solver.setGarbageCollectionTrigger(solverConfig.getGcTrigger());
+			solver.setIncrementalGarbageCollection(solverConfig.getIncrementalGc());
 			solverPeerGroup.addSolver(solver);
 			return solver;
 		case FineGrainedGC:
 			logger.info("Using fine-grained garbage-collecting solver");
-			IInfoflowSolver fgSolver = new soot.jimple.infoflow.solver.gcSolver.fpc.InfoflowSolver(problem, executor,
-					solverConfig.getSleepTime());
+			soot.jimple.infoflow.solver.gcSolver.fpc.InfoflowSolver fgSolver = new soot.jimple.infoflow.solver.gcSolver.fpc.InfoflowSolver(
+					problem, executor, solverConfig.getSleepTime());
+			fgSolver.setGarbageCollectionTrigger(solverConfig.getGcTrigger());
+			fgSolver.setIncrementalGarbageCollection(solverConfig.getIncrementalGc());
 			solverPeerGroup.addSolver(fgSolver);
 			return fgSolver;
 		default:
@@ -1275,6 +1439,28 @@ public abstract class AbstractInfoflow implements IInfoflow {
 		}
 	}
 
+	/**
+	 * Adds the statistics of the garbage collector of the given solver to the
+	 * performance data, if the solver collects its jump functions at all
+	 * 
+	 * @param solver          The solver from which to take the garbage collector
+	 *                        statistics
+	 * @param performanceData The performance data to which to add the statistics
+	 */
+	protected void addGarbageCollectionStatistics(IInfoflowSolver solver, InfoflowPerformanceData performanceData) {
+		IGarbageCollector<?, ?> gc = null;
+		if (solver instanceof soot.jimple.infoflow.solver.gcSolver.IFDSSolver)
+			gc = ((soot.jimple.infoflow.solver.gcSolver.IFDSSolver<?, ?, ?>) solver).getGarbageCollector();
+		else if (solver instanceof soot.jimple.infoflow.solver.gcSolver.fpc.IFDSSolver)
+			gc = ((soot.jimple.infoflow.solver.gcSolver.fpc.IFDSSolver<?, ?, ?>) solver).getGarbageCollector();
+		if (gc == null)
+			return;
+
+		performanceData.addGcCollectionCount(gc.getCollectionCount());
+		performanceData.addGcReclaimedEdges(gc.getGcedEdges());
+		performanceData.addGcTimeMillis(gc.getCollectionTimeMillis());
+	}
+
 	protected enum SourceSinkState {
 		SOURCE, SINK, NEITHER, BOTH
 	}
@@ -1502,10 +1688,58 @@ public abstract class AbstractInfoflow implements IInfoflow {
 		solver.setMaxJoinPointAbstractions(solverConfig.getMaxJoinPointAbstractions());
 		solver.setMaxCalleesPerCallSite(solverConfig.getMaxCalleesPerCallSite());
 		solver.setMaxAbstractionPathLength(solverConfig.getMaxAbstractionPathLength());
+		solver.setJumpFunctionStoreMode(solverConfig.getJumpFunctionStoreMode());
+		configureJumpFunctionSpilling(solver, solverConfig);
+		configureEdgeScheduling(solver, solverConfig, false);
 
 		return solver;
 	}
 
+	/**
+	 * Configures how the given solver schedules new edges, i.e., the scheduling
+	 * strategy and the batching of edges. Solvers that do not support these
+	 * options are left unchanged.
+	 *
+	 * @param solver        The solver to configure
+	 * @param solverConfig  The solver configuration that defines the scheduling
+	 *                      options
+	 * @param isAliasSolver True if the given solver is an alias solver, false if
+	 *                      it is a data flow solver
+	 */
+	protected void configureEdgeScheduling(IInfoflowSolver solver, SolverConfiguration solverConfig,
+			boolean isAliasSolver) {
+		if (solver instanceof InfoflowSolver) {
+			InfoflowSolver fastSolver = (InfoflowSolver) solver;
+
+			// The alias solver has no seeds. Its edges are injected on demand
+			// anywhere in the program, so the call graph depths from the seeds say
+			// nothing about them.
+			SchedulingStrategy strategy = solverConfig.getSchedulingStrategy();
+			if (isAliasSolver && strategy == SchedulingStrategy.Priority)
+				strategy = SchedulingStrategy.EachEdgeIndividually;
+			fastSolver.setSchedulingStrategy(new DefaultSchedulingStrategy<>(fastSolver).getStrategy(strategy));
+			fastSolver.setEdgeBatchSize(solverConfig.getEdgeBatchSize());
+		}
+	}
+
+	/**
+	 * Configures the given solver to spill jump functions to disk when memory gets
+	 * scarce, if this is enabled in the configuration. Solvers that do not support
+	 * spilling are left unchanged.
+	 *
+	 * @param solver       The solver to configure
+	 * @param solverConfig The solver configuration that defines the spilling
+	 *                     options
+	 */
+	protected void configureJumpFunctionSpilling(IInfoflowSolver solver, SolverConfiguration solverConfig) {
+		if (solverConfig.getSpillJumpFunctions() && solver instanceof InfoflowSolver) {
+			String spillDirectory = solverConfig.getSpillDirectory();
+			((InfoflowSolver) solver).setJumpFunctionSpilling(
+					spillDirectory == null || spillDirectory.isEmpty() ? null : new File(spillDirectory),
+					solverConfig.getSpillColdPropagations());
+		}
+	}
+
 	/**
 	 * Gets the path shortening mode that shall be applied given a certain path
 	 * reconstruction configuration. This method computes the most aggressive path
@@ -1595,6 +1829,53 @@ public abstract class AbstractInfoflow implements IInfoflow {
 		return new InfoflowPerformanceData();
 	}
 
+	/**
+	 * Creates the registry in which the data flow solvers record their metrics.
+	 * Derived classes can override this method to plug in their own registry.
+	 * 
+	 * @return The registry for the solver metrics
+	 */
+	protected SolverMetrics createSolverMetrics() {
+		return new SolverMetrics();
+	}
+
+	/**
+	 * Gets the metrics that the data flow solvers have recorded during the last
+	 * analysis run
+	 * 
+	 * @return The solver metrics of the last analysis run, or null if no metrics
+	 *         have been recorded
+	 */
+	public SolverMetrics getSolverMetrics() {
+		return solverMetrics;
+	}
+
+	/**
+	 * Makes the given solver record its metrics in the registry of the current
+	 * analysis run. Solvers that do not support metrics are ignored.
+	 * 
+	 * @param solver The solver, may be null
+	 * @param name   The name under which the metrics of the solver are registered
+	 */
+	protected void registerSolverMetrics(IInfoflowSolver solver, String name) {
+		if (solver instanceof InfoflowSolver)
+			((InfoflowSolver) solver).setMetrics(solverMetrics, name);
+	}
+
+	/**
+	 * Writes the solver metrics of the current analysis run to the given file
+	 * 
+	 * @param fileName The name of the file to which to write the metrics
+	 */
+	protected void writeSolverMetrics(String fileName) {
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(fileName), StandardCharsets.UTF_8)) {
+			solverMetrics.writeJson(writer, SolverMetrics.DEFAULT_TOP_METHODS);
+			logger.info("Solver metrics written to {}", fileName);
+		} catch (IOException e) {
+			logger.error("Could not write the solver metrics", e);
+		}
+	}
+
 	@Override
 	public void setExecutorFactory(IExecutorFactory executorFactory) {
 		this.executorFactory = executorFactory;
@@ -1747,6 +2028,9 @@ public abstract class AbstractInfoflow implements IInfoflow {
 			aliasSolver.setMaxJoinPointAbstractions(solverConfig.getMaxJoinPointAbstractions());
 			aliasSolver.setMaxCalleesPerCallSite(solverConfig.getMaxCalleesPerCallSite());
 			aliasSolver.setMaxAbstractionPathLength(solverConfig.getMaxAbstractionPathLength());
+			aliasSolver.setJumpFunctionStoreMode(solverConfig.getJumpFunctionStoreMode());
+			configureJumpFunctionSpilling(aliasSolver, solverConfig);
+			configureEdgeScheduling(aliasSolver, solverConfig, true);
 			aliasSolver.setSolverId(false);
 			aliasProblem.setTaintPropagationHandler(aliasPropagationHandler);
 			aliasProblem.setTaintWrapper(taintWrapper);
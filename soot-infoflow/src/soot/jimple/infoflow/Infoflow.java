@@ -11,6 +11,7 @@ package soot.jimple.infoflow;
 
 import soot.Unit;
 import soot.jimple.Stmt;
+import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
 import soot.jimple.infoflow.InfoflowConfiguration.SolverConfiguration;
 import soot.jimple.infoflow.aliasing.FlowSensitiveAliasStrategy;
 import soot.jimple.infoflow.aliasing.IAliasingStrategy;
@@ -115,6 +116,8 @@ public class Infoflow extends AbstractInfoflow {
 			backSolver.setMaxJoinPointAbstractions(solverConfig.getMaxJoinPointAbstractions());
 			backSolver.setMaxCalleesPerCallSite(solverConfig.getMaxCalleesPerCallSite());
 			backSolver.setMaxAbstractionPathLength(solverConfig.getMaxAbstractionPathLength());
+			backSolver.setJumpFunctionStoreMode(solverConfig.getJumpFunctionStoreMode());
+			configureEdgeScheduling(backSolver, solverConfig, true);
 			backSolver.setSolverId(false);
 			backProblem.setTaintPropagationHandler(aliasPropagationHandler);
 			backProblem.setTaintWrapper(taintWrapper);
@@ -123,7 +126,11 @@ public class Infoflow extends AbstractInfoflow {
 
 			memoryWatcher.addSolver((IMemoryBoundedSolver) backSolver);
 
-			aliasingStrategy = new FlowSensitiveAliasStrategy(manager, backSolver);
+			FlowSensitiveAliasStrategy flowSensitiveStrategy = new FlowSensitiveAliasStrategy(manager, backSolver);
+			// Sharing queries requires the incoming edges to be shared between the solvers
+			if (config.getShareAliasQueries() && solverConfig.getDataFlowSolver() != DataFlowSolver.FlowInsensitive)
+				flowSensitiveStrategy.enableQuerySharing(solverPeerGroup);
+			aliasingStrategy = flowSensitiveStrategy;
 			break;
 		case PtsBased:
 			backProblem = null;
@@ -3,6 +3,9 @@ package soot.jimple.infoflow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import soot.jimple.infoflow.solver.gcSolver.GarbageCollectionTrigger;
+import soot.jimple.infoflow.solver.jumpFunctions.SpillableJumpFunctions;
+
 /**
  * Central configuration class for FlowDroid
  * 
@@ -146,6 +149,74 @@ public class InfoflowConfiguration {
 		FineGrainedGC,
 	}
 
+	/**
+	 * Enumeration containing the supported executors on which the data flow
+	 * solvers run their tasks
+	 */
+	public static enum SolverExecutorMode {
+		/**
+		 * Use a thread pool executor with a single shared work queue
+		 */
+		ThreadPool,
+
+		/**
+		 * Use a fork/join pool in which idle worker threads steal tasks from the
+		 * local queues of busy workers
+		 */
+		WorkStealing
+	}
+
+	/**
+	 * Enumeration containing the supported data structures in which the data flow
+	 * solvers store their jump functions
+	 */
+	public static enum JumpFunctionStoreMode {
+		/**
+		 * Store every jump function as a path edge object in a concurrent hash map
+		 */
+		HashMap,
+
+		/**
+		 * Map the statements to dense integer ids and store the jump functions in
+		 * open-addressing tables with primitive keys. This avoids allocating a path
+		 * edge and a map entry per jump function.
+		 */
+		Compact
+	}
+
+	/**
+	 * Enumeration containing the strategies with which the data flow solvers
+	 * schedule the processing of new path edges. Only the ContextFlowSensitive
+	 * solver supports strategies other than the default one.
+	 */
+	public static enum SchedulingStrategy {
+		/**
+		 * Schedule every edge individually, potentially in a new thread
+		 */
+		EachEdgeIndividually,
+
+		/**
+		 * Schedule edges that cross a method boundary in a new thread, but process
+		 * all edges inside a method on the current thread
+		 */
+		EachMethodIndividually,
+
+		/**
+		 * Process all edges on the current thread
+		 */
+		AllEdgesLocally,
+
+		/**
+		 * Keep the pending edges in a relaxed priority queue. Edges in methods that
+		 * are deeper in the condensed call graph are processed first, so that the
+		 * end summaries of callees are mostly complete before they are applied in
+		 * the callers. Inside a method, edges are processed in reverse post-order.
+		 * The alias solver has no seeds from which to compute the call graph
+		 * depths, so it schedules each edge individually instead.
+		 */
+		Priority
+	}
+
 	/**
 	 * Enumeration containing the options for the SparseContextFlowSensitive solver
 	 */
@@ -996,10 +1067,22 @@ public class InfoflowConfiguration {
 	public static class SolverConfiguration {
 		private DataFlowSolver dataFlowSolver = DataFlowSolver.ContextFlowSensitive;
 		private SparsePropagationStrategy sparsePropagationStrategy = SparsePropagationStrategy.Precise;
+		private SolverExecutorMode executorMode = SolverExecutorMode.ThreadPool;
+		private JumpFunctionStoreMode jumpFunctionStoreMode = JumpFunctionStoreMode.HashMap;
+		private SchedulingStrategy schedulingStrategy = SchedulingStrategy.EachEdgeIndividually;
+		private int edgeBatchSize = 1;
+		private String summaryStoreFile = null;
+		private int metricsReportInterval = 0;
+		private String metricsFile = null;
+		private boolean spillJumpFunctions = false;
+		private String spillDirectory = null;
+		private long spillColdPropagations = SpillableJumpFunctions.DEFAULT_COLD_PROPAGATIONS;
 		private int maxJoinPointAbstractions = 10;
 		private int maxCalleesPerCallSite = 75;
 		private int maxAbstractionPathLength = 100;
 		private int sleepTime = 1;
+		private GarbageCollectionTrigger gcTrigger = GarbageCollectionTrigger.Immediate;
+		private boolean incrementalGc = false;
 
 		/**
 		 * Copies the settings of the given configuration into this configuration object
@@ -1009,9 +1092,21 @@ public class InfoflowConfiguration {
 		public void merge(SolverConfiguration solverConfig) {
 			this.dataFlowSolver = solverConfig.dataFlowSolver;
 			this.sparsePropagationStrategy = solverConfig.sparsePropagationStrategy;
+			this.executorMode = solverConfig.executorMode;
+			this.jumpFunctionStoreMode = solverConfig.jumpFunctionStoreMode;
+			this.schedulingStrategy = solverConfig.schedulingStrategy;
+			this.edgeBatchSize = solverConfig.edgeBatchSize;
+			this.summaryStoreFile = solverConfig.summaryStoreFile;
+			this.metricsReportInterval = solverConfig.metricsReportInterval;
+			this.metricsFile = solverConfig.metricsFile;
+			this.spillJumpFunctions = solverConfig.spillJumpFunctions;
+			this.spillDirectory = solverConfig.spillDirectory;
+			this.spillColdPropagations = solverConfig.spillColdPropagations;
 			this.maxJoinPointAbstractions = solverConfig.maxJoinPointAbstractions;
 			this.maxCalleesPerCallSite = solverConfig.maxCalleesPerCallSite;
 			this.maxAbstractionPathLength = solverConfig.maxAbstractionPathLength;
+			this.gcTrigger = solverConfig.gcTrigger;
+			this.incrementalGc = solverConfig.incrementalGc;
 		}
 
 		/**
@@ -1050,6 +1145,242 @@ public class InfoflowConfiguration {
 			this.sparsePropagationStrategy = sparsePropagationStrategy;
 		}
 
+		/**
+		 * Gets the kind of executor on which the data flow solvers run their tasks
+		 *
+		 * @return The kind of executor on which the data flow solvers run their tasks
+		 */
+		public SolverExecutorMode getExecutorMode() {
+			return this.executorMode;
+		}
+
+		/**
+		 * Sets the kind of executor on which the data flow solvers run their tasks.
+		 * The maximum number of threads configured in the
+		 * {@link InfoflowConfiguration} applies to all kinds of executors.
+		 *
+		 * @param executorMode The kind of executor on which the data flow solvers run
+		 *                     their tasks
+		 */
+		public void setExecutorMode(SolverExecutorMode executorMode) {
+			this.executorMode = executorMode;
+		}
+
+		/**
+		 * Gets the data structure in which the data flow solvers store their jump
+		 * functions
+		 *
+		 * @return The data structure in which the data flow solvers store their jump
+		 *         functions
+		 */
+		public JumpFunctionStoreMode getJumpFunctionStoreMode() {
+			return this.jumpFunctionStoreMode;
+		}
+
+		/**
+		 * Sets the data structure in which the data flow solvers store their jump
+		 * functions
+		 *
+		 * @param jumpFunctionStoreMode The data structure in which the data flow
+		 *                              solvers store their jump functions
+		 */
+		public void setJumpFunctionStoreMode(JumpFunctionStoreMode jumpFunctionStoreMode) {
+			this.jumpFunctionStoreMode = jumpFunctionStoreMode;
+		}
+
+		/**
+		 * Gets the strategy with which the data flow solvers schedule the processing
+		 * of new path edges
+		 *
+		 * @return The strategy with which the data flow solvers schedule new edges
+		 */
+		public SchedulingStrategy getSchedulingStrategy() {
+			return this.schedulingStrategy;
+		}
+
+		/**
+		 * Sets the strategy with which the data flow solvers schedule the processing
+		 * of new path edges
+		 *
+		 * @param schedulingStrategy The strategy with which the data flow solvers
+		 *                           schedule new edges
+		 */
+		public void setSchedulingStrategy(SchedulingStrategy schedulingStrategy) {
+			this.schedulingStrategy = schedulingStrategy;
+		}
+
+		/**
+		 * Gets the maximum number of path edges that the data flow solvers submit to
+		 * their executor as a single task
+		 *
+		 * @return The maximum number of path edges per task
+		 */
+		public int getEdgeBatchSize() {
+			return this.edgeBatchSize;
+		}
+
+		/**
+		 * Sets the maximum number of path edges that the data flow solvers submit to
+		 * their executor as a single task. If a flow function produces multiple
+		 * facts for the same statement, the resulting edges are processed one after
+		 * the other in one task. This reduces the scheduling overhead for large
+		 * fan-outs. Only the ContextFlowSensitive solver supports batching.
+		 *
+		 * @param edgeBatchSize The maximum number of path edges per task. Values
+		 *                      smaller than two disable the batching.
+		 */
+		public void setEdgeBatchSize(int edgeBatchSize) {
+			this.edgeBatchSize = edgeBatchSize;
+		}
+
+		/**
+		 * Gets the file in which the end summaries of library methods are stored
+		 * across analysis runs
+		 *
+		 * @return The file in which the end summaries of library methods are
+		 *         stored, or null if summaries shall not be stored
+		 */
+		public String getSummaryStoreFile() {
+			return this.summaryStoreFile;
+		}
+
+		/**
+		 * Sets the file in which the end summaries of library methods are stored
+		 * across analysis runs. If the file already contains a summary for a
+		 * library method, the data flow solver applies the summary instead of
+		 * analyzing the method again. Summaries are invalidated automatically if the
+		 * code of the library changes or the analysis is run with a different
+		 * configuration. Only the ContextFlowSensitive solver supports this option
+		 * in forward analyses, and only with an aliasing algorithm that is neither
+		 * flow-sensitive nor interactive, i.e., PtsBased or None.
+		 *
+		 * @param summaryStoreFile The file in which the end summaries of library
+		 *                         methods are stored, or null to disable persistent
+		 *                         summaries
+		 */
+		public void setSummaryStoreFile(String summaryStoreFile) {
+			this.summaryStoreFile = summaryStoreFile;
+		}
+
+		/**
+		 * Gets the interval in which the solver metrics are written to the log
+		 *
+		 * @return The interval in seconds in which the solver metrics are written to
+		 *         the log, or zero if no periodic report shall be written
+		 */
+		public int getMetricsReportInterval() {
+			return this.metricsReportInterval;
+		}
+
+		/**
+		 * Sets the interval in which the solver metrics, e.g., the number of edges
+		 * per second and the size of the executor queue, are written to the log
+		 * while the data flow analysis is running
+		 *
+		 * @param metricsReportInterval The interval in seconds in which the solver
+		 *                              metrics are written to the log, or zero to
+		 *                              disable the periodic report
+		 */
+		public void setMetricsReportInterval(int metricsReportInterval) {
+			this.metricsReportInterval = metricsReportInterval;
+		}
+
+		/**
+		 * Gets the file to which the solver metrics are written as JSON once the
+		 * analysis has finished
+		 *
+		 * @return The file to which the solver metrics are written, or null if the
+		 *         metrics shall not be written to disk
+		 */
+		public String getMetricsFile() {
+			return this.metricsFile;
+		}
+
+		/**
+		 * Sets the file to which the solver metrics are written as JSON once the
+		 * analysis has finished. Only the ContextFlowSensitive and
+		 * SparseContextFlowSensitive solvers record metrics.
+		 *
+		 * @param metricsFile The file to which the solver metrics are written, or
+		 *                    null to not write the metrics to disk
+		 */
+		public void setMetricsFile(String metricsFile) {
+			this.metricsFile = metricsFile;
+		}
+
+		/**
+		 * Gets whether the data flow solver moves jump functions that it has not
+		 * used for a while to disk when the memory threshold is reached, instead of
+		 * aborting the analysis
+		 * 
+		 * @return True if jump functions are spilled to disk when memory gets
+		 *         scarce, false if the analysis is aborted right away
+		 */
+		public boolean getSpillJumpFunctions() {
+			return this.spillJumpFunctions;
+		}
+
+		/**
+		 * Sets whether the data flow solver moves jump functions that it has not
+		 * used for a while to disk when the memory threshold is reached. The
+		 * analysis is only aborted if there is nothing left to move. This makes the
+		 * analysis slower, but it can complete in cases in which it would otherwise
+		 * run out of memory. Only the tables of the jump functions are moved, the
+		 * data flow facts themselves stay on the heap. Only the
+		 * ContextFlowSensitive solver supports this option.
+		 * 
+		 * @param spillJumpFunctions True to spill jump functions to disk when memory
+		 *                           gets scarce, false to abort the analysis right
+		 *                           away
+		 */
+		public void setSpillJumpFunctions(boolean spillJumpFunctions) {
+			this.spillJumpFunctions = spillJumpFunctions;
+		}
+
+		/**
+		 * Gets the directory in which spilled jump functions are stored
+		 * 
+		 * @return The directory in which spilled jump functions are stored, or null
+		 *         to use the default temporary directory
+		 */
+		public String getSpillDirectory() {
+			return this.spillDirectory;
+		}
+
+		/**
+		 * Sets the directory in which spilled jump functions are stored
+		 * 
+		 * @param spillDirectory The directory in which spilled jump functions are
+		 *                       stored, or null to use the default temporary
+		 *                       directory
+		 */
+		public void setSpillDirectory(String spillDirectory) {
+			this.spillDirectory = spillDirectory;
+		}
+
+		/**
+		 * Gets the number of propagations since the last access to a method after
+		 * which the jump functions of that method may be spilled to disk
+		 * 
+		 * @return The minimum number of propagations since the last access to a
+		 *         method before it may be spilled
+		 */
+		public long getSpillColdPropagations() {
+			return this.spillColdPropagations;
+		}
+
+		/**
+		 * Sets the number of propagations since the last access to a method after
+		 * which the jump functions of that method may be spilled to disk
+		 * 
+		 * @param spillColdPropagations The minimum number of propagations since the
+		 *                              last access to a method before it may be
+		 *                              spilled
+		 */
+		public void setSpillColdPropagations(long spillColdPropagations) {
+			this.spillColdPropagations = spillColdPropagations;
+		}
+
 		/**
 		 * Gets the maximum number of abstractions that shall be recorded per join
 		 * point. In other words, enabling this option disables the recording of
@@ -1150,6 +1481,50 @@ public class InfoflowConfiguration {
 			return this.sleepTime;
 		}
 
+		/**
+		 * Gets when the garbage-collecting solvers shall remove jump functions
+		 * 
+		 * @return The trigger for garbage collection in the garbage-collecting
+		 *         solvers
+		 */
+		public GarbageCollectionTrigger getGcTrigger() {
+			return this.gcTrigger;
+		}
+
+		/**
+		 * Sets when the garbage-collecting solvers shall remove jump functions
+		 * 
+		 * @param gcTrigger The trigger for garbage collection in the
+		 *                  garbage-collecting solvers
+		 */
+		public void setGcTrigger(GarbageCollectionTrigger gcTrigger) {
+			this.gcTrigger = gcTrigger;
+		}
+
+		/**
+		 * Gets whether the garbage-collecting solvers collect jump functions
+		 * incrementally
+		 * 
+		 * @return True if the garbage-collecting solvers collect jump functions
+		 *         incrementally, false if they periodically sweep over all methods
+		 */
+		public boolean getIncrementalGc() {
+			return this.incrementalGc;
+		}
+
+		/**
+		 * Sets whether the garbage-collecting solvers shall collect the jump
+		 * functions of a method as soon as no more edges are scheduled for it,
+		 * instead of periodically sweeping over all methods. The collection still
+		 * honors the configured trigger.
+		 * 
+		 * @param incrementalGc True to collect jump functions incrementally, false
+		 *                      to periodically sweep over all methods
+		 */
+		public void setIncrementalGc(boolean incrementalGc) {
+			this.incrementalGc = incrementalGc;
+		}
+
 		@Override
 		public int hashCode() {
 			final int prime = 31;
@@ -1157,9 +1532,21 @@ public class InfoflowConfiguration {
 			result = prime * result + ((dataFlowSolver == null) ? 0 : dataFlowSolver.hashCode());
 			if (dataFlowSolver == DataFlowSolver.SparseContextFlowSensitive)
 				result = prime * result + sparsePropagationStrategy.hashCode();
+			result = prime * result + ((executorMode == null) ? 0 : executorMode.hashCode());
+			result = prime * result + ((jumpFunctionStoreMode == null) ? 0 : jumpFunctionStoreMode.hashCode());
+			result = prime * result + ((schedulingStrategy == null) ? 0 : schedulingStrategy.hashCode());
+			result = prime * result + edgeBatchSize;
+			result = prime * result + ((summaryStoreFile == null) ? 0 : summaryStoreFile.hashCode());
+			result = prime * result + metricsReportInterval;
+			result = prime * result + ((metricsFile == null) ? 0 : metricsFile.hashCode());
+			result = prime * result + (spillJumpFunctions ? 1231 : 1237);
+			result = prime * result + ((spillDirectory == null) ? 0 : spillDirectory.hashCode());
+			result = prime * result + (int) (spillColdPropagations ^ (spillColdPropagations >>> 32));
 			result = prime * result + maxCalleesPerCallSite;
 			result = prime * result + maxJoinPointAbstractions;
 			result = prime * result + maxAbstractionPathLength;
+			result = prime * result + ((gcTrigger == null) ? 0 : gcTrigger.hashCode());
+			result = prime * result + (incrementalGc ? 1231 : 1237);
 			return result;
 		}
 
@@ -1177,12 +1564,45 @@ public class InfoflowConfiguration {
 			if (dataFlowSolver == DataFlowSolver.SparseContextFlowSensitive)
 				if (sparsePropagationStrategy != other.sparsePropagationStrategy)
 					return false;
+			if (executorMode != other.executorMode)
+				return false;
+			if (jumpFunctionStoreMode != other.jumpFunctionStoreMode)
+				return false;
+			if (schedulingStrategy != other.schedulingStrategy)
+				return false;
+			if (edgeBatchSize != other.edgeBatchSize)
+				return false;
+			if (summaryStoreFile == null) {
+				if (other.summaryStoreFile != null)
+					return false;
+			} else if (!summaryStoreFile.equals(other.summaryStoreFile))
+				return false;
+			if (metricsReportInterval != other.metricsReportInterval)
+				return false;
+			if (metricsFile == null) {
+				if (other.metricsFile != null)
+					return false;
+			} else if (!metricsFile.equals(other.metricsFile))
+				return false;
+			if (spillJumpFunctions != other.spillJumpFunctions)
+				return false;
+			if (spillDirectory == null) {
+				if (other.spillDirectory != null)
+					return false;
+			} else if (!spillDirectory.equals(other.spillDirectory))
+				return false;
+			if (spillColdPropagations != other.spillColdPropagations)
+				return false;
 			if (maxCalleesPerCallSite != other.maxCalleesPerCallSite)
 				return false;
 			if (maxJoinPointAbstractions != other.maxJoinPointAbstractions)
 				return false;
 			if (maxAbstractionPathLength != other.maxAbstractionPathLength)
 				return false;
+			if (gcTrigger != other.gcTrigger)
+				return false;
+			if (incrementalGc != other.incrementalGc)
+				return false;
 			return true;
 		}
 
@@ -1201,6 +1621,7 @@ public class InfoflowConfiguration {
 		private boolean useRecursiveAccessPaths = true;
 		private boolean useThisChainReduction = true;
 		private boolean useSameFieldReduction = true;
+		private boolean useAccessPathInterning = false;
 
 		/**
 		 * Merges the given configuration options into this configuration object
@@ -1212,6 +1633,7 @@ public class InfoflowConfiguration {
 			this.useRecursiveAccessPaths = config.useRecursiveAccessPaths;
 			this.useThisChainReduction = config.useThisChainReduction;
 			this.useSameFieldReduction = config.useSameFieldReduction;
+			this.useAccessPathInterning = config.useAccessPathInterning;
 		}
 
 		/**
@@ -1302,11 +1724,35 @@ public class InfoflowConfiguration {
 			this.useSameFieldReduction = useSameFieldReduction;
 		}
 
+		/**
+		 * Gets whether equal access paths shall be mapped to a single canonical
+		 * instance. This saves memory and allows for cheaper comparisons, but requires
+		 * a lookup in a global table whenever an access path is created.
+		 * 
+		 * @return True if access paths shall be interned, otherwise false
+		 */
+		public boolean getUseAccessPathInterning() {
+			return useAccessPathInterning;
+		}
+
+		/**
+		 * Sets whether equal access paths shall be mapped to a single canonical
+		 * instance. This saves memory and allows for cheaper comparisons, but requires
+		 * a lookup in a global table whenever an access path is created.
+		 * 
+		 * @param useAccessPathInterning True if access paths shall be interned,
+		 *                               otherwise false
+		 */
+		public void setUseAccessPathInterning(boolean useAccessPathInterning) {
+			this.useAccessPathInterning = useAccessPathInterning;
+		}
+
 		@Override
 		public int hashCode() {
 			final int prime = 31;
 			int result = 1;
 			result = prime * result + accessPathLength;
+			result = prime * result + (useAccessPathInterning ? 1231 : 1237);
 			result = prime * result + (useRecursiveAccessPaths ? 1231 : 1237);
 			result = prime * result + (useSameFieldReduction ? 1231 : 1237);
 			result = prime * result + (useThisChainReduction ? 1231 : 1237);
@@ -1324,6 +1770,8 @@ public class InfoflowConfiguration {
 			AccessPathConfiguration other = (AccessPathConfiguration) obj;
 			if (accessPathLength != other.accessPathLength)
 				return false;
+			if (useAccessPathInterning != other.useAccessPathInterning)
+				return false;
 			if (useRecursiveAccessPaths != other.useRecursiveAccessPaths)
 				return false;
 			if (useSameFieldReduction != other.useSameFieldReduction)
@@ -1345,6 +1793,7 @@ public class InfoflowConfiguration {
 	private boolean enableArrays = true;
 	private boolean enableArraySizeTainting = true;
 	private boolean flowSensitiveAliasing = true;
+	private boolean shareAliasQueries = false;
 	private boolean enableTypeChecking = true;
 	private boolean ignoreFlowsInSystemPackages = false;
 	private boolean excludeSootLibraryClasses = false;
@@ -1366,6 +1815,7 @@ public class InfoflowConfiguration {
 	private CallgraphAlgorithm callgraphAlgorithm = CallgraphAlgorithm.AutomaticSelection;
 	private AliasingAlgorithm aliasingAlgorithm = AliasingAlgorithm.FlowSensitive;
 	private CodeEliminationMode codeEliminationMode = CodeEliminationMode.PropagateConstants;
+	private boolean parallelCodeElimination = false;
 	private StaticFieldTrackingMode staticFieldTrackingMode = StaticFieldTrackingMode.ContextFlowSensitive;
 	private SootIntegrationMode sootIntegrationMode = SootIntegrationMode.CreateNewInstance;
 	private DataFlowDirection dataFlowDirection = DataFlowDirection.Forwards;
@@ -1393,6 +1843,7 @@ public class InfoflowConfiguration {
 		this.enableArrays = config.enableArrays;
 		this.enableArraySizeTainting = config.enableArraySizeTainting;
 		this.flowSensitiveAliasing = config.flowSensitiveAliasing;
+		this.shareAliasQueries = config.shareAliasQueries;
 		this.enableTypeChecking = config.enableTypeChecking;
 		this.ignoreFlowsInSystemPackages = config.ignoreFlowsInSystemPackages;
 		this.excludeSootLibraryClasses = config.excludeSootLibraryClasses;
@@ -1411,6 +1862,7 @@ public class InfoflowConfiguration {
 		this.callgraphAlgorithm = config.callgraphAlgorithm;
 		this.aliasingAlgorithm = config.aliasingAlgorithm;
 		this.codeEliminationMode = config.codeEliminationMode;
+		this.parallelCodeElimination = config.parallelCodeElimination;
 		this.staticFieldTrackingMode = config.staticFieldTrackingMode;
 		this.sootIntegrationMode = config.sootIntegrationMode;
 		this.dataFlowDirection = config.dataFlowDirection;
@@ -1659,6 +2111,33 @@ public class InfoflowConfiguration {
 		return flowSensitiveAliasing;
 	}
 
+	/**
+	 * Sets whether the flow-sensitive alias analysis shall share its alias queries
+	 * between calling contexts. If this option is enabled, the backwards alias
+	 * search for an access path at a heap write is only performed once, and the
+	 * aliases that were found are made available to all calling contexts that
+	 * issue the same query. This saves alias propagations, but calling contexts
+	 * that share a query also share the callers into which the aliases are
+	 * propagated.
+	 *
+	 * @param shareAliasQueries True if alias queries shall be shared between
+	 *                          calling contexts, otherwise false
+	 */
+	public void setShareAliasQueries(boolean shareAliasQueries) {
+		this.shareAliasQueries = shareAliasQueries;
+	}
+
+	/**
+	 * Gets whether the flow-sensitive alias analysis shall share its alias queries
+	 * between calling contexts
+	 *
+	 * @return True if alias queries shall be shared between calling contexts,
+	 *         otherwise false
+	 */
+	public boolean getShareAliasQueries() {
+		return shareAliasQueries;
+	}
+
 	/**
 	 * Sets whether the solver shall track taints of thrown exception objects
 	 * 
@@ -1894,6 +2373,32 @@ public class InfoflowConfiguration {
 		return codeEliminationMode;
 	}
 
+	/**
+	 * Sets whether the code elimination shall clean up the method bodies with
+	 * several threads. The cleanup runs Soot's shared body transformers
+	 * concurrently on different bodies. Soot does not guarantee that these
+	 * transformers are thread-safe, so this option is experimental.
+	 * 
+	 * @param parallelCodeElimination True to clean up the method bodies with up
+	 *                                to {@link #getMaxThreadNum()} threads, false
+	 *                                to clean them up sequentially
+	 */
+	public void setParallelCodeElimination(boolean parallelCodeElimination) {
+		this.parallelCodeElimination = parallelCodeElimination;
+	}
+
+	/**
+	 * Gets whether the code elimination shall clean up the method bodies with
+	 * several threads
+	 * 
+	 * @return True to clean up the method bodies with up to
+	 *         {@link #getMaxThreadNum()} threads, false to clean them up
+	 *         sequentially
+	 */
+	public boolean getParallelCodeElimination() {
+		return parallelCodeElimination;
+	}
+
 	/**
 	 * Gets whether the discovered sources and sinks shall be logged
 	 * 
@@ -2214,6 +2719,8 @@ public class InfoflowConfiguration {
 		if (oneSourceAtATime)
 			logger.info("Running with one source at a time");
 		logger.info("Using alias algorithm " + aliasingAlgorithm);
+		if (shareAliasQueries && aliasingAlgorithm == AliasingAlgorithm.FlowSensitive)
+			logger.info("Alias queries are shared between calling contexts");
 		if (additionalFlowsEnabled)
 			logger.info("Additional flows enabled.");
 	}
@@ -2226,6 +2733,7 @@ public class InfoflowConfiguration {
 		result = prime * result + ((aliasingAlgorithm == null) ? 0 : aliasingAlgorithm.hashCode());
 		result = prime * result + ((callgraphAlgorithm == null) ? 0 : callgraphAlgorithm.hashCode());
 		result = prime * result + ((codeEliminationMode == null) ? 0 : codeEliminationMode.hashCode());
+		result = prime * result + (parallelCodeElimination ? 1231 : 1237);
 		result = prime * result + ((dataFlowDirection == null) ? 0 : dataFlowDirection.hashCode());
 		result = prime * result + (int) (dataFlowTimeout ^ (dataFlowTimeout >>> 32));
 		result = prime * result + (enableArraySizeTainting ? 1231 : 1237);
@@ -2237,6 +2745,7 @@ public class InfoflowConfiguration {
 		result = prime * result + (enableTypeChecking ? 1231 : 1237);
 		result = prime * result + (excludeSootLibraryClasses ? 1231 : 1237);
 		result = prime * result + (flowSensitiveAliasing ? 1231 : 1237);
+		result = prime * result + (shareAliasQueries ? 1231 : 1237);
 		result = prime * result + (ignoreFlowsInSystemPackages ? 1231 : 1237);
 		result = prime * result + ((implicitFlowMode == null) ? 0 : implicitFlowMode.hashCode());
 		result = prime * result + (incrementalResultReporting ? 1231 : 1237);
@@ -2281,6 +2790,8 @@ public class InfoflowConfiguration {
 			return false;
 		if (codeEliminationMode != other.codeEliminationMode)
 			return false;
+		if (parallelCodeElimination != other.parallelCodeElimination)
+			return false;
 		if (dataFlowDirection != other.dataFlowDirection)
 			return false;
 		if (dataFlowTimeout != other.dataFlowTimeout)
@@ -2303,6 +2814,8 @@ public class InfoflowConfiguration {
 			return false;
 		if (flowSensitiveAliasing != other.flowSensitiveAliasing)
 			return false;
+		if (shareAliasQueries != other.shareAliasQueries)
+			return false;
 		if (ignoreFlowsInSystemPackages != other.ignoreFlowsInSystemPackages)
 			return false;
 		if (implicitFlowMode != other.implicitFlowMode)
@@ -1,7 +1,10 @@
 package soot.jimple.infoflow.aliasing;
 
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+import heros.solver.Pair;
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.Unit;
@@ -10,6 +13,8 @@ import soot.jimple.Stmt;
 import soot.jimple.infoflow.InfoflowManager;
 import soot.jimple.infoflow.data.Abstraction;
 import soot.jimple.infoflow.solver.IInfoflowSolver;
+import soot.jimple.infoflow.solver.ISolverPeerGroup;
+import soot.jimple.infoflow.solver.IncomingRecord;
 
 /**
  * A fully flow-sensitive aliasing strategy
@@ -18,8 +23,44 @@ import soot.jimple.infoflow.solver.IInfoflowSolver;
  */
 public class FlowSensitiveAliasStrategy extends AbstractBulkAliasStrategy {
 
+	/**
+	 * Calling context under which the backwards solver runs an alias query on
+	 * behalf of all forward contexts that issue the same query. The context is a
+	 * copy of the first of these forward contexts, and the others are registered
+	 * as its neighbors, so that paths through the shared context lead back to all
+	 * of them. Query contexts are compared by identity, so that they never
+	 * collide with real calling contexts.
+	 */
+	private static class QueryContext extends Abstraction {
+
+		public QueryContext(Abstraction d1) {
+			super(d1.getAccessPath(), d1);
+			setPredecessor(d1);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return this == obj;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this);
+		}
+
+	}
+
+	/**
+	 * The maximum number of alias queries that are kept for sharing
+	 */
+	private static final int MAX_QUERY_CONTEXTS = 100000;
+
 	private final IInfoflowSolver bSolver;
 
+	private ISolverPeerGroup peerGroup = null;
+	private final ConcurrentHashMap<Pair<Stmt, Abstraction>, QueryContext> queryContexts = new ConcurrentHashMap<>();
+	private final LongAdder sharedQueries = new LongAdder();
+
 	public FlowSensitiveAliasStrategy(InfoflowManager manager, IInfoflowSolver backwardsSolver) {
 		super(manager);
 		this.bSolver = backwardsSolver;
@@ -30,8 +71,79 @@ public class FlowSensitiveAliasStrategy extends AbstractBulkAliasStrategy {
 			Set<Abstraction> taintSet, SootMethod method, Abstraction newAbs) {
 		// Start the backwards solver
 		Abstraction bwAbs = newAbs.deriveInactiveAbstraction(src);
+		Abstraction context = peerGroup == null ? d1 : getQueryContext(d1, src, method, bwAbs);
 		for (Unit predUnit : manager.getICFG().getPredsOf(src))
-			bSolver.processEdge(new PathEdge<Unit, Abstraction>(d1, predUnit, bwAbs));
+			bSolver.processEdge(new PathEdge<Unit, Abstraction>(context, predUnit, bwAbs));
+	}
+
+	/**
+	 * Gets the context in which the backwards solver shall run the alias query for
+	 * the given abstraction at the given statement. All forward contexts that
+	 * issue the same query share the same context, so that the backwards solver
+	 * only searches for the aliases once. The solver merges the abstractions of
+	 * later queries into the existing jump functions as neighbors, which keeps
+	 * the paths to all sources intact.
+	 *
+	 * @param d1     The forward context that issues the query
+	 * @param src    The statement at which to start the backwards search
+	 * @param method The method that contains the statement
+	 * @param bwAbs  The inactive abstraction for which to search aliases
+	 * @return The context for the backwards search
+	 */
+	private Abstraction getQueryContext(Abstraction d1, Stmt src, SootMethod method, Abstraction bwAbs) {
+		// Without callers, there is nothing we could share. Unbalanced returns are
+		// left to the solver.
+		Set<IncomingRecord<Unit, Abstraction>> callers = peerGroup.incoming(d1, method);
+		if (callers == null || callers.isEmpty())
+			return d1;
+
+		Pair<Stmt, Abstraction> key = new Pair<>(src, bwAbs);
+		QueryContext context = queryContexts.get(key);
+		if (context == null) {
+			// Once the table is full, new queries are no longer shared
+			if (queryContexts.size() >= MAX_QUERY_CONTEXTS)
+				return d1;
+			QueryContext newContext = new QueryContext(d1);
+			context = queryContexts.putIfAbsent(key, newContext);
+			if (context == null)
+				context = newContext;
+		}
+		// Only count a query as shared when a new forward context joins it, not on
+		// every repeated lookup of the same context
+		if (context.getPredecessor() != d1 && context.addNeighbor(d1))
+			sharedQueries.increment();
+
+		// The aliases must be able to leave the method towards all callers of the
+		// forward context, including those that only reach the method after the
+		// query has been issued. The peer group applies the summaries of the
+		// search to these callers.
+		peerGroup.addDerivedContext(method, d1, context);
+		return context;
+	}
+
+	/**
+	 * Enables the sharing of alias queries between calling contexts. If an alias
+	 * query for the same abstraction at the same statement has already been issued
+	 * in a different calling context, the backwards solver does not repeat the
+	 * search. Instead, the aliases that were found are made available to the new
+	 * calling context. This requires the forward and the backwards solver to share
+	 * their incoming call edges through a peer group.
+	 *
+	 * @param peerGroup The peer group that holds the incoming call edges of both
+	 *                  solvers
+	 */
+	public void enableQuerySharing(ISolverPeerGroup peerGroup) {
+		this.peerGroup = peerGroup;
+	}
+
+	/**
+	 * Gets the number of alias queries that were answered by a search that had
+	 * already been started for a different calling context
+	 *
+	 * @return The number of shared alias queries
+	 */
+	public long getSharedQueryCount() {
+		return sharedQueries.sum();
 	}
 
 	@Override
@@ -58,6 +170,8 @@ public class FlowSensitiveAliasStrategy extends AbstractBulkAliasStrategy {
 	@Override
 	public void cleanup() {
 		bSolver.cleanup();
+		queryContexts.clear();
+		peerGroup = null;
 	}
 
 }
@@ -1,7 +1,5 @@
 package soot.jimple.infoflow.aliasing;
 
-import soot.PointsToSet;
-import soot.Scene;
 import soot.SootMethod;
 import soot.Unit;
 import soot.jimple.infoflow.InfoflowManager;
@@ -18,8 +16,21 @@ import soot.jimple.infoflow.solver.IInfoflowSolver;
  */
 public class LazyAliasingStrategy extends AbstractInteractiveAliasStrategy {
 
+	private final PointsToSetCache pointsToSets;
+
 	public LazyAliasingStrategy(InfoflowManager manager) {
+		this(manager, new PointsToSetCache());
+	}
+
+	/**
+	 * Creates a new instance of the LazyAliasingStrategy class
+	 * 
+	 * @param manager      The data flow manager
+	 * @param pointsToSets The cache from which to take the points-to sets
+	 */
+	public LazyAliasingStrategy(InfoflowManager manager, PointsToSetCache pointsToSets) {
 		super(manager);
+		this.pointsToSets = pointsToSets;
 	}
 
 	@Override
@@ -35,29 +46,8 @@ public class LazyAliasingStrategy extends AbstractInteractiveAliasStrategy {
 			return true;
 		
 		// Check the full access path for aliasing
-		PointsToSet ptaAP1 = getPointsToSet(ap1);
-		PointsToSet ptaAP2 = getPointsToSet(ap2);
-		if (ptaAP1.hasNonEmptyIntersection(ptaAP2))
-			return true;
-		
-		// No aliasing found
-		return false;
-	}
-
-	/**
-	 * Gets the points-to-set for the given access path
-	 * @param accessPath The access path for which to get the points-to-set
-	 * @return The points-to-set for the given access path
-	 */
-	private PointsToSet getPointsToSet(AccessPath accessPath) {
-		if (accessPath.isLocal())
-			return Scene.v().getPointsToAnalysis().reachingObjects(accessPath.getPlainValue());
-		else if (accessPath.isInstanceFieldRef())
-			return Scene.v().getPointsToAnalysis().reachingObjects(accessPath.getPlainValue(), accessPath.getFirstField());
-		else if (accessPath.isStaticFieldRef())
-			return Scene.v().getPointsToAnalysis().reachingObjects(accessPath.getFirstField());
-		else
-			throw new RuntimeException("Unexepected access path type");
+		return pointsToSets.hasNonEmptyIntersection(pointsToSets.getPointsToSet(ap1),
+				pointsToSets.getPointsToSet(ap2));
 	}
 
 	@Override
@@ -95,7 +85,7 @@ public class LazyAliasingStrategy extends AbstractInteractiveAliasStrategy {
 
 	@Override
 	public void cleanup() {
-		// nothing to do here
+		pointsToSets.clear();
 	}
 
 }
@@ -0,0 +1,296 @@
+package soot.jimple.infoflow.aliasing;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import soot.Local;
+import soot.PointsToAnalysis;
+import soot.PointsToSet;
+import soot.Scene;
+import soot.SootField;
+import soot.Value;
+import soot.jimple.ArrayRef;
+import soot.jimple.InstanceFieldRef;
+import soot.jimple.StaticFieldRef;
+import soot.jimple.infoflow.data.AccessPath;
+import soot.jimple.spark.pag.Node;
+import soot.jimple.spark.sets.P2SetVisitor;
+import soot.jimple.spark.sets.PointsToSetInternal;
+
+/**
+ * Cache for the points-to sets that the points-to-based aliasing strategies
+ * query over and over again. The points-to set of an access path only depends
+ * on its base value and first field, so the cache is keyed by this prefix.
+ * SPARK points-to sets are converted into sorted arrays of the numbers of the
+ * allocation nodes when they are first cached, which makes intersection checks
+ * cheap. Unlike a bit set, such an array only grows with the size of the
+ * points-to set, not with the highest allocation node number in the program.
+ * Both the cached points-to sets and the results of intersection checks are
+ * kept in bounded tables.
+ */
+public class PointsToSetCache {
+
+	/**
+	 * The default maximum number of intersection results to keep
+	 */
+	public static final int DEFAULT_MAX_INTERSECTIONS = 100000;
+
+	/**
+	 * The default maximum number of points-to sets to keep
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 50000;
+
+	/**
+	 * A cached points-to set
+	 */
+	public static final class Entry {
+
+		private final int id;
+		private final PointsToSet pts;
+		private final int[] nodes;
+
+		private Entry(int id, PointsToSet pts, int[] nodes) {
+			this.id = id;
+			this.pts = pts;
+			this.nodes = nodes;
+		}
+
+		/**
+		 * Gets the original points-to set of this entry
+		 *
+		 * @return The original points-to set
+		 */
+		public PointsToSet getPointsToSet() {
+			return pts;
+		}
+
+	}
+
+	/**
+	 * The prefix of an access path that determines its points-to set
+	 */
+	private static final class Key {
+
+		private final Value base;
+		private final SootField field;
+
+		private Key(Value base, SootField field) {
+			this.base = base;
+			this.field = field;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (base == null ? 0 : base.hashCode()) + (field == null ? 0 : field.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return base == other.base && field == other.field;
+		}
+
+	}
+
+	private final PointsToAnalysis pta;
+	private final Cache<Key, Entry> entries;
+	private final Cache<Long, Boolean> intersections;
+	private final AtomicInteger nextId = new AtomicInteger();
+
+	/**
+	 * Creates a new cache for the points-to analysis of the current scene
+	 */
+	public PointsToSetCache() {
+		this(Scene.v().getPointsToAnalysis(), DEFAULT_MAX_ENTRIES, DEFAULT_MAX_INTERSECTIONS);
+	}
+
+	/**
+	 * Creates a new cache for the given points-to analysis
+	 *
+	 * @param pta              The points-to analysis to query
+	 * @param maxEntries       The maximum number of points-to sets to keep
+	 * @param maxIntersections The maximum number of intersection results to keep
+	 */
+	public PointsToSetCache(PointsToAnalysis pta, int maxEntries, int maxIntersections) {
+		this.pta = pta;
+		this.entries = CacheBuilder.newBuilder().concurrencyLevel(Runtime.getRuntime().availableProcessors())
+				.maximumSize(maxEntries).build();
+		this.intersections = CacheBuilder.newBuilder().concurrencyLevel(Runtime.getRuntime().availableProcessors())
+				.maximumSize(maxIntersections).build();
+	}
+
+	/**
+	 * Gets the points-to set for the given access path
+	 *
+	 * @param accessPath The access path for which to get the points-to set
+	 * @return The points-to set for the given access path
+	 */
+	public Entry getPointsToSet(AccessPath accessPath) {
+		if (accessPath.isLocal())
+			return getEntry(accessPath.getPlainValue(), null);
+		else if (accessPath.isInstanceFieldRef())
+			return getEntry(accessPath.getPlainValue(), accessPath.getFirstField());
+		else if (accessPath.isStaticFieldRef())
+			return getEntry(null, accessPath.getFirstField());
+		else
+			throw new RuntimeException("Unexepected access path type");
+	}
+
+	/**
+	 * Gets the points-to set for the given value
+	 *
+	 * @param value The value for which to get the points-to set
+	 * @return The points-to set for the given value, or null if the value cannot
+	 *         point to any object
+	 */
+	public Entry getPointsToSet(Value value) {
+		if (value instanceof Local)
+			return getEntry(value, null);
+		else if (value instanceof InstanceFieldRef) {
+			InstanceFieldRef iref = (InstanceFieldRef) value;
+			return getEntry(iref.getBase(), iref.getField());
+		} else if (value instanceof StaticFieldRef)
+			return getEntry(null, ((StaticFieldRef) value).getField());
+		else if (value instanceof ArrayRef)
+			return getEntry(((ArrayRef) value).getBase(), null);
+		else
+			return null;
+	}
+
+	private Entry getEntry(Value base, SootField field) {
+		Key key = new Key(base, field);
+		Entry entry = entries.getIfPresent(key);
+		if (entry != null)
+			return entry;
+
+		// We must not query the points-to analysis while holding a lock on the map.
+		// Entries that have been evicted get a fresh id, so stale intersection
+		// results are never looked up again.
+		PointsToSet pts;
+		synchronized (pta) {
+			if (base == null)
+				pts = pta.reachingObjects(field);
+			else if (field == null)
+				pts = pta.reachingObjects((Local) base);
+			else
+				pts = pta.reachingObjects((Local) base, field);
+		}
+		Entry newEntry = new Entry(nextId.getAndIncrement(), pts, toNodeArray(pts));
+		entry = entries.asMap().putIfAbsent(key, newEntry);
+		return entry == null ? newEntry : entry;
+	}
+
+	/**
+	 * Converts the given points-to set into a sorted array of the numbers of the
+	 * allocation nodes
+	 *
+	 * @param pts The points-to set to convert
+	 * @return The sorted array, or null if the points-to set is not a SPARK set
+	 */
+	private static int[] toNodeArray(PointsToSet pts) {
+		if (pts.isEmpty())
+			return new int[0];
+		if (!(pts instanceof PointsToSetInternal))
+			return null;
+
+		PointsToSetInternal ptsInternal = (PointsToSetInternal) pts;
+		final int[] nodes = new int[ptsInternal.size()];
+		ptsInternal.forall(new P2SetVisitor() {
+
+			private int pos = 0;
+
+			@Override
+			public void visit(Node n) {
+				nodes[pos++] = n.getNumber();
+			}
+
+		});
+		Arrays.sort(nodes);
+		return nodes;
+	}
+
+	/**
+	 * Checks whether the two given sorted arrays have at least one element in
+	 * common
+	 *
+	 * @param nodes1 The first sorted array
+	 * @param nodes2 The second sorted array
+	 * @return True if the two arrays share at least one element, otherwise false
+	 */
+	private static boolean intersects(int[] nodes1, int[] nodes2) {
+		// Quick check on the value ranges
+		if (nodes1[nodes1.length - 1] < nodes2[0] || nodes2[nodes2.length - 1] < nodes1[0])
+			return false;
+
+		// For very different sizes, we look up the elements of the smaller array
+		int[] small = nodes1.length <= nodes2.length ? nodes1 : nodes2;
+		int[] large = small == nodes1 ? nodes2 : nodes1;
+		if (small.length * 8 < large.length) {
+			for (int n : small)
+				if (Arrays.binarySearch(large, n) >= 0)
+					return true;
+			return false;
+		}
+
+		// Otherwise, we walk both arrays in parallel
+		int i = 0, j = 0;
+		while (i < nodes1.length && j < nodes2.length) {
+			if (nodes1[i] == nodes2[j])
+				return true;
+			if (nodes1[i] < nodes2[j])
+				i++;
+			else
+				j++;
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the two given points-to sets have at least one object in
+	 * common
+	 *
+	 * @param e1 The first points-to set
+	 * @param e2 The second points-to set
+	 * @return True if the two points-to sets intersect, otherwise false
+	 */
+	public boolean hasNonEmptyIntersection(Entry e1, Entry e2) {
+		if (e1 == null || e2 == null)
+			return false;
+		if (e1 == e2)
+			return !e1.pts.isEmpty();
+		if ((e1.nodes != null && e1.nodes.length == 0) || (e2.nodes != null && e2.nodes.length == 0))
+			return false;
+
+		// The check is symmetric, so we only store one order
+		long key = e1.id < e2.id ? ((long) e1.id << 32) | (e2.id & 0xFFFFFFFFL)
+				: ((long) e2.id << 32) | (e1.id & 0xFFFFFFFFL);
+		Boolean result = intersections.getIfPresent(key);
+		if (result == null) {
+			if (e1.nodes != null && e2.nodes != null)
+				result = intersects(e1.nodes, e2.nodes);
+			else {
+				synchronized (pta) {
+					result = e1.pts.hasNonEmptyIntersection(e2.pts);
+				}
+			}
+			intersections.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all cached points-to sets and intersection results
+	 */
+	public void clear() {
+		entries.invalidateAll();
+		intersections.invalidateAll();
+	}
+
+}
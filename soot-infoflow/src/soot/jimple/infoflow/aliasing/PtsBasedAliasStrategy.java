@@ -11,9 +11,6 @@ import com.google.common.collect.Table;
 
 import heros.solver.PathEdge;
 import soot.Local;
-import soot.PointsToAnalysis;
-import soot.PointsToSet;
-import soot.Scene;
 import soot.SootMethod;
 import soot.Unit;
 import soot.Value;
@@ -21,8 +18,6 @@ import soot.ValueBox;
 import soot.jimple.ArrayRef;
 import soot.jimple.DefinitionStmt;
 import soot.jimple.FieldRef;
-import soot.jimple.InstanceFieldRef;
-import soot.jimple.StaticFieldRef;
 import soot.jimple.Stmt;
 import soot.jimple.infoflow.InfoflowManager;
 import soot.jimple.infoflow.data.Abstraction;
@@ -39,9 +34,21 @@ import soot.jimple.infoflow.solver.IInfoflowSolver;
 public class PtsBasedAliasStrategy extends AbstractBulkAliasStrategy {
 
 	private final Table<SootMethod, Abstraction, Set<Abstraction>> aliases = HashBasedTable.create();
+	private final PointsToSetCache pointsToSets;
 
 	public PtsBasedAliasStrategy(InfoflowManager manager) {
+		this(manager, new PointsToSetCache());
+	}
+
+	/**
+	 * Creates a new instance of the PtsBasedAliasStrategy class
+	 * 
+	 * @param manager      The data flow manager
+	 * @param pointsToSets The cache from which to take the points-to sets
+	 */
+	public PtsBasedAliasStrategy(InfoflowManager manager, PointsToSetCache pointsToSets) {
 		super(manager);
+		this.pointsToSets = pointsToSets;
 	}
 
 	@Override
@@ -86,7 +93,7 @@ public class PtsBasedAliasStrategy extends AbstractBulkAliasStrategy {
 		if (ap.getFragmentCount() > 1)
 			return;
 
-		PointsToSet ptsTaint = getPointsToSet(newAbs.getAccessPath());
+		PointsToSetCache.Entry ptsTaint = pointsToSets.getPointsToSet(newAbs.getAccessPath());
 		AccessPathFragment[] appendFragmentsA = appendFragments.toArray(new AccessPathFragment[appendFragments.size()]);
 
 		// We run once per method and we are flow-insensitive anyway, so we
@@ -100,10 +107,10 @@ public class PtsBasedAliasStrategy extends AbstractBulkAliasStrategy {
 				beforeActUnit = false;
 
 			// Generic check for relevant variables
-			PointsToSet ptsBaseOrg = getPointsToSet(newAbs.getAccessPath().getPlainValue());
+			PointsToSetCache.Entry ptsBaseOrg = pointsToSets.getPointsToSet(newAbs.getAccessPath().getPlainValue());
 			for (ValueBox vb : stmt.getUseAndDefBoxes()) {
-				PointsToSet ptsBase = getPointsToSet(vb.getValue());
-				if (ptsBase != null && ptsBase.hasNonEmptyIntersection(ptsBaseOrg)) {
+				PointsToSetCache.Entry ptsBase = pointsToSets.getPointsToSet(vb.getValue());
+				if (pointsToSets.hasNonEmptyIntersection(ptsBase, ptsBaseOrg)) {
 					// Schedule the AP at the location where we found the alias
 					AccessPath newAP = apFactory.appendFields(
 							apFactory.copyWithNewValue(newAbs.getAccessPath(), vb.getValue()), appendFragmentsA,
@@ -161,55 +168,8 @@ public class PtsBasedAliasStrategy extends AbstractBulkAliasStrategy {
 		return op instanceof FieldRef || op instanceof Local || op instanceof ArrayRef;
 	}
 
-	private boolean isAliasedAtStmt(PointsToSet ptsTaint, Value val) {
-		if (ptsTaint != null) {
-			PointsToSet ptsRight = getPointsToSet(val);
-			return ptsRight != null && ptsTaint.hasNonEmptyIntersection(ptsRight);
-		}
-		return false;
-	}
-
-	/**
-	 * Gets the points-to-set for the given value
-	 * 
-	 * @param targetValue The value for which to get the points-to-set
-	 * @return The points-to-set for the given value
-	 */
-	private PointsToSet getPointsToSet(Value targetValue) {
-		PointsToAnalysis pta = Scene.v().getPointsToAnalysis();
-		synchronized (pta) {
-			if (targetValue instanceof Local)
-				return pta.reachingObjects((Local) targetValue);
-			else if (targetValue instanceof InstanceFieldRef) {
-				InstanceFieldRef iref = (InstanceFieldRef) targetValue;
-				return pta.reachingObjects((Local) iref.getBase(), iref.getField());
-			} else if (targetValue instanceof StaticFieldRef) {
-				StaticFieldRef sref = (StaticFieldRef) targetValue;
-				return pta.reachingObjects(sref.getField());
-			} else if (targetValue instanceof ArrayRef) {
-				ArrayRef aref = (ArrayRef) targetValue;
-				return pta.reachingObjects((Local) aref.getBase());
-			} else
-				return null;
-		}
-	}
-
-	/**
-	 * Gets the points-to-set for the given access path
-	 * 
-	 * @param accessPath The access path for which to get the points-to-set
-	 * @return The points-to-set for the given access path
-	 */
-	private PointsToSet getPointsToSet(AccessPath accessPath) {
-		if (accessPath.isLocal())
-			return Scene.v().getPointsToAnalysis().reachingObjects(accessPath.getPlainValue());
-		else if (accessPath.isInstanceFieldRef())
-			return Scene.v().getPointsToAnalysis().reachingObjects(accessPath.getPlainValue(),
-					accessPath.getFirstField());
-		else if (accessPath.isStaticFieldRef())
-			return Scene.v().getPointsToAnalysis().reachingObjects(accessPath.getFirstField());
-		else
-			throw new RuntimeException("Unexepected access path type");
+	private boolean isAliasedAtStmt(PointsToSetCache.Entry ptsTaint, Value val) {
+		return pointsToSets.hasNonEmptyIntersection(ptsTaint, pointsToSets.getPointsToSet(val));
 	}
 
 	@Override
@@ -236,6 +196,7 @@ public class PtsBasedAliasStrategy extends AbstractBulkAliasStrategy {
 	@Override
 	public void cleanup() {
 		aliases.clear();
+		pointsToSets.clear();
 	}
 
 }
@@ -71,6 +71,11 @@ public class DeadCodeEliminator implements ICodeOptimizer {
 				config.getCodeEliminationMode() == CodeEliminationMode.RemoveSideEffectFreeCode
 						&& config.getImplicitFlowMode() != ImplicitFlowMode.AllImplicitFlows);
 		ipcvp.setExcludeSystemClasses(config.getIgnoreFlowsInSystemPackages());
+		if (config.getParallelCodeElimination()) {
+			int numThreads = Runtime.getRuntime().availableProcessors();
+			ipcvp.setThreadCount(
+					config.getMaxThreadNum() == -1 ? numThreads : Math.min(config.getMaxThreadNum(), numThreads));
+		}
 		ipcvp.transform();
 
 		// Get rid of all dead code
@@ -82,7 +87,7 @@ public class DeadCodeEliminator implements ICodeOptimizer {
 			if (method == null || !method.hasActiveBody())
 				continue;
 			if (config.getIgnoreFlowsInSystemPackages()
-					&& SystemClassHandler.v().isClassInSystemPackage(sm.method().getDeclaringClass().getName()))
+					&& SystemClassHandler.v().isClassInSystemPackage(sm.method().getDeclaringClass()))
 				continue;
 
 			ConditionalBranchFolder.v().transform(method.getActiveBody());
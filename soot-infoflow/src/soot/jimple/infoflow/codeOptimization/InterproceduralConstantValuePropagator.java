@@ -1,5 +1,6 @@
 package soot.jimple.infoflow.codeOptimization;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -66,6 +67,7 @@ import soot.jimple.infoflow.solver.cfg.IInfoflowCFG;
 import soot.jimple.infoflow.sourcesSinks.manager.ISourceSinkManager;
 import soot.jimple.infoflow.taintWrappers.ITaintPropagationWrapper;
 import soot.jimple.infoflow.util.SystemClassHandler;
+import soot.jimple.infoflow.util.ThreadUtils;
 import soot.jimple.toolkits.callgraph.Edge;
 import soot.jimple.toolkits.scalar.ConditionalBranchFolder;
 import soot.jimple.toolkits.scalar.ConstantPropagatorAndFolder;
@@ -89,6 +91,7 @@ public class InterproceduralConstantValuePropagator extends SceneTransformer {
 	private final ITaintPropagationWrapper taintWrapper;
 	private boolean removeSideEffectFreeMethods = true;
 	private boolean excludeSystemClasses = true;
+	private int numThreads = 1;
 
 	protected final Map<SootMethod, Boolean> methodSideEffects = new ConcurrentHashMap<>();
 	protected final LoadingCache<SootMethod, Boolean> methodSinks = CacheBuilder.newBuilder()
@@ -112,7 +115,8 @@ public class InterproceduralConstantValuePropagator extends SceneTransformer {
 	protected SootClass exceptionClass = null;
 	protected final Map<SootClass, SootMethod> exceptionThrowers = new HashMap<>();
 
-	private final List<SootMethod> propagationWorklist = new ArrayList<>();
+	private final ArrayDeque<SootMethod> propagationWorklist = new ArrayDeque<>();
+	private final Set<SootMethod> queuedMethods = new HashSet<>();
 	private final Set<Pair<SootMethod, Integer>> propagatedParameters = new HashSet<>();
 
 	/**
@@ -175,6 +179,19 @@ public class InterproceduralConstantValuePropagator extends SceneTransformer {
 		this.excludeSystemClasses = excludeSystemClasses;
 	}
 
+	/**
+	 * Sets the number of threads to use for cleaning up the method bodies after
+	 * the constants have been propagated. The cleanup of each body is independent
+	 * of all other bodies. However, the cleanup uses Soot's shared transformer
+	 * instances, and Soot does not guarantee that they are thread-safe. The
+	 * default is thus a single thread.
+	 *
+	 * @param numThreads The number of threads to use for the cleanup
+	 */
+	public void setThreadCount(int numThreads) {
+		this.numThreads = numThreads;
+	}
+
 	/**
 	 * Checks whether optimizations are possible for the given method and, if so,
 	 * adds it to the global worklist
@@ -192,7 +209,7 @@ public class InterproceduralConstantValuePropagator extends SceneTransformer {
 			return;
 
 		if (sm.getReturnType() != VoidType.v() || sm.getParameterCount() > 0) {
-			if (!propagationWorklist.contains(sm))
+			if (queuedMethods.add(sm))
 				propagationWorklist.add(sm);
 		}
 	}
@@ -203,6 +220,7 @@ public class InterproceduralConstantValuePropagator extends SceneTransformer {
 
 		// Clear up any potential old state
 		propagationWorklist.clear();
+		queuedMethods.clear();
 		propagatedParameters.clear();
 
 		// Collect all application methods that take parameters or return values
@@ -214,7 +232,8 @@ public class InterproceduralConstantValuePropagator extends SceneTransformer {
 		}
 
 		while (!propagationWorklist.isEmpty()) {
-			SootMethod sm = propagationWorklist.remove(0);
+			SootMethod sm = propagationWorklist.poll();
+			queuedMethods.remove(sm);
 
 			// Propagate constants from caller into callee
 			if (sm.getParameterCount() > 0)
@@ -225,24 +244,15 @@ public class InterproceduralConstantValuePropagator extends SceneTransformer {
 				propagateReturnValueIntoCallers(sm);
 		}
 
+		// Clean up the method bodies
+		List<SootMethod> methods = new ArrayList<>();
 		for (QueueReader<MethodOrMethodContext> rdr = Scene.v().getReachableMethods().listener(); rdr.hasNext();) {
 			MethodOrMethodContext mom = rdr.next();
 			SootMethod sm = mom.method();
-			if (sm.hasActiveBody()) {
-				List<Unit> oldCallSites = DeadCodeEliminator.getCallsInMethod(sm);
-
-				Body body = sm.retrieveActiveBody();
-				ConditionalBranchFolder.v().transform(body);
-				UnconditionalBranchFolder.v().transform(body);
-				DeadAssignmentEliminator.v().transform(body);
-				UnreachableCodeEliminator.v().transform(body);
-				UnusedLocalEliminator.v().transform(body);
-
-				// We need to be careful and patch the cfg so
-				// that it does not retain edges for call statements we have deleted
-				DeadCodeEliminator.removeDeadCallgraphEdges(sm, oldCallSites);
-			}
+			if (sm.hasActiveBody())
+				methods.add(sm);
 		}
+		cleanupBodies(methods);
 
 		// Check for calls we can remove altogether
 		if (removeSideEffectFreeMethods) {
@@ -314,6 +324,48 @@ public class InterproceduralConstantValuePropagator extends SceneTransformer {
 		}
 	}
 
+	/**
+	 * Removes the code that has become dead through the constant propagation from
+	 * the given methods. The bodies are cleaned up in parallel if more than one
+	 * thread has been configured. The callgraph is not thread-safe, so the edges of the removed call sites are only taken out
+	 * afterwards, in the order of the given list.
+	 *
+	 * @param methods The methods whose bodies to clean up
+	 */
+	private void cleanupBodies(List<SootMethod> methods) {
+		List<List<Unit>> oldCallSites = new ArrayList<>(methods.size());
+		for (SootMethod sm : methods)
+			oldCallSites.add(DeadCodeEliminator.getCallsInMethod(sm));
+
+		// Retrieving the bodies may load them, which is not thread-safe
+		List<Body> bodies = new ArrayList<>(methods.size());
+		for (SootMethod sm : methods)
+			bodies.add(sm.retrieveActiveBody());
+		ThreadUtils.runInParallel(bodies, this::cleanupBody, numThreads, "FlowDroid Constant Propagation");
+
+		// We need to be careful and patch the cfg so
+		// that it does not retain edges for call statements we have deleted
+		for (int i = 0; i < methods.size(); i++)
+			DeadCodeEliminator.removeDeadCallgraphEdges(methods.get(i), oldCallSites.get(i));
+	}
+
+	/**
+	 * Removes dead branches, assignments, code and locals from the given body.
+	 * This method only modifies the given body. The transformers are Soot
+	 * singletons, which keep no state between bodies in the Soot versions we
+	 * use, but Soot does not guarantee this. Running this method concurrently
+	 * must thus be enabled explicitly.
+	 *
+	 * @param body The body to clean up
+	 */
+	private void cleanupBody(Body body) {
+		ConditionalBranchFolder.v().transform(body);
+		UnconditionalBranchFolder.v().transform(body);
+		DeadAssignmentEliminator.v().transform(body);
+		UnreachableCodeEliminator.v().transform(body);
+		UnusedLocalEliminator.v().transform(body);
+	}
+
 	/**
 	 * Gets the number of non-constant arguments to the given method call
 	 *
@@ -0,0 +1,227 @@
+package soot.jimple.infoflow.collect;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Multi-map that never blocks on a monitor. The values for a key start out as
+ * an immutable array that is replaced with compare-and-set on every insertion.
+ * Readers therefore always see a consistent snapshot without any locking. Once
+ * the number of values for a key exceeds a threshold, the key switches to a
+ * concurrent hash set to avoid the quadratic cost of copying the array.
+ *
+ * Compared to the {@link soot.util.ConcurrentHashMultiMap}, creating the value
+ * set for a new key does not synchronize on the whole map.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public class LockFreeMultiMap<K, V> {
+
+	/**
+	 * The default number of values up to which the values for a key are stored
+	 * in an array
+	 */
+	public static final int DEFAULT_ARRAY_LIMIT = 16;
+
+	/**
+	 * The values for a single key. The values are either an immutable array or a
+	 * concurrent map, never both.
+	 */
+	private static final class ValueSet {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<ValueSet, Object> VALUES = AtomicReferenceFieldUpdater
+				.newUpdater(ValueSet.class, Object.class, "values");
+
+		private volatile Object values;
+
+		public ValueSet(Object value) {
+			this.values = new Object[] { value };
+		}
+
+		public Object putIfAbsent(Object value, int arrayLimit) {
+			while (true) {
+				Object cur = values;
+				if (cur instanceof Object[]) {
+					Object[] arr = (Object[]) cur;
+					for (Object o : arr) {
+						if (o.equals(value))
+							return o;
+					}
+
+					// Publish a new snapshot that contains the new value
+					Object next;
+					if (arr.length < arrayLimit) {
+						Object[] newArr = Arrays.copyOf(arr, arr.length + 1);
+						newArr[arr.length] = value;
+						next = newArr;
+					} else {
+						ConcurrentHashMap<Object, Object> map = new ConcurrentHashMap<>(arr.length * 2);
+						for (Object o : arr)
+							map.put(o, o);
+						map.put(value, value);
+						next = map;
+					}
+					if (VALUES.compareAndSet(this, cur, next))
+						return null;
+				} else {
+					@SuppressWarnings("unchecked")
+					ConcurrentHashMap<Object, Object> map = (ConcurrentHashMap<Object, Object>) cur;
+					return map.putIfAbsent(value, value);
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		public <V> Set<V> getValues() {
+			Object cur = values;
+			if (cur instanceof Object[])
+				return new ArraySnapshot<>((Object[]) cur);
+			return Collections.unmodifiableSet(((ConcurrentHashMap<V, V>) cur).keySet());
+		}
+
+	}
+
+	/**
+	 * Read-only view on an immutable array of distinct values
+	 */
+	private static final class ArraySnapshot<V> extends AbstractSet<V> {
+
+		private final Object[] values;
+
+		public ArraySnapshot(Object[] values) {
+			this.values = values;
+		}
+
+		@Override
+		public Iterator<V> iterator() {
+			return new Iterator<V>() {
+
+				private int idx = 0;
+
+				@Override
+				public boolean hasNext() {
+					return idx < values.length;
+				}
+
+				@SuppressWarnings("unchecked")
+				@Override
+				public V next() {
+					if (idx >= values.length)
+						throw new NoSuchElementException();
+					return (V) values[idx++];
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return values.length;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			for (Object v : values) {
+				if (v.equals(o))
+					return true;
+			}
+			return false;
+		}
+
+	}
+
+	private final ConcurrentHashMap<K, ValueSet> map = new ConcurrentHashMap<>();
+	private final int arrayLimit;
+
+	public LockFreeMultiMap() {
+		this(DEFAULT_ARRAY_LIMIT);
+	}
+
+	/**
+	 * Creates a new multi-map
+	 *
+	 * @param arrayLimit The number of values up to which the values for a key are
+	 *                   stored in an immutable array
+	 */
+	public LockFreeMultiMap(int arrayLimit) {
+		this.arrayLimit = arrayLimit;
+	}
+
+	/**
+	 * Adds the given value for the given key unless an equal value is already
+	 * present
+	 *
+	 * @param key   The key
+	 * @param value The value to add
+	 * @return The existing value that is equal to the given one, or null if the
+	 *         value has been added
+	 */
+	@SuppressWarnings("unchecked")
+	public V putIfAbsent(K key, V value) {
+		ValueSet set = map.get(key);
+		if (set == null) {
+			set = map.putIfAbsent(key, new ValueSet(value));
+			if (set == null)
+				return null;
+		}
+		return (V) set.putIfAbsent(value, arrayLimit);
+	}
+
+	/**
+	 * Gets the values for the given key. For small value sets, the returned set
+	 * is an immutable snapshot. For larger ones, it is a read-only view that
+	 * reflects concurrent insertions.
+	 *
+	 * @param key The key
+	 * @return The values for the given key, or an empty set if there are no
+	 *         values for the given key
+	 */
+	public Set<V> get(K key) {
+		ValueSet set = map.get(key);
+		return set == null ? Collections.<V>emptySet() : set.getValues();
+	}
+
+	/**
+	 * Removes all values for the given key
+	 *
+	 * @param key The key
+	 * @return True if there were values for the given key, otherwise false
+	 */
+	public boolean remove(K key) {
+		return map.remove(key) != null;
+	}
+
+	/**
+	 * Gets all keys for which there are values in this map
+	 *
+	 * @return The keys in this map
+	 */
+	public Set<K> keySet() {
+		return map.keySet();
+	}
+
+	/**
+	 * Gets the number of keys in this map
+	 *
+	 * @return The number of keys in this map
+	 */
+	public int numKeys() {
+		return map.size();
+	}
+
+	/**
+	 * Removes all keys and values from this map
+	 */
+	public void clear() {
+		map.clear();
+	}
+
+}
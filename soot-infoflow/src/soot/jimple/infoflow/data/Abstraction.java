@@ -18,7 +18,7 @@ import soot.SootMethod;
 import soot.Unit;
 import soot.jimple.Stmt;
 import soot.jimple.infoflow.InfoflowConfiguration;
-import soot.jimple.infoflow.collect.AtomicBitSet;
+import soot.jimple.infoflow.InfoflowConfiguration.ImplicitFlowMode;
 import soot.jimple.infoflow.solver.cfg.IInfoflowCFG.UnitContainer;
 import soot.jimple.infoflow.solver.fastSolver.FastSolverLinkedNode;
 import soot.jimple.infoflow.sourcesSinks.definitions.ISourceSinkDefinition;
@@ -27,12 +27,19 @@ import soot.jimple.infoflow.sourcesSinks.definitions.ISourceSinkDefinition;
  * The abstraction class contains all information that is necessary to track the
  * taint.
  * 
+ * Instances of this class do not carry the postdominators and dominators that
+ * are required for tracking implicit flows. If implicit flows are enabled, the
+ * abstractions are instances of {@link ImplicitFlowAbstraction} instead. Use
+ * the static factory methods to create abstractions in the representation that
+ * matches the current configuration.
+ * 
  * @author Steven Arzt
  * @author Christian Fritz
  */
 public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction, Unit> {
 
 	protected static boolean flowSensitiveAliasing = true;
+	protected static boolean trackImplicitFlows = true;
 
 	/**
 	 * the access path contains the currently tainted variable or field
@@ -63,12 +70,6 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 	protected int hashCode = 0;
 	protected int neighborHashCode = 0;
 
-	/**
-	 * The postdominators we need to pass in order to leave the current conditional
-	 * branch. Do not use the synchronized Stack class here to avoid deadlocks.
-	 */
-	protected List<UnitContainer> postdominators = null;
-	protected Unit dominator = null;
 	protected boolean isImplicit = false;
 
 	/**
@@ -77,7 +78,6 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 	 */
 	protected boolean dependsOnCutAP = false;
 
-	protected AtomicBitSet pathFlags = null;
 	protected int propagationPathLength = 0;
 
 	public static class NeighborHashingStrategy implements HashingStrategy<Abstraction> {
@@ -101,8 +101,8 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 			result = prime * result + ((abs.sourceContext == null) ? 0 : abs.sourceContext.hashCode());
 			result = prime * result + ((abs.activationUnit == null) ? 0 : abs.activationUnit.hashCode());
 			result = prime * result + ((abs.turnUnit == null) ? 0 : abs.turnUnit.hashCode());
-			result = prime * result + ((abs.postdominators == null) ? 0 : abs.postdominators.hashCode());
-			result = prime * result + ((abs.dominator == null) ? 0 : abs.dominator.hashCode());
+			result = prime * result + ((abs.getPostdominators() == null) ? 0 : abs.getPostdominators().hashCode());
+			result = prime * result + ((abs.getDominator() == null) ? 0 : abs.getDominator().hashCode());
 
 			abs.neighborHashCode = result;
 			return result;
@@ -122,11 +122,11 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 			if (hashCode1 != 0 && hashCode2 != 0 && hashCode1 != hashCode2)
 				return false;
 
-			if (abs1.accessPath == null) {
-				if (abs2.accessPath != null)
+			// Interned access paths can be compared by reference
+			if (abs1.accessPath != abs2.accessPath) {
+				if (abs1.accessPath == null || !abs1.accessPath.equals(abs2.accessPath))
 					return false;
-			} else if (!abs1.accessPath.equals(abs2.accessPath))
-				return false;
+			}
 			if (abs1.predecessor == null) {
 				if (abs2.predecessor != null)
 					return false;
@@ -162,7 +162,7 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 
 	/**
 	 * Creates an abstraction as a copy of an existing abstraction, only exchanging
-	 * the access path. -> only used by AbstractionWithPath
+	 * the access path
 	 * 
 	 * @param p        The access path for the new abstraction
 	 * @param original The original abstraction to copy
@@ -181,10 +181,6 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 			turnUnit = original.turnUnit;
 			assert activationUnit == null || flowSensitiveAliasing;
 
-			postdominators = original.postdominators == null ? null
-					: new ArrayList<UnitContainer>(original.postdominators);
-			dominator = original.dominator;
-
 			dependsOnCutAP = original.dependsOnCutAP;
 			isImplicit = original.isImplicit;
 		}
@@ -200,6 +196,39 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 	 */
 	public static void initialize(InfoflowConfiguration config) {
 		flowSensitiveAliasing = config.getFlowSensitiveAliasing();
+		trackImplicitFlows = config.getImplicitFlowMode() != ImplicitFlowMode.NoImplicitFlows;
+	}
+
+	/**
+	 * Creates a new abstraction for a source. If implicit flows are disabled in
+	 * the current configuration, the new abstraction uses the slim representation
+	 * without implicit-flow data.
+	 * 
+	 * @param definitions     The source definitions that created the taint
+	 * @param sourceVal       The access path of the tainted value
+	 * @param sourceStmt      The statement at which the taint was created
+	 * @param userData        Additional user data to attach to the source context
+	 * @param exceptionThrown True if the taint is thrown as an exception
+	 * @param isImplicit      True if the taint models an implicit flow
+	 * @return The new abstraction
+	 */
+	public static Abstraction createAbstraction(Collection<ISourceSinkDefinition> definitions, AccessPath sourceVal,
+			Stmt sourceStmt, Object userData, boolean exceptionThrown, boolean isImplicit) {
+		if (trackImplicitFlows)
+			return new ImplicitFlowAbstraction(definitions, sourceVal, sourceStmt, userData, exceptionThrown,
+					isImplicit);
+		return new Abstraction(definitions, sourceVal, sourceStmt, userData, exceptionThrown, isImplicit);
+	}
+
+	/**
+	 * Creates a copy of this abstraction with the given access path. The copy has
+	 * the same representation as this abstraction.
+	 * 
+	 * @param p The access path for the new abstraction
+	 * @return The new abstraction
+	 */
+	protected Abstraction copyWithAccessPath(AccessPath p) {
+		return new Abstraction(p, this);
 	}
 
 	public Abstraction deriveInactiveAbstraction(Stmt activationUnit) {
@@ -216,8 +245,8 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 		if (a == null)
 			return null;
 
-		a.postdominators = null;
-		a.dominator = null;
+		a.setPostdominators(null);
+		a.setDominator(null);
 		a.activationUnit = activationUnit;
 		a.dependsOnCutAP |= a.getAccessPath().isCutOffApproximation();
 		return a;
@@ -252,13 +281,13 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 			return abs;
 		}
 
-		Abstraction abs = new Abstraction(p, this);
+		Abstraction abs = copyWithAccessPath(p);
 		abs.predecessor = this;
 		abs.currentStmt = currentStmt;
 		abs.propagationPathLength = propagationPathLength + 1;
 
 		if (!abs.getAccessPath().isEmpty())
-			abs.postdominators = null;
+			abs.setPostdominators(null);
 		if (!abs.isAbstractionActive())
 			abs.dependsOnCutAP = abs.dependsOnCutAP || p.isCutOffApproximation();
 
@@ -359,6 +388,7 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 	public Abstraction deriveConditionalAbstractionEnter(UnitContainer postdom, Stmt conditionalUnit) {
 		assert this.isAbstractionActive();
 
+		List<UnitContainer> postdominators = getPostdominators();
 		if (postdominators != null && postdominators.contains(postdom))
 			return this;
 
@@ -366,10 +396,10 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 		if (abs == null)
 			return null;
 
-		if (abs.postdominators == null)
-			abs.postdominators = Collections.singletonList(postdom);
+		if (abs.getPostdominators() == null)
+			abs.setPostdominators(Collections.singletonList(postdom));
 		else
-			abs.postdominators.add(0, postdom);
+			abs.getPostdominators().add(0, postdom);
 		return abs;
 	}
 
@@ -383,25 +413,47 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 
 		// Postdominators are only kept intraprocedurally in order to not
 		// mess up the summary functions with caller-side information
-		abs.postdominators = null;
+		abs.setPostdominators(null);
 
 		return abs;
 	}
 
 	public Abstraction dropTopPostdominator() {
+		List<UnitContainer> postdominators = getPostdominators();
 		if (postdominators == null || postdominators.isEmpty())
 			return this;
 
 		Abstraction abs = clone();
 		abs.sourceContext = null;
-		abs.postdominators.remove(0);
+		abs.getPostdominators().remove(0);
 		return abs;
 	}
 
 	public UnitContainer getTopPostdominator() {
+		List<UnitContainer> postdominators = getPostdominators();
 		if (postdominators == null || postdominators.isEmpty())
 			return null;
-		return this.postdominators.get(0);
+		return postdominators.get(0);
+	}
+
+	/**
+	 * Gets the postdominators we need to pass in order to leave the current
+	 * conditional branch. Slim abstractions do not track implicit flows and always
+	 * return <code>null</code>.
+	 * 
+	 * @return The postdominators of the current conditional branch
+	 */
+	protected List<UnitContainer> getPostdominators() {
+		return null;
+	}
+
+	/**
+	 * Sets the postdominators we need to pass in order to leave the current
+	 * conditional branch. Slim abstractions ignore this value.
+	 * 
+	 * @param postdominators The postdominators of the current conditional branch
+	 */
+	protected void setPostdominators(List<UnitContainer> postdominators) {
 	}
 
 	public boolean isTopPostdominator(Unit u) {
@@ -419,7 +471,7 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 	}
 
 	public Abstraction deriveNewAbstractionWithDominator(Unit dominator, Stmt stmt) {
-		if (this.dominator != null)
+		if (getDominator() != null)
 			return this;
 
 		Abstraction abs = deriveNewAbstractionMutable(accessPath, stmt);
@@ -443,7 +495,7 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 		if (abs == null)
 			return null;
 		abs.turnUnit = stmt;
-		abs.dominator = null;
+		abs.setDominator(null);
 		return abs;
 	}
 
@@ -455,15 +507,21 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 		return abs;
 	}
 
+	/**
+	 * Sets the dominator of this abstraction. Slim abstractions do not track
+	 * implicit flows and ignore this value.
+	 * 
+	 * @param dominator The new dominator
+	 */
 	public void setDominator(Unit dominator) {
-		this.dominator = dominator;
 	}
 
 	public Unit getDominator() {
-		return this.dominator;
+		return null;
 	}
 
 	public boolean isDominator(Unit u) {
+		Unit dominator = getDominator();
 		if (dominator == null)
 			return false;
 		return dominator == u;
@@ -471,7 +529,7 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 
 	@Override
 	public Abstraction clone() {
-		Abstraction abs = new Abstraction(accessPath, this);
+		Abstraction abs = copyWithAccessPath(accessPath);
 		abs.predecessor = this;
 		abs.neighbors = null;
 		abs.currentStmt = null;
@@ -483,7 +541,7 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 
 	@Override
 	public Abstraction clone(Unit currentUnit, Unit callSite) {
-		Abstraction abs = new Abstraction(accessPath, this);
+		Abstraction abs = copyWithAccessPath(accessPath);
 		abs.predecessor = this;
 		abs.neighbors = null;
 		abs.currentStmt = (Stmt) currentUnit;
@@ -506,11 +564,11 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 		if (this.hashCode != 0 && other.hashCode != 0 && this.hashCode != other.hashCode)
 			return false;
 
-		if (accessPath == null) {
-			if (other.accessPath != null)
+		// Interned access paths can be compared by reference
+		if (accessPath != other.accessPath) {
+			if (accessPath == null || !accessPath.equals(other.accessPath))
 				return false;
-		} else if (!accessPath.equals(other.accessPath))
-			return false;
+		}
 
 		return localEquals(other);
 	}
@@ -542,15 +600,17 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 			return false;
 		if (this.exceptionThrown != other.exceptionThrown)
 			return false;
+		List<UnitContainer> postdominators = getPostdominators();
 		if (postdominators == null) {
-			if (other.postdominators != null)
+			if (other.getPostdominators() != null)
 				return false;
-		} else if (!postdominators.equals(other.postdominators))
+		} else if (!postdominators.equals(other.getPostdominators()))
 			return false;
+		Unit dominator = getDominator();
 		if (dominator == null) {
-			if (other.dominator != null)
+			if (other.getDominator() != null)
 				return false;
-		} else if (!dominator.equals(other.dominator))
+		} else if (!dominator.equals(other.getDominator()))
 			return false;
 		if (this.dependsOnCutAP != other.dependsOnCutAP)
 			return false;
@@ -573,8 +633,8 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 		result = prime * result + ((activationUnit == null) ? 0 : activationUnit.hashCode());
 		result = prime * result + ((turnUnit == null) ? 0 : turnUnit.hashCode());
 		result = prime * result + (exceptionThrown ? 1231 : 1237);
-		result = prime * result + ((postdominators == null) ? 0 : postdominators.hashCode());
-		result = prime * result + ((dominator == null) ? 0 : dominator.hashCode());
+		result = prime * result + ((getPostdominators() == null) ? 0 : getPostdominators().hashCode());
+		result = prime * result + ((getDominator() == null) ? 0 : getDominator().hashCode());
 		result = prime * result + (dependsOnCutAP ? 1231 : 1237);
 		result = prime * result + (isImplicit ? 1231 : 1237);
 		this.hashCode = result;
@@ -665,7 +725,9 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 	}
 
 	public static Abstraction getZeroAbstraction(boolean flowSensitiveAliasing) {
-		Abstraction zeroValue = new Abstraction(AccessPath.getZeroAccessPath(), null, false, false);
+		Abstraction zeroValue = trackImplicitFlows
+				? new ImplicitFlowAbstraction(AccessPath.getZeroAccessPath(), null, false, false)
+				: new Abstraction(AccessPath.getZeroAccessPath(), null, false, false);
 		Abstraction.flowSensitiveAliasing = flowSensitiveAliasing;
 		return zeroValue;
 	}
@@ -690,36 +752,6 @@ public class Abstraction implements Cloneable, FastSolverLinkedNode<Abstraction,
 		this.neighborHashCode = 0;
 	}
 
-	/**
-	 * Registers that a worker thread with the given ID has already processed this
-	 * abstraction
-	 * 
-	 * @param id The ID of the worker thread
-	 * @return True if the worker thread with the given ID has not been registered
-	 *         before, otherwise false
-	 */
-	public boolean registerPathFlag(int id, int maxSize) {
-		if (pathFlags == null || pathFlags.size() < maxSize) {
-			synchronized (this) {
-				if (pathFlags == null) {
-					// Make sure that the field is set only after the
-					// constructor
-					// is done and the object is fully usable
-					AtomicBitSet pf = new AtomicBitSet(maxSize);
-					pathFlags = pf;
-				} else if (pathFlags.size() < maxSize) {
-					AtomicBitSet pf = new AtomicBitSet(maxSize);
-					for (int i = 0; i < pathFlags.size(); i++) {
-						if (pathFlags.get(i))
-							pf.set(i);
-					}
-					pathFlags = pf;
-				}
-			}
-		}
-		return pathFlags.set(id);
-	}
-
 	public Abstraction injectSourceContext(SourceContext sourceContext) {
 		if (this.sourceContext != null && this.sourceContext.equals(sourceContext))
 			return this;
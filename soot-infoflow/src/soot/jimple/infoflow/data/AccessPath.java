@@ -47,6 +47,12 @@ public class AccessPath implements Cloneable {
 
 	private int hashCode = 0;
 
+	/**
+	 * Whether this object is the canonical instance in the global
+	 * {@link AccessPathInterner} table
+	 */
+	private boolean canonical = false;
+
 	/**
 	 * The empty access path denotes a code region depending on a tainted
 	 * conditional. If a function is called inside the region, there is no tainted
@@ -240,6 +246,23 @@ public class AccessPath implements Cloneable {
 		return hashCode;
 	}
 
+	/**
+	 * Gets whether this access path is the canonical instance of all equal access
+	 * paths, i.e., has been registered in the {@link AccessPathInterner}
+	 * 
+	 * @return True if this access path is a canonical instance, false otherwise
+	 */
+	public boolean isCanonical() {
+		return canonical;
+	}
+
+	/**
+	 * Marks this access path as the canonical instance of all equal access paths
+	 */
+	void markCanonical() {
+		this.canonical = true;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj == this || super.equals(obj))
@@ -249,6 +272,10 @@ public class AccessPath implements Cloneable {
 
 		AccessPath other = (AccessPath) obj;
 
+		// Two different canonical instances can never be equal
+		if (this.canonical && other.canonical)
+			return false;
+
 		if (this.hashCode != 0 && other.hashCode != 0 && this.hashCode != other.hashCode)
 			return false;
 
@@ -34,6 +34,7 @@ public class AccessPathFactory {
 
 	private final InfoflowConfiguration config;
 	private final TypeUtils typeUtils;
+	private final AccessPathInterner interner;
 
 	/**
 	 * Specialized pair class for field bases
@@ -107,6 +108,8 @@ public class AccessPathFactory {
 	public AccessPathFactory(InfoflowConfiguration config, TypeUtils typeUtils) {
 		this.config = config;
 		this.typeUtils = typeUtils;
+		this.interner = config.getAccessPathConfiguration().getUseAccessPathInterning() ? new AccessPathInterner()
+				: null;
 	}
 
 	private MyConcurrentHashMap<Type, Set<AccessPathFragment[]>> baseRegister = new MyConcurrentHashMap<>();
@@ -412,10 +415,24 @@ public class AccessPathFactory {
 			}
 		}
 
+		if (interner != null)
+			return interner.intern(new AccessPath(value, baseType, interner.intern(fragments), taintSubFields,
+					cutOffApproximation, arrayTaintType, canHaveImmutableAliases));
 		return new AccessPath(value, baseType, fragments, taintSubFields, cutOffApproximation, arrayTaintType,
 				canHaveImmutableAliases);
 	}
 
+	/**
+	 * Gets the interning layer that maps equal access paths to a canonical
+	 * instance
+	 * 
+	 * @return The access path interner, or <code>null</code> if access path
+	 *         interning is disabled
+	 */
+	public AccessPathInterner getInterner() {
+		return interner;
+	}
+
 	private void registerBase(Type eiType, AccessPathFragment[] base) {
 		Set<AccessPathFragment[]> bases = baseRegister.computeIfAbsent(eiType,
 				t -> Collections.synchronizedSet(new TCustomHashSet<>(new HashingStrategy<AccessPathFragment[]>() {
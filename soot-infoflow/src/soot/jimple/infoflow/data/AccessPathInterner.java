@@ -0,0 +1,105 @@
+package soot.jimple.infoflow.data;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Interning layer for access paths and their fragments. All instances of this
+ * class share one global, concurrent table that only holds weak references to
+ * the canonical objects, i.e., access paths that are no longer referenced by
+ * any abstraction can still be garbage-collected.
+ *
+ * Two distinct canonical access paths are never equal, which allows for a
+ * reference-equality fast path in {@link AccessPath#equals(Object)}. Every
+ * instance of this class counts its own hits and misses, so that the numbers
+ * can be reported per data flow analysis.
+ */
+public class AccessPathInterner {
+
+	private static final Interner<AccessPath> ACCESS_PATHS = Interners.newBuilder().weak()
+			.concurrencyLevel(Runtime.getRuntime().availableProcessors()).build();
+	private static final Interner<AccessPathFragment> FRAGMENTS = Interners.newBuilder().weak()
+			.concurrencyLevel(Runtime.getRuntime().availableProcessors()).build();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Gets the canonical instance of the given access path. If no equal access
+	 * path has been interned before, the given access path becomes the canonical
+	 * instance.
+	 *
+	 * @param ap The access path to intern
+	 * @return The canonical access path that is equal to the given one
+	 */
+	public AccessPath intern(AccessPath ap) {
+		if (ap == null || ap.isCanonical())
+			return ap;
+
+		AccessPath canonical = ACCESS_PATHS.intern(ap);
+		if (canonical == ap) {
+			misses.increment();
+			ap.markCanonical();
+		} else
+			hits.increment();
+		return canonical;
+	}
+
+	/**
+	 * Gets the canonical instance of the given access path fragment
+	 *
+	 * @param fragment The access path fragment to intern
+	 * @return The canonical access path fragment that is equal to the given one
+	 */
+	public AccessPathFragment intern(AccessPathFragment fragment) {
+		if (fragment == null)
+			return null;
+		return FRAGMENTS.intern(fragment);
+	}
+
+	/**
+	 * Replaces the fragments in the given array with their canonical instances.
+	 * The original array is never modified. If all fragments are already
+	 * canonical, the original array is returned.
+	 *
+	 * @param fragments The access path fragments to intern
+	 * @return An array with the canonical instances of the given fragments
+	 */
+	public AccessPathFragment[] intern(AccessPathFragment[] fragments) {
+		if (fragments == null)
+			return null;
+
+		AccessPathFragment[] result = fragments;
+		for (int i = 0; i < fragments.length; i++) {
+			AccessPathFragment canonical = intern(fragments[i]);
+			if (canonical != fragments[i]) {
+				if (result == fragments)
+					result = fragments.clone();
+				result[i] = canonical;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of access paths for which an equal canonical instance
+	 * already existed
+	 *
+	 * @return The number of intern hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of access paths that became a new canonical instance
+	 *
+	 * @return The number of intern misses
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+}
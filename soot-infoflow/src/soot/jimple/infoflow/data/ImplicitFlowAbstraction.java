@@ -0,0 +1,78 @@
+package soot.jimple.infoflow.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import soot.Unit;
+import soot.jimple.Stmt;
+import soot.jimple.infoflow.solver.cfg.IInfoflowCFG.UnitContainer;
+import soot.jimple.infoflow.sourcesSinks.definitions.ISourceSinkDefinition;
+
+/**
+ * Abstraction that additionally carries the postdominators and dominators that
+ * are required for tracking implicit flows. This representation is only used
+ * if implicit flows are enabled.
+ */
+public class ImplicitFlowAbstraction extends Abstraction {
+
+	/**
+	 * The postdominators we need to pass in order to leave the current conditional
+	 * branch. Do not use the synchronized Stack class here to avoid deadlocks.
+	 */
+	protected List<UnitContainer> postdominators = null;
+	protected Unit dominator = null;
+
+	public ImplicitFlowAbstraction(Collection<ISourceSinkDefinition> definitions, AccessPath sourceVal,
+			Stmt sourceStmt, Object userData, boolean exceptionThrown, boolean isImplicit) {
+		super(definitions, sourceVal, sourceStmt, userData, exceptionThrown, isImplicit);
+	}
+
+	ImplicitFlowAbstraction(AccessPath apToTaint, SourceContext sourceContext, boolean exceptionThrown,
+			boolean isImplicit) {
+		super(apToTaint, sourceContext, exceptionThrown, isImplicit);
+	}
+
+	/**
+	 * Creates an abstraction as a copy of an existing abstraction, only exchanging
+	 * the access path
+	 * 
+	 * @param p        The access path for the new abstraction
+	 * @param original The original abstraction to copy
+	 */
+	protected ImplicitFlowAbstraction(AccessPath p, Abstraction original) {
+		super(p, original);
+		if (original != null) {
+			List<UnitContainer> originalPostdominators = original.getPostdominators();
+			postdominators = originalPostdominators == null ? null
+					: new ArrayList<UnitContainer>(originalPostdominators);
+			dominator = original.getDominator();
+		}
+	}
+
+	@Override
+	protected Abstraction copyWithAccessPath(AccessPath p) {
+		return new ImplicitFlowAbstraction(p, this);
+	}
+
+	@Override
+	protected List<UnitContainer> getPostdominators() {
+		return postdominators;
+	}
+
+	@Override
+	protected void setPostdominators(List<UnitContainer> postdominators) {
+		this.postdominators = postdominators;
+	}
+
+	@Override
+	public void setDominator(Unit dominator) {
+		this.dominator = dominator;
+	}
+
+	@Override
+	public Unit getDominator() {
+		return this.dominator;
+	}
+
+}
@@ -1,5 +1,7 @@
 package soot.jimple.infoflow.data.pathBuilders;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -16,9 +18,6 @@ import soot.jimple.infoflow.solver.executors.InterruptableExecutor;
  */
 public class ContextInsensitiveSourceFinder extends ConcurrentAbstractionPathBuilder {
 
-	private int lastTaskId = 0;
-	private int numTasks = 0;
-
 	/**
 	 * Creates a new instance of the {@link ContextInsensitiveSourceFinder}
 	 * class
@@ -32,44 +31,25 @@ public class ContextInsensitiveSourceFinder extends ConcurrentAbstractionPathBui
 	 *            The maximum number of threads to use
 	 */
 	public ContextInsensitiveSourceFinder(InfoflowManager manager, InterruptableExecutor executor) {
-		this(manager, executor, -1);
-	}
-
-	/**
-	 * Creates a new instance of the {@link ContextInsensitiveSourceFinder}
-	 * class
-	 * 
-	 * @param manager
-	 *            The data flow manager that gives access to the icfg and other
-	 *            objects
-	 * @param executor
-	 *            The executor in which to run the path reconstruction tasks
-	 * @param maxThreadNum
-	 *            The maximum number of threads to use
-	 * @param numTasks
-	 *            The maximum number of abstractions for which a path
-	 *            reconstruction will be performed
-	 */
-	public ContextInsensitiveSourceFinder(InfoflowManager manager, InterruptableExecutor executor, int numTasks) {
 		super(manager, executor);
-		this.numTasks = numTasks;
 	}
 
 	/**
-	 * Task for only finding sources, not the paths towards them
+	 * Task for only finding sources, not the paths towards them. Every task keeps
+	 * its own set of visited abstractions, so that the abstractions need not
+	 * carry any flags for the path reconstruction.
 	 * 
 	 * @author Steven Arzt
 	 */
 	private class SourceFindingTask implements Runnable {
-		private final int taskId;
 		private final AbstractionAtSink flagAbs;
 		private final List<Abstraction> abstractionQueue = new LinkedList<Abstraction>();
+		private final Set<Abstraction> visited = Collections.newSetFromMap(new IdentityHashMap<>());
 
-		public SourceFindingTask(int taskId, AbstractionAtSink flagAbs, Abstraction abstraction) {
-			this.taskId = taskId;
+		public SourceFindingTask(AbstractionAtSink flagAbs, Abstraction abstraction) {
 			this.flagAbs = flagAbs;
 			this.abstractionQueue.add(abstraction);
-			abstraction.registerPathFlag(taskId, numTasks);
+			visited.add(abstraction);
 		}
 
 		@Override
@@ -91,12 +71,12 @@ public class ContextInsensitiveSourceFinder extends ConcurrentAbstractionPathBui
 
 					// Sources may not have predecessors
 					assert abstraction.getPredecessor() == null;
-				} else if (abstraction.getPredecessor().registerPathFlag(taskId, numTasks))
+				} else if (visited.add(abstraction.getPredecessor()))
 					abstractionQueue.add(abstraction.getPredecessor());
 
 				if (abstraction.getNeighbors() != null)
 					for (Abstraction nb : abstraction.getNeighbors())
-						if (nb.registerPathFlag(taskId, numTasks))
+						if (visited.add(nb))
 							abstractionQueue.add(nb);
 			}
 		}
@@ -109,7 +89,7 @@ public class ContextInsensitiveSourceFinder extends ConcurrentAbstractionPathBui
 
 	@Override
 	protected Runnable getTaintPathTask(AbstractionAtSink abs) {
-		return new SourceFindingTask(lastTaskId++, abs, abs.getAbstraction());
+		return new SourceFindingTask(abs, abs.getAbstraction());
 	}
 
 	@Override
@@ -117,13 +97,4 @@ public class ContextInsensitiveSourceFinder extends ConcurrentAbstractionPathBui
 		// not implemented
 	}
 
-	@Override
-	public void computeTaintPaths(final Set<AbstractionAtSink> res) {
-		if (numTasks < 0)
-			numTasks = res.size();
-		else
-			numTasks += res.size();
-		super.computeTaintPaths(res);
-	}
-
 }
@@ -1,6 +1,7 @@
 package soot.jimple.infoflow.memory;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +10,7 @@ import soot.jimple.infoflow.collect.ConcurrentHashSet;
 import soot.jimple.infoflow.memory.MemoryWarningSystem.OnMemoryThresholdReached;
 import soot.jimple.infoflow.memory.reasons.OutOfMemoryReason;
 import soot.jimple.infoflow.results.InfoflowResults;
+import soot.jimple.infoflow.util.ThreadUtils;
 
 /**
  * FlowDroid's implementation of a handler for the memory warning system
@@ -25,6 +27,11 @@ public class FlowDroidMemoryWatcher {
 	private final InfoflowResults results;
 	private ISolversTerminatedCallback terminationCallback = null;
 
+	private final double threshold;
+	private boolean spillBeforeAbort = false;
+	private final AtomicBoolean spilling = new AtomicBoolean(false);
+	private boolean closed = false;
+
 	/**
 	 * Creates a new instance of the {@link FlowDroidMemoryWatcher} class
 	 */
@@ -62,22 +69,65 @@ public class FlowDroidMemoryWatcher {
 
 			@Override
 			public void onThresholdReached(long usedMemory, long maxMemory) {
-				// Add the incident to the result object
-				if (results != null)
-					results.addException("Memory threshold reached");
-
-				// We stop the data flow analysis
-				forceTerminate();
-				logger.warn("Running out of memory, solvers terminated");
-				if (terminationCallback != null)
-					terminationCallback.onSolversTerminated();
+				// We are called while the warning system holds its lock, so we must not
+				// re-arm the warning system from this thread
+				if (spillBeforeAbort) {
+					if (spilling.compareAndSet(false, true))
+						ThreadUtils.createGenericThread(() -> spillOrAbort(), "FlowDroid spilling", true).start();
+				} else
+					abort();
 			}
 
 		});
 		warningSystem.setWarningThreshold(threshold);
+		this.threshold = threshold;
 		this.results = res;
 	}
 
+	/**
+	 * Stops the data flow analysis because we are running out of memory
+	 */
+	private void abort() {
+		// Add the incident to the result object
+		if (results != null)
+			results.addException("Memory threshold reached");
+
+		// We stop the data flow analysis
+		forceTerminate();
+		logger.warn("Running out of memory, solvers terminated");
+		if (terminationCallback != null)
+			terminationCallback.onSolversTerminated();
+	}
+
+	/**
+	 * Asks all solvers to move data that they have not used for a while out of the
+	 * heap. If none of them can release anything, we abort the analysis.
+	 */
+	private void spillOrAbort() {
+		try {
+			long spilled = 0;
+			for (IMemoryBoundedSolver solver : solvers) {
+				if (solver instanceof ISpillableSolver)
+					spilled += ((ISpillableSolver) solver).spillColdData();
+			}
+			if (spilled == 0) {
+				abort();
+				return;
+			}
+
+			// The spilled data is only released by the next garbage collection. If we
+			// re-armed the warning system before, it would fire right away.
+			logger.warn("Running out of memory, spilled {} jump functions to disk", spilled);
+			System.gc();
+			synchronized (this) {
+				if (!closed)
+					warningSystem.setWarningThreshold(threshold);
+			}
+		} finally {
+			spilling.set(false);
+		}
+	}
+
 	/**
 	 * Adds a solver that shall be terminated when the memory threshold is reached
 	 * 
@@ -111,7 +161,10 @@ public class FlowDroidMemoryWatcher {
 	 */
 	public void close() {
 		clearSolvers();
-		warningSystem.close();
+		synchronized (this) {
+			closed = true;
+			warningSystem.close();
+		}
 	}
 
 	/**
@@ -131,6 +184,19 @@ public class FlowDroidMemoryWatcher {
 			solver.forceTerminate(reason);
 	}
 
+	/**
+	 * Sets whether the solvers shall move data that they have not used for a while
+	 * out of the heap when the memory threshold is reached. The solvers are only
+	 * terminated if there is nothing left to move. Solvers that do not implement
+	 * {@link ISpillableSolver} cannot move any data.
+	 * 
+	 * @param spillBeforeAbort True to spill data before terminating the solvers,
+	 *                         false to terminate the solvers right away
+	 */
+	public void setSpillBeforeAbort(boolean spillBeforeAbort) {
+		this.spillBeforeAbort = spillBeforeAbort;
+	}
+
 	/**
 	 * Sets a callback that shall be invoked when the solvers have been terminated
 	 * due to memory exhaustion
@@ -0,0 +1,19 @@
+package soot.jimple.infoflow.memory;
+
+/**
+ * Interface for solvers that can move data which they have not used for a
+ * while out of the heap when memory gets scarce, instead of being terminated
+ *
+ */
+public interface ISpillableSolver {
+
+	/**
+	 * Moves data that has not been used for a while out of the heap. The solver
+	 * reads the data back in when it needs it again.
+	 *
+	 * @return The number of jump functions that have been moved out of the heap,
+	 *         or 0 if there was nothing to move
+	 */
+	public long spillColdData();
+
+}
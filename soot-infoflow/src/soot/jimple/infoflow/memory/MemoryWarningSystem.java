@@ -14,8 +14,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 
-import javax.management.ListenerNotFoundException;
 import javax.management.Notification;
 import javax.management.NotificationEmitter;
 import javax.management.NotificationFilter;
@@ -68,13 +68,21 @@ public class MemoryWarningSystem {
 
 	private long threshold;
 
+	private static final AtomicLong nextId = new AtomicLong();
+	private final long id = nextId.getAndIncrement();
+
 	private static Thread thrLowMemoryWarningThread;
 
 	private static TreeSet<MemoryWarningSystem> warningSystems = new TreeSet<>(new Comparator<MemoryWarningSystem>() {
 
 		@Override
 		public int compare(MemoryWarningSystem o1, MemoryWarningSystem o2) {
-			return Long.compare(o1.threshold, o2.threshold);
+			// Several warning systems may share the same threshold, e.g., one per
+			// solver. They must not replace each other in the set.
+			int r = Long.compare(o1.threshold, o2.threshold);
+			if (r == 0)
+				r = Long.compare(o1.id, o2.id);
+			return r;
 		}
 	});
 
@@ -147,6 +155,21 @@ public class MemoryWarningSystem {
 		this.listeners.add(listener);
 	}
 
+	/**
+	 * Checks whether this warning system is still waiting for its threshold to be
+	 * reached, i.e., whether it will notify its listeners
+	 * 
+	 * @return True if this warning system is registered, otherwise false
+	 */
+	public boolean isRegistered() {
+		synchronized (warningSystems) {
+			for (MemoryWarningSystem ws : warningSystems)
+				if (ws == this)
+					return true;
+			return false;
+		}
+	}
+
 	/**
 	 * Tenured Space Pool can be determined by it being of type HEAP and by it being
 	 * possible to set the usage threshold.
@@ -261,6 +284,16 @@ public class MemoryWarningSystem {
 		}
 	}
 
+	/**
+	 * Removes the threshold of this warning system. It will not notify its
+	 * listeners until a new threshold is set.
+	 */
+	public void clearWarningThreshold() {
+		synchronized (warningSystems) {
+			warningSystems.remove(this);
+		}
+	}
+
 	/**
 	 * Closes this warning system instance. It will no longer notify any listeners
 	 * of memory shortages.
@@ -274,12 +307,9 @@ public class MemoryWarningSystem {
 			warningSystems.remove(this);
 		}
 
-		MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
-		try {
-			((NotificationEmitter) memoryBean).removeNotificationListener(memoryListener);
-		} catch (ListenerNotFoundException e) {
-			// Doesn't matter, we wanted to get rid of it anyway
-		}
+		// The JVM listener is shared between all warning systems and is only
+		// registered once, so we must not remove it here. Once this warning system
+		// has been removed from the list, the listener no longer notifies it.
 		isClosed = true;
 	}
 
@@ -225,8 +225,8 @@ public class BackwardsImplicitFlowRule extends AbstractTaintPropagationRule {
 
 					List<Unit> condUnits = manager.getICFG().getConditionalBranchesInterprocedural(stmt);
 					for (Unit condUnit : condUnits) {
-						Abstraction abs = new Abstraction(sink.getAllDefinitions(), AccessPath.getEmptyAccessPath(), stmt,
-								sink.getUserData(), false, false);
+						Abstraction abs = Abstraction.createAbstraction(sink.getAllDefinitions(),
+								AccessPath.getEmptyAccessPath(), stmt, sink.getUserData(), false, false);
 						abs.setCorrespondingCallSite(stmt);
 						abs.setDominator(condUnit);
 						res.add(abs);
@@ -235,8 +235,8 @@ public class BackwardsImplicitFlowRule extends AbstractTaintPropagationRule {
 					if (!sm.isStatic()) {
 						AccessPath thisAp = manager.getAccessPathFactory()
 								.createAccessPath(sm.getActiveBody().getThisLocal(), false);
-						Abstraction thisTaint = new Abstraction(sink.getDefinitionsForAccessPath(ap), thisAp, stmt, sink.getUserData(),
-								false, false);
+						Abstraction thisTaint = Abstraction.createAbstraction(sink.getDefinitionsForAccessPath(ap),
+								thisAp, stmt, sink.getUserData(), false, false);
 						thisTaint.setCorrespondingCallSite(stmt);
 						res.add(thisTaint);
 					}
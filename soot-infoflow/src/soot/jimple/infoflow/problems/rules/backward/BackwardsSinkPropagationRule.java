@@ -61,7 +61,7 @@ public class BackwardsSinkPropagationRule extends AbstractTaintPropagationRule {
 						continue;
 
 					// Create the new taint abstraction
-					Abstraction abs = new Abstraction(sinkInfo.getDefinitionsForAccessPath(ap), ap, stmt,
+					Abstraction abs = Abstraction.createAbstraction(sinkInfo.getDefinitionsForAccessPath(ap), ap, stmt,
 							sinkInfo.getUserData(), false, false);
 					abs.setCorrespondingCallSite(stmt);
 					abs = abs.deriveNewAbstractionWithTurnUnit(stmt);
@@ -28,6 +28,7 @@ import soot.jimple.infoflow.data.Abstraction;
 import soot.jimple.infoflow.data.AccessPath;
 import soot.jimple.infoflow.problems.TaintPropagationResults;
 import soot.jimple.infoflow.problems.rules.AbstractTaintPropagationRule;
+import soot.jimple.infoflow.solver.cfg.DefUseIndex.MethodDefUse;
 import soot.jimple.infoflow.sourcesSinks.manager.IReversibleSourceSinkManager;
 import soot.jimple.infoflow.sourcesSinks.manager.SinkInfo;
 import soot.jimple.infoflow.taintWrappers.EasyTaintWrapper;
@@ -238,6 +239,15 @@ public class BackwardsWrapperRule extends AbstractTaintPropagationRule {
 		if (!excludeList.contains(ie.getMethod().getSignature()))
 			return false;
 
+		// The precomputed liveness does not know about the turn unit. The turn unit
+		// only shortens the liveness, so we only need to run the full analysis if the
+		// base is live according to the index and the turn unit is in this method.
+		MethodDefUse defUse = manager.getICFG().getDefUseIndex().getDefUse(sm);
+		if (!defUse.isLiveBefore(callStmt, ie.getBase()))
+			return true;
+		if (abs.getTurnUnit() == null || !defUse.containsUnit(abs.getTurnUnit()))
+			return false;
+
 		SingleLiveVariableAnalysis slva = new SingleLiveVariableAnalysis(manager.getICFG().getOrCreateUnitGraph(sm),
 				(Local) ie.getBase(), abs.getTurnUnit());
 		return slva.canOmitAlias(callStmt);
@@ -47,8 +47,8 @@ public class SourcePropagationRule extends AbstractTaintPropagationRule {
 				Set<Abstraction> res = new HashSet<>();
 				for (AccessPath ap : sourceInfo.getAccessPaths()) {
 					// Create the new taint abstraction
-					Abstraction abs = new Abstraction(sourceInfo.getDefinitionsForAccessPath(ap), ap, stmt, sourceInfo.getUserData(),
-							false, false);
+					Abstraction abs = Abstraction.createAbstraction(sourceInfo.getDefinitionsForAccessPath(ap), ap,
+							stmt, sourceInfo.getUserData(), false, false);
 					res.add(abs);
 
 					// Compute the aliases. This is only relevant for variables that are not
@@ -5,7 +5,6 @@ import java.util.Collection;
 import soot.Local;
 import soot.SootMethod;
 import soot.Value;
-import soot.ValueBox;
 import soot.jimple.ArrayRef;
 import soot.jimple.AssignStmt;
 import soot.jimple.InstanceFieldRef;
@@ -107,12 +106,9 @@ public class StrongUpdatePropagationRule extends AbstractTaintPropagationRule {
 			// If there is also a reference to the tainted value on the right side, we
 			// must only kill the source, but give the other rules the possibility to
 			// re-create the taint
-			boolean found = false;
-			for (ValueBox vb : assignStmt.getRightOp().getUseBoxes())
-				if (vb.getValue() == source.getAccessPath().getPlainValue()) {
-					found = true;
-					break;
-				}
+			Local plainValue = source.getAccessPath().getPlainValue();
+			boolean found = assignStmt.getRightOp() != plainValue && getManager().getICFG().getDefUseIndex()
+					.getDefUse(getManager().getICFG().getMethodOf(stmt)).isUsedAt(stmt, plainValue);
 
 			killAll.value = !found;
 			killSource.value = true;
@@ -23,6 +23,16 @@ public class InfoflowPerformanceData {
 	private long infoflowPropagationCount = -1;
 	private long aliasPropagationCount = -1;
 
+	private long accessPathInternHits = -1;
+	private long accessPathInternMisses = -1;
+
+	private long summaryStoreHits = -1;
+	private long summaryStoreMisses = -1;
+
+	private long gcCollectionCount = -1;
+	private long gcReclaimedEdges = -1;
+	private long gcTimeMillis = -1;
+
 	public InfoflowPerformanceData() {
 		//
 	}
@@ -190,6 +200,24 @@ public class InfoflowPerformanceData {
 			else
 				this.sinkCount += performanceData.sinkCount;
 		}
+		if (performanceData.infoflowPropagationCount > 0)
+			addInfoflowPropagationCount(performanceData.infoflowPropagationCount);
+		if (performanceData.aliasPropagationCount > 0)
+			addAliasPropagationCount(performanceData.aliasPropagationCount);
+		if (performanceData.accessPathInternHits > 0)
+			addAccessPathInternHits(performanceData.accessPathInternHits);
+		if (performanceData.accessPathInternMisses > 0)
+			addAccessPathInternMisses(performanceData.accessPathInternMisses);
+		if (performanceData.summaryStoreHits > 0)
+			addSummaryStoreHits(performanceData.summaryStoreHits);
+		if (performanceData.summaryStoreMisses > 0)
+			addSummaryStoreMisses(performanceData.summaryStoreMisses);
+		if (performanceData.gcCollectionCount > 0)
+			addGcCollectionCount(performanceData.gcCollectionCount);
+		if (performanceData.gcReclaimedEdges > 0)
+			addGcReclaimedEdges(performanceData.gcReclaimedEdges);
+		if (performanceData.gcTimeMillis > 0)
+			addGcTimeMillis(performanceData.gcTimeMillis);
 	}
 
 	/**
@@ -302,6 +330,34 @@ public class InfoflowPerformanceData {
 		this.aliasPropagationCount = aliasPropagationCount;
 	}
 
+	/**
+	 * Adds the given number of edges to the number of edges propagated in the data
+	 * flow analysis
+	 * 
+	 * @param toAdd The number of edges to add
+	 */
+	public void addInfoflowPropagationCount(long toAdd) {
+		long edges = this.infoflowPropagationCount;
+		if (edges < 0)
+			this.infoflowPropagationCount = toAdd;
+		else
+			this.infoflowPropagationCount = edges + toAdd;
+	}
+
+	/**
+	 * Adds the given number of edges to the number of edges propagated in the
+	 * alias analysis
+	 * 
+	 * @param toAdd The number of edges to add
+	 */
+	public void addAliasPropagationCount(long toAdd) {
+		long edges = this.aliasPropagationCount;
+		if (edges < 0)
+			this.aliasPropagationCount = toAdd;
+		else
+			this.aliasPropagationCount = edges + toAdd;
+	}
+
 	public long getInfoflowPropagationCount() {
 		return this.infoflowPropagationCount;
 	}
@@ -310,6 +366,181 @@ public class InfoflowPerformanceData {
 		return this.aliasPropagationCount;
 	}
 
+	/**
+	 * Adds the given number of access paths for which an equal canonical instance
+	 * was found in the interning table
+	 * 
+	 * @param toAdd The number of intern hits to add
+	 */
+	public void addAccessPathInternHits(long toAdd) {
+		long hits = this.accessPathInternHits;
+		if (hits < 0)
+			this.accessPathInternHits = toAdd;
+		else
+			this.accessPathInternHits = hits + toAdd;
+	}
+
+	/**
+	 * Gets the number of access paths for which an equal canonical instance was
+	 * found in the interning table
+	 * 
+	 * @return The number of access path intern hits, or -1 if access path
+	 *         interning was disabled
+	 */
+	public long getAccessPathInternHits() {
+		return accessPathInternHits;
+	}
+
+	/**
+	 * Adds the given number of access paths that were registered as new canonical
+	 * instances in the interning table
+	 * 
+	 * @param toAdd The number of intern misses to add
+	 */
+	public void addAccessPathInternMisses(long toAdd) {
+		long misses = this.accessPathInternMisses;
+		if (misses < 0)
+			this.accessPathInternMisses = toAdd;
+		else
+			this.accessPathInternMisses = misses + toAdd;
+	}
+
+	/**
+	 * Gets the number of access paths that were registered as new canonical
+	 * instances in the interning table
+	 * 
+	 * @return The number of access path intern misses, or -1 if access path
+	 *         interning was disabled
+	 */
+	public long getAccessPathInternMisses() {
+		return accessPathInternMisses;
+	}
+
+	/**
+	 * Adds the given number of library callees whose end summaries were taken from
+	 * the persistent summary store
+	 * 
+	 * @param toAdd The number of summary store hits to add
+	 */
+	public void addSummaryStoreHits(long toAdd) {
+		long hits = this.summaryStoreHits;
+		if (hits < 0)
+			this.summaryStoreHits = toAdd;
+		else
+			this.summaryStoreHits = hits + toAdd;
+	}
+
+	/**
+	 * Gets the number of library callees whose end summaries were taken from the
+	 * persistent summary store
+	 * 
+	 * @return The number of summary store hits, or -1 if the persistent summary
+	 *         store was not used
+	 */
+	public long getSummaryStoreHits() {
+		return summaryStoreHits;
+	}
+
+	/**
+	 * Adds the given number of library callees for which the persistent summary
+	 * store had no end summaries
+	 * 
+	 * @param toAdd The number of summary store misses to add
+	 */
+	public void addSummaryStoreMisses(long toAdd) {
+		long misses = this.summaryStoreMisses;
+		if (misses < 0)
+			this.summaryStoreMisses = toAdd;
+		else
+			this.summaryStoreMisses = misses + toAdd;
+	}
+
+	/**
+	 * Gets the number of library callees for which the persistent summary store had
+	 * no end summaries
+	 * 
+	 * @return The number of summary store misses, or -1 if the persistent summary
+	 *         store was not used
+	 */
+	public long getSummaryStoreMisses() {
+		return summaryStoreMisses;
+	}
+
+	/**
+	 * Adds the given number of rounds in which the garbage-collecting solvers
+	 * removed jump functions
+	 * 
+	 * @param toAdd The number of garbage collection rounds to add
+	 */
+	public void addGcCollectionCount(long toAdd) {
+		long count = this.gcCollectionCount;
+		if (count < 0)
+			this.gcCollectionCount = toAdd;
+		else
+			this.gcCollectionCount = count + toAdd;
+	}
+
+	/**
+	 * Gets the number of rounds in which the garbage-collecting solvers removed
+	 * jump functions
+	 * 
+	 * @return The number of garbage collection rounds, or -1 if no
+	 *         garbage-collecting solver was used
+	 */
+	public long getGcCollectionCount() {
+		return gcCollectionCount;
+	}
+
+	/**
+	 * Adds the given number of jump functions that were removed by the
+	 * garbage-collecting solvers
+	 * 
+	 * @param toAdd The number of removed jump functions to add
+	 */
+	public void addGcReclaimedEdges(long toAdd) {
+		long edges = this.gcReclaimedEdges;
+		if (edges < 0)
+			this.gcReclaimedEdges = toAdd;
+		else
+			this.gcReclaimedEdges = edges + toAdd;
+	}
+
+	/**
+	 * Gets the number of jump functions that were removed by the
+	 * garbage-collecting solvers
+	 * 
+	 * @return The number of removed jump functions, or -1 if no
+	 *         garbage-collecting solver was used
+	 */
+	public long getGcReclaimedEdges() {
+		return gcReclaimedEdges;
+	}
+
+	/**
+	 * Adds the given time that the garbage-collecting solvers spent on removing
+	 * jump functions
+	 * 
+	 * @param toAdd The time to add in milliseconds
+	 */
+	public void addGcTimeMillis(long toAdd) {
+		long time = this.gcTimeMillis;
+		if (time < 0)
+			this.gcTimeMillis = toAdd;
+		else
+			this.gcTimeMillis = time + toAdd;
+	}
+
+	/**
+	 * Gets the time that the garbage-collecting solvers spent on removing jump
+	 * functions
+	 * 
+	 * @return The garbage collection time in milliseconds, or -1 if no
+	 *         garbage-collecting solver was used
+	 */
+	public long getGcTimeMillis() {
+		return gcTimeMillis;
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -326,15 +557,34 @@ public class InfoflowPerformanceData {
 			sb.append(String.format("Max Memory Consumption: %d MB\n", maxMemoryConsumption));
 		if (edgePropagationCount > 0)
 			sb.append(String.format("Edge Propagation Count: %d\n", edgePropagationCount));
+		if (infoflowPropagationCount > 0)
+			sb.append(String.format("Data Flow Edge Propagation Count: %d\n", infoflowPropagationCount));
+		if (aliasPropagationCount > 0)
+			sb.append(String.format("Alias Edge Propagation Count: %d\n", aliasPropagationCount));
+		if (accessPathInternHits > 0)
+			sb.append(String.format("Access Path Intern Hits: %d\n", accessPathInternHits));
+		if (accessPathInternMisses > 0)
+			sb.append(String.format("Access Path Intern Misses: %d\n", accessPathInternMisses));
+		if (summaryStoreHits > 0)
+			sb.append(String.format("Summary Store Hits: %d\n", summaryStoreHits));
+		if (summaryStoreMisses > 0)
+			sb.append(String.format("Summary Store Misses: %d\n", summaryStoreMisses));
+		if (gcCollectionCount > 0)
+			sb.append(String.format("Solver Garbage Collections: %d\n", gcCollectionCount));
+		if (gcReclaimedEdges > 0)
+			sb.append(String.format("Solver Garbage Collected Edges: %d\n", gcReclaimedEdges));
+		if (gcTimeMillis > 0)
+			sb.append(String.format("Solver Garbage Collection Time: %d ms\n", gcTimeMillis));
 
 		return sb.toString();
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(aliasPropagationCount, callgraphConstructionSeconds, edgePropagationCount,
+		return Objects.hash(accessPathInternHits, accessPathInternMisses, aliasPropagationCount,
+				callgraphConstructionSeconds, edgePropagationCount, gcCollectionCount, gcReclaimedEdges, gcTimeMillis,
 				infoflowPropagationCount, maxMemoryConsumption, pathReconstructionSeconds, sinkCount, sourceCount,
-				taintPropagationSeconds, totalRuntimeSeconds);
+				summaryStoreHits, summaryStoreMisses, taintPropagationSeconds, totalRuntimeSeconds);
 	}
 
 	@Override
@@ -346,13 +596,18 @@ public class InfoflowPerformanceData {
 		if (getClass() != obj.getClass())
 			return false;
 		InfoflowPerformanceData other = (InfoflowPerformanceData) obj;
-		return aliasPropagationCount == other.aliasPropagationCount
+		return accessPathInternHits == other.accessPathInternHits
+				&& accessPathInternMisses == other.accessPathInternMisses
+				&& aliasPropagationCount == other.aliasPropagationCount
 				&& callgraphConstructionSeconds == other.callgraphConstructionSeconds
 				&& edgePropagationCount == other.edgePropagationCount
+				&& gcCollectionCount == other.gcCollectionCount && gcReclaimedEdges == other.gcReclaimedEdges
+				&& gcTimeMillis == other.gcTimeMillis
 				&& infoflowPropagationCount == other.infoflowPropagationCount
 				&& maxMemoryConsumption == other.maxMemoryConsumption
 				&& pathReconstructionSeconds == other.pathReconstructionSeconds && sinkCount == other.sinkCount
-				&& sourceCount == other.sourceCount && taintPropagationSeconds == other.taintPropagationSeconds
+				&& sourceCount == other.sourceCount && summaryStoreHits == other.summaryStoreHits
+				&& summaryStoreMisses == other.summaryStoreMisses && taintPropagationSeconds == other.taintPropagationSeconds
 				&& totalRuntimeSeconds == other.totalRuntimeSeconds;
 	}
 
@@ -4,8 +4,8 @@ import heros.SynchronizedBy;
 import heros.solver.Pair;
 import soot.SootMethod;
 import soot.Unit;
+import soot.jimple.infoflow.collect.LockFreeMultiMap;
 import soot.jimple.infoflow.data.Abstraction;
-import soot.util.ConcurrentHashMultiMap;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -18,8 +18,11 @@ import java.util.Set;
 public class DefaultSolverPeerGroup implements ISolverPeerGroup {
 	// edges going along calls
 	// see CC 2010 paper by Naeem, Lhotak and Rodriguez
-	@SynchronizedBy("consistent lock on field")
-	protected final ConcurrentHashMultiMap<Pair<SootMethod, Abstraction>, IncomingRecord<Unit, Abstraction>> incoming = new ConcurrentHashMultiMap<>();
+	@SynchronizedBy("lock-free data structure, writes are published with compare-and-set")
+	protected final LockFreeMultiMap<Pair<SootMethod, Abstraction>, IncomingRecord<Unit, Abstraction>> incoming = new LockFreeMultiMap<>();
+
+	@SynchronizedBy("lock-free data structure, writes are published with compare-and-set")
+	protected final LockFreeMultiMap<Pair<SootMethod, Abstraction>, Abstraction> derivedContexts = new LockFreeMultiMap<>();
 
 	protected Set<IInfoflowSolver> solvers = new HashSet<>();
 
@@ -41,12 +44,40 @@ public class DefaultSolverPeerGroup implements ISolverPeerGroup {
 		IncomingRecord<Unit, Abstraction> newRecord = new IncomingRecord<>(n, d1, d2, d3);
 		IncomingRecord<Unit, Abstraction> rec = incoming.putIfAbsent(new Pair<>(m, d3), newRecord);
 
-		if (rec == null)
+		if (rec == null) {
 			for (IInfoflowSolver solver : solvers)
 				solver.applySummary(m, d3, n, d2, d1);
 
+			// Forward the new caller to all contexts that have been derived from
+			// this one
+			Set<Abstraction> derived = derivedContexts.get(new Pair<>(m, d3));
+			if (derived != null)
+				for (Abstraction d : derived)
+					addIncoming(m, d, n, d1, d2);
+		}
+
 		// The solver peer group already applies the summary for all solvers.
 		// Thus, no need to call the same method again in the IFDS solver.
 		return false;
 	}
+
+	@Override
+	public void addDerivedContext(SootMethod m, Abstraction d1, Abstraction derived) {
+		// We register the derived context before we copy the existing records. A
+		// concurrent addIncoming() thus either sees the derived context or has
+		// already published its record, so no caller can get lost. Duplicates are
+		// filtered by addIncoming().
+		if (derivedContexts.putIfAbsent(new Pair<>(m, d1), derived) != null)
+			return;
+		Set<IncomingRecord<Unit, Abstraction>> callers = incoming(d1, m);
+		if (callers != null)
+			for (IncomingRecord<Unit, Abstraction> rec : callers)
+				addIncoming(m, derived, rec.n, rec.d1, rec.d2);
+	}
+
+	@Override
+	public void cleanup() {
+		incoming.clear();
+		derivedContexts.clear();
+	}
 }
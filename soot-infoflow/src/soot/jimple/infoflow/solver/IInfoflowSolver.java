@@ -5,6 +5,7 @@ import java.util.Set;
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.Unit;
+import soot.jimple.infoflow.InfoflowConfiguration.JumpFunctionStoreMode;
 import soot.jimple.infoflow.data.Abstraction;
 import soot.jimple.infoflow.problems.AbstractInfoflowProblem;
 import soot.jimple.infoflow.solver.memory.IMemoryManager;
@@ -142,6 +143,14 @@ public interface IInfoflowSolver {
 	 */
 	public void setMaxAbstractionPathLength(int maxAbstractionPathLength);
 
+	/**
+	 * Sets the data structure in which the solver stores its jump functions. This
+	 * method must be called before the solver is started.
+	 * 
+	 * @param mode The data structure in which to store the jump functions
+	 */
+	public void setJumpFunctionStoreMode(JumpFunctionStoreMode mode);
+
 	/**
 	 * Sets the peer group in which this solver operates. Peer groups allow for
 	 * synchronization between solvers
@@ -38,4 +38,20 @@ public interface ISolverPeerGroup {
      * @return   true if the added record is new
      */
     boolean addIncoming(SootMethod m, Abstraction d3, Unit n, Abstraction d1, Abstraction d2);
+
+    /**
+     * Registers a context that shall receive all incoming records of another
+     * context in the same method. The records that already exist are copied
+     * immediately, records that are added later are forwarded when they are added.
+     *
+     * @param m       method
+     * @param d1      calling context whose incoming records shall be forwarded
+     * @param derived calling context that receives the records
+     */
+    void addDerivedContext(SootMethod m, Abstraction d1, Abstraction derived);
+
+    /**
+     * Removes all incoming records and derived contexts from this peer group
+     */
+    void cleanup();
 }
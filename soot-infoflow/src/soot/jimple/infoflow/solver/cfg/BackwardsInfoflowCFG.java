@@ -178,6 +178,7 @@ public class BackwardsInfoflowCFG extends InfoflowCFG {
 	@Override
 	public void notifyMethodChanged(SootMethod m) {
 		baseCFG.notifyMethodChanged(m);
+		defUseIndex.invalidate(m);
 	}
 
 	@Override
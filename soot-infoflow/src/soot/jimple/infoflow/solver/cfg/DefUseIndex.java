@@ -0,0 +1,529 @@
+package soot.jimple.infoflow.solver.cfg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import soot.Body;
+import soot.Local;
+import soot.SootMethod;
+import soot.Unit;
+import soot.Value;
+import soot.ValueBox;
+import soot.jimple.AssignStmt;
+import soot.jimple.infoflow.util.ThreadUtils;
+import soot.toolkits.graph.DirectedGraph;
+
+/**
+ * Index of the locals that the statements of a method use and define. The index
+ * also contains the liveness of all locals before each statement. Locals and
+ * statements are numbered per method, and all data is kept in flat arrays, so
+ * that queries neither lock nor allocate. The liveness needs one bit per local
+ * and statement, so it is only computed when it is first queried for a method.
+ *
+ * The liveness is computed on the unit graphs of the given control-flow graph.
+ * For an inverse control-flow graph, a local is thus "live" before a statement
+ * if it is used before the statement in program order.
+ */
+public class DefUseIndex {
+
+	/**
+	 * The def/use information of a single method
+	 */
+	public static final class MethodDefUse {
+
+		private static final MethodDefUse EMPTY = new MethodDefUse();
+
+		private final Map<Local, Integer> localIds;
+		private final Map<Unit, Integer> unitIds;
+
+		// The ids of the locals used by unit i are in
+		// useIds[useOffsets[i]..useOffsets[i+1]-1]
+		private final int[] useOffsets;
+		private final int[] useIds;
+
+		// The id of the local defined by unit i, or -1. Jimple statements define
+		// at most one local.
+		private final int[] defIds;
+		private final Local[] locals;
+		private final Unit[] units;
+
+		// The locals that are live before unit i are the bits in
+		// liveBefore[i*liveWords..(i+1)*liveWords-1]. The liveness is computed on
+		// first use.
+		private final int liveWords;
+		private volatile long[] liveBefore;
+		private final SootMethod method;
+		private final IInfoflowCFG icfg;
+
+		private final long[] readParameters;
+		private final long[] writtenLocals;
+
+		private MethodDefUse() {
+			this.localIds = new IdentityHashMap<>();
+			this.unitIds = new IdentityHashMap<>();
+			this.useOffsets = new int[] { 0 };
+			this.useIds = new int[0];
+			this.defIds = new int[0];
+			this.locals = new Local[0];
+			this.units = new Unit[0];
+			this.liveWords = 0;
+			this.liveBefore = new long[0];
+			this.method = null;
+			this.icfg = null;
+			this.readParameters = new long[0];
+			this.writtenLocals = new long[0];
+		}
+
+		private MethodDefUse(SootMethod method, IInfoflowCFG icfg) {
+			this.method = method;
+			this.icfg = icfg;
+			Body body = method.getActiveBody();
+			this.localIds = new IdentityHashMap<>(body.getLocalCount() * 2);
+			this.unitIds = new IdentityHashMap<>(body.getUnits().size() * 2);
+			List<Local> localList = new ArrayList<>(body.getLocalCount());
+			for (Local l : body.getLocals())
+				getOrCreateId(l, localList);
+
+			// Number the statements and record their uses and definitions
+			int unitCount = body.getUnits().size();
+			this.useOffsets = new int[unitCount + 1];
+			this.defIds = new int[unitCount];
+			this.units = new Unit[unitCount];
+			int[] uses = new int[unitCount * 2];
+			int numUses = 0;
+			int unitIdx = 0;
+			for (Unit u : body.getUnits()) {
+				unitIds.put(u, unitIdx);
+				units[unitIdx] = u;
+				useOffsets[unitIdx] = numUses;
+				for (ValueBox vb : u.getUseBoxes()) {
+					Value val = vb.getValue();
+					if (val instanceof Local) {
+						int id = getOrCreateId((Local) val, localList);
+						if (!contains(uses, useOffsets[unitIdx], numUses, id)) {
+							if (numUses == uses.length)
+								uses = Arrays.copyOf(uses, uses.length * 2 + 1);
+							uses[numUses++] = id;
+						}
+					}
+				}
+				defIds[unitIdx] = -1;
+				for (ValueBox vb : u.getDefBoxes()) {
+					Value val = vb.getValue();
+					if (val instanceof Local)
+						defIds[unitIdx] = getOrCreateId((Local) val, localList);
+				}
+				unitIdx++;
+			}
+			useOffsets[unitCount] = numUses;
+			this.useIds = Arrays.copyOf(uses, numUses);
+			this.locals = localList.toArray(new Local[localList.size()]);
+			this.liveWords = (locals.length + 63) >>> 6;
+
+			// Which parameters does the method read and which locals does it
+			// assign?
+			this.readParameters = new long[liveWords];
+			for (int i = 0; i < method.getParameterCount(); i++) {
+				Integer id = localIds.get(body.getParameterLocal(i));
+				if (id != null && isUsedAnywhere(id))
+					setBit(readParameters, 0, id);
+			}
+			if (!method.isStatic())
+				setBit(readParameters, 0, localIds.get(body.getThisLocal()));
+			this.writtenLocals = new long[liveWords];
+			for (Unit u : body.getUnits())
+				if (u instanceof AssignStmt && defIds[unitIds.get(u)] >= 0)
+					setBit(writtenLocals, 0, defIds[unitIds.get(u)]);
+		}
+
+		private int getOrCreateId(Local l, List<Local> localList) {
+			Integer id = localIds.get(l);
+			if (id == null) {
+				id = localList.size();
+				localIds.put(l, id);
+				localList.add(l);
+			}
+			return id;
+		}
+
+		private static boolean contains(int[] array, int from, int to, int value) {
+			for (int i = from; i < to; i++)
+				if (array[i] == value)
+					return true;
+			return false;
+		}
+
+		private static void setBit(long[] bits, int offset, int id) {
+			bits[offset + (id >>> 6)] |= 1L << id;
+		}
+
+		private static boolean getBit(long[] bits, int offset, int id) {
+			return (bits[offset + (id >>> 6)] & (1L << id)) != 0;
+		}
+
+		private boolean isUsedAnywhere(int localId) {
+			for (int id : useIds)
+				if (id == localId)
+					return true;
+			return false;
+		}
+
+		/**
+		 * Gets the liveness of all locals before each statement and computes it if
+		 * necessary
+		 *
+		 * @return The bits of the locals that are live before each statement
+		 */
+		private long[] getLiveness() {
+			long[] live = liveBefore;
+			if (live == null) {
+				synchronized (this) {
+					live = liveBefore;
+					if (live == null) {
+						live = computeLiveness(icfg.getOrCreateUnitGraph(method), units.length);
+						liveBefore = live;
+					}
+				}
+			}
+			return live;
+		}
+
+		/**
+		 * Computes which locals are live before each statement with a standard
+		 * backwards data flow analysis on the given graph
+		 *
+		 * @param graph     The unit graph of the method
+		 * @param unitCount The number of statements in the method
+		 * @return The bits of the locals that are live before each statement
+		 */
+		private long[] computeLiveness(DirectedGraph<Unit> graph, int unitCount) {
+			long[] live = new long[unitCount * liveWords];
+			if (liveWords == 0 || unitCount == 0)
+				return live;
+
+			long[] after = new long[liveWords];
+			boolean[] queued = new boolean[unitCount];
+			int[] worklist = new int[unitCount];
+			int head = 0;
+			int size = 0;
+
+			// Start at the end of the method, so that most statements only need
+			// to be processed once
+			List<Unit> order = new ArrayList<>(unitCount);
+			for (Unit u : graph)
+				order.add(u);
+			for (int i = order.size() - 1; i >= 0; i--) {
+				Integer idx = unitIds.get(order.get(i));
+				if (idx != null && !queued[idx]) {
+					queued[idx] = true;
+					worklist[(head + size++) % unitCount] = idx;
+				}
+			}
+
+			while (size > 0) {
+				int idx = worklist[head];
+				head = (head + 1) % unitCount;
+				size--;
+				queued[idx] = false;
+
+				// live-after = union of live-before of all successors
+				Arrays.fill(after, 0);
+				for (Unit succ : graph.getSuccsOf(units[idx])) {
+					Integer succIdx = unitIds.get(succ);
+					if (succIdx != null)
+						for (int w = 0; w < liveWords; w++)
+							after[w] |= live[succIdx * liveWords + w];
+				}
+
+				// live-before = uses + (live-after - defs)
+				if (defIds[idx] >= 0)
+					after[defIds[idx] >>> 6] &= ~(1L << defIds[idx]);
+				for (int i = useOffsets[idx]; i < useOffsets[idx + 1]; i++)
+					setBit(after, 0, useIds[i]);
+
+				boolean changed = false;
+				int base = idx * liveWords;
+				for (int w = 0; w < liveWords; w++) {
+					if (live[base + w] != after[w]) {
+						live[base + w] = after[w];
+						changed = true;
+					}
+				}
+
+				if (changed) {
+					for (Unit pred : graph.getPredsOf(units[idx])) {
+						Integer predIdx = unitIds.get(pred);
+						if (predIdx != null && !queued[predIdx]) {
+							queued[predIdx] = true;
+							worklist[(head + size++) % unitCount] = predIdx;
+						}
+					}
+				}
+			}
+			return live;
+		}
+
+		/**
+		 * Gets the number of statements in this method
+		 *
+		 * @return The number of statements in this method
+		 */
+		public int getUnitCount() {
+			return units.length;
+		}
+
+		/**
+		 * Gets the number of locals in this method
+		 *
+		 * @return The number of locals in this method
+		 */
+		public int getLocalCount() {
+			return locals.length;
+		}
+
+		/**
+		 * Gets the id of the given statement
+		 *
+		 * @param u The statement
+		 * @return The id of the given statement, or -1 if the statement is not part
+		 *         of this method
+		 */
+		public int getUnitId(Unit u) {
+			Integer unitIdx = unitIds.get(u);
+			return unitIdx == null ? -1 : unitIdx;
+		}
+
+		/**
+		 * Gets the statement with the given id
+		 *
+		 * @param unitId The id of the statement
+		 * @return The statement with the given id
+		 */
+		public Unit getUnit(int unitId) {
+			return units[unitId];
+		}
+
+		/**
+		 * Gets the id of the given local
+		 *
+		 * @param l The local
+		 * @return The id of the given local, or -1 if the local is not part of this
+		 *         method
+		 */
+		public int getLocalId(Value l) {
+			Integer localId = localIds.get(l);
+			return localId == null ? -1 : localId;
+		}
+
+		/**
+		 * Gets the local with the given id
+		 *
+		 * @param localId The id of the local
+		 * @return The local with the given id
+		 */
+		public Local getLocal(int localId) {
+			return locals[localId];
+		}
+
+		/**
+		 * Checks whether the statement with the given id uses the local with the
+		 * given id
+		 *
+		 * @param unitId  The id of the statement
+		 * @param localId The id of the local
+		 * @return True if the statement uses the local, otherwise false
+		 */
+		public boolean isUsedAt(int unitId, int localId) {
+			return contains(useIds, useOffsets[unitId], useOffsets[unitId + 1], localId);
+		}
+
+		/**
+		 * Gets the id of the local that the statement with the given id defines
+		 *
+		 * @param unitId The id of the statement
+		 * @return The id of the local that the statement assigns a value to, or -1
+		 *         if the statement does not define a local
+		 */
+		public int getDefinedLocalId(int unitId) {
+			return defIds[unitId];
+		}
+
+		/**
+		 * Checks whether the given statement is part of this method
+		 *
+		 * @param u The statement to check
+		 * @return True if the given statement is part of this method, otherwise
+		 *         false
+		 */
+		public boolean containsUnit(Unit u) {
+			return unitIds.containsKey(u);
+		}
+
+		/**
+		 * Checks whether the given statement uses the given local
+		 *
+		 * @param u The statement to check
+		 * @param l The local to look for
+		 * @return True if the given statement uses the given local, otherwise false
+		 */
+		public boolean isUsedAt(Unit u, Value l) {
+			Integer unitIdx = unitIds.get(u);
+			Integer localId = localIds.get(l);
+			if (unitIdx == null || localId == null)
+				return false;
+			return contains(useIds, useOffsets[unitIdx], useOffsets[unitIdx + 1], localId);
+		}
+
+		/**
+		 * Checks whether the given statement defines the given local
+		 *
+		 * @param u The statement to check
+		 * @param l The local to look for
+		 * @return True if the given statement assigns a value to the given local,
+		 *         otherwise false
+		 */
+		public boolean isDefinedAt(Unit u, Value l) {
+			Integer unitIdx = unitIds.get(u);
+			Integer localId = localIds.get(l);
+			return unitIdx != null && localId != null && defIds[unitIdx] == localId;
+		}
+
+		/**
+		 * Gets the local that the given statement defines
+		 *
+		 * @param u The statement
+		 * @return The local that the given statement assigns a value to, or null if
+		 *         the statement does not define a local
+		 */
+		public Local getDefinedLocal(Unit u) {
+			Integer unitIdx = unitIds.get(u);
+			if (unitIdx == null || defIds[unitIdx] < 0)
+				return null;
+			return locals[defIds[unitIdx]];
+		}
+
+		/**
+		 * Checks whether the given local is live before the given statement, i.e.,
+		 * whether its current value may be read by the statement or one of its
+		 * transitive successors. The liveness of the method is computed on the
+		 * first call.
+		 *
+		 * @param u The statement
+		 * @param l The local to check
+		 * @return True if the given local is live before the given statement,
+		 *         otherwise false
+		 */
+		public boolean isLiveBefore(Unit u, Value l) {
+			Integer unitIdx = unitIds.get(u);
+			Integer localId = localIds.get(l);
+			if (unitIdx == null || localId == null)
+				return false;
+			return getBit(getLiveness(), unitIdx * liveWords, localId);
+		}
+
+		/**
+		 * Checks whether the method reads the given value, which must be a parameter
+		 * local or the "this" local to be considered
+		 *
+		 * @param v The value to check
+		 * @return True if the given value is a parameter local that is read by the
+		 *         method or the "this" local, otherwise false
+		 */
+		public boolean readsParameter(Value v) {
+			Integer localId = localIds.get(v);
+			return localId != null && getBit(readParameters, 0, localId);
+		}
+
+		/**
+		 * Checks whether the method assigns a value to the given local
+		 *
+		 * @param v The value to check
+		 * @return True if the given value is a local that is on the left side of an
+		 *         assignment in the method, otherwise false
+		 */
+		public boolean writesLocal(Value v) {
+			Integer localId = localIds.get(v);
+			return localId != null && getBit(writtenLocals, 0, localId);
+		}
+
+	}
+
+	private final IInfoflowCFG icfg;
+	private final ConcurrentHashMap<SootMethod, MethodDefUse> methods = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new def/use index
+	 *
+	 * @param icfg The control-flow graph whose unit graphs shall be used for the
+	 *             liveness analysis
+	 */
+	public DefUseIndex(IInfoflowCFG icfg) {
+		this.icfg = icfg;
+	}
+
+	/**
+	 * Gets the def/use information for the given method. If the information has
+	 * not been precomputed, it is computed now.
+	 *
+	 * @param method The method
+	 * @return The def/use information for the given method
+	 */
+	public MethodDefUse getDefUse(SootMethod method) {
+		if (method == null)
+			return MethodDefUse.EMPTY;
+		MethodDefUse defUse = methods.get(method);
+		if (defUse == null)
+			defUse = methods.computeIfAbsent(method, this::compute);
+		return defUse;
+	}
+
+	private MethodDefUse compute(SootMethod method) {
+		if (!method.isConcrete() || !method.hasActiveBody())
+			return MethodDefUse.EMPTY;
+		return new MethodDefUse(method, icfg);
+	}
+
+	/**
+	 * Computes the def/use information for the given methods in parallel. The
+	 * liveness is not part of this precomputation, since only few methods are
+	 * ever queried for it.
+	 *
+	 * @param methods    The methods for which to compute the def/use information
+	 * @param numThreads The number of threads to use
+	 */
+	public void precompute(Collection<SootMethod> methods, int numThreads) {
+		ThreadUtils.runInParallel(methods, this::getDefUse, numThreads, "FlowDroid Def/Use Index");
+	}
+
+	/**
+	 * Removes the def/use information of the given method, e.g., because the
+	 * method has been changed
+	 *
+	 * @param method The method whose def/use information to remove
+	 */
+	public void invalidate(SootMethod method) {
+		methods.remove(method);
+	}
+
+	/**
+	 * Removes all def/use information from this index
+	 */
+	public void clear() {
+		methods.clear();
+	}
+
+	/**
+	 * Gets the number of methods in this index
+	 *
+	 * @return The number of methods in this index
+	 */
+	public int size() {
+		return methods.size();
+	}
+
+}
@@ -188,6 +188,14 @@ public interface IInfoflowCFG extends BiDiInterproceduralCFG<Unit, SootMethod> {
 	 */
 	public boolean methodWritesValue(SootMethod m, Value v);
 
+	/**
+	 * Gets the index of the locals that are used, defined and live at the
+	 * statements of each method
+	 * 
+	 * @return The def/use index of this control-flow graph
+	 */
+	public DefUseIndex getDefUseIndex();
+
 	/**
 	 * Gets whether the two given units are connected by an exceptional control flow
 	 * edge
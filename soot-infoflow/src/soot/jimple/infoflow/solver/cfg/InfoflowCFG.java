@@ -25,7 +25,6 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 
 import heros.solver.IDESolver;
-import soot.Local;
 import soot.RefType;
 import soot.Scene;
 import soot.SootField;
@@ -33,7 +32,6 @@ import soot.SootMethod;
 import soot.Trap;
 import soot.Unit;
 import soot.Value;
-import soot.ValueBox;
 import soot.jimple.AssignStmt;
 import soot.jimple.FieldRef;
 import soot.jimple.InvokeExpr;
@@ -102,53 +100,7 @@ public class InfoflowCFG implements IInfoflowCFG {
 				}
 			});
 
-	protected final LoadingCache<SootMethod, Local[]> methodToUsedLocals = IDESolver.DEFAULT_CACHE_BUILDER
-			.build(new CacheLoader<SootMethod, Local[]>() {
-				@Override
-				public Local[] load(SootMethod method) throws Exception {
-					if (!method.isConcrete() || !method.hasActiveBody())
-						return new Local[0];
-
-					List<Local> lcs = new ArrayList<Local>(method.getParameterCount() + (method.isStatic() ? 0 : 1));
-
-					for (Unit u : method.getActiveBody().getUnits())
-						useBox: for (ValueBox vb : u.getUseBoxes()) {
-							// Check for parameters
-							for (int i = 0; i < method.getParameterCount(); i++) {
-								if (method.getActiveBody().getParameterLocal(i) == vb.getValue()) {
-									lcs.add((Local) vb.getValue());
-									continue useBox;
-								}
-							}
-						}
-
-					// Add the "this" local
-					if (!method.isStatic())
-						lcs.add(method.getActiveBody().getThisLocal());
-
-					return lcs.toArray(new Local[lcs.size()]);
-				}
-			});
-
-	protected final LoadingCache<SootMethod, Local[]> methodToWrittenLocals = IDESolver.DEFAULT_CACHE_BUILDER
-			.build(new CacheLoader<SootMethod, Local[]>() {
-				@Override
-				public Local[] load(SootMethod method) throws Exception {
-					if (!method.isConcrete() || !method.hasActiveBody())
-						return new Local[0];
-
-					List<Local> lcs = new ArrayList<Local>(method.getActiveBody().getLocalCount());
-
-					for (Unit u : method.getActiveBody().getUnits())
-						if (u instanceof AssignStmt) {
-							AssignStmt assignStmt = (AssignStmt) u;
-							if (assignStmt.getLeftOp() instanceof Local)
-								lcs.add((Local) assignStmt.getLeftOp());
-						}
-
-					return lcs.toArray(new Local[lcs.size()]);
-				}
-			});
+	protected final DefUseIndex defUseIndex = new DefUseIndex(this);
 
 	public InfoflowCFG() {
 		this(new JimpleBasedInterproceduralCFG(true, true));
@@ -482,26 +434,22 @@ public class InfoflowCFG implements IInfoflowCFG {
 	public void notifyMethodChanged(SootMethod m) {
 		if (delegate instanceof JimpleBasedInterproceduralCFG)
 			((JimpleBasedInterproceduralCFG) delegate).initializeUnitToOwner(m);
+		defUseIndex.invalidate(m);
 	}
 
 	@Override
 	public boolean methodReadsValue(SootMethod m, Value v) {
-		Local[] reads = methodToUsedLocals.getUnchecked(m);
-		if (reads != null)
-			for (Local l : reads)
-				if (l == v)
-					return true;
-		return false;
+		return defUseIndex.getDefUse(m).readsParameter(v);
 	}
 
 	@Override
 	public boolean methodWritesValue(SootMethod m, Value v) {
-		Local[] writes = methodToWrittenLocals.getUnchecked(m);
-		if (writes != null)
-			for (Local l : writes)
-				if (l == v)
-					return true;
-		return false;
+		return defUseIndex.getDefUse(m).writesLocal(v);
+	}
+
+	@Override
+	public DefUseIndex getDefUseIndex() {
+		return defUseIndex;
 	}
 
 	@Override
@@ -629,11 +577,7 @@ public class InfoflowCFG implements IInfoflowCFG {
 		methodSideEffects.clear();
 		staticFieldUses.clear();
 
-		methodToUsedLocals.invalidateAll();
-		methodToUsedLocals.cleanUp();
-
-		methodToWrittenLocals.invalidateAll();
-		methodToWrittenLocals.cleanUp();
+		defUseIndex.clear();
 
 		unitToPostdominator.invalidateAll();
 		unitToPostdominator.cleanUp();
@@ -0,0 +1,171 @@
+package soot.jimple.infoflow.solver.executors;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor that runs its tasks on a work-stealing {@link ForkJoinPool} instead
+ * of a single shared work queue. Tasks that are submitted from within a worker
+ * thread are pushed onto the local deque of that worker and can be stolen by
+ * idle workers. The executor keeps the task counting of the
+ * {@link InterruptableExecutor}, so that awaitCompletion() and interrupt()
+ * behave the same as for the thread pool-based executors.
+ *
+ * Note that this executor does not support set semantics, i.e., equal tasks
+ * are not merged. The IFDS solvers only schedule tasks for new jump functions
+ * anyway.
+ */
+public class WorkStealingExecutor extends InterruptableExecutor {
+
+	private static final Runnable NOOP = () -> {
+	};
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Task wrapper that keeps track of the number of running tasks
+	 */
+	private class CountingTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 7451796392624357012L;
+
+		private final Runnable command;
+
+		public CountingTask(Runnable command) {
+			this.command = command;
+		}
+
+		@Override
+		protected void compute() {
+			Throwable t = null;
+			try {
+				// Skip the task if the executor has been interrupted in the meantime
+				if (!interrupted)
+					command.run();
+			} catch (Throwable ex) {
+				t = ex;
+			} finally {
+				afterExecute(command, t);
+			}
+		}
+
+	}
+
+	/**
+	 * Creates a new instance of the {@link WorkStealingExecutor} class
+	 *
+	 * @param parallelism The number of worker threads to use
+	 */
+	public WorkStealingExecutor(int parallelism) {
+		super(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+		this.pool = new ForkJoinPool(Math.max(1, parallelism), p -> {
+			ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+
+			// Take over the thread settings from the factory that the client has
+			// configured for this executor
+			ThreadFactory factory = getThreadFactory();
+			if (factory != null) {
+				Thread template = factory.newThread(NOOP);
+				worker.setName(template.getName());
+				worker.setDaemon(template.isDaemon());
+				worker.setPriority(template.getPriority());
+			}
+			return worker;
+		}, null, true);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		// If the executor was terminated, it must be reset explicitly
+		if (this.terminated) {
+			logger.warn("Executor has terminated. Call reset() before submitting new tasks.");
+			return;
+		}
+
+		// Discard all submitted tasks if the executor has been interrupted
+		if (this.interrupted)
+			return;
+
+		numRunningTasks.increment();
+		try {
+			ForkJoinTask<?> task = new CountingTask(command);
+			Thread curThread = Thread.currentThread();
+			if (curThread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) curThread).getPool() == pool)
+				task.fork();
+			else
+				pool.execute(task);
+		} catch (RejectedExecutionException ex) {
+			// We expect the solver to be aborted, just terminate silently
+			// now
+			numRunningTasks.decrement();
+			this.interrupted = true;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		pool.shutdown();
+		super.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		pool.shutdownNow();
+		super.shutdownNow();
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return pool.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminating() {
+		return pool.isTerminating();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return terminated || pool.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return pool.awaitTermination(timeout, unit);
+	}
+
+	@Override
+	public int getActiveCount() {
+		return pool.getActiveThreadCount();
+	}
+
+	@Override
+	public int getPoolSize() {
+		return pool.getPoolSize();
+	}
+
+	/**
+	 * Gets the number of tasks that have been stolen from one worker by another
+	 * one. This number is an estimate and is only meant for diagnostic purposes.
+	 *
+	 * @return The number of stolen tasks
+	 */
+	public long getStealCount() {
+		return pool.getStealCount();
+	}
+
+	@Override
+	public long getQueuedTaskCount() {
+		return pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount();
+	}
+
+}
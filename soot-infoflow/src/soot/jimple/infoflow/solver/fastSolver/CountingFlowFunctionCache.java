@@ -0,0 +1,47 @@
+package soot.jimple.infoflow.solver.fastSolver;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import heros.FlowFunctionCache;
+import heros.FlowFunctions;
+
+/**
+ * Flow function cache that gives access to the hit statistics of its
+ * underlying caches. The statistics are only available if the cache builder
+ * records them.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ * @param <D> The type of data-flow facts to be computed by the tabulation
+ *            problem
+ * @param <M> The type of objects used to represent methods
+ */
+public class CountingFlowFunctionCache<N, D, M> extends FlowFunctionCache<N, D, M> {
+
+	public CountingFlowFunctionCache(FlowFunctions<N, D, M> delegate,
+			@SuppressWarnings("rawtypes") CacheBuilder builder) {
+		super(delegate, builder);
+	}
+
+	/**
+	 * Gets the combined statistics of all flow function caches
+	 *
+	 * @return The combined statistics of all flow function caches
+	 */
+	public CacheStats getStats() {
+		return normalCache.stats().plus(callCache.stats()).plus(returnCache.stats())
+				.plus(callToReturnCache.stats());
+	}
+
+	/**
+	 * Gets the ratio of flow function requests that could be answered from the
+	 * cache
+	 *
+	 * @return The hit rate of the flow function cache, or 1.0 if there have not
+	 *         been any requests yet
+	 */
+	public double getHitRate() {
+		return getStats().hitRate();
+	}
+
+}
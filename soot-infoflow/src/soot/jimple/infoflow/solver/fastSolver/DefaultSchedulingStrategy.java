@@ -1,6 +1,7 @@
 package soot.jimple.infoflow.solver.fastSolver;
 
 import soot.SootMethod;
+import soot.jimple.infoflow.InfoflowConfiguration.SchedulingStrategy;
 import soot.jimple.infoflow.solver.fastSolver.IFDSSolver.ScheduleTarget;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
 
@@ -135,6 +136,49 @@ public class DefaultSchedulingStrategy<N, D extends FastSolverLinkedNode<D, N>,
 
 	};
 
+	/**
+	 * Strategy that puts all edges into one worklist that is ordered by call graph
+	 * depth and reverse post-order, see {@link SchedulingPriorities}
+	 */
+	public final ISchedulingStrategy<N, D> ORDERED_BY_PRIORITY = new ISchedulingStrategy<N, D>() {
+
+		@Override
+		public void propagateInitialSeeds(D sourceVal, N target, D targetVal, N relatedCallSite,
+				boolean isUnbalancedReturn) {
+			solver.propagate(sourceVal, target, targetVal, relatedCallSite, isUnbalancedReturn,
+					ScheduleTarget.PRIORITY);
+		}
+
+		@Override
+		public void propagateNormalFlow(D sourceVal, N target, D targetVal, N relatedCallSite,
+				boolean isUnbalancedReturn) {
+			solver.propagate(sourceVal, target, targetVal, relatedCallSite, isUnbalancedReturn,
+					ScheduleTarget.PRIORITY);
+		}
+
+		@Override
+		public void propagateCallFlow(D sourceVal, N target, D targetVal, N relatedCallSite,
+				boolean isUnbalancedReturn) {
+			solver.propagate(sourceVal, target, targetVal, relatedCallSite, isUnbalancedReturn,
+					ScheduleTarget.PRIORITY);
+		}
+
+		@Override
+		public void propagateCallToReturnFlow(D sourceVal, N target, D targetVal, N relatedCallSite,
+				boolean isUnbalancedReturn) {
+			solver.propagate(sourceVal, target, targetVal, relatedCallSite, isUnbalancedReturn,
+					ScheduleTarget.PRIORITY);
+		}
+
+		@Override
+		public void propagateReturnFlow(D sourceVal, N target, D targetVal, N relatedCallSite,
+				boolean isUnbalancedReturn) {
+			solver.propagate(sourceVal, target, targetVal, relatedCallSite, isUnbalancedReturn,
+					ScheduleTarget.PRIORITY);
+		};
+
+	};
+
 	/**
 	 * Creates a new instance of the {@link DefaultSchedulingStrategy} class
 	 * 
@@ -144,4 +188,24 @@ public class DefaultSchedulingStrategy<N, D extends FastSolverLinkedNode<D, N>,
 		this.solver = solver;
 	}
 
+	/**
+	 * Gets the scheduling strategy that corresponds to the given configuration
+	 * option
+	 * 
+	 * @param strategy The configured scheduling strategy
+	 * @return The scheduling strategy for the solver
+	 */
+	public ISchedulingStrategy<N, D> getStrategy(SchedulingStrategy strategy) {
+		switch (strategy) {
+		case EachMethodIndividually:
+			return EACH_METHOD_INDIVIDUALLY;
+		case AllEdgesLocally:
+			return ALL_EDGES_LOCALLY;
+		case Priority:
+			return ORDERED_BY_PRIORITY;
+		default:
+			return EACH_EDGE_INDIVIDUALLY;
+		}
+	}
+
 }
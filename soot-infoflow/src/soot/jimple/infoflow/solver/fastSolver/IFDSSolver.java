@@ -13,13 +13,15 @@
  ******************************************************************************/
 package soot.jimple.infoflow.solver.fastSolver;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -34,7 +36,6 @@ import com.google.common.cache.CacheBuilder;
 
 import heros.DontSynchronize;
 import heros.FlowFunction;
-import heros.FlowFunctionCache;
 import heros.FlowFunctions;
 import heros.IFDSTabulationProblem;
 import heros.SynchronizedBy;
@@ -43,19 +44,25 @@ import heros.solver.Pair;
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.Unit;
-import soot.jimple.infoflow.collect.MyConcurrentHashMap;
+import soot.jimple.infoflow.InfoflowConfiguration.JumpFunctionStoreMode;
+import soot.jimple.infoflow.collect.LockFreeMultiMap;
 import soot.jimple.infoflow.data.Abstraction;
 import soot.jimple.infoflow.memory.IMemoryBoundedSolver;
 import soot.jimple.infoflow.memory.ISolverTerminationReason;
+import soot.jimple.infoflow.memory.ISpillableSolver;
 import soot.jimple.infoflow.solver.AbstractIFDSSolver;
 import soot.jimple.infoflow.solver.EndSummary;
 import soot.jimple.infoflow.solver.IStrategyBasedParallelSolver;
 import soot.jimple.infoflow.solver.IncomingRecord;
 import soot.jimple.infoflow.solver.executors.InterruptableExecutor;
 import soot.jimple.infoflow.solver.executors.SetPoolExecutor;
+import soot.jimple.infoflow.solver.jumpFunctions.CompactJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.IJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.MapJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.SpillableJumpFunctions;
+import soot.jimple.infoflow.solver.metrics.SolverMetrics;
 import soot.jimple.infoflow.solver.memory.IMemoryManager;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 /**
  * A solver for an {@link IFDSTabulationProblem}. This solver is not based on
@@ -69,7 +76,8 @@ import soot.util.ConcurrentHashMultiMap;
  * @see IFDSTabulationProblem
  */
 public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiInterproceduralCFG<N, SootMethod>>
-		extends AbstractIFDSSolver<N, D> implements IMemoryBoundedSolver, IStrategyBasedParallelSolver<N, D> {
+		extends AbstractIFDSSolver<N, D>
+		implements IMemoryBoundedSolver, ISpillableSolver, IStrategyBasedParallelSolver<N, D> {
 
 	public enum ScheduleTarget {
 		/**
@@ -80,7 +88,13 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		/**
 		 * Run possibly on another executor
 		 */
-		EXECUTOR;
+		EXECUTOR,
+
+		/**
+		 * Run possibly on another executor, but take the edge from a worklist that is
+		 * ordered by the {@link SchedulingPriorities} of the pending edges
+		 */
+		PRIORITY;
 	}
 
 	public static CacheBuilder<Object, Object> DEFAULT_CACHE_BUILDER = CacheBuilder.newBuilder()
@@ -97,20 +111,20 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	protected int numThreads;
 
 	@SynchronizedBy("thread safe data structure, consistent locking when used")
-	protected MyConcurrentHashMap<PathEdge<N, D>, D> jumpFunctions = new MyConcurrentHashMap<PathEdge<N, D>, D>();
+	protected IJumpFunctions<N, D> jumpFunctions = new MapJumpFunctions<>();
 
 	@SynchronizedBy("thread safe data structure, only modified internally")
 	protected final I icfg;
 
 	// stores summaries that were queried before they were computed
 	// see CC 2010 paper by Naeem, Lhotak and Rodriguez
-	@SynchronizedBy("consistent lock on 'incoming'")
-	protected final MyConcurrentHashMap<Pair<SootMethod, D>, Map<EndSummary<N, D>, EndSummary<N, D>>> endSummary = new MyConcurrentHashMap<>();
+	@SynchronizedBy("lock-free data structure, writes are published with compare-and-set")
+	protected final LockFreeMultiMap<Pair<SootMethod, D>, EndSummary<N, D>> endSummary = new LockFreeMultiMap<>();
 
 	// edges going along calls
 	// see CC 2010 paper by Naeem, Lhotak and Rodriguez
-	@SynchronizedBy("consistent lock on field")
-	protected final ConcurrentHashMultiMap<Pair<SootMethod, D>, IncomingRecord<N, D>> incoming = new ConcurrentHashMultiMap<>();
+	@SynchronizedBy("lock-free data structure, writes are published with compare-and-set")
+	protected final LockFreeMultiMap<Pair<SootMethod, D>, IncomingRecord<N, D>> incoming = new LockFreeMultiMap<>();
 
 	@DontSynchronize("stateless")
 	protected final FlowFunctions<N, D, SootMethod> flowFunctions;
@@ -121,11 +135,23 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	@DontSynchronize("benign races")
 	public long propagationCount;
 
+	@SynchronizedBy("lazily created under a lock on this solver")
+	protected volatile PriorityWorklist<N> priorityWorklist;
+
+	@DontSynchronize("readOnly")
+	protected int edgeBatchSize = 1;
+
+	@DontSynchronize("thread-local")
+	private final ThreadLocal<EdgeBatch<N, D>> edgeBatches = ThreadLocal.withInitial(EdgeBatch::new);
+
 	@DontSynchronize("stateless")
 	protected final D zeroValue;
 
 	@DontSynchronize("readOnly")
-	protected final FlowFunctionCache<N, D, SootMethod> ffCache;
+	protected final CountingFlowFunctionCache<N, D, SootMethod> ffCache;
+
+	@DontSynchronize("readOnly")
+	protected SolverMetrics metrics = null;
 
 	@DontSynchronize("readOnly")
 	protected final boolean followReturnsPastSeeds;
@@ -167,15 +193,15 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	 */
 	public IFDSSolver(IFDSTabulationProblem<N, D, SootMethod, I> tabulationProblem,
 					  @SuppressWarnings("rawtypes") CacheBuilder flowFunctionCacheBuilder) {
-		if (logger.isDebugEnabled())
-			flowFunctionCacheBuilder = flowFunctionCacheBuilder.recordStats();
 		this.zeroValue = tabulationProblem.zeroValue();
 		this.icfg = tabulationProblem.interproceduralCFG();
 		FlowFunctions<N, D, SootMethod> flowFunctions = tabulationProblem.autoAddZero()
 				? new ZeroedFlowFunctions<N, D, SootMethod>(tabulationProblem.flowFunctions(), zeroValue)
 				: tabulationProblem.flowFunctions();
 		if (flowFunctionCacheBuilder != null) {
-			ffCache = new FlowFunctionCache<N, D, SootMethod>(flowFunctions, flowFunctionCacheBuilder);
+			// The statistics are cheap and are required for the solver metrics
+			flowFunctionCacheBuilder = flowFunctionCacheBuilder.recordStats();
+			ffCache = new CountingFlowFunctionCache<N, D, SootMethod>(flowFunctions, flowFunctionCacheBuilder);
 			flowFunctions = ffCache;
 		} else {
 			ffCache = null;
@@ -280,15 +306,82 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		if (killFlag != null || executor.isTerminating() || executor.isTerminated())
 			return;
 
+		// If the current thread collects a batch of edges, we do not submit a new task
+		// for every single edge
+		if (scheduleTarget == ScheduleTarget.EXECUTOR && edgeBatchSize > 1) {
+			EdgeBatch<N, D> batch = edgeBatches.get();
+			if (batch.isOpen) {
+				if (batch.edges == null)
+					batch.edges = new ArrayList<>(Math.min(edgeBatchSize, 16));
+				batch.edges.add(edge);
+				if (batch.edges.size() >= edgeBatchSize)
+					submitEdgeBatch(batch);
+				propagationCount++;
+				return;
+			}
+		}
+
 		IFDSSolver<N, D, I>.PathEdgeProcessingTask task = new PathEdgeProcessingTask(edge, solverId);
 		if (scheduleTarget == ScheduleTarget.EXECUTOR)
 			executor.execute(task);
-		else {
+		else if (scheduleTarget == ScheduleTarget.PRIORITY) {
+			PriorityWorklist<N> worklist = getPriorityWorklist();
+			worklist.add(edge.getTarget(), task);
+			executor.execute(worklist::runNext);
+		} else {
 			LocalWorklistTask.scheduleLocal(task);
 		}
 		propagationCount++;
 	}
 
+	/**
+	 * Starts collecting the edges that the current thread schedules on the
+	 * executor into batches. This method must only be called if no batch is open
+	 * on the current thread.
+	 *
+	 * @param numEdges The number of edges that the caller is going to propagate
+	 * @return True if a batch has been opened and must be closed with
+	 *         {@link #closeEdgeBatch()}, false if batching is not worthwhile
+	 */
+	protected boolean openEdgeBatch(int numEdges) {
+		if (edgeBatchSize <= 1 || numEdges <= 1)
+			return false;
+		edgeBatches.get().isOpen = true;
+		return true;
+	}
+
+	/**
+	 * Submits the remaining edges of the batch that is open on the current thread
+	 * and closes the batch
+	 */
+	protected void closeEdgeBatch() {
+		EdgeBatch<N, D> batch = edgeBatches.get();
+		batch.isOpen = false;
+		submitEdgeBatch(batch);
+	}
+
+	/**
+	 * Gets the worklist for edges that are scheduled by priority. The worklist is
+	 * created on first use, because computing the priorities requires a walk over
+	 * the call graph.
+	 *
+	 * @return The worklist for edges that are scheduled by priority
+	 */
+	protected PriorityWorklist<N> getPriorityWorklist() {
+		PriorityWorklist<N> worklist = this.priorityWorklist;
+		if (worklist == null) {
+			synchronized (this) {
+				worklist = this.priorityWorklist;
+				if (worklist == null) {
+					worklist = new PriorityWorklist<>(new SchedulingPriorities<>(icfg,
+							initialSeeds == null ? Collections.<N>emptySet() : initialSeeds.keySet()));
+					this.priorityWorklist = worklist;
+				}
+			}
+		}
+		return worklist;
+	}
+
 	/**
 	 * Lines 13-20 of the algorithm; processing a call site in the caller's context.
 	 *
@@ -330,10 +423,13 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 								if (d3 == null)
 									continue;
 
-								// for each callee's start point(s)
-								for (N sP : startPointsOf) {
-									// create initial self-loop
-									schedulingStrategy.propagateCallFlow(d3, sP, d3, n, false); // line 15
+								// for each callee's start point(s), unless we already have a
+								// summary for the callee from elsewhere
+								if (!isCalleeSummarized(sCalledProcN, d3)) {
+									for (N sP : startPointsOf) {
+										// create initial self-loop
+										schedulingStrategy.propagateCallFlow(d3, sP, d3, n, false); // line 15
+									}
 								}
 
 								// register the fact that <sp,d3> has an incoming edge from
@@ -357,16 +453,38 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 			FlowFunction<D> callToReturnFlowFunction = flowFunctions.getCallToReturnFlowFunction(n, returnSiteN);
 			Set<D> res = computeCallToReturnFlowFunction(callToReturnFlowFunction, d1, d2);
 			if (res != null && !res.isEmpty()) {
-				for (D d3 : res) {
-					if (memoryManager != null)
-						d3 = memoryManager.handleGeneratedMemoryObject(d2, d3);
-					if (d3 != null)
-						schedulingStrategy.propagateCallToReturnFlow(d1, returnSiteN, d3, n, false);
+				boolean batched = openEdgeBatch(res.size());
+				try {
+					for (D d3 : res) {
+						if (memoryManager != null)
+							d3 = memoryManager.handleGeneratedMemoryObject(d2, d3);
+						if (d3 != null)
+							schedulingStrategy.propagateCallToReturnFlow(d1, returnSiteN, d3, n, false);
+					}
+				} finally {
+					if (batched)
+						closeEdgeBatch();
 				}
 			}
 		}
 	}
 
+	/**
+	 * Checks whether the end summaries of the given callee for the given
+	 * abstraction are already known without analyzing the callee. In that case,
+	 * the summaries must have been registered with this solver before this method
+	 * returns. The solver then applies them on the caller side and does not
+	 * descend into the callee.
+	 *
+	 * @param callee The callee
+	 * @param d3     The abstraction at the start point of the callee
+	 * @return True if the callee need not be analyzed for the given abstraction,
+	 *         otherwise false
+	 */
+	protected boolean isCalleeSummarized(SootMethod callee, D d3) {
+		return false;
+	}
+
 	/**
 	 * Callback to notify derived classes that an end summary has been applied
 	 *
@@ -401,19 +519,25 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 					FlowFunction<D> retFunction = flowFunctions.getReturnFlowFunction(n, sCalledProcN, eP, retSiteN);
 					Set<D> retFlowRes = computeReturnFlowFunction(retFunction, d3, d4, n, Collections.singleton(d1));
 					if (retFlowRes != null && !retFlowRes.isEmpty()) {
-						// for each target value of the function
-						for (D d5 : retFlowRes) {
-							if (memoryManager != null)
-								d5 = memoryManager.handleGeneratedMemoryObject(d4, d5);
-
-							// If we have not changed anything in
-							// the callee, we do not need the facts from
-							// there. Even if we change something:
-							// If we don't need the concrete path,
-							// we can skip the callee in the predecessor
-							// chain
-							D d5p = shortenPredecessors(d5, d2, d3, eP, n);
-							schedulingStrategy.propagateReturnFlow(d1, retSiteN, d5p, n, false);
+						boolean batched = openEdgeBatch(retFlowRes.size());
+						try {
+							// for each target value of the function
+							for (D d5 : retFlowRes) {
+								if (memoryManager != null)
+									d5 = memoryManager.handleGeneratedMemoryObject(d4, d5);
+
+								// If we have not changed anything in
+								// the callee, we do not need the facts from
+								// there. Even if we change something:
+								// If we don't need the concrete path,
+								// we can skip the callee in the predecessor
+								// chain
+								D d5p = shortenPredecessors(d5, d2, d3, eP, n);
+								schedulingStrategy.propagateReturnFlow(d1, retSiteN, d5p, n, false);
+							}
+						} finally {
+							if (batched)
+								closeEdgeBatch();
 						}
 					}
 				}
@@ -491,17 +615,23 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 					final D d4 = entry.d1;
 					final D predVal = entry.d2;
 
-					for (D d5 : targets) {
-						if (memoryManager != null)
-							d5 = memoryManager.handleGeneratedMemoryObject(d2, d5);
-						if (d5 == null)
-							continue;
-
-						// If we have not changed anything in the callee, we do not need the facts from
-						// there. Even if we change something: If we don't need the concrete path, we
-						// can skip the callee in the predecessor chain
-						D d5p = shortenPredecessors(d5, predVal, d1, n, c);
-						schedulingStrategy.propagateReturnFlow(d4, retSiteC, d5p, c, false);
+					boolean batched = openEdgeBatch(targets.size());
+					try {
+						for (D d5 : targets) {
+							if (memoryManager != null)
+								d5 = memoryManager.handleGeneratedMemoryObject(d2, d5);
+							if (d5 == null)
+								continue;
+
+							// If we have not changed anything in the callee, we do not need the facts
+							// from there. Even if we change something: If we don't need the concrete
+							// path, we can skip the callee in the predecessor chain
+							D d5p = shortenPredecessors(d5, predVal, d1, n, c);
+							schedulingStrategy.propagateReturnFlow(d4, retSiteC, d5p, c, false);
+						}
+					} finally {
+						if (batched)
+							closeEdgeBatch();
 					}
 				}
 			}
@@ -582,11 +712,17 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 			FlowFunction<D> flowFunction = flowFunctions.getNormalFlowFunction(n, m);
 			Set<D> res = computeNormalFlowFunction(flowFunction, d1, d2);
 			if (res != null && !res.isEmpty()) {
-				for (D d3 : res) {
-					if (memoryManager != null && d2 != d3)
-						d3 = memoryManager.handleGeneratedMemoryObject(d2, d3);
-					if (d3 != null)
-						schedulingStrategy.propagateNormalFlow(d1, m, d3, null, false);
+				boolean batched = openEdgeBatch(res.size());
+				try {
+					for (D d3 : res) {
+						if (memoryManager != null && d2 != d3)
+							d3 = memoryManager.handleGeneratedMemoryObject(d2, d3);
+						if (d3 != null)
+							schedulingStrategy.propagateNormalFlow(d1, m, d3, null, false);
+					}
+				} finally {
+					if (batched)
+						closeEdgeBatch();
 				}
 			}
 		}
@@ -662,22 +798,22 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	 * @see PathEdge
 	 */
 	public D addFunction(PathEdge<N, D> edge) {
-		return jumpFunctions.putIfAbsent(edge, edge.factAtTarget());
+		return jumpFunctions.addFunction(edge);
 	}
 
 	protected Set<EndSummary<N, D>> endSummary(SootMethod m, D d3) {
-		Map<EndSummary<N, D>, EndSummary<N, D>> map = endSummary.get(new Pair<>(m, d3));
-		return map == null ? null : map.keySet();
+		return endSummary.get(new Pair<>(m, d3));
 	}
 
-	private boolean addEndSummary(SootMethod m, D d1, N eP, D d2) {
+	protected boolean addEndSummary(SootMethod m, D d1, N eP, D d2) {
 		if (d1 == zeroValue)
 			return true;
 
-		Map<EndSummary<N, D>, EndSummary<N, D>> summaries = endSummary.putIfAbsentElseGet(new Pair<>(m, d1),
-				() -> new ConcurrentHashMap<>());
+		// The end summary and the incoming records are both published before they are
+		// read on the other side. Either processExit() sees the new incoming record,
+		// or applyEndSummaryOnCall() sees the new summary, or both.
 		EndSummary<N, D> newSummary = new EndSummary<>(eP, d2, d1);
-		EndSummary<N, D> existingSummary = summaries.putIfAbsent(newSummary, newSummary);
+		EndSummary<N, D> existingSummary = endSummary.putIfAbsent(new Pair<>(m, d1), newSummary);
 		if (existingSummary != null) {
 			existingSummary.calleeD1.addNeighbor(d2);
 			return false;
@@ -733,6 +869,80 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		}
 	}
 
+	/**
+	 * Processes the given path edge depending on the kind of its target statement
+	 *
+	 * @param edge The edge to process
+	 */
+	protected void processPathEdge(PathEdge<N, D> edge) {
+		final N target = edge.getTarget();
+		if (metrics != null)
+			metrics.onEdgeProcessed(icfg.getMethodOf(target));
+		if (icfg.isCallStmt(target)) {
+			processCall(edge);
+		} else {
+			// note that some statements, such as "throw" may be
+			// both an exit statement and a "normal" statement
+			if (icfg.isExitStmt(target))
+				processExit(edge);
+			if (!icfg.getSuccsOf(target).isEmpty())
+				processNormalFlow(edge);
+		}
+	}
+
+	/**
+	 * The edges that the current thread has scheduled while a batch was open, but
+	 * that have not been submitted to the executor yet
+	 */
+	private static class EdgeBatch<N, D> {
+
+		private boolean isOpen = false;
+		private List<PathEdge<N, D>> edges = null;
+
+	}
+
+	/**
+	 * Submits the edges that have been collected in the given batch to the
+	 * executor as a single task
+	 *
+	 * @param batch The batch to submit
+	 */
+	private void submitEdgeBatch(EdgeBatch<N, D> batch) {
+		List<PathEdge<N, D>> toSubmit = batch.edges;
+		batch.edges = null;
+		if (toSubmit == null || toSubmit.isEmpty())
+			return;
+		if (killFlag != null || executor.isTerminating() || executor.isTerminated())
+			return;
+		if (toSubmit.size() == 1)
+			executor.execute(new PathEdgeProcessingTask(toSubmit.get(0), solverId));
+		else
+			executor.execute(new PathEdgeBatchProcessingTask(toSubmit));
+	}
+
+	/**
+	 * Task that processes a batch of path edges one after the other
+	 */
+	private class PathEdgeBatchProcessingTask extends LocalWorklistTask {
+
+		private final List<PathEdge<N, D>> edges;
+
+		public PathEdgeBatchProcessingTask(List<PathEdge<N, D>> edges) {
+			this.edges = edges;
+		}
+
+		@Override
+		public void runInternal() {
+			for (PathEdge<N, D> edge : edges) {
+				// Early termination check
+				if (killFlag != null)
+					return;
+				processPathEdge(edge);
+			}
+		}
+
+	}
+
 	private class PathEdgeProcessingTask extends LocalWorklistTask {
 
 		private final PathEdge<N, D> edge;
@@ -744,17 +954,7 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		}
 
 		public void runInternal() {
-			final N target = edge.getTarget();
-			if (icfg.isCallStmt(target)) {
-				processCall(edge);
-			} else {
-				// note that some statements, such as "throw" may be
-				// both an exit statement and a "normal" statement
-				if (icfg.isExitStmt(target))
-					processExit(edge);
-				if (!icfg.getSuccsOf(target).isEmpty())
-					processNormalFlow(edge);
-			}
+			processPathEdge(edge);
 		}
 
 		@Override
@@ -824,6 +1024,8 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		this.killFlag = reason;
 		this.executor.interrupt();
 		this.executor.shutdown();
+		if (this.priorityWorklist != null)
+			this.priorityWorklist.clear();
 	}
 
 	@Override
@@ -859,6 +1061,86 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		this.maxAbstractionPathLength = maxAbstractionPathLength;
 	}
 
+	/**
+	 * Sets the data structure in which this solver stores its jump functions. This
+	 * method must be called before the solver is started.
+	 *
+	 * @param mode The data structure in which to store the jump functions
+	 */
+	public void setJumpFunctionStoreMode(JumpFunctionStoreMode mode) {
+		switch (mode) {
+		case Compact:
+			this.jumpFunctions = new CompactJumpFunctions<>();
+			break;
+		default:
+			this.jumpFunctions = new MapJumpFunctions<>();
+			break;
+		}
+	}
+
+	/**
+	 * Configures this solver to store its jump functions in partitions per method
+	 * that can be moved out of the heap when memory gets scarce. This replaces the
+	 * store that was selected with
+	 * {@link #setJumpFunctionStoreMode(JumpFunctionStoreMode)}. This method must
+	 * be called before the solver is started.
+	 *
+	 * @param spillDirectory   The directory in which to create the spill file, or
+	 *                         null to use the default temporary directory
+	 * @param coldPropagations The number of propagations since the last access to
+	 *                         a method after which the jump functions of that
+	 *                         method may be spilled
+	 */
+	public void setJumpFunctionSpilling(File spillDirectory, long coldPropagations) {
+		SpillableJumpFunctions<SootMethod, N, D> spillable = new SpillableJumpFunctions<>(
+				(d1, n) -> icfg.getMethodOf(n), spillDirectory);
+		spillable.setColdPropagations(coldPropagations);
+		this.jumpFunctions = spillable;
+	}
+
+	@Override
+	public long spillColdData() {
+		if (jumpFunctions instanceof SpillableJumpFunctions) {
+			SpillableJumpFunctions<?, N, D> spillable = (SpillableJumpFunctions<?, N, D>) jumpFunctions;
+			long spilled = spillable.spillColdPartitions();
+			logger.info("Spilled {} jump functions, {} MB on disk, {} partitions read back so far", spilled,
+					spillable.getSpilledBytes() / 1024 / 1024, spillable.getFaultInCount());
+			return spilled;
+		}
+		return 0;
+	}
+
+	/**
+	 * Sets the maximum number of edges that are submitted to the executor as a
+	 * single task. If a flow function produces multiple facts for the same target
+	 * statement, the resulting edges are processed one after the other in one
+	 * task instead of creating a new task for every single edge.
+	 *
+	 * @param edgeBatchSize The maximum number of edges per task. Values smaller
+	 *                      than two disable the batching.
+	 */
+	public void setEdgeBatchSize(int edgeBatchSize) {
+		this.edgeBatchSize = edgeBatchSize;
+	}
+
+	/**
+	 * Sets the registry in which this solver records its metrics. The solver
+	 * registers gauges for the size of its executor queue, the number of jump
+	 * functions and the hit rate of its flow function cache.
+	 *
+	 * @param metrics The metrics registry, or null to not record any metrics
+	 * @param name    The name under which the gauges of this solver are registered
+	 */
+	public void setMetrics(SolverMetrics metrics, String name) {
+		this.metrics = metrics;
+		if (metrics != null) {
+			metrics.registerGauge(name + ".executorQueueDepth", () -> executor.getQueuedTaskCount());
+			metrics.registerGauge(name + ".jumpFunctions", () -> jumpFunctions.size());
+			if (ffCache != null)
+				metrics.registerGauge(name + ".flowFunctionCacheHitRate", ffCache::getHitRate);
+		}
+	}
+
 	@Override
 	public void setSchedulingStrategy(ISchedulingStrategy<N, D> strategy) {
 		this.schedulingStrategy = strategy;
@@ -11,13 +11,16 @@
 package soot.jimple.infoflow.solver.fastSolver;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import heros.FlowFunction;
+import heros.solver.Pair;
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.Unit;
-import soot.jimple.infoflow.collect.MyConcurrentHashMap;
 import soot.jimple.infoflow.data.Abstraction;
 import soot.jimple.infoflow.problems.AbstractInfoflowProblem;
 import soot.jimple.infoflow.solver.*;
@@ -26,6 +29,7 @@ import soot.jimple.infoflow.solver.functions.SolverCallFlowFunction;
 import soot.jimple.infoflow.solver.functions.SolverCallToReturnFlowFunction;
 import soot.jimple.infoflow.solver.functions.SolverNormalFlowFunction;
 import soot.jimple.infoflow.solver.functions.SolverReturnFlowFunction;
+import soot.jimple.infoflow.solver.persistence.LibrarySummaryCache;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
 
 /**
@@ -42,6 +46,15 @@ public class InfoflowSolver extends IFDSSolver<Unit, Abstraction, BiDiInterproce
 
 	protected ISolverPeerGroup peerGroup = null;
 
+	/**
+	 * The maximum number of callees for which the solver remembers whether their
+	 * end summaries came from the summary cache
+	 */
+	private static final int MAX_CACHED_CALLEES = 100000;
+
+	protected LibrarySummaryCache summaryCache = null;
+	protected final ConcurrentHashMap<Pair<SootMethod, Abstraction>, Boolean> cachedCallees = new ConcurrentHashMap<>();
+
 	public InfoflowSolver(AbstractInfoflowProblem problem, InterruptableExecutor executor) {
 		super(problem);
 		this.problem = problem;
@@ -84,6 +97,71 @@ public class InfoflowSolver extends IFDSSolver<Unit, Abstraction, BiDiInterproce
 		applyEndSummaryOnCall(d1, callSite, d2, returnSiteNs, callee, d3);
 	}
 
+	@Override
+	protected boolean isCalleeSummarized(SootMethod callee, Abstraction d3) {
+		if (summaryCache == null)
+			return false;
+
+		Pair<SootMethod, Abstraction> key = new Pair<>(callee, d3);
+		Boolean summarized = cachedCallees.get(key);
+		if (summarized != null)
+			return summarized;
+
+		// We only keep track of callees that the cache can handle at all. The
+		// store lookup happens outside of the map, so that other threads are not
+		// blocked while we compute fingerprints or read from disk.
+		if (!summaryCache.isCacheable(callee, d3))
+			return false;
+		// Once the map is full, new callees are neither remembered nor stored
+		// after the analysis, but their summaries are still taken from the cache
+		boolean remember = cachedCallees.size() < MAX_CACHED_CALLEES;
+		Set<EndSummary<Unit, Abstraction>> summaries = summaryCache.getSummaries(callee, d3);
+		if (summaries == null) {
+			if (!remember)
+				return false;
+			summarized = cachedCallees.putIfAbsent(key, false);
+			return summarized != null && summarized;
+		}
+
+		// We must install the summaries before we report the callee as summarized,
+		// because our caller applies the end summaries right away. Threads that
+		// race with us install the same summaries.
+		for (EndSummary<Unit, Abstraction> summary : summaries)
+			addEndSummary(callee, d3, summary.eP, summary.d4);
+		if (remember)
+			cachedCallees.putIfAbsent(key, true);
+		return true;
+	}
+
+	/**
+	 * Sets the cache from which this solver takes the end summaries of library
+	 * methods instead of analyzing them
+	 *
+	 * @param summaryCache The cache for the end summaries of library methods
+	 */
+	public void setSummaryCache(LibrarySummaryCache summaryCache) {
+		this.summaryCache = summaryCache;
+	}
+
+	/**
+	 * Hands the end summaries of all library methods that this solver has
+	 * analyzed to the summary cache. This method must only be called after the
+	 * solver has terminated normally, because the end summaries may be incomplete
+	 * otherwise.
+	 */
+	public void storeSummaries() {
+		if (summaryCache == null)
+			return;
+		for (Map.Entry<Pair<SootMethod, Abstraction>, Boolean> entry : cachedCallees.entrySet()) {
+			if (!entry.getValue()) {
+				SootMethod callee = entry.getKey().getO1();
+				Abstraction d3 = entry.getKey().getO2();
+				Set<EndSummary<Unit, Abstraction>> summaries = endSummary(callee, d3);
+				summaryCache.putSummaries(callee, d3, summaries == null ? Collections.emptySet() : summaries);
+			}
+		}
+	}
+
 	@Override
 	protected Set<Abstraction> computeReturnFlowFunction(FlowFunction<Abstraction> retFunction, Abstraction d1,
 			Abstraction d2, Unit callSite, Collection<Abstraction> callerSideDs) {
@@ -123,9 +201,10 @@ public class InfoflowSolver extends IFDSSolver<Unit, Abstraction, BiDiInterproce
 
 	@Override
 	public void cleanup() {
-		this.jumpFunctions = new MyConcurrentHashMap<PathEdge<Unit, Abstraction>, Abstraction>();
+		this.jumpFunctions.clear();
 		this.incoming.clear();
 		this.endSummary.clear();
+		this.cachedCallees.clear();
 		if (this.ffCache != null)
 			this.ffCache.invalidate();
 	}
@@ -0,0 +1,240 @@
+package soot.jimple.infoflow.solver.fastSolver;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Worklist that hands out the pending tasks of a solver approximately in the
+ * order of their priorities. The worklist does not run any threads on its own.
+ * Instead, the solver submits one call to {@link #runNext()} to its executor for
+ * every task it adds, so that the executor can still detect when the solver has
+ * finished.
+ *
+ * To avoid a single lock that all worker threads contend for, the tasks are
+ * spread over several heaps with a lock each. A new task goes to a random heap.
+ * {@link #runNext()} looks at the best tasks of two random heaps and runs the
+ * better one. The order is thus relaxed: the task that is run is not always the
+ * best one in the worklist, but it is close to it. Tasks with equal priorities
+ * in the same heap are processed in the order in which they were added.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ */
+public class PriorityWorklist<N> {
+
+	private static class Entry implements Comparable<Entry> {
+
+		private final long priority;
+		private final long sequence;
+		private final Runnable task;
+
+		public Entry(long priority, long sequence, Runnable task) {
+			this.priority = priority;
+			this.sequence = sequence;
+			this.task = task;
+		}
+
+		@Override
+		public int compareTo(Entry o) {
+			int c = Long.compare(priority, o.priority);
+			if (c != 0)
+				return c;
+			return Long.compare(sequence, o.sequence);
+		}
+
+	}
+
+	/**
+	 * A heap of pending tasks. The priority of the best task is published in a
+	 * volatile field, so that {@link PriorityWorklist#runNext()} can compare two
+	 * heaps without locking them.
+	 */
+	private static class Heap {
+
+		private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+		private volatile long bestPriority = Long.MAX_VALUE;
+		private volatile boolean isEmpty = true;
+
+		private synchronized void add(Entry entry) {
+			queue.add(entry);
+			updateBest();
+		}
+
+		private synchronized Entry poll() {
+			Entry entry = queue.poll();
+			updateBest();
+			return entry;
+		}
+
+		private synchronized int clear() {
+			int size = queue.size();
+			queue.clear();
+			updateBest();
+			return size;
+		}
+
+		private void updateBest() {
+			Entry best = queue.peek();
+			bestPriority = best == null ? Long.MAX_VALUE : best.priority;
+			isEmpty = best == null;
+		}
+
+	}
+
+	private final SchedulingPriorities<N> priorities;
+	private final Heap[] heaps;
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLong pending = new AtomicLong();
+
+	// Threads that found all heaps empty wait here. The lock is only taken if
+	// there are waiting threads, so that adding a task stays cheap.
+	private final ReentrantLock waitLock = new ReentrantLock();
+	private final Condition taskAdded = waitLock.newCondition();
+	private final AtomicInteger waiters = new AtomicInteger();
+
+	/**
+	 * Creates a new worklist with two heaps per available processor
+	 *
+	 * @param priorities The priorities of the statements
+	 */
+	public PriorityWorklist(SchedulingPriorities<N> priorities) {
+		this(priorities, Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Creates a new worklist
+	 *
+	 * @param priorities The priorities of the statements
+	 * @param numHeaps   The number of heaps over which to spread the tasks. With a
+	 *                   single heap, the tasks are processed in exact priority
+	 *                   order.
+	 */
+	public PriorityWorklist(SchedulingPriorities<N> priorities, int numHeaps) {
+		this.priorities = priorities;
+		this.heaps = new Heap[Math.max(1, numHeaps)];
+		for (int i = 0; i < heaps.length; i++)
+			heaps[i] = new Heap();
+	}
+
+	/**
+	 * Adds a new task to this worklist
+	 *
+	 * @param target The statement at which the edge processed by the task ends
+	 * @param task   The task to add
+	 */
+	public void add(N target, Runnable task) {
+		Entry entry = new Entry(priorities.getPriority(target), sequence.getAndIncrement(), task);
+		heaps[ThreadLocalRandom.current().nextInt(heaps.length)].add(entry);
+		pending.incrementAndGet();
+		signalWaiters();
+	}
+
+	/**
+	 * Wakes up all threads that wait for a task
+	 */
+	private void signalWaiters() {
+		if (waiters.get() > 0) {
+			waitLock.lock();
+			try {
+				taskAdded.signalAll();
+			} finally {
+				waitLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Runs a task with a high priority, i.e., a low priority value, that is
+	 * currently in this worklist
+	 */
+	public void runNext() {
+		Entry entry = pollNext();
+		if (entry != null)
+			entry.task.run();
+	}
+
+	/**
+	 * Takes the next task from this worklist. Every call to {@link #add} is
+	 * followed by exactly one call to {@link #runNext()}, so there is always a
+	 * task for the caller unless the worklist has been cleared. The heap that
+	 * has the caller's task may however be drained by another thread while the
+	 * caller looks at a different heap. In that case, the caller waits until a
+	 * new task is added and tries again.
+	 *
+	 * @return The next task, or null if the worklist is empty
+	 */
+	private Entry pollNext() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (pending.get() > 0) {
+			Heap heap;
+			if (heaps.length == 1)
+				heap = heaps[0];
+			else {
+				Heap first = heaps[random.nextInt(heaps.length)];
+				Heap second = heaps[random.nextInt(heaps.length)];
+				heap = second.bestPriority < first.bestPriority ? second : first;
+
+				// If both heaps are empty, we look for any heap with a task
+				if (heap.isEmpty) {
+					int start = random.nextInt(heaps.length);
+					for (int i = 0; i < heaps.length && heap.isEmpty; i++)
+						heap = heaps[(start + i) % heaps.length];
+				}
+			}
+
+			Entry entry = heap.poll();
+			if (entry != null) {
+				pending.decrementAndGet();
+				return entry;
+			}
+			if (!awaitTask())
+				return null;
+		}
+		return null;
+	}
+
+	/**
+	 * Waits until there is a task in one of the heaps. A thread that adds a task
+	 * publishes it before it checks for waiting threads, and a waiting thread
+	 * registers itself before it checks the heaps again, so no task can be added
+	 * unnoticed.
+	 *
+	 * @return True if the caller shall look for a task again, false if the
+	 *         thread has been interrupted
+	 */
+	private boolean awaitTask() {
+		waitLock.lock();
+		waiters.incrementAndGet();
+		try {
+			while (pending.get() > 0 && allHeapsEmpty())
+				taskAdded.await();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			waiters.decrementAndGet();
+			waitLock.unlock();
+		}
+	}
+
+	private boolean allHeapsEmpty() {
+		for (Heap heap : heaps)
+			if (!heap.isEmpty)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Removes all pending tasks from this worklist
+	 */
+	public void clear() {
+		for (Heap heap : heaps)
+			pending.addAndGet(-heap.clear());
+		signalWaiters();
+	}
+
+}
@@ -0,0 +1,239 @@
+package soot.jimple.infoflow.solver.fastSolver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import soot.SootMethod;
+import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
+
+/**
+ * Computes the order in which a solver should process the edges that are
+ * pending in its worklist. Methods that are deeper in the condensed call graph
+ * come first, i.e., callees are processed before their callers as far as
+ * possible. All methods in the same strongly-connected component share the
+ * same depth. Inside a method, statements are ordered by their reverse
+ * post-order index in the control-flow graph.
+ *
+ * The call graph depths are computed once for all methods that are reachable
+ * from the given start methods. The reverse post-order of a method is computed
+ * on first use.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ */
+public class SchedulingPriorities<N> {
+
+	private final BiDiInterproceduralCFG<N, SootMethod> icfg;
+	private final Map<SootMethod, Integer> methodDepths;
+	private final int maxDepth;
+	private final ConcurrentHashMap<SootMethod, Map<N, Integer>> reversePostOrders = new ConcurrentHashMap<>();
+
+	public SchedulingPriorities(BiDiInterproceduralCFG<N, SootMethod> icfg, Collection<N> startPoints) {
+		this.icfg = icfg;
+
+		Set<SootMethod> startMethods = new HashSet<>();
+		for (N sp : startPoints) {
+			SootMethod sm = icfg.getMethodOf(sp);
+			if (sm != null)
+				startMethods.add(sm);
+		}
+		this.methodDepths = computeMethodDepths(startMethods);
+
+		int max = 0;
+		for (int depth : methodDepths.values())
+			max = Math.max(max, depth);
+		this.maxDepth = max;
+	}
+
+	/**
+	 * Gets the priority of an edge that ends at the given statement. Edges with
+	 * lower values shall be processed first.
+	 *
+	 * @param node The target statement of the edge
+	 * @return The priority of the edge
+	 */
+	public long getPriority(N node) {
+		SootMethod sm = icfg.getMethodOf(node);
+		if (sm == null)
+			return Long.MAX_VALUE;
+
+		// Methods that we have not seen when computing the call graph depths, e.g.,
+		// callers reached through unbalanced returns, come last
+		Integer depth = methodDepths.get(sm);
+		long depthRank = depth == null ? maxDepth + 1 : maxDepth - depth;
+
+		Integer rpo = getReversePostOrder(sm).get(node);
+		return (depthRank << 32) | (rpo == null ? Integer.MAX_VALUE : rpo);
+	}
+
+	/**
+	 * Gets the reverse post-order indices of the statements in the given method
+	 *
+	 * @param sm The method
+	 * @return A mapping from the statements in the given method to their reverse
+	 *         post-order index
+	 */
+	private Map<N, Integer> getReversePostOrder(SootMethod sm) {
+		Map<N, Integer> rpo = reversePostOrders.get(sm);
+		if (rpo == null)
+			rpo = reversePostOrders.computeIfAbsent(sm, this::computeReversePostOrder);
+		return rpo;
+	}
+
+	/**
+	 * Computes the reverse post-order of the statements in the given method
+	 *
+	 * @param sm The method
+	 * @return A mapping from the statements in the given method to their reverse
+	 *         post-order index
+	 */
+	private Map<N, Integer> computeReversePostOrder(SootMethod sm) {
+		List<N> postOrder = new ArrayList<>();
+		Set<N> visited = new HashSet<>();
+		Deque<N> nodeStack = new ArrayDeque<>();
+		Deque<Iterator<N>> succStack = new ArrayDeque<>();
+		for (N sp : icfg.getStartPointsOf(sm)) {
+			if (!visited.add(sp))
+				continue;
+			nodeStack.push(sp);
+			succStack.push(icfg.getSuccsOf(sp).iterator());
+			while (!nodeStack.isEmpty()) {
+				Iterator<N> succIt = succStack.peek();
+				if (succIt.hasNext()) {
+					N succ = succIt.next();
+					if (visited.add(succ)) {
+						nodeStack.push(succ);
+						succStack.push(icfg.getSuccsOf(succ).iterator());
+					}
+				} else {
+					postOrder.add(nodeStack.pop());
+					succStack.pop();
+				}
+			}
+		}
+
+		Map<N, Integer> rpo = new HashMap<>(postOrder.size());
+		for (int i = 0; i < postOrder.size(); i++)
+			rpo.put(postOrder.get(i), postOrder.size() - 1 - i);
+		return rpo;
+	}
+
+	/**
+	 * Computes the depth of all methods reachable from the given start methods in
+	 * the condensed call graph. The strongly-connected components are computed
+	 * with an iterative version of Tarjan's algorithm.
+	 *
+	 * @param startMethods The methods from which to start
+	 * @return A mapping from the reachable methods to their call graph depths
+	 */
+	private Map<SootMethod, Integer> computeMethodDepths(Set<SootMethod> startMethods) {
+		Map<SootMethod, Integer> index = new HashMap<>();
+		Map<SootMethod, Integer> lowLink = new HashMap<>();
+		Map<SootMethod, List<SootMethod>> callees = new HashMap<>();
+		Set<SootMethod> onStack = new HashSet<>();
+		Deque<SootMethod> sccStack = new ArrayDeque<>();
+		Deque<SootMethod> dfsStack = new ArrayDeque<>();
+		Deque<Iterator<SootMethod>> calleeStack = new ArrayDeque<>();
+
+		// Tarjan's algorithm emits the components in reverse topological order
+		List<List<SootMethod>> components = new ArrayList<>();
+		for (SootMethod start : startMethods) {
+			if (index.containsKey(start))
+				continue;
+
+			int nextIndex = index.size();
+			index.put(start, nextIndex);
+			lowLink.put(start, nextIndex);
+			sccStack.push(start);
+			onStack.add(start);
+			dfsStack.push(start);
+			calleeStack.push(getCallees(start, callees).iterator());
+
+			while (!dfsStack.isEmpty()) {
+				SootMethod sm = dfsStack.peek();
+				Iterator<SootMethod> calleeIt = calleeStack.peek();
+				if (calleeIt.hasNext()) {
+					SootMethod callee = calleeIt.next();
+					if (!index.containsKey(callee)) {
+						nextIndex = index.size();
+						index.put(callee, nextIndex);
+						lowLink.put(callee, nextIndex);
+						sccStack.push(callee);
+						onStack.add(callee);
+						dfsStack.push(callee);
+						calleeStack.push(getCallees(callee, callees).iterator());
+					} else if (onStack.contains(callee))
+						lowLink.put(sm, Math.min(lowLink.get(sm), index.get(callee)));
+				} else {
+					dfsStack.pop();
+					calleeStack.pop();
+					if (!dfsStack.isEmpty()) {
+						SootMethod caller = dfsStack.peek();
+						lowLink.put(caller, Math.min(lowLink.get(caller), lowLink.get(sm)));
+					}
+					if (lowLink.get(sm).equals(index.get(sm))) {
+						List<SootMethod> component = new ArrayList<>();
+						SootMethod member;
+						do {
+							member = sccStack.pop();
+							onStack.remove(member);
+							component.add(member);
+						} while (member != sm);
+						components.add(component);
+					}
+				}
+			}
+		}
+
+		// Compute the longest path to each component, starting with the callers
+		Map<SootMethod, Integer> component = new HashMap<>();
+		for (int i = 0; i < components.size(); i++)
+			for (SootMethod sm : components.get(i))
+				component.put(sm, i);
+		int[] depths = new int[components.size()];
+		for (int i = components.size() - 1; i >= 0; i--) {
+			for (SootMethod sm : components.get(i)) {
+				for (SootMethod callee : callees.get(sm)) {
+					int calleeComponent = component.get(callee);
+					if (calleeComponent != i)
+						depths[calleeComponent] = Math.max(depths[calleeComponent], depths[i] + 1);
+				}
+			}
+		}
+
+		Map<SootMethod, Integer> methodDepths = new HashMap<>(component.size());
+		for (Map.Entry<SootMethod, Integer> entry : component.entrySet())
+			methodDepths.put(entry.getKey(), depths[entry.getValue()]);
+		return methodDepths;
+	}
+
+	/**
+	 * Gets the methods that are called from within the given method
+	 *
+	 * @param sm      The method
+	 * @param callees The cache of callees that have already been computed
+	 * @return The methods that are called from within the given method
+	 */
+	private List<SootMethod> getCallees(SootMethod sm, Map<SootMethod, List<SootMethod>> callees) {
+		List<SootMethod> result = callees.get(sm);
+		if (result == null) {
+			Set<SootMethod> targets = new HashSet<>();
+			if (sm.hasActiveBody()) {
+				for (N callSite : icfg.getCallsFromWithin(sm))
+					targets.addAll(icfg.getCalleesOfCallAt(callSite));
+			}
+			result = new ArrayList<>(targets);
+			callees.put(sm, result);
+		}
+		return result;
+	}
+
+}
@@ -39,6 +39,7 @@ import heros.solver.Pair;
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.Unit;
+import soot.jimple.infoflow.InfoflowConfiguration.JumpFunctionStoreMode;
 import soot.jimple.infoflow.collect.ConcurrentHashSet;
 import soot.jimple.infoflow.collect.MyConcurrentHashMap;
 import soot.jimple.infoflow.memory.IMemoryBoundedSolver;
@@ -48,6 +49,9 @@ import soot.jimple.infoflow.solver.EndSummary;
 import soot.jimple.infoflow.solver.executors.InterruptableExecutor;
 import soot.jimple.infoflow.solver.executors.SetPoolExecutor;
 import soot.jimple.infoflow.solver.fastSolver.FastSolverLinkedNode;
+import soot.jimple.infoflow.solver.jumpFunctions.CompactJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.IJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.MapJumpFunctions;
 import soot.jimple.infoflow.solver.memory.IMemoryManager;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
 
@@ -79,7 +83,7 @@ public class FlowInsensitiveSolver<N extends Unit, D extends FastSolverLinkedNod
 	protected int numThreads;
 
 	@SynchronizedBy("thread safe data structure, consistent locking when used")
-	protected MyConcurrentHashMap<PathEdge<SootMethod, D>, D> jumpFunctions = new MyConcurrentHashMap<>();
+	protected IJumpFunctions<SootMethod, D> jumpFunctions = new MapJumpFunctions<>();
 
 	@SynchronizedBy("thread safe data structure, only modified internally")
 	protected final I icfg;
@@ -652,7 +656,7 @@ public class FlowInsensitiveSolver<N extends Unit, D extends FastSolverLinkedNod
 	 * @see PathEdge
 	 */
 	public D addFunction(PathEdge<SootMethod, D> edge) {
-		return jumpFunctions.putIfAbsent(edge, edge.factAtTarget());
+		return jumpFunctions.addFunction(edge);
 	}
 
 	protected Set<EndSummary<N, D>> endSummary(SootMethod m, D d3) {
@@ -826,4 +830,21 @@ public class FlowInsensitiveSolver<N extends Unit, D extends FastSolverLinkedNod
 		this.maxAbstractionPathLength = maxAbstractionPathLength;
 	}
 
+	/**
+	 * Sets the data structure in which this solver stores its jump functions. This
+	 * method must be called before the solver is started.
+	 *
+	 * @param mode The data structure in which to store the jump functions
+	 */
+	public void setJumpFunctionStoreMode(JumpFunctionStoreMode mode) {
+		switch (mode) {
+		case Compact:
+			this.jumpFunctions = new CompactJumpFunctions<>();
+			break;
+		default:
+			this.jumpFunctions = new MapJumpFunctions<>();
+			break;
+		}
+	}
+
 }
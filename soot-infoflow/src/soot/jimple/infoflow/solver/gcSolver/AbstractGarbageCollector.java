@@ -1,9 +1,8 @@
 package soot.jimple.infoflow.solver.gcSolver;
 
-import heros.solver.PathEdge;
 import soot.SootMethod;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 /**
  * Abstract base class for garbage collectors
@@ -15,10 +14,10 @@ public abstract class AbstractGarbageCollector<N, D, A> implements IGarbageColle
 
 	protected final BiDiInterproceduralCFG<N, SootMethod> icfg;
 	protected final IGCReferenceProvider<A> referenceProvider;
-	protected final ConcurrentHashMultiMap<A, PathEdge<N, D>> jumpFunctions;
+	protected final IPartitionedJumpFunctions<A, N, D> jumpFunctions;
 
 	public AbstractGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<A, PathEdge<N, D>> jumpFunctions,
+			IPartitionedJumpFunctions<A, N, D> jumpFunctions,
 			IGCReferenceProvider<A> referenceProvider) {
 		this.icfg = icfg;
 		this.referenceProvider = referenceProvider;
@@ -27,7 +26,7 @@ public abstract class AbstractGarbageCollector<N, D, A> implements IGarbageColle
 	}
 
 	public AbstractGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<A, PathEdge<N, D>> jumpFunctions) {
+			IPartitionedJumpFunctions<A, N, D> jumpFunctions) {
 		this.icfg = icfg;
 		this.referenceProvider = createReferenceProvider();
 		this.jumpFunctions = jumpFunctions;
@@ -49,7 +48,7 @@ public abstract class AbstractGarbageCollector<N, D, A> implements IGarbageColle
 	protected abstract IGCReferenceProvider<A> createReferenceProvider();
 
 	protected long getRemainingPathEdgeCount() {
-		return jumpFunctions.values().size();
+		return jumpFunctions.size();
 	}
 
 }
@@ -1,19 +1,39 @@
 package soot.jimple.infoflow.solver.gcSolver;
 
+import java.util.ArrayList;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.jimple.infoflow.collect.ConcurrentCountingMap;
 import soot.jimple.infoflow.collect.ConcurrentHashSet;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.infoflow.util.ExtendedAtomicInteger;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 /**
- * Abstract base class for garbage collectors based on reference counting
+ * Abstract base class for garbage collectors based on reference counting.
+ * 
+ * Garbage collection can either sweep over all abstractions for which edges
+ * have been scheduled ({@link #gcImmediate()}), or work incrementally
+ * ({@link #gcIncremental()}). In incremental mode, an abstraction becomes a
+ * candidate for collection as soon as its reference count drops to zero. The
+ * candidate is only reclaimed once all tasks that were running at that point in
+ * time have finished (epoch-based reclamation), because these tasks may still
+ * schedule new edges for the abstraction. The propagation tasks only publish
+ * their epoch and never wait for the garbage collector.
  * 
  * @author Steven Arzt
  *
@@ -21,12 +41,79 @@ import soot.util.ConcurrentHashMultiMap;
 public abstract class AbstractReferenceCountingGarbageCollector<N, D, A> extends AbstractGarbageCollector<N, D, A>
 		implements IGarbageCollectorPeer<A> {
 
+	/**
+	 * Epoch of a thread that is currently not processing a task
+	 */
+	private static final long IDLE_EPOCH = Long.MAX_VALUE;
+
+	/**
+	 * Epoch of a candidate that has been taken by the garbage collector
+	 */
+	private static final long CLAIMED_EPOCH = -1;
+
+	/**
+	 * The epoch in which a worker thread has started its current task
+	 */
+	private static class EpochSlot {
+
+		private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+		private volatile long epoch = IDLE_EPOCH;
+
+		/**
+		 * Checks whether the thread that owns this slot has terminated. Such a slot
+		 * can never become active again.
+		 * 
+		 * @return True if the owning thread has terminated, false otherwise
+		 */
+		public boolean isOrphaned() {
+			Thread thread = owner.get();
+			return thread == null || !thread.isAlive();
+		}
+
+	}
+
+	/**
+	 * An abstraction whose reference count has dropped to zero
+	 */
+	private static class Candidate<A> {
+
+		private final A abstraction;
+		private final AtomicLong retireEpoch;
+
+		public Candidate(A abstraction, long retireEpoch) {
+			this.abstraction = abstraction;
+			this.retireEpoch = new AtomicLong(retireEpoch);
+		}
+
+		/**
+		 * Moves the candidate to the given epoch, because the reference count of the
+		 * abstraction has dropped to zero again
+		 * 
+		 * @param epoch The current epoch
+		 * @return True if the candidate has been updated, false if the candidate has
+		 *         already been taken by the garbage collector
+		 */
+		public boolean refresh(long epoch) {
+			while (true) {
+				long cur = retireEpoch.get();
+				if (cur == CLAIMED_EPOCH)
+					return false;
+				if (cur >= epoch || retireEpoch.compareAndSet(cur, epoch))
+					return true;
+			}
+		}
+
+	}
+
 	protected ConcurrentCountingMap<A> jumpFnCounter = new ConcurrentCountingMap<>();
 	protected final Set<A> gcScheduleSet = new ConcurrentHashSet<>();
 	protected final AtomicInteger gcedAbstractions = new AtomicInteger();
 	protected final AtomicInteger gcedEdges = new AtomicInteger();
+	protected final AtomicInteger collectionCount = new AtomicInteger();
+	protected final AtomicLong collectionTimeNanos = new AtomicLong();
 	protected final ExtendedAtomicInteger edgeCounterForThreshold = new ExtendedAtomicInteger();
 	protected GarbageCollectionTrigger trigger = GarbageCollectionTrigger.Immediate;
+	protected AdaptiveGarbageCollectionPolicy adaptivePolicy = null;
 	protected GarbageCollectorPeerGroup<A> peerGroup = null;
 	protected boolean checkChangeCounter = false;
 
@@ -43,14 +130,34 @@ public abstract class AbstractReferenceCountingGarbageCollector<N, D, A> extends
 	 */
 	protected int edgeThreshold = 0;
 
+	/**
+	 * True to collect abstractions incrementally once their reference count drops
+	 * to zero, false to sweep over all scheduled abstractions
+	 */
+	protected volatile boolean incremental = false;
+	/**
+	 * The time in milliseconds after which abstractions that could not be
+	 * collected due to active dependencies are checked again, even if no other
+	 * abstraction has been collected in the meantime
+	 */
+	protected long blockedRetryIntervalMillis = 1000;
+
+	private final AtomicLong globalEpoch = new AtomicLong();
+	private final Queue<EpochSlot> epochSlots = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<EpochSlot> localEpochSlot = new ThreadLocal<>();
+	private final ConcurrentMap<A, Candidate<A>> candidates = new ConcurrentHashMap<>();
+	private final Queue<Candidate<A>> candidateQueue = new ConcurrentLinkedQueue<>();
+	private final List<A> blockedCandidates = new ArrayList<>();
+	private long lastBlockedRetry = System.currentTimeMillis();
+
 	public AbstractReferenceCountingGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<A, PathEdge<N, D>> jumpFunctions,
+			IPartitionedJumpFunctions<A, N, D> jumpFunctions,
 			IGCReferenceProvider<A> referenceProvider) {
 		super(icfg, jumpFunctions, referenceProvider);
 	}
 
 	public AbstractReferenceCountingGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<A, PathEdge<N, D>> jumpFunctions) {
+			IPartitionedJumpFunctions<A, N, D> jumpFunctions) {
 		super(icfg, jumpFunctions);
 	}
 
@@ -60,7 +167,8 @@ public abstract class AbstractReferenceCountingGarbageCollector<N, D, A> extends
 	public void notifyEdgeSchedule(PathEdge<N, D> edge) {
 		A abstraction = genAbstraction(edge);
 		jumpFnCounter.increment(abstraction);
-		gcScheduleSet.add(abstraction);
+		if (!incremental)
+			gcScheduleSet.add(abstraction);
 		if (trigger == GarbageCollectionTrigger.EdgeThreshold)
 			edgeCounterForThreshold.incrementAndGet();
 
@@ -70,10 +178,85 @@ public abstract class AbstractReferenceCountingGarbageCollector<N, D, A> extends
 		}
 	}
 
+	@Override
+	public void notifyTaskStarted(PathEdge<N, D> edge) {
+		if (incremental) {
+			EpochSlot slot = localEpochSlot.get();
+			if (slot == null) {
+				slot = new EpochSlot();
+				localEpochSlot.set(slot);
+				epochSlots.add(slot);
+			}
+
+			// Make sure that the garbage collector sees our epoch before it advances
+			// the global epoch any further
+			long epoch;
+			do {
+				epoch = globalEpoch.get();
+				slot.epoch = epoch;
+			} while (epoch != globalEpoch.get());
+		}
+	}
+
 	@Override
 	public void notifyTaskProcessed(PathEdge<N, D> edge) {
 		A abstraction = genAbstraction(edge);
-		jumpFnCounter.decrement(abstraction);
+		int count = jumpFnCounter.decrement(abstraction);
+		if (incremental) {
+			if (count <= 0)
+				retire(abstraction);
+
+			EpochSlot slot = localEpochSlot.get();
+			if (slot != null)
+				slot.epoch = IDLE_EPOCH;
+		}
+	}
+
+	/**
+	 * Registers the given abstraction as a candidate for incremental garbage
+	 * collection
+	 * 
+	 * @param abstraction The abstraction whose reference count has dropped to zero
+	 */
+	private void retire(A abstraction) {
+		long epoch = globalEpoch.get();
+		while (true) {
+			Candidate<A> candidate = candidates.get(abstraction);
+			if (candidate != null && candidate.refresh(epoch))
+				return;
+
+			// The old candidate, if any, has already been taken by the garbage
+			// collector
+			Candidate<A> newCandidate = new Candidate<>(abstraction, epoch);
+			if (candidate == null ? candidates.putIfAbsent(abstraction, newCandidate) == null
+					: candidates.replace(abstraction, candidate, newCandidate)) {
+				candidateQueue.add(newCandidate);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the configured trigger allows for a garbage collection
+	 * 
+	 * @param pendingAbstractions The number of abstractions that are waiting to be
+	 *                            collected
+	 * @return True if the garbage collection shall be performed now, false
+	 *         otherwise
+	 */
+	protected boolean shouldCollect(int pendingAbstractions) {
+		switch (trigger) {
+		case Immediate:
+			return true;
+		case MethodThreshold:
+			return pendingAbstractions > methodThreshold;
+		case EdgeThreshold:
+			return edgeCounterForThreshold.get() > edgeThreshold;
+		case Adaptive:
+			return adaptivePolicy.shouldCollect();
+		default:
+			return false;
+		}
 	}
 
 	/**
@@ -81,13 +264,10 @@ public abstract class AbstractReferenceCountingGarbageCollector<N, D, A> extends
 	 */
 	protected void gcImmediate() {
 		if (gcScheduleSet != null && !gcScheduleSet.isEmpty()) {
-			// Check our various triggers for garbage collection
-			boolean gc = trigger == GarbageCollectionTrigger.Immediate;
-			gc |= trigger == GarbageCollectionTrigger.MethodThreshold && gcScheduleSet.size() > methodThreshold;
-			gc |= trigger == GarbageCollectionTrigger.EdgeThreshold && edgeCounterForThreshold.get() > edgeThreshold;
-
 			// Perform the garbage collection if required
-			if (gc) {
+			if (shouldCollect(gcScheduleSet.size())) {
+				long beforeCollection = System.nanoTime();
+				int gcedBefore = gcedAbstractions.get();
 				onBeforeRemoveEdges();
 				for (A abst : gcScheduleSet) {
 					// Is it safe to remove this method?
@@ -97,30 +277,135 @@ public abstract class AbstractReferenceCountingGarbageCollector<N, D, A> extends
 					} else if (hasActiveDependencies(abst))
 						continue;
 
-					// Get stats for the stuff we are about to remove
-					Set<PathEdge<N, D>> oldFunctions = jumpFunctions.get(abst);
-					if (oldFunctions != null) {
-						int gcedSize = oldFunctions.size();
-						gcedEdges.addAndGet(gcedSize);
-						if (trigger == GarbageCollectionTrigger.EdgeThreshold)
-							edgeCounterForThreshold.subtract(gcedSize);
-					}
-
 					// First unregister the method, then delete the edges. In case some other thread
 					// concurrently schedules a new edge, the method gets back into the GC work list
 					// this way.
 					gcScheduleSet.remove(abst);
-					if (jumpFunctions.remove(abst)) {
-						gcedAbstractions.incrementAndGet();
-						if (validateEdges)
-							oldEdges.addAll(oldFunctions);
-					}
+					removeFunctions(abst);
 				}
 				onAfterRemoveEdges();
+				if (gcedAbstractions.get() > gcedBefore) {
+					collectionCount.incrementAndGet();
+					collectionTimeNanos.addAndGet(System.nanoTime() - beforeCollection);
+				}
 			}
 		}
 	}
 
+	/**
+	 * Performs one round of incremental garbage collection. Only candidates whose
+	 * reference count has dropped to zero before all currently running tasks were
+	 * started are considered. This method never blocks the propagation tasks.
+	 */
+	protected synchronized void gcIncremental() {
+		// If the trigger does not fire yet, we leave the candidates in the queue for
+		// now
+		if (!shouldCollect(candidates.size()))
+			return;
+		long beforeCollection = System.nanoTime();
+
+		// Start a new epoch. Everything that has been retired before the oldest epoch
+		// of a running task is safe to collect. Threads that have terminated cannot
+		// run any more tasks, so we drop their slots.
+		final long epoch = globalEpoch.incrementAndGet();
+		long safeEpoch = epoch;
+		for (Iterator<EpochSlot> slotIt = epochSlots.iterator(); slotIt.hasNext();) {
+			EpochSlot slot = slotIt.next();
+			if (slot.isOrphaned())
+				slotIt.remove();
+			else
+				safeEpoch = Math.min(safeEpoch, slot.epoch);
+		}
+
+		// Every queued candidate is also in the candidate map. Do not look at more
+		// candidates than that, in case the solver adds new ones faster than we can
+		// process them.
+		int budget = candidates.size();
+		List<Candidate<A>> notReady = new ArrayList<>();
+		boolean progress = false;
+		boolean removed = false;
+		Candidate<A> candidate;
+		while (budget-- > 0 && (candidate = candidateQueue.poll()) != null) {
+			long retireEpoch = candidate.retireEpoch.get();
+			if (retireEpoch >= safeEpoch || !candidate.retireEpoch.compareAndSet(retireEpoch, CLAIMED_EPOCH)) {
+				notReady.add(candidate);
+				continue;
+			}
+			candidates.remove(candidate.abstraction, candidate);
+			progress = true;
+
+			// If the abstraction has been scheduled again, it will become a candidate
+			// again once its reference count drops to zero
+			A abst = candidate.abstraction;
+			if (jumpFnCounter.get(abst) > 0)
+				continue;
+
+			// Is it safe to remove this abstraction?
+			if (peerGroup != null ? peerGroup.hasActiveDependencies(abst) : hasActiveDependencies(abst)) {
+				blockedCandidates.add(abst);
+				continue;
+			}
+
+			if (!removed) {
+				onBeforeRemoveEdges();
+				removed = true;
+			}
+			removeFunctions(abst);
+		}
+		candidateQueue.addAll(notReady);
+		if (removed) {
+			onAfterRemoveEdges();
+			collectionCount.incrementAndGet();
+			collectionTimeNanos.addAndGet(System.nanoTime() - beforeCollection);
+		}
+
+		// Abstractions with active dependencies can only be collected after some
+		// other abstraction has been released. The peers do not tell us about their
+		// abstractions, so we check again after some time in any case.
+		long time = System.currentTimeMillis();
+		if (!blockedCandidates.isEmpty() && (progress || time - lastBlockedRetry > blockedRetryIntervalMillis)) {
+			for (A abst : blockedCandidates) {
+				if (jumpFnCounter.get(abst) <= 0)
+					retire(abst);
+			}
+			blockedCandidates.clear();
+			lastBlockedRetry = time;
+		}
+	}
+
+	/**
+	 * Performs garbage collection in the mode configured for this garbage
+	 * collector
+	 */
+	protected void gcNow() {
+		if (incremental)
+			gcIncremental();
+		else
+			gcImmediate();
+	}
+
+	/**
+	 * Removes the jump functions for the given abstraction
+	 * 
+	 * @param abst The abstraction for which to remove the jump functions
+	 */
+	private void removeFunctions(A abst) {
+		// Get stats for the stuff we are about to remove
+		int gcedSize = jumpFunctions.getFunctionCount(abst);
+		if (gcedSize > 0) {
+			gcedEdges.addAndGet(gcedSize);
+			if (trigger == GarbageCollectionTrigger.EdgeThreshold)
+				edgeCounterForThreshold.subtract(gcedSize);
+		}
+		Collection<PathEdge<N, D>> oldFunctions = validateEdges ? jumpFunctions.getFunctions(abst) : null;
+
+		if (jumpFunctions.removeFunctions(abst)) {
+			gcedAbstractions.incrementAndGet();
+			if (validateEdges)
+				oldEdges.addAll(oldFunctions);
+		}
+	}
+
 	/**
 	 * Method that is called before the first edge is removed from the jump
 	 * functions
@@ -147,6 +432,16 @@ public abstract class AbstractReferenceCountingGarbageCollector<N, D, A> extends
 		return gcedEdges.get();
 	}
 
+	@Override
+	public int getCollectionCount() {
+		return collectionCount.get();
+	}
+
+	@Override
+	public long getCollectionTimeMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(collectionTimeNanos.get());
+	}
+
 	/**
 	 * Sets the number of methods for which edges must have been added before
 	 * garbage collection is started
@@ -176,9 +471,56 @@ public abstract class AbstractReferenceCountingGarbageCollector<N, D, A> extends
 	 *                started
 	 */
 	public void setTrigger(GarbageCollectionTrigger trigger) {
+		if (trigger == GarbageCollectionTrigger.Adaptive && adaptivePolicy == null)
+			adaptivePolicy = new AdaptiveGarbageCollectionPolicy();
 		this.trigger = trigger;
 	}
 
+	/**
+	 * Sets the policy that decides when to collect if the trigger is
+	 * {@link GarbageCollectionTrigger#Adaptive}
+	 * 
+	 * @param adaptivePolicy The policy for adaptive garbage collection
+	 */
+	public void setAdaptivePolicy(AdaptiveGarbageCollectionPolicy adaptivePolicy) {
+		if (this.adaptivePolicy != null && this.adaptivePolicy != adaptivePolicy)
+			this.adaptivePolicy.close();
+		this.adaptivePolicy = adaptivePolicy;
+	}
+
+	/**
+	 * Releases the resources held by the policy for adaptive garbage collection
+	 */
+	protected void closeAdaptivePolicy() {
+		if (adaptivePolicy != null)
+			adaptivePolicy.close();
+	}
+
+	/**
+	 * Sets whether abstractions shall be collected incrementally as soon as their
+	 * reference count drops to zero, or whether the garbage collector shall sweep
+	 * over all abstractions for which edges have been scheduled. The sweeping mode
+	 * is the default. In both modes, the configured trigger decides when to
+	 * collect.
+	 * 
+	 * @param incremental True for incremental garbage collection, false for
+	 *                    sweeping garbage collection
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * Sets the time after which abstractions that could not be collected due to
+	 * active dependencies are checked again
+	 * 
+	 * @param blockedRetryIntervalMillis The time in milliseconds after which
+	 *                                   blocked abstractions are checked again
+	 */
+	public void setBlockedRetryIntervalMillis(long blockedRetryIntervalMillis) {
+		this.blockedRetryIntervalMillis = blockedRetryIntervalMillis;
+	}
+
 	/**
 	 * Sets the peer group in which this solver operates. Peer groups are used to
 	 * synchronize active dependencies between multiple solvers.
@@ -0,0 +1,290 @@
+package soot.jimple.infoflow.solver.gcSolver;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import soot.jimple.infoflow.memory.MemoryWarningSystem;
+import soot.jimple.infoflow.memory.MemoryWarningSystem.OnMemoryThresholdReached;
+
+/**
+ * Policy that decides when the solver's garbage collector shall remove jump
+ * functions, based on the occupancy of the JVM heap and the time that the JVM
+ * spends on its own garbage collection. If there is enough headroom, removing
+ * jump functions only costs us re-computations, so the collector backs off.
+ * The fuller the heap gets, the more often the collector runs. Above the high
+ * watermark, or when the JVM reports that the usage threshold of the tenured
+ * generation has been exceeded, it collects in every round.
+ */
+public class AdaptiveGarbageCollectionPolicy implements OnMemoryThresholdReached {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdaptiveGarbageCollectionPolicy.class);
+
+	/**
+	 * The default heap occupancy below which no jump functions are collected
+	 */
+	public static final double DEFAULT_LOW_WATERMARK = 0.5;
+
+	/**
+	 * The default heap occupancy above which jump functions are collected in every
+	 * round
+	 */
+	public static final double DEFAULT_HIGH_WATERMARK = 0.8;
+
+	/**
+	 * The default fraction of the wall-clock time spent in JVM garbage collection
+	 * that is treated like a heap occupancy at the high watermark
+	 */
+	public static final double DEFAULT_MAX_GC_OVERHEAD = 0.1;
+
+	/**
+	 * The default maximum time between two collections in milliseconds when the
+	 * heap occupancy is just above the low watermark
+	 */
+	public static final long DEFAULT_MAX_INTERVAL_MILLIS = 10000;
+
+	/**
+	 * The minimum time over which the JVM garbage collection overhead is measured
+	 */
+	private static final long MIN_SAMPLE_WINDOW_MILLIS = 1000;
+
+	/**
+	 * The minimum time in milliseconds between two checks of the memory pressure,
+	 * unless the JVM has reported that the high watermark was exceeded. Garbage
+	 * collectors that run on every edge would otherwise query the memory pools
+	 * all the time.
+	 */
+	public static final long MIN_CHECK_INTERVAL_MILLIS = 10;
+
+	private final MemoryPoolMXBean pool;
+	private final List<GarbageCollectorMXBean> gcBeans;
+	private final MemoryWarningSystem warningSystem;
+
+	private double lowWatermark = DEFAULT_LOW_WATERMARK;
+	private double highWatermark = DEFAULT_HIGH_WATERMARK;
+	private double maxGcOverhead = DEFAULT_MAX_GC_OVERHEAD;
+	private long maxIntervalMillis = DEFAULT_MAX_INTERVAL_MILLIS;
+
+	private volatile boolean thresholdExceeded = false;
+	private volatile long lastCheck = 0;
+	private boolean warningArmed = true;
+	private boolean closed = false;
+
+	private long lastCollection = System.currentTimeMillis();
+	private long lastSampleTime = System.currentTimeMillis();
+	private long lastGcTime;
+	private double gcOverhead = 0;
+	private double pressure = 0;
+
+	public AdaptiveGarbageCollectionPolicy() {
+		this.pool = MemoryWarningSystem.findTenuredGenPool();
+		this.gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+		this.lastGcTime = getTotalGcTime();
+
+		this.warningSystem = new MemoryWarningSystem();
+		this.warningSystem.addListener(this);
+		armWarningSystem();
+	}
+
+	/**
+	 * Sets the threshold of the memory warning system to the high watermark. If the
+	 * high watermark cannot be reached, we remove the threshold and rely on
+	 * sampling alone.
+	 */
+	private void armWarningSystem() {
+		if (closed)
+			return;
+		if (highWatermark > 0 && highWatermark <= 1)
+			warningSystem.setWarningThreshold(highWatermark);
+		else
+			warningSystem.clearWarningThreshold();
+	}
+
+	/**
+	 * Checks whether the memory warning system of this policy is waiting for the
+	 * high watermark to be reached
+	 *
+	 * @return True if the memory warning system is armed, otherwise false
+	 */
+	public boolean isWarningSystemArmed() {
+		return warningSystem.isRegistered();
+	}
+
+	@Override
+	public void onThresholdReached(long usedMemory, long maxMemory) {
+		// The warning system only fires once, we re-arm it once the memory pressure
+		// has decreased
+		thresholdExceeded = true;
+	}
+
+	/**
+	 * Gets the total time that the JVM has spent in garbage collection
+	 *
+	 * @return The total time spent in garbage collection in milliseconds
+	 */
+	private long getTotalGcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean bean : gcBeans) {
+			long t = bean.getCollectionTime();
+			if (t > 0)
+				time += t;
+		}
+		return time;
+	}
+
+	/**
+	 * Gets the fraction of the heap that is currently occupied
+	 *
+	 * @return The heap occupancy between 0 and 1
+	 */
+	private double getOccupancy() {
+		MemoryUsage usage = pool.getUsage();
+		if (usage != null && usage.getMax() > 0)
+			return usage.getUsed() / (double) usage.getMax();
+
+		Runtime runtime = Runtime.getRuntime();
+		return (runtime.totalMemory() - runtime.freeMemory()) / (double) runtime.maxMemory();
+	}
+
+	/**
+	 * Computes the current memory pressure from the heap occupancy and the JVM
+	 * garbage collection overhead
+	 *
+	 * @param time The current time in milliseconds
+	 * @return The memory pressure. A value at or above the high watermark means
+	 *         that memory is scarce.
+	 */
+	private double samplePressure(long time) {
+		// Only update the overhead over a meaningful window, otherwise a single GC
+		// pause dominates the measurement
+		long window = time - lastSampleTime;
+		if (window >= MIN_SAMPLE_WINDOW_MILLIS) {
+			long gcTime = getTotalGcTime();
+			gcOverhead = (gcTime - lastGcTime) / (double) window;
+			lastGcTime = gcTime;
+			lastSampleTime = time;
+		}
+
+		double occupancy = getOccupancy();
+		double overheadPressure = maxGcOverhead > 0 ? gcOverhead / maxGcOverhead * highWatermark : 0;
+
+		// Re-arm the warning system once we are below the threshold again
+		if (!warningArmed && occupancy < highWatermark) {
+			warningArmed = true;
+			armWarningSystem();
+		}
+
+		return Math.max(occupancy, overheadPressure);
+	}
+
+	/**
+	 * Checks whether the garbage collector shall remove jump functions now. If
+	 * this method returns true, it assumes that the caller performs the
+	 * collection.
+	 *
+	 * @return True if the garbage collector shall remove jump functions now,
+	 *         otherwise false
+	 */
+	public boolean shouldCollect() {
+		long time = System.currentTimeMillis();
+		if (!thresholdExceeded && time - lastCheck < MIN_CHECK_INTERVAL_MILLIS)
+			return false;
+		return checkPressure(time);
+	}
+
+	private synchronized boolean checkPressure(long time) {
+		lastCheck = time;
+		pressure = samplePressure(time);
+
+		boolean collect;
+		if (thresholdExceeded) {
+			thresholdExceeded = false;
+			warningArmed = false;
+			collect = true;
+		} else if (pressure >= highWatermark)
+			collect = true;
+		else if (pressure < lowWatermark)
+			collect = false;
+		else {
+			// Collect more often the closer we get to the high watermark
+			double headroom = (highWatermark - pressure) / (highWatermark - lowWatermark);
+			collect = time - lastCollection >= (long) (maxIntervalMillis * headroom);
+		}
+
+		if (collect) {
+			lastCollection = time;
+			logger.debug("Adaptive garbage collection at memory pressure {}", pressure);
+		}
+		return collect;
+	}
+
+	/**
+	 * Gets the memory pressure that was computed in the last call to
+	 * {@link #shouldCollect()}
+	 *
+	 * @return The last memory pressure
+	 */
+	public synchronized double getPressure() {
+		return pressure;
+	}
+
+	/**
+	 * Sets the heap occupancy below which no jump functions are collected
+	 *
+	 * @param lowWatermark The heap occupancy below which no jump functions are
+	 *                     collected, between 0 and 1
+	 */
+	public synchronized void setLowWatermark(double lowWatermark) {
+		this.lowWatermark = lowWatermark;
+	}
+
+	/**
+	 * Sets the heap occupancy above which jump functions are collected in every
+	 * round
+	 *
+	 * @param highWatermark The heap occupancy above which jump functions are
+	 *                      collected in every round, between 0 and 1
+	 */
+	public synchronized void setHighWatermark(double highWatermark) {
+		this.highWatermark = highWatermark;
+		armWarningSystem();
+	}
+
+	/**
+	 * Sets the fraction of the wall-clock time spent in JVM garbage collection
+	 * that is treated like a heap occupancy at the high watermark
+	 *
+	 * @param maxGcOverhead The maximum acceptable JVM garbage collection overhead,
+	 *                      or 0 to ignore the overhead
+	 */
+	public synchronized void setMaxGcOverhead(double maxGcOverhead) {
+		this.maxGcOverhead = maxGcOverhead;
+	}
+
+	/**
+	 * Sets the maximum time between two collections when the heap occupancy is
+	 * just above the low watermark
+	 *
+	 * @param maxIntervalMillis The maximum time between two collections in
+	 *                          milliseconds
+	 */
+	public synchronized void setMaxIntervalMillis(long maxIntervalMillis) {
+		this.maxIntervalMillis = maxIntervalMillis;
+	}
+
+	/**
+	 * Releases the memory warning system of this policy
+	 */
+	public synchronized void close() {
+		if (!closed) {
+			closed = true;
+			warningSystem.close();
+		}
+	}
+
+}
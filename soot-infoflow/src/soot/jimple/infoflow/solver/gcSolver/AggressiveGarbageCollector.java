@@ -3,11 +3,10 @@ package soot.jimple.infoflow.solver.gcSolver;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import heros.solver.Pair;
 import heros.solver.PathEdge;
 import soot.SootMethod;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 /**
  * Aggressive garbage collector that optimizes memory usage, but may degrade
@@ -28,7 +27,7 @@ public class AggressiveGarbageCollector<N, D> extends AbstractGarbageCollector<N
 	private int methodThreshold = 0;
 
 	public AggressiveGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<SootMethod, PathEdge<N, D>> jumpFunctions) {
+			IPartitionedJumpFunctions<SootMethod, N, D> jumpFunctions) {
 		super(icfg, jumpFunctions);
 	}
 
@@ -38,6 +37,11 @@ public class AggressiveGarbageCollector<N, D> extends AbstractGarbageCollector<N
 
 	}
 
+	@Override
+	public void notifyTaskStarted(PathEdge<N, D> edge) {
+		// nothing to do here
+	}
+
 	@Override
 	public void notifyTaskProcessed(PathEdge<N, D> edge) {
 		// TODO Auto-generated method stub
@@ -46,11 +50,10 @@ public class AggressiveGarbageCollector<N, D> extends AbstractGarbageCollector<N
 
 	@Override
 	public void gc() {
-		Iterator<Pair<SootMethod, PathEdge<N, D>>> it = jumpFunctions.iterator();
-		while (jumpFunctions.size() > methodThreshold) {
-			it.next();
-			it.remove();
-			gcedMethods.incrementAndGet();
+		Iterator<SootMethod> it = jumpFunctions.getPartitions().iterator();
+		while (jumpFunctions.getPartitions().size() > methodThreshold && it.hasNext()) {
+			if (jumpFunctions.removeFunctions(it.next()))
+				gcedMethods.incrementAndGet();
 		}
 	}
 
@@ -65,6 +68,18 @@ public class AggressiveGarbageCollector<N, D> extends AbstractGarbageCollector<N
 		return 0;
 	}
 
+	@Override
+	public int getCollectionCount() {
+		// We collect on every edge
+		return 0;
+	}
+
+	@Override
+	public long getCollectionTimeMillis() {
+		// We collect on every edge
+		return 0;
+	}
+
 	@Override
 	protected IGCReferenceProvider<SootMethod> createReferenceProvider() {
 		return new OnDemandReferenceProvider<>(icfg);
@@ -1,9 +1,8 @@
 package soot.jimple.infoflow.solver.gcSolver;
 
-import heros.solver.PathEdge;
 import soot.SootMethod;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 /**
  * The default garbage collector implementation
@@ -14,12 +13,12 @@ import soot.util.ConcurrentHashMultiMap;
 public class DefaultGarbageCollector<N, D> extends MethodLevelReferenceCountingGarbageCollector<N, D> {
 
 	public DefaultGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<SootMethod, PathEdge<N, D>> jumpFunctions) {
+			IPartitionedJumpFunctions<SootMethod, N, D> jumpFunctions) {
 		super(icfg, jumpFunctions);
 	}
 
 	public DefaultGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<SootMethod, PathEdge<N, D>> jumpFunctions,
+			IPartitionedJumpFunctions<SootMethod, N, D> jumpFunctions,
 			IGCReferenceProvider<SootMethod> referenceProvider) {
 		super(icfg, jumpFunctions, referenceProvider);
 	}
@@ -31,7 +30,7 @@ public class DefaultGarbageCollector<N, D> extends MethodLevelReferenceCountingG
 
 	@Override
 	public void notifySolverTerminated() {
-		// nothing to do here
+		closeAdaptivePolicy();
 	}
 
 }
@@ -24,6 +24,12 @@ public enum GarbageCollectionTrigger {
 	 */
 	EdgeThreshold,
 
+	/**
+	 * Start garbage collection depending on the memory pressure of the JVM. See
+	 * {@link AdaptiveGarbageCollectionPolicy}.
+	 */
+	Adaptive,
+
 	/**
 	 * Compute the thresholds, but never actually gargabe-collect anything. Useful
 	 * only as a performance baseline.
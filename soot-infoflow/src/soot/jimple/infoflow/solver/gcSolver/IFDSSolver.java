@@ -41,6 +41,7 @@ import heros.solver.Pair;
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.Unit;
+import soot.jimple.infoflow.InfoflowConfiguration.JumpFunctionStoreMode;
 import soot.jimple.infoflow.collect.MyConcurrentHashMap;
 import soot.jimple.infoflow.memory.IMemoryBoundedSolver;
 import soot.jimple.infoflow.memory.ISolverTerminationReason;
@@ -48,6 +49,9 @@ import soot.jimple.infoflow.solver.*;
 import soot.jimple.infoflow.solver.executors.InterruptableExecutor;
 import soot.jimple.infoflow.solver.executors.SetPoolExecutor;
 import soot.jimple.infoflow.solver.fastSolver.FastSolverLinkedNode;
+import soot.jimple.infoflow.solver.jumpFunctions.CompactPartitionedJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.MultiMapJumpFunctions;
 import soot.jimple.infoflow.solver.memory.IMemoryManager;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
 import soot.util.ConcurrentHashMultiMap;
@@ -80,7 +84,7 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	protected int numThreads;
 
 	@SynchronizedBy("thread safe data structure, consistent locking when used")
-	protected ConcurrentHashMultiMap<SootMethod, PathEdge<N, D>> jumpFunctions = new ConcurrentHashMultiMap<>();
+	protected IPartitionedJumpFunctions<SootMethod, N, D> jumpFunctions;
 
 	@SynchronizedBy("thread safe data structure")
 	protected volatile IGarbageCollector<N, D> garbageCollector;
@@ -133,6 +137,8 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	protected ISolverPeerGroup solverPeerGroup;
 
 	protected int sleepTime = 1;
+	protected GarbageCollectionTrigger gcTrigger = null;
+	protected boolean incrementalGC = false;
 
 	/**
 	 * Creates a solver for the given problem, which caches flow functions and edge
@@ -158,6 +164,7 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 			flowFunctionCacheBuilder = flowFunctionCacheBuilder.recordStats();
 		this.zeroValue = tabulationProblem.zeroValue();
 		this.icfg = tabulationProblem.interproceduralCFG();
+		this.jumpFunctions = new MultiMapJumpFunctions<>((d1, n) -> icfg.getMethodOf(n));
 		FlowFunctions<N, D, SootMethod> flowFunctions = tabulationProblem.autoAddZero()
 				? new ZeroedFlowFunctions<N, D, SootMethod>(tabulationProblem.flowFunctions(), zeroValue)
 				: tabulationProblem.flowFunctions();
@@ -190,6 +197,9 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		@SuppressWarnings("unchecked")
 		GCSolverPeerGroup<SootMethod> gcSolverGroup = (GCSolverPeerGroup<SootMethod>) solverPeerGroup;
 		gc.setPeerGroup(gcSolverGroup.getGCPeerGroup());
+		if (gcTrigger != null)
+			gc.setTrigger(gcTrigger);
+		gc.setIncremental(incrementalGC);
 		return garbageCollector = gc;
 	}
 
@@ -676,8 +686,7 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	 * @see PathEdge
 	 */
 	public D addFunction(PathEdge<N, D> edge) {
-		PathEdge<N, D> oldEdge = jumpFunctions.putIfAbsent(icfg.getMethodOf(edge.getTarget()), edge);
-		return oldEdge == null ? null : oldEdge.factAtTarget();
+		return jumpFunctions.addFunction(edge);
 	}
 
 	protected Set<EndSummary<N, D>> endSummary(SootMethod m, D d3) {
@@ -759,17 +768,22 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		}
 
 		public void run() {
-			if (icfg.isCallStmt(edge.getTarget())) {
-				processCall(edge);
-			} else {
-				// note that some statements, such as "throw" may be
-				// both an exit statement and a "normal" statement
-				if (icfg.isExitStmt(edge.getTarget()))
-					processExit(edge);
-				if (!icfg.getSuccsOf(edge.getTarget()).isEmpty())
-					processNormalFlow(edge);
+			garbageCollector.notifyTaskStarted(edge);
+			try {
+				if (icfg.isCallStmt(edge.getTarget())) {
+					processCall(edge);
+				} else {
+					// note that some statements, such as "throw" may be
+					// both an exit statement and a "normal" statement
+					if (icfg.isExitStmt(edge.getTarget()))
+						processExit(edge);
+					if (!icfg.getSuccsOf(edge.getTarget()).isEmpty())
+						processNormalFlow(edge);
+				}
+			} finally {
+				// A failing task must not pin its epoch
+				garbageCollector.notifyTaskProcessed(edge);
 			}
-			garbageCollector.notifyTaskProcessed(edge);
 		}
 
 		@Override
@@ -874,6 +888,23 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		this.maxAbstractionPathLength = maxAbstractionPathLength;
 	}
 
+	/**
+	 * Sets the data structure in which this solver stores its jump functions. This
+	 * method must be called before the solver is started.
+	 *
+	 * @param mode The data structure in which to store the jump functions
+	 */
+	public void setJumpFunctionStoreMode(JumpFunctionStoreMode mode) {
+		switch (mode) {
+		case Compact:
+			this.jumpFunctions = new CompactPartitionedJumpFunctions<>((d1, n) -> icfg.getMethodOf(n));
+			break;
+		default:
+			this.jumpFunctions = new MultiMapJumpFunctions<>((d1, n) -> icfg.getMethodOf(n));
+			break;
+		}
+	}
+
 	/**
 	 * Sets the peer group in which this solver operates. Peer groups allow for
 	 * synchronization between solvers
@@ -884,6 +915,40 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		this.solverPeerGroup = solverPeerGroup;
 	}
 
+	/**
+	 * Sets when the garbage collector of this solver shall remove jump functions.
+	 * This setting must be made before the solver is started.
+	 * 
+	 * @param gcTrigger The trigger for garbage collection, or null to use the
+	 *                  default of the garbage collector
+	 */
+	public void setGarbageCollectionTrigger(GarbageCollectionTrigger gcTrigger) {
+		this.gcTrigger = gcTrigger;
+	}
+
+	/**
+	 * Sets whether the garbage collector of this solver shall collect abstractions
+	 * incrementally as soon as their reference count drops to zero, instead of
+	 * periodically sweeping over all abstractions. This setting must be made
+	 * before the solver is started.
+	 * 
+	 * @param incrementalGC True for incremental garbage collection, false for
+	 *                      sweeping garbage collection
+	 */
+	public void setIncrementalGarbageCollection(boolean incrementalGC) {
+		this.incrementalGC = incrementalGC;
+	}
+
+	/**
+	 * Gets the garbage collector of this solver
+	 * 
+	 * @return The garbage collector of this solver, or null if the solver has not
+	 *         been started yet
+	 */
+	public IGarbageCollector<N, D> getGarbageCollector() {
+		return garbageCollector;
+	}
+
 	/**
 	 * Notifies the solver that no further edges will be scheduled
 	 */
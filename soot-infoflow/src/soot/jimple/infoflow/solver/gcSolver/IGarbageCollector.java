@@ -18,6 +18,14 @@ public interface IGarbageCollector<N, D> {
 	 */
 	public void notifyEdgeSchedule(PathEdge<N, D> edge);
 
+	/**
+	 * Notifies the garbage collector that the current thread has started to
+	 * process the given edge
+	 * 
+	 * @param edge The edge that is being processed
+	 */
+	public void notifyTaskStarted(PathEdge<N, D> edge);
+
 	/**
 	 * Notifies the garbage collector that an edge has been fully processed
 	 * 
@@ -48,6 +56,23 @@ public interface IGarbageCollector<N, D> {
 	 */
 	public int getGcedEdges();
 
+	/**
+	 * Gets the number of garbage collection rounds that have removed taint
+	 * abstractions
+	 * 
+	 * @return The number of garbage collection rounds that have removed taint
+	 *         abstractions
+	 */
+	public int getCollectionCount();
+
+	/**
+	 * Gets the time spent in garbage collection rounds that have removed taint
+	 * abstractions
+	 * 
+	 * @return The time spent in garbage collection in milliseconds
+	 */
+	public long getCollectionTimeMillis();
+
 	/**
 	 * Notifies the garbage collector that the IFDS solver has finished propagating
 	 * its edges
@@ -29,7 +29,6 @@ import soot.jimple.infoflow.solver.functions.SolverCallToReturnFlowFunction;
 import soot.jimple.infoflow.solver.functions.SolverNormalFlowFunction;
 import soot.jimple.infoflow.solver.functions.SolverReturnFlowFunction;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 /**
  * We are subclassing the JimpleIFDSSolver because we need the same executor for
@@ -132,7 +131,7 @@ public class InfoflowSolver extends IFDSSolver<Unit, Abstraction, BiDiInterproce
 
 	@Override
 	public void cleanup() {
-		this.jumpFunctions = new ConcurrentHashMultiMap<>();
+		this.jumpFunctions.clear();
 		this.incoming.clear();
 		this.endSummary.clear();
 		if (this.ffCache != null)
@@ -3,21 +3,21 @@ package soot.jimple.infoflow.solver.gcSolver;
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.jimple.infoflow.collect.ConcurrentCountingMap;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 import java.util.Set;
 
 public class MethodLevelReferenceCountingGarbageCollector<N, D>
 		extends AbstractReferenceCountingGarbageCollector<N, D, SootMethod> {
 	public MethodLevelReferenceCountingGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<SootMethod, PathEdge<N, D>> jumpFunctions,
+			IPartitionedJumpFunctions<SootMethod, N, D> jumpFunctions,
 			IGCReferenceProvider<SootMethod> referenceProvider) {
 		super(icfg, jumpFunctions, referenceProvider);
 	}
 
 	public MethodLevelReferenceCountingGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<SootMethod, PathEdge<N, D>> jumpFunctions) {
+			IPartitionedJumpFunctions<SootMethod, N, D> jumpFunctions) {
 		super(icfg, jumpFunctions);
 	}
 
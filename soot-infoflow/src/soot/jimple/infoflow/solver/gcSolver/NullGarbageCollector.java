@@ -16,6 +16,11 @@ public class NullGarbageCollector<N, D> implements IGarbageCollector<N, D> {
 		// do nothing
 	}
 
+	@Override
+	public void notifyTaskStarted(PathEdge<N, D> edge) {
+		// do nothing
+	}
+
 	@Override
 	public void notifyTaskProcessed(PathEdge<N, D> edge) {
 		// do nothing
@@ -36,6 +41,16 @@ public class NullGarbageCollector<N, D> implements IGarbageCollector<N, D> {
 		return 0;
 	}
 
+	@Override
+	public int getCollectionCount() {
+		return 0;
+	}
+
+	@Override
+	public long getCollectionTimeMillis() {
+		return 0;
+	}
+
 	@Override
 	public void notifySolverTerminated() {
 	}
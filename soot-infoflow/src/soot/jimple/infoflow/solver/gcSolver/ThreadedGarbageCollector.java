@@ -3,10 +3,9 @@ package soot.jimple.infoflow.solver.gcSolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import heros.solver.PathEdge;
 import soot.SootMethod;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 /**
  * Garbage collector that performs its tasks in a separate thread
@@ -20,6 +19,12 @@ public class ThreadedGarbageCollector<N, D> extends MethodLevelReferenceCounting
 
 	protected static final Logger logger = LoggerFactory.getLogger(ThreadedGarbageCollector.class);
 
+	/**
+	 * The default time to wait between two rounds of incremental garbage
+	 * collection in milliseconds
+	 */
+	public static final int DEFAULT_INCREMENTAL_INTERVAL_MILLIS = 50;
+
 	private class GCThread extends Thread {
 
 		private boolean finished = false;
@@ -31,11 +36,13 @@ public class ThreadedGarbageCollector<N, D> extends MethodLevelReferenceCounting
 		@Override
 		public void run() {
 			while (!finished) {
-				gcImmediate();
+				gcNow();
 
-				if (sleepTimeSeconds > 0) {
+				// In incremental mode, we only wait for the running tasks to finish
+				long sleepTimeMillis = incremental ? incrementalIntervalMillis : sleepTimeSeconds * 1000;
+				if (sleepTimeMillis > 0) {
 					try {
-						Thread.sleep(sleepTimeSeconds * 1000);
+						Thread.sleep(sleepTimeMillis);
 					} catch (InterruptedException e) {
 						break;
 					}
@@ -55,19 +62,20 @@ public class ThreadedGarbageCollector<N, D> extends MethodLevelReferenceCounting
 	}
 
 	private int sleepTimeSeconds = 1;
+	private volatile int incrementalIntervalMillis = DEFAULT_INCREMENTAL_INTERVAL_MILLIS;
 	private int maxPathEdgeCount = 0;
 	private int maxMemoryConsumption = 0;
 
 	private GCThread gcThread;
 
 	public ThreadedGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<SootMethod, PathEdge<N, D>> jumpFunctions,
+			IPartitionedJumpFunctions<SootMethod, N, D> jumpFunctions,
 			IGCReferenceProvider<SootMethod> referenceProvider) {
 		super(icfg, jumpFunctions, referenceProvider);
 	}
 
 	public ThreadedGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<SootMethod, PathEdge<N, D>> jumpFunctions) {
+			IPartitionedJumpFunctions<SootMethod, N, D> jumpFunctions) {
 		super(icfg, jumpFunctions);
 	}
 
@@ -87,7 +95,8 @@ public class ThreadedGarbageCollector<N, D> extends MethodLevelReferenceCounting
 
 	@Override
 	public void notifySolverTerminated() {
-		gcImmediate();
+		gcNow();
+		closeAdaptivePolicy();
 
 		logger.info(String.format("GC removes %d abstractions", getGcedAbstractions()));
 		logger.info(String.format("GC removes %d path edges", getGcedEdges()));
@@ -104,6 +113,18 @@ public class ThreadedGarbageCollector<N, D> extends MethodLevelReferenceCounting
 	 */
 	public void setSleepTimeSeconds(int sleepTimeSeconds) {
 		this.sleepTimeSeconds = sleepTimeSeconds;
+		this.blockedRetryIntervalMillis = sleepTimeSeconds * 1000L;
+	}
+
+	/**
+	 * Sets the time to wait between two rounds of incremental garbage collection
+	 * in milliseconds
+	 * 
+	 * @param incrementalIntervalMillis The time to wait between two rounds of
+	 *                                  incremental garbage collection
+	 */
+	public void setIncrementalIntervalMillis(int incrementalIntervalMillis) {
+		this.incrementalIntervalMillis = incrementalIntervalMillis;
 	}
 
 	private int getUsedMemory() {
@@ -1,21 +1,20 @@
 package soot.jimple.infoflow.solver.gcSolver.fpc;
 
 import heros.solver.Pair;
-import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.jimple.infoflow.solver.gcSolver.IGCReferenceProvider;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 public class AggressiveGarbageCollector<N, D> extends FineGrainedReferenceCountingGarbageCollector<N, D> {
 	public AggressiveGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<Pair<SootMethod, D>, PathEdge<N, D>> jumpFunctions,
+			IPartitionedJumpFunctions<Pair<SootMethod, D>, N, D> jumpFunctions,
 			IGCReferenceProvider<Pair<SootMethod, D>> referenceProvider) {
 		super(icfg, jumpFunctions, referenceProvider);
 	}
 
 	public AggressiveGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<Pair<SootMethod, D>, PathEdge<N, D>> jumpFunctions) {
+			IPartitionedJumpFunctions<Pair<SootMethod, D>, N, D> jumpFunctions) {
 		super(icfg, jumpFunctions);
 	}
 
@@ -0,0 +1,359 @@
+package soot.jimple.infoflow.solver.gcSolver.fpc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import heros.solver.Pair;
+import soot.SootMethod;
+
+/**
+ * Abstraction dependency graph that maps every (method, context) pair to an
+ * integer id and stores the successors of each node in an immutable int array.
+ * New edges are published with compare-and-set, so neither the solver that adds
+ * edges nor the garbage collector that queries the graph ever take a lock.
+ * Reachability queries use thread-local scratch buffers and do not allocate.
+ *
+ * In contrast to the {@link AbstrationDependencyGraph}, predecessors are not
+ * stored explicitly. Queries for predecessors and the removal of nodes need to
+ * scan the whole graph and should thus be avoided.
+ *
+ * @param <D> The type of data-flow facts
+ */
+public class CompactAbstractionDependencyGraph<D> implements IGraph<Pair<SootMethod, D>> {
+
+	private static final int CHUNK_BITS = 11;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final int MAX_CHUNKS = 1 << 15;
+
+	private static final int[] NO_SUCCS = new int[0];
+
+	/**
+	 * A node in the graph together with its successors
+	 */
+	private static class Node<D> {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Node, int[]> SUCCS = AtomicReferenceFieldUpdater
+				.newUpdater(Node.class, int[].class, "succs");
+
+		private final Pair<SootMethod, D> abstraction;
+		private volatile int[] succs = NO_SUCCS;
+
+		public Node(Pair<SootMethod, D> abstraction) {
+			this.abstraction = abstraction;
+		}
+
+		/**
+		 * Adds the given successor unless it is already present
+		 *
+		 * @param succ The id of the successor
+		 * @return True if the successor has been added, false if it was already
+		 *         present
+		 */
+		public boolean addSucc(int succ) {
+			while (true) {
+				int[] cur = succs;
+				for (int s : cur) {
+					if (s == succ)
+						return false;
+				}
+				int[] next = Arrays.copyOf(cur, cur.length + 1);
+				next[cur.length] = succ;
+				if (SUCCS.compareAndSet(this, cur, next))
+					return true;
+			}
+		}
+
+		/**
+		 * Removes the given successor
+		 *
+		 * @param succ The id of the successor
+		 * @return True if the successor has been removed, false if it was not present
+		 */
+		public boolean removeSucc(int succ) {
+			while (true) {
+				int[] cur = succs;
+				int idx = -1;
+				for (int i = 0; i < cur.length; i++) {
+					if (cur[i] == succ) {
+						idx = i;
+						break;
+					}
+				}
+				if (idx < 0)
+					return false;
+
+				int[] next = new int[cur.length - 1];
+				System.arraycopy(cur, 0, next, 0, idx);
+				System.arraycopy(cur, idx + 1, next, idx, cur.length - idx - 1);
+				if (SUCCS.compareAndSet(this, cur, next))
+					return true;
+			}
+		}
+
+	}
+
+	/**
+	 * Per-thread buffers for graph traversals. A node has been visited in the
+	 * current traversal if its mark equals the current stamp.
+	 */
+	private static class TraversalState {
+
+		private int[] stack = new int[64];
+		private int[] marks = new int[64];
+		private int stamp = 0;
+
+		/**
+		 * Prepares the buffers for a new traversal
+		 *
+		 * @param numNodes The number of nodes in the graph
+		 */
+		public void reset(int numNodes) {
+			if (marks.length < numNodes)
+				marks = Arrays.copyOf(marks, Math.max(numNodes, marks.length * 2));
+			if (++stamp == 0) {
+				Arrays.fill(marks, 0);
+				stamp = 1;
+			}
+		}
+
+		/**
+		 * Marks the given node as visited
+		 *
+		 * @param id The id of the node
+		 * @return True if the node has not been visited before in the current
+		 *         traversal, otherwise false
+		 */
+		public boolean visit(int id) {
+			// The graph may have grown since we started the traversal
+			if (id >= marks.length)
+				marks = Arrays.copyOf(marks, Math.max(id + 1, marks.length * 2));
+			if (marks[id] == stamp)
+				return false;
+			marks[id] = stamp;
+			return true;
+		}
+
+		public int[] ensureStackCapacity(int size) {
+			if (stack.length < size)
+				stack = Arrays.copyOf(stack, Math.max(size, stack.length * 2));
+			return stack;
+		}
+
+	}
+
+	private final Map<Pair<SootMethod, D>, Integer> ids = new ConcurrentHashMap<>();
+	private final AtomicReferenceArray<AtomicReferenceArray<Node<D>>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+	private final AtomicInteger nextId = new AtomicInteger();
+	private final LongAdder edgeCount = new LongAdder();
+	private final ThreadLocal<TraversalState> traversalState = ThreadLocal.withInitial(TraversalState::new);
+
+	/**
+	 * Gets the id of the given abstraction, and creates a new node if the
+	 * abstraction is not yet part of the graph
+	 *
+	 * @param abstraction The abstraction
+	 * @return The id of the node that represents the given abstraction
+	 */
+	private int intern(Pair<SootMethod, D> abstraction) {
+		Integer id = ids.get(abstraction);
+		if (id == null) {
+			// The node must be published before its id becomes visible
+			id = ids.computeIfAbsent(abstraction, a -> {
+				int newId = nextId.getAndIncrement();
+				setNode(newId, new Node<>(a));
+				return newId;
+			});
+		}
+		return id;
+	}
+
+	private void setNode(int id, Node<D> node) {
+		int chunkIdx = id >>> CHUNK_BITS;
+		if (chunkIdx >= MAX_CHUNKS)
+			throw new IllegalStateException("Too many nodes in abstraction dependency graph");
+		AtomicReferenceArray<Node<D>> chunk = chunks.get(chunkIdx);
+		if (chunk == null) {
+			chunks.compareAndSet(chunkIdx, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+			chunk = chunks.get(chunkIdx);
+		}
+		chunk.set(id & CHUNK_MASK, node);
+	}
+
+	private Node<D> getNode(int id) {
+		AtomicReferenceArray<Node<D>> chunk = chunks.get(id >>> CHUNK_BITS);
+		return chunk == null ? null : chunk.get(id & CHUNK_MASK);
+	}
+
+	private Node<D> getNode(Pair<SootMethod, D> abstraction) {
+		Integer id = ids.get(abstraction);
+		return id == null ? null : getNode(id);
+	}
+
+	@Override
+	public Set<Pair<SootMethod, D>> getNodes() {
+		return Collections.unmodifiableSet(ids.keySet());
+	}
+
+	@Override
+	public Set<Pair<SootMethod, D>> succsOf(Pair<SootMethod, D> node) {
+		Node<D> n = getNode(node);
+		if (n == null)
+			return Collections.emptySet();
+		int[] succs = n.succs;
+		Set<Pair<SootMethod, D>> res = new HashSet<>(succs.length * 2);
+		for (int succ : succs)
+			res.add(getNode(succ).abstraction);
+		return res;
+	}
+
+	@Override
+	public Set<Pair<SootMethod, D>> predsOf(Pair<SootMethod, D> node) {
+		Integer id = ids.get(node);
+		if (id == null)
+			return Collections.emptySet();
+
+		Set<Pair<SootMethod, D>> res = new HashSet<>();
+		for (Integer predId : ids.values()) {
+			Node<D> pred = getNode(predId);
+			for (int succ : pred.succs) {
+				if (succ == id) {
+					res.add(pred.abstraction);
+					break;
+				}
+			}
+		}
+		return res;
+	}
+
+	@Override
+	public void addNode(Pair<SootMethod, D> node) {
+		intern(node);
+	}
+
+	@Override
+	public void addEdge(Pair<SootMethod, D> n1, Pair<SootMethod, D> n2) {
+		int id1 = intern(n1);
+		int id2 = intern(n2);
+		if (getNode(id1).addSucc(id2))
+			edgeCount.increment();
+	}
+
+	@Override
+	public boolean contains(Pair<SootMethod, D> node) {
+		return ids.containsKey(node);
+	}
+
+	@Override
+	public void removeEdge(Pair<SootMethod, D> n1, Pair<SootMethod, D> n2) {
+		Node<D> node1 = getNode(n1);
+		Integer id2 = ids.get(n2);
+		if (node1 != null && id2 != null && node1.removeSucc(id2))
+			edgeCount.decrement();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The id of a removed node is never reused. If the same abstraction is added
+	 * again later, it receives a new id.
+	 */
+	@Override
+	public void remove(Pair<SootMethod, D> node) {
+		Integer id = ids.remove(node);
+		if (id == null)
+			return;
+
+		Node<D> n = getNode(id);
+		edgeCount.add(-n.succs.length);
+		n.succs = NO_SUCCS;
+		for (Integer predId : ids.values()) {
+			if (getNode(predId).removeSucc(id))
+				edgeCount.decrement();
+		}
+	}
+
+	/**
+	 * Gets the number of nodes in this graph
+	 *
+	 * @return The number of nodes in this graph
+	 */
+	public int nodeSize() {
+		return ids.size();
+	}
+
+	/**
+	 * Gets the number of edges in this graph
+	 *
+	 * @return The number of edges in this graph
+	 */
+	public int edgeSize() {
+		return edgeCount.intValue();
+	}
+
+	/**
+	 * Checks whether a node that is reachable from the given source, including the
+	 * source itself, satisfies the given predicate. This method does not allocate
+	 * any memory, unless the graph has grown beyond the size of the buffers of the
+	 * current thread.
+	 *
+	 * @param source    The node from which to start the search
+	 * @param predicate The predicate to check on the reachable nodes
+	 * @return True if at least one reachable node satisfies the given predicate,
+	 *         otherwise false
+	 */
+	public boolean reachesAny(Pair<SootMethod, D> source, Predicate<Pair<SootMethod, D>> predicate) {
+		Integer sourceId = ids.get(source);
+		if (sourceId == null)
+			return predicate.test(source);
+
+		TraversalState state = traversalState.get();
+		state.reset(nextId.get());
+		int[] stack = state.stack;
+		int sp = 0;
+		stack[sp++] = sourceId;
+		state.visit(sourceId);
+		while (sp > 0) {
+			Node<D> node = getNode(stack[--sp]);
+			if (predicate.test(node.abstraction))
+				return true;
+
+			int[] succs = node.succs;
+			for (int succ : succs) {
+				if (state.visit(succ)) {
+					if (sp == stack.length)
+						stack = state.ensureStackCapacity(sp + 1);
+					stack[sp++] = succ;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Computes all nodes that are reachable from the given source, including the
+	 * source itself
+	 *
+	 * @param source The node from which to start the search
+	 * @return The set of reachable nodes
+	 */
+	public Set<Pair<SootMethod, D>> reachableClosure(Pair<SootMethod, D> source) {
+		Set<Pair<SootMethod, D>> visited = new HashSet<>();
+		reachesAny(source, n -> {
+			visited.add(n);
+			return false;
+		});
+		return visited;
+	}
+
+}
@@ -7,21 +7,22 @@ import org.slf4j.LoggerFactory;
 import soot.SootMethod;
 import soot.jimple.infoflow.solver.gcSolver.AbstractReferenceCountingGarbageCollector;
 import soot.jimple.infoflow.solver.gcSolver.IGCReferenceProvider;
+import soot.jimple.infoflow.solver.gcSolver.ThreadedGarbageCollector;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 public abstract class FineGrainedReferenceCountingGarbageCollector<N, D>
 		extends AbstractReferenceCountingGarbageCollector<N, D, Pair<SootMethod, D>> {
 	protected static final Logger logger = LoggerFactory.getLogger(FineGrainedReferenceCountingGarbageCollector.class);
 
 	public FineGrainedReferenceCountingGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<Pair<SootMethod, D>, PathEdge<N, D>> jumpFunctions,
+			IPartitionedJumpFunctions<Pair<SootMethod, D>, N, D> jumpFunctions,
 			IGCReferenceProvider<Pair<SootMethod, D>> referenceProvider) {
 		super(icfg, jumpFunctions, referenceProvider);
 	}
 
 	public FineGrainedReferenceCountingGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<Pair<SootMethod, D>, PathEdge<N, D>> jumpFunctions) {
+			IPartitionedJumpFunctions<Pair<SootMethod, D>, N, D> jumpFunctions) {
 		super(icfg, jumpFunctions);
 	}
 
@@ -36,11 +37,13 @@ public abstract class FineGrainedReferenceCountingGarbageCollector<N, D>
 		@Override
 		public void run() {
 			while (!finished) {
-				gcImmediate();
+				gcNow();
 
-				if (sleepTimeSeconds > 0) {
+				// In incremental mode, we only wait for the running tasks to finish
+				long sleepTimeMillis = incremental ? incrementalIntervalMillis : sleepTimeSeconds * 1000;
+				if (sleepTimeMillis > 0) {
 					try {
-						Thread.sleep(sleepTimeSeconds * 1000);
+						Thread.sleep(sleepTimeMillis);
 					} catch (InterruptedException e) {
 						break;
 					}
@@ -60,6 +63,7 @@ public abstract class FineGrainedReferenceCountingGarbageCollector<N, D>
 	}
 
 	protected int sleepTimeSeconds = 1;
+	protected volatile int incrementalIntervalMillis = ThreadedGarbageCollector.DEFAULT_INCREMENTAL_INTERVAL_MILLIS;
 	protected int maxPathEdgeCount = 0;
 	protected int maxMemoryConsumption = 0;
 
@@ -81,7 +85,8 @@ public abstract class FineGrainedReferenceCountingGarbageCollector<N, D>
 
 	@Override
 	public void notifySolverTerminated() {
-		gcImmediate();
+		gcNow();
+		closeAdaptivePolicy();
 
 		logger.info(String.format("GC removes %d abstractions", getGcedAbstractions()));
 		logger.info(String.format("GC removes %d path edges", getGcedEdges()));
@@ -98,6 +103,18 @@ public abstract class FineGrainedReferenceCountingGarbageCollector<N, D>
 	 */
 	public void setSleepTimeSeconds(int sleepTimeSeconds) {
 		this.sleepTimeSeconds = sleepTimeSeconds;
+		this.blockedRetryIntervalMillis = sleepTimeSeconds * 1000L;
+	}
+
+	/**
+	 * Sets the time to wait between two rounds of incremental garbage collection
+	 * in milliseconds
+	 * 
+	 * @param incrementalIntervalMillis The time to wait between two rounds of
+	 *                                  incremental garbage collection
+	 */
+	public void setIncrementalIntervalMillis(int incrementalIntervalMillis) {
+		this.incrementalIntervalMillis = incrementalIntervalMillis;
 	}
 
 	private int getUsedMemory() {
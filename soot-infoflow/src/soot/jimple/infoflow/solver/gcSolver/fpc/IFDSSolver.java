@@ -42,6 +42,7 @@ import heros.solver.Pair;
 import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.Unit;
+import soot.jimple.infoflow.InfoflowConfiguration.JumpFunctionStoreMode;
 import soot.jimple.infoflow.collect.MyConcurrentHashMap;
 import soot.jimple.infoflow.memory.IMemoryBoundedSolver;
 import soot.jimple.infoflow.memory.ISolverTerminationReason;
@@ -53,7 +54,11 @@ import soot.jimple.infoflow.solver.executors.InterruptableExecutor;
 import soot.jimple.infoflow.solver.executors.SetPoolExecutor;
 import soot.jimple.infoflow.solver.fastSolver.FastSolverLinkedNode;
 import soot.jimple.infoflow.solver.gcSolver.GCSolverPeerGroup;
+import soot.jimple.infoflow.solver.gcSolver.GarbageCollectionTrigger;
 import soot.jimple.infoflow.solver.gcSolver.IGarbageCollector;
+import soot.jimple.infoflow.solver.jumpFunctions.CompactPartitionedJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.MultiMapJumpFunctions;
 import soot.jimple.infoflow.solver.memory.IMemoryManager;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
 import soot.util.ConcurrentHashMultiMap;
@@ -86,7 +91,7 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	protected int numThreads;
 
 	@SynchronizedBy("thread safe data structure, consistent locking when used")
-	protected ConcurrentHashMultiMap<Pair<SootMethod, D>, PathEdge<N, D>> jumpFunctions = new ConcurrentHashMultiMap<>();
+	protected IPartitionedJumpFunctions<Pair<SootMethod, D>, N, D> jumpFunctions;
 
 	@SynchronizedBy("thread safe data structure")
 	protected volatile IGarbageCollector<N, D> garbageCollector;
@@ -138,8 +143,10 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 
 	protected ISolverPeerGroup solverPeerGroup;
 
-	protected AbstrationDependencyGraph<D> abstDependencyGraph;
+	protected CompactAbstractionDependencyGraph<D> abstDependencyGraph;
 	protected int sleepTime = 1;
+	protected GarbageCollectionTrigger gcTrigger = null;
+	protected boolean incrementalGC = false;
 
 	/**
 	 * Creates a solver for the given problem, which caches flow functions and edge
@@ -166,6 +173,7 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 			flowFunctionCacheBuilder = flowFunctionCacheBuilder.recordStats();
 		this.zeroValue = tabulationProblem.zeroValue();
 		this.icfg = tabulationProblem.interproceduralCFG();
+		this.jumpFunctions = new MultiMapJumpFunctions<>((d1, n) -> new Pair<>(icfg.getMethodOf(n), d1));
 		FlowFunctions<N, D, SootMethod> flowFunctions = tabulationProblem.autoAddZero()
 				? new ZeroedFlowFunctions<N, D, SootMethod>(tabulationProblem.flowFunctions(), zeroValue)
 				: tabulationProblem.flowFunctions();
@@ -193,7 +201,7 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		// NullGarbageCollector<N, D> gc = new NullGarbageCollector<>();
 		// AggressiveGarbageCollector<N, D> gc = new AggressiveGarbageCollector<>(icfg,
 		// jumpFunctions);
-		abstDependencyGraph = new AbstrationDependencyGraph<>();
+		abstDependencyGraph = new CompactAbstractionDependencyGraph<>();
 		NormalGarbageCollector<N, D> gc = new NormalGarbageCollector<>(icfg, jumpFunctions, endSummary,
 				abstDependencyGraph);
 		gc.setSleepTimeSeconds(sleepTime);
@@ -201,6 +209,9 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		@SuppressWarnings("unchecked")
 		GCSolverPeerGroup<Pair<SootMethod, D>> gcSolverGroup = (GCSolverPeerGroup<Pair<SootMethod, D>>) solverPeerGroup;
 		gc.setPeerGroup(gcSolverGroup.getGCPeerGroup());
+		if (gcTrigger != null)
+			gc.setTrigger(gcTrigger);
+		gc.setIncremental(incrementalGC);
 		return garbageCollector = gc;
 	}
 
@@ -316,14 +327,8 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 			if (map != sumMap) { // already exists.
 				return;
 			}
-			if (garbageCollector instanceof NormalGarbageCollector && orgSrc != null) {
-				try {
-					abstDependencyGraph.lock();
-					abstDependencyGraph.addEdge(orgSrc, abst);
-				} finally {
-					abstDependencyGraph.unlock();
-				}
-			}
+			if (garbageCollector instanceof NormalGarbageCollector && orgSrc != null)
+				abstDependencyGraph.addEdge(orgSrc, abst);
 		}
 		garbageCollector.notifyEdgeSchedule(edge);
 		executor.execute(new PathEdgeProcessingTask(edge, solverId));
@@ -701,9 +706,7 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 	 * @see PathEdge
 	 */
 	public D addFunction(PathEdge<N, D> edge) {
-		SootMethod method = icfg.getMethodOf(edge.getTarget());
-		PathEdge<N, D> oldEdge = jumpFunctions.putIfAbsent(new Pair<>(method, edge.factAtSource()), edge);
-		return oldEdge == null ? null : oldEdge.factAtTarget();
+		return jumpFunctions.addFunction(edge);
 	}
 
 	protected Set<EndSummary<N, D>> endSummary(SootMethod m, D d3) {
@@ -785,17 +788,22 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		}
 
 		public void run() {
-			if (icfg.isCallStmt(edge.getTarget())) {
-				processCall(edge);
-			} else {
-				// note that some statements, such as "throw" may be
-				// both an exit statement and a "normal" statement
-				if (icfg.isExitStmt(edge.getTarget()))
-					processExit(edge);
-				if (!icfg.getSuccsOf(edge.getTarget()).isEmpty())
-					processNormalFlow(edge);
+			garbageCollector.notifyTaskStarted(edge);
+			try {
+				if (icfg.isCallStmt(edge.getTarget())) {
+					processCall(edge);
+				} else {
+					// note that some statements, such as "throw" may be
+					// both an exit statement and a "normal" statement
+					if (icfg.isExitStmt(edge.getTarget()))
+						processExit(edge);
+					if (!icfg.getSuccsOf(edge.getTarget()).isEmpty())
+						processNormalFlow(edge);
+				}
+			} finally {
+				// A failing task must not pin its epoch
+				garbageCollector.notifyTaskProcessed(edge);
 			}
-			garbageCollector.notifyTaskProcessed(edge);
 		}
 
 		@Override
@@ -900,6 +908,23 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		this.maxAbstractionPathLength = maxAbstractionPathLength;
 	}
 
+	/**
+	 * Sets the data structure in which this solver stores its jump functions. This
+	 * method must be called before the solver is started.
+	 *
+	 * @param mode The data structure in which to store the jump functions
+	 */
+	public void setJumpFunctionStoreMode(JumpFunctionStoreMode mode) {
+		switch (mode) {
+		case Compact:
+			this.jumpFunctions = new CompactPartitionedJumpFunctions<>((d1, n) -> new Pair<>(icfg.getMethodOf(n), d1));
+			break;
+		default:
+			this.jumpFunctions = new MultiMapJumpFunctions<>((d1, n) -> new Pair<>(icfg.getMethodOf(n), d1));
+			break;
+		}
+	}
+
 	/**
 	 * Sets the peer group in which this solver operates. Peer groups allow for
 	 * synchronization between solvers
@@ -910,6 +935,40 @@ public class IFDSSolver<N, D extends FastSolverLinkedNode<D, N>, I extends BiDiI
 		this.solverPeerGroup = solverPeerGroup;
 	}
 
+	/**
+	 * Sets when the garbage collector of this solver shall remove jump functions.
+	 * This setting must be made before the solver is started.
+	 * 
+	 * @param gcTrigger The trigger for garbage collection, or null to use the
+	 *                  default of the garbage collector
+	 */
+	public void setGarbageCollectionTrigger(GarbageCollectionTrigger gcTrigger) {
+		this.gcTrigger = gcTrigger;
+	}
+
+	/**
+	 * Sets whether the garbage collector of this solver shall collect abstractions
+	 * incrementally as soon as their reference count drops to zero, instead of
+	 * periodically sweeping over all abstractions. This setting must be made
+	 * before the solver is started.
+	 * 
+	 * @param incrementalGC True for incremental garbage collection, false for
+	 *                      sweeping garbage collection
+	 */
+	public void setIncrementalGarbageCollection(boolean incrementalGC) {
+		this.incrementalGC = incrementalGC;
+	}
+
+	/**
+	 * Gets the garbage collector of this solver
+	 * 
+	 * @return The garbage collector of this solver, or null if the solver has not
+	 *         been started yet
+	 */
+	public IGarbageCollector<N, D> getGarbageCollector() {
+		return garbageCollector;
+	}
+
 	/**
 	 * Notifies the solver that no further edges will be scheduled
 	 */
@@ -1,18 +1,17 @@
 package soot.jimple.infoflow.solver.gcSolver.fpc;
 
 import heros.solver.Pair;
-import heros.solver.PathEdge;
 import soot.SootMethod;
 import soot.jimple.infoflow.collect.MyConcurrentHashMap;
 import soot.jimple.infoflow.solver.EndSummary;
 import soot.jimple.infoflow.solver.cfg.BackwardsInfoflowCFG;
 import soot.jimple.infoflow.solver.fastSolver.FastSolverLinkedNode;
 import soot.jimple.infoflow.solver.gcSolver.IGCReferenceProvider;
+import soot.jimple.infoflow.solver.jumpFunctions.IPartitionedJumpFunctions;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
-import soot.util.ConcurrentHashMultiMap;
 
 import java.util.Map;
-import java.util.Set;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,13 +20,14 @@ public class NormalGarbageCollector<N, D extends FastSolverLinkedNode<D, N>>
 		extends FineGrainedReferenceCountingGarbageCollector<N, D> {
 
 	protected static final Logger logger = LoggerFactory.getLogger(NormalGarbageCollector.class);
-	protected final AbstrationDependencyGraph<D> abstDependencyGraph;
+	protected final CompactAbstractionDependencyGraph<D> abstDependencyGraph;
+	private final Predicate<Pair<SootMethod, D>> isActive = abst -> jumpFnCounter.get(abst) > 0;
 	protected final MyConcurrentHashMap<Pair<SootMethod, D>, Map<EndSummary<N, D>, EndSummary<N, D>>> endSummary;
 
 	public NormalGarbageCollector(BiDiInterproceduralCFG<N, SootMethod> icfg,
-			ConcurrentHashMultiMap<Pair<SootMethod, D>, PathEdge<N, D>> jumpFunctions,
+			IPartitionedJumpFunctions<Pair<SootMethod, D>, N, D> jumpFunctions,
 			MyConcurrentHashMap<Pair<SootMethod, D>, Map<EndSummary<N, D>, EndSummary<N, D>>> endSummary,
-			AbstrationDependencyGraph<D> adg) {
+			CompactAbstractionDependencyGraph<D> adg) {
 		super(icfg, jumpFunctions, null);
 		this.abstDependencyGraph = adg;
 		this.endSummary = endSummary;
@@ -36,32 +36,14 @@ public class NormalGarbageCollector<N, D extends FastSolverLinkedNode<D, N>>
 	@Override
 	public boolean hasActiveDependencies(Pair<SootMethod, D> abstraction) {
 		int changeCounter = -1;
-		try {
-			abstDependencyGraph.lock();
-			do {
-				// Update the change counter for the next round
-				changeCounter = jumpFnCounter.getChangeCounter();
+		do {
+			// Update the change counter for the next round
+			changeCounter = jumpFnCounter.getChangeCounter();
 
-				// Check the method itself
-				if (jumpFnCounter.get(abstraction) > 0)
-					return true;
-
-				// Check the transitive callees
-				Set<Pair<SootMethod, D>> references = abstDependencyGraph.reachableClosure(abstraction);
-				for (Pair<SootMethod, D> ref : references) {
-					if (jumpFnCounter.get(ref) > 0)
-						return true;
-				}
-			} while (checkChangeCounter && changeCounter != jumpFnCounter.getChangeCounter());
-			// we actually can remove these nodes.
-			// Set<Pair<SootMethod, D>> references =
-			// abstDependencyGraph.reachableClosure(abstraction);
-			// for (Pair<SootMethod, D> ref : references) {
-			// abstDependencyGraph.remove(ref);
-			// }
-		} finally {
-			abstDependencyGraph.unlock();
-		}
+			// Check the method itself and its transitive callees
+			if (abstDependencyGraph.reachesAny(abstraction, isActive))
+				return true;
+		} while (checkChangeCounter && changeCounter != jumpFnCounter.getChangeCounter());
 		return false;
 	}
 
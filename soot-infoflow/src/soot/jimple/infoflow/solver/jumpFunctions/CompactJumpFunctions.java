@@ -0,0 +1,75 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+/**
+ * Memory-efficient store for jump functions. Target nodes are mapped to dense
+ * integer ids, and the jump functions are kept in open-addressing tables with
+ * primitive keys that are striped by key hash to reduce lock contention.
+ * Compared to a map with one {@link heros.solver.PathEdge} per jump function,
+ * this saves the edge object and the map entry for every jump function.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ * @param <D> The type of data flow facts
+ */
+public class CompactJumpFunctions<N, D> implements IJumpFunctions<N, D> {
+
+	private final NodeNumberer<N> nodeNumberer;
+	private final EdgeTable<D>[] stripes;
+	private final int stripeMask;
+
+	/**
+	 * Creates a new instance of the {@link CompactJumpFunctions} class with four
+	 * stripes per available processor
+	 */
+	public CompactJumpFunctions() {
+		this(new NodeNumberer<>(), Runtime.getRuntime().availableProcessors() * 4);
+	}
+
+	/**
+	 * Creates a new instance of the {@link CompactJumpFunctions} class
+	 *
+	 * @param nodeNumberer The numberer that assigns ids to nodes. Solvers that
+	 *                     share the same control-flow graph can share the
+	 *                     numberer.
+	 * @param numStripes   The minimum number of stripes. This value is rounded up
+	 *                     to the next power of two.
+	 */
+	@SuppressWarnings("unchecked")
+	public CompactJumpFunctions(NodeNumberer<N> nodeNumberer, int numStripes) {
+		this.nodeNumberer = nodeNumberer;
+		int stripeCount = Integer.highestOneBit(Math.max(16, numStripes) - 1) << 1;
+		this.stripes = new EdgeTable[stripeCount];
+		for (int i = 0; i < stripeCount; i++)
+			stripes[i] = new EdgeTable<>(64);
+		this.stripeMask = stripeCount - 1;
+	}
+
+	@Override
+	public D addFunction(D d1, N target, D d2) {
+		long key = EdgeTable.key(nodeNumberer.getNumber(target), d1, d2);
+		EdgeTable<D> stripe = stripes[Integer.rotateLeft(EdgeTable.mix(key), 16) & stripeMask];
+		synchronized (stripe) {
+			return stripe.putIfAbsent(key, d1, d2);
+		}
+	}
+
+	@Override
+	public long size() {
+		long size = 0;
+		for (EdgeTable<D> stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		for (EdgeTable<D> stripe : stripes) {
+			synchronized (stripe) {
+				stripe.clear();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import heros.solver.PathEdge;
+
+/**
+ * Memory-efficient store for jump functions that groups the jump functions
+ * into partitions. Every partition is an open-addressing table with primitive
+ * keys that is locked independently of the other partitions.
+ *
+ * @param <A> The type of the partition keys
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ * @param <D> The type of data flow facts
+ */
+public class CompactPartitionedJumpFunctions<A, N, D> implements IPartitionedJumpFunctions<A, N, D> {
+
+	private final ConcurrentHashMap<A, EdgeTable<D>> partitions = new ConcurrentHashMap<>();
+	private final NodeNumberer<N> nodeNumberer;
+	private final BiFunction<D, N, A> partitioner;
+
+	/**
+	 * Creates a new instance of the {@link CompactPartitionedJumpFunctions} class
+	 *
+	 * @param partitioner The function that computes the partition for the source
+	 *                    fact and the target node of a jump function
+	 */
+	public CompactPartitionedJumpFunctions(BiFunction<D, N, A> partitioner) {
+		this(new NodeNumberer<>(), partitioner);
+	}
+
+	/**
+	 * Creates a new instance of the {@link CompactPartitionedJumpFunctions} class
+	 *
+	 * @param nodeNumberer The numberer that assigns ids to nodes
+	 * @param partitioner  The function that computes the partition for the source
+	 *                     fact and the target node of a jump function
+	 */
+	public CompactPartitionedJumpFunctions(NodeNumberer<N> nodeNumberer, BiFunction<D, N, A> partitioner) {
+		this.nodeNumberer = nodeNumberer;
+		this.partitioner = partitioner;
+	}
+
+	@Override
+	public D addFunction(D d1, N target, D d2) {
+		A partitionKey = partitioner.apply(d1, target);
+		EdgeTable<D> partition = partitions.get(partitionKey);
+		if (partition == null)
+			partition = partitions.computeIfAbsent(partitionKey, k -> new EdgeTable<>(8));
+
+		long key = EdgeTable.key(nodeNumberer.getNumber(target), d1, d2);
+		synchronized (partition) {
+			return partition.putIfAbsent(key, d1, d2);
+		}
+	}
+
+	@Override
+	public long size() {
+		long size = 0;
+		for (EdgeTable<D> partition : partitions.values()) {
+			synchronized (partition) {
+				size += partition.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		partitions.clear();
+	}
+
+	@Override
+	public int getFunctionCount(A partitionKey) {
+		EdgeTable<D> partition = partitions.get(partitionKey);
+		if (partition == null)
+			return 0;
+		synchronized (partition) {
+			return partition.size();
+		}
+	}
+
+	@Override
+	public Collection<PathEdge<N, D>> getFunctions(A partitionKey) {
+		EdgeTable<D> partition = partitions.get(partitionKey);
+		if (partition == null)
+			return Collections.emptySet();
+
+		List<PathEdge<N, D>> edges = new ArrayList<>();
+		synchronized (partition) {
+			partition.forEach((nodeId, d1, d2) -> edges.add(new PathEdge<>(d1, nodeNumberer.getNode(nodeId), d2)));
+		}
+		return edges;
+	}
+
+	@Override
+	public boolean removeFunctions(A partitionKey) {
+		return partitions.remove(partitionKey) != null;
+	}
+
+	@Override
+	public Set<A> getPartitions() {
+		return partitions.keySet();
+	}
+
+}
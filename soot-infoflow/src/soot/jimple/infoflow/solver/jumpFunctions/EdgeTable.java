@@ -0,0 +1,146 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table for jump functions. Every slot consists of a
+ * primitive key that packs the id of the target node and a hash of the source
+ * and target facts, and of the two facts themselves. There are no wrapper or
+ * node objects per jump function. The table is not thread-safe on its own,
+ * callers must synchronize on it.
+ *
+ * @param <D> The type of data flow facts
+ */
+class EdgeTable<D> {
+
+	private static final long EMPTY = 0L;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private long[] keys;
+	private Object[] facts;
+	private int size = 0;
+	private int threshold;
+
+	/**
+	 * Callback for iterating over the jump functions in the table
+	 */
+	interface EdgeVisitor<D> {
+
+		public void visit(int nodeId, D d1, D d2);
+
+	}
+
+	EdgeTable(int initialCapacity) {
+		int capacity = Integer.highestOneBit(Math.max(4, initialCapacity) - 1) << 1;
+		this.keys = new long[capacity];
+		this.facts = new Object[capacity * 2];
+		this.threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	/**
+	 * Computes the primitive key for the given jump function
+	 *
+	 * @param nodeId The id of the target node
+	 * @param d1     The fact at the start node of the method
+	 * @param d2     The fact at the target node
+	 * @return The primitive key. This key is never zero.
+	 */
+	static long key(int nodeId, Object d1, Object d2) {
+		int factHash = 31 * d1.hashCode() + d2.hashCode();
+		return ((long) (nodeId + 1) << 32) | (factHash & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Spreads the bits of the given key for selecting a slot or stripe
+	 *
+	 * @param key The key
+	 * @return The spread hash code
+	 */
+	static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Adds the given jump function to the table unless an equal one already
+	 * exists
+	 *
+	 * @param key The primitive key of the jump function
+	 * @param d1  The fact at the start node of the method
+	 * @param d2  The fact at the target node
+	 * @return The existing target fact, or <code>null</code> if the jump function
+	 *         was added
+	 */
+	@SuppressWarnings("unchecked")
+	D putIfAbsent(long key, D d1, D d2) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (true) {
+			long k = keys[slot];
+			if (k == EMPTY)
+				break;
+			if (k == key) {
+				Object o1 = facts[slot * 2];
+				Object o2 = facts[slot * 2 + 1];
+				if ((o1 == d1 || o1.equals(d1)) && (o2 == d2 || o2.equals(d2)))
+					return (D) o2;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		facts[slot * 2] = d1;
+		facts[slot * 2 + 1] = d2;
+		if (++size > threshold)
+			resize();
+		return null;
+	}
+
+	private void resize() {
+		long[] oldKeys = keys;
+		Object[] oldFacts = facts;
+
+		int capacity = oldKeys.length * 2;
+		int mask = capacity - 1;
+		keys = new long[capacity];
+		facts = new Object[capacity * 2];
+		threshold = (int) (capacity * LOAD_FACTOR);
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			long k = oldKeys[i];
+			if (k != EMPTY) {
+				int slot = mix(k) & mask;
+				while (keys[slot] != EMPTY)
+					slot = (slot + 1) & mask;
+				keys[slot] = k;
+				facts[slot * 2] = oldFacts[i * 2];
+				facts[slot * 2 + 1] = oldFacts[i * 2 + 1];
+			}
+		}
+	}
+
+	/**
+	 * Visits all jump functions in this table
+	 *
+	 * @param visitor The visitor to call for each jump function
+	 */
+	@SuppressWarnings("unchecked")
+	void forEach(EdgeVisitor<D> visitor) {
+		for (int i = 0; i < keys.length; i++) {
+			long k = keys[i];
+			if (k != EMPTY)
+				visitor.visit((int) (k >>> 32) - 1, (D) facts[i * 2], (D) facts[i * 2 + 1]);
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		Arrays.fill(keys, EMPTY);
+		Arrays.fill(facts, null);
+		size = 0;
+	}
+
+}
@@ -0,0 +1,51 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import heros.solver.PathEdge;
+
+/**
+ * Common interface for all data structures that store the jump functions of
+ * an IFDS solver
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ * @param <D> The type of data flow facts
+ */
+public interface IJumpFunctions<N, D> {
+
+	/**
+	 * Records a jump function if no equal jump function has been recorded before
+	 *
+	 * @param d1     The fact at the start node of the method
+	 * @param target The target node of the jump function
+	 * @param d2     The fact at the target node
+	 * @return The fact at the target node of the jump function that was already
+	 *         recorded before, or <code>null</code> if the given jump function is
+	 *         new
+	 */
+	public D addFunction(D d1, N target, D d2);
+
+	/**
+	 * Records the given jump function if no equal jump function has been recorded
+	 * before
+	 *
+	 * @param edge The jump function to record
+	 * @return The fact at the target node of the jump function that was already
+	 *         recorded before, or <code>null</code> if the given jump function is
+	 *         new
+	 */
+	public default D addFunction(PathEdge<N, D> edge) {
+		return addFunction(edge.factAtSource(), edge.getTarget(), edge.factAtTarget());
+	}
+
+	/**
+	 * Gets the number of jump functions in this data structure
+	 *
+	 * @return The number of jump functions in this data structure
+	 */
+	public long size();
+
+	/**
+	 * Removes all jump functions from this data structure
+	 */
+	public void clear();
+
+}
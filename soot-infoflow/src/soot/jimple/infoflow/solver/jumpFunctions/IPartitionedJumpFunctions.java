@@ -0,0 +1,51 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import java.util.Collection;
+import java.util.Set;
+
+import heros.solver.PathEdge;
+
+/**
+ * Data structure for jump functions that are grouped into partitions, e.g., by
+ * method. Partitions can be removed as a whole, which is what the garbage
+ * collecting solvers need.
+ *
+ * @param <A> The type of the partition keys
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ * @param <D> The type of data flow facts
+ */
+public interface IPartitionedJumpFunctions<A, N, D> extends IJumpFunctions<N, D> {
+
+	/**
+	 * Gets the number of jump functions in the given partition
+	 *
+	 * @param partition The partition
+	 * @return The number of jump functions in the given partition
+	 */
+	public int getFunctionCount(A partition);
+
+	/**
+	 * Gets the jump functions in the given partition. This method is expensive and
+	 * should only be used for debugging purposes.
+	 *
+	 * @param partition The partition
+	 * @return The jump functions in the given partition
+	 */
+	public Collection<PathEdge<N, D>> getFunctions(A partition);
+
+	/**
+	 * Removes all jump functions in the given partition
+	 *
+	 * @param partition The partition to remove
+	 * @return True if the partition existed and has been removed, otherwise false
+	 */
+	public boolean removeFunctions(A partition);
+
+	/**
+	 * Gets the keys of all partitions that currently contain jump functions
+	 *
+	 * @return The keys of all non-empty partitions
+	 */
+	public Set<A> getPartitions();
+
+}
@@ -0,0 +1,37 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import heros.solver.PathEdge;
+import soot.jimple.infoflow.collect.MyConcurrentHashMap;
+
+/**
+ * Stores the jump functions in a concurrent hash map with one {@link PathEdge}
+ * object per jump function
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ * @param <D> The type of data flow facts
+ */
+public class MapJumpFunctions<N, D> implements IJumpFunctions<N, D> {
+
+	private final MyConcurrentHashMap<PathEdge<N, D>, D> jumpFunctions = new MyConcurrentHashMap<>();
+
+	@Override
+	public D addFunction(D d1, N target, D d2) {
+		return jumpFunctions.putIfAbsent(new PathEdge<>(d1, target, d2), d2);
+	}
+
+	@Override
+	public D addFunction(PathEdge<N, D> edge) {
+		return jumpFunctions.putIfAbsent(edge, edge.factAtTarget());
+	}
+
+	@Override
+	public long size() {
+		return jumpFunctions.size();
+	}
+
+	@Override
+	public void clear() {
+		jumpFunctions.clear();
+	}
+
+}
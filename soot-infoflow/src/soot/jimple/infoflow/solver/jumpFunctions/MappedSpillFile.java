@@ -0,0 +1,189 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Store for binary records in a memory-mapped temporary file. The records live
+ * outside of the Java heap, the operating system decides which parts of the
+ * file are kept in memory. Every record occupies a slot whose size is the next
+ * power of two. Slots of freed records are reused for new records of the same
+ * size class, so that the file does not grow when partitions are spilled and
+ * read back over and over again. The file is deleted when the store is closed,
+ * or at the latest when the JVM terminates.
+ */
+class MappedSpillFile {
+
+	private static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+	private static final int MIN_SLOT_SIZE = 64;
+	private static final int MAX_SLOT_SIZE = 1 << 30;
+
+	/**
+	 * The maximum length of a record. The slot of a record also holds its length,
+	 * and the largest slot must still be addressable with an int offset.
+	 */
+	static final int MAX_RECORD_LENGTH = MAX_SLOT_SIZE - 4;
+
+	private final File file;
+	private final RandomAccessFile raf;
+	private final FileChannel channel;
+	private final int chunkSize;
+
+	private final List<MappedByteBuffer> chunks = new ArrayList<>();
+	@SuppressWarnings("unchecked")
+	private final ArrayDeque<Long>[] freeSlots = new ArrayDeque[32];
+	private MappedByteBuffer currentChunk = null;
+	private long fileSize = 0;
+	private long recordBytes = 0;
+	private long freedBytes = 0;
+
+	/**
+	 * Creates a new spill file in the given directory
+	 *
+	 * @param directory The directory in which to create the file, or null to use
+	 *                  the default temporary directory
+	 * @throws IOException Thrown if the file cannot be created
+	 */
+	MappedSpillFile(File directory) throws IOException {
+		this(directory, DEFAULT_CHUNK_SIZE);
+	}
+
+	MappedSpillFile(File directory, int chunkSize) throws IOException {
+		this.file = File.createTempFile("flowdroid-jumpfunctions", ".spill", directory);
+		this.file.deleteOnExit();
+		this.raf = new RandomAccessFile(file, "rw");
+		this.channel = raf.getChannel();
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Appends the given record to the file
+	 *
+	 * @param data   The buffer that contains the record
+	 * @param length The length of the record
+	 * @return The handle through which the record can be read again
+	 * @throws IOException Thrown if the file cannot be extended
+	 * @throws IllegalArgumentException Thrown if the record is longer than
+	 *                                  {@link #MAX_RECORD_LENGTH}
+	 */
+	synchronized long append(byte[] data, int length) throws IOException {
+		if (length < 0 || length > MAX_RECORD_LENGTH)
+			throw new IllegalArgumentException(String.format("Invalid record length %d", length));
+
+		int sizeClass = getSizeClass(length);
+		int slotSize = 1 << sizeClass;
+
+		long handle;
+		ArrayDeque<Long> free = freeSlots[sizeClass];
+		if (free != null && !free.isEmpty())
+			handle = free.poll();
+		else {
+			if (currentChunk == null || currentChunk.remaining() < slotSize) {
+				// Slots never span multiple chunks. Slots that are larger than a chunk
+				// get a chunk of their own.
+				int size = Math.max(chunkSize, slotSize);
+				currentChunk = channel.map(FileChannel.MapMode.READ_WRITE, fileSize, size);
+				fileSize += size;
+				chunks.add(currentChunk);
+			}
+			int offset = currentChunk.position();
+			currentChunk.position(offset + slotSize);
+			handle = ((long) (chunks.size() - 1) << 32) | offset;
+		}
+
+		ByteBuffer slot = chunks.get((int) (handle >>> 32)).duplicate();
+		slot.position((int) handle);
+		slot.putInt(length);
+		slot.put(data, 0, length);
+		recordBytes += length;
+		return handle;
+	}
+
+	/**
+	 * Gets the size class of the slot for a record of the given length
+	 *
+	 * @param length The length of the record
+	 * @return The binary logarithm of the slot size
+	 */
+	private static int getSizeClass(int length) {
+		int required = Math.max(MIN_SLOT_SIZE, length + 4);
+		return 32 - Integer.numberOfLeadingZeros(required - 1);
+	}
+
+	/**
+	 * Gets the record with the given handle
+	 *
+	 * @param handle The handle that was returned when the record was appended
+	 * @return A read-only buffer that contains exactly the record
+	 */
+	synchronized ByteBuffer read(long handle) {
+		ByteBuffer chunk = chunks.get((int) (handle >>> 32)).duplicate();
+		chunk.position((int) handle);
+		int length = chunk.getInt();
+		chunk.limit(chunk.position() + length);
+		return chunk.slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Marks the record with the given handle as no longer needed. Its slot is
+	 * reused for the next record of the same size class.
+	 *
+	 * @param handle The handle of the record
+	 */
+	synchronized void free(long handle) {
+		ByteBuffer chunk = chunks.get((int) (handle >>> 32));
+		int length = chunk.getInt((int) handle);
+		freedBytes += length;
+
+		int sizeClass = getSizeClass(length);
+		ArrayDeque<Long> free = freeSlots[sizeClass];
+		if (free == null) {
+			free = new ArrayDeque<>();
+			freeSlots[sizeClass] = free;
+		}
+		free.add(handle);
+	}
+
+	/**
+	 * Gets the number of bytes in the records that are still in use
+	 *
+	 * @return The number of bytes in live records
+	 */
+	synchronized long getLiveBytes() {
+		return recordBytes - freedBytes;
+	}
+
+	/**
+	 * Gets the size of the file, including slots that are currently free
+	 *
+	 * @return The size of the file in bytes
+	 */
+	synchronized long getFileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * Closes this store and deletes the underlying file
+	 */
+	synchronized void close() {
+		chunks.clear();
+		for (int i = 0; i < freeSlots.length; i++)
+			freeSlots[i] = null;
+		currentChunk = null;
+		try {
+			channel.close();
+			raf.close();
+		} catch (IOException e) {
+			// The file is deleted on exit anyway
+		}
+		file.delete();
+	}
+
+}
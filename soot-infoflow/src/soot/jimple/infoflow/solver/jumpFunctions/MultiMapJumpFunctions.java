@@ -0,0 +1,81 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import heros.solver.PathEdge;
+import soot.util.ConcurrentHashMultiMap;
+
+/**
+ * Stores the jump functions in a concurrent multi-map from partition to
+ * {@link PathEdge} objects
+ *
+ * @param <A> The type of the partition keys
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ * @param <D> The type of data flow facts
+ */
+public class MultiMapJumpFunctions<A, N, D> implements IPartitionedJumpFunctions<A, N, D> {
+
+	private final ConcurrentHashMultiMap<A, PathEdge<N, D>> jumpFunctions = new ConcurrentHashMultiMap<>();
+	private final BiFunction<D, N, A> partitioner;
+
+	/**
+	 * Creates a new instance of the {@link MultiMapJumpFunctions} class
+	 *
+	 * @param partitioner The function that computes the partition for the source
+	 *                    fact and the target node of a jump function
+	 */
+	public MultiMapJumpFunctions(BiFunction<D, N, A> partitioner) {
+		this.partitioner = partitioner;
+	}
+
+	@Override
+	public D addFunction(D d1, N target, D d2) {
+		return addFunction(new PathEdge<>(d1, target, d2));
+	}
+
+	@Override
+	public D addFunction(PathEdge<N, D> edge) {
+		PathEdge<N, D> oldEdge = jumpFunctions.putIfAbsent(partitioner.apply(edge.factAtSource(), edge.getTarget()),
+				edge);
+		return oldEdge == null ? null : oldEdge.factAtTarget();
+	}
+
+	@Override
+	public long size() {
+		long size = 0;
+		for (A partition : jumpFunctions.keySet())
+			size += getFunctionCount(partition);
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		jumpFunctions.clear();
+	}
+
+	@Override
+	public int getFunctionCount(A partition) {
+		Set<PathEdge<N, D>> edges = jumpFunctions.get(partition);
+		return edges == null ? 0 : edges.size();
+	}
+
+	@Override
+	public Collection<PathEdge<N, D>> getFunctions(A partition) {
+		Set<PathEdge<N, D>> edges = jumpFunctions.get(partition);
+		return edges == null ? Collections.emptySet() : edges;
+	}
+
+	@Override
+	public boolean removeFunctions(A partition) {
+		return jumpFunctions.remove(partition);
+	}
+
+	@Override
+	public Set<A> getPartitions() {
+		return jumpFunctions.keySet();
+	}
+
+}
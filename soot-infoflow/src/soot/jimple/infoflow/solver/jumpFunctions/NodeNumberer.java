@@ -0,0 +1,61 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense integer ids to the nodes of the interprocedural control-flow
+ * graph. Ids are handed out in the order in which the nodes are first seen and
+ * are never reused.
+ *
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ */
+public class NodeNumberer<N> {
+
+	private final ConcurrentHashMap<N, Integer> ids = new ConcurrentHashMap<>();
+	private Object[] nodes = new Object[1024];
+	private int nextId = 0;
+
+	/**
+	 * Gets the id of the given node. If the node does not have an id yet, a new one
+	 * is assigned.
+	 *
+	 * @param node The node for which to get the id
+	 * @return The id of the given node
+	 */
+	public int getNumber(N node) {
+		Integer id = ids.get(node);
+		if (id != null)
+			return id;
+		return ids.computeIfAbsent(node, this::register);
+	}
+
+	private synchronized Integer register(N node) {
+		int id = nextId++;
+		if (id >= nodes.length)
+			nodes = Arrays.copyOf(nodes, nodes.length * 2);
+		nodes[id] = node;
+		return id;
+	}
+
+	/**
+	 * Gets the node with the given id
+	 *
+	 * @param id The id of the node
+	 * @return The node with the given id
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized N getNode(int id) {
+		return id < nextId ? (N) nodes[id] : null;
+	}
+
+	/**
+	 * Gets the number of nodes that have received an id
+	 *
+	 * @return The number of nodes that have received an id
+	 */
+	public synchronized int size() {
+		return nextId;
+	}
+
+}
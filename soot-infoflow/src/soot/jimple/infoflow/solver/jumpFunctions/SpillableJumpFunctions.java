@@ -0,0 +1,346 @@
+package soot.jimple.infoflow.solver.jumpFunctions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Store for jump functions that can move partitions which have not been used
+ * for a while out of the Java heap. A spilled partition keeps the distinct facts
+ * of its jump functions on the heap, and only the hash table that connects them
+ * is written to a memory-mapped file, with the facts replaced by their index.
+ * When a jump function is added to a spilled partition, the table is rebuilt
+ * before the jump function is checked against it.
+ *
+ * Since the facts themselves never leave the heap, a partition that has been
+ * read back contains the very same fact objects as before. Neighbors that the
+ * solver adds to the existing fact of a jump function are thus retained across
+ * any number of spill cycles. What is saved is the table, which is much larger
+ * than the set of distinct facts, because the same facts reach many statements
+ * of a method.
+ *
+ * @param <A> The type of the partition keys
+ * @param <N> The type of nodes in the interprocedural control-flow graph
+ * @param <D> The type of data flow facts
+ */
+public class SpillableJumpFunctions<A, N, D> implements IJumpFunctions<N, D> {
+
+	private static final Logger logger = LoggerFactory.getLogger(SpillableJumpFunctions.class);
+
+	/**
+	 * The default number of jump functions that must have been added to other
+	 * partitions since the last access to a partition before the partition may be
+	 * spilled
+	 */
+	public static final long DEFAULT_COLD_PROPAGATIONS = 100000;
+
+	/**
+	 * A partition that is either kept on the heap or spilled to the file
+	 */
+	private static class Partition<D> {
+
+		private EdgeTable<D> table = new EdgeTable<>(8);
+		private Object[] spilledFacts = null;
+		private long spillHandle = -1;
+		private int spilledSize = 0;
+		private long lastAccess = 0;
+
+	}
+
+	/**
+	 * Byte array output stream that gives access to its internal buffer, so that
+	 * we do not need to copy every record before writing it to the file
+	 */
+	private static class RecordBuffer extends ByteArrayOutputStream {
+
+		public RecordBuffer() {
+			super(4096);
+		}
+
+		public byte[] getBuffer() {
+			return buf;
+		}
+
+	}
+
+	private final ConcurrentHashMap<A, Partition<D>> partitions = new ConcurrentHashMap<>();
+	private final NodeNumberer<N> nodeNumberer;
+	private final BiFunction<D, N, A> partitioner;
+	private final File spillDirectory;
+
+	private long coldPropagations = DEFAULT_COLD_PROPAGATIONS;
+
+	/**
+	 * Logical clock that is advanced with every added jump function. The clock is
+	 * volatile, so that the thread that spills partitions sees the current time,
+	 * but the increment is deliberately not atomic. Lost updates only make the age
+	 * of a partition slightly inaccurate.
+	 */
+	private volatile long clock = 0;
+
+	private MappedSpillFile spillFile = null;
+	private volatile boolean spillFailed = false;
+
+	private final LongAdder spilledPartitions = new LongAdder();
+	private final LongAdder spilledEdges = new LongAdder();
+	private final LongAdder faultIns = new LongAdder();
+
+	/**
+	 * Creates a new instance of the {@link SpillableJumpFunctions} class
+	 *
+	 * @param partitioner    The function that computes the partition for the
+	 *                       source fact and the target node of a jump function
+	 * @param spillDirectory The directory in which to create the spill file, or
+	 *                       null to use the default temporary directory
+	 */
+	public SpillableJumpFunctions(BiFunction<D, N, A> partitioner, File spillDirectory) {
+		this(new NodeNumberer<>(), partitioner, spillDirectory);
+	}
+
+	/**
+	 * Creates a new instance of the {@link SpillableJumpFunctions} class
+	 *
+	 * @param nodeNumberer   The numberer that assigns ids to nodes
+	 * @param partitioner    The function that computes the partition for the
+	 *                       source fact and the target node of a jump function
+	 * @param spillDirectory The directory in which to create the spill file, or
+	 *                       null to use the default temporary directory
+	 */
+	public SpillableJumpFunctions(NodeNumberer<N> nodeNumberer, BiFunction<D, N, A> partitioner,
+			File spillDirectory) {
+		this.nodeNumberer = nodeNumberer;
+		this.partitioner = partitioner;
+		this.spillDirectory = spillDirectory;
+	}
+
+	@Override
+	public D addFunction(D d1, N target, D d2) {
+		A partitionKey = partitioner.apply(d1, target);
+		Partition<D> partition = partitions.get(partitionKey);
+		if (partition == null)
+			partition = partitions.computeIfAbsent(partitionKey, k -> new Partition<>());
+
+		long key = EdgeTable.key(nodeNumberer.getNumber(target), d1, d2);
+		synchronized (partition) {
+			partition.lastAccess = ++clock;
+			if (partition.table == null)
+				faultIn(partition);
+			return partition.table.putIfAbsent(key, d1, d2);
+		}
+	}
+
+	/**
+	 * Moves all partitions that have not been used for the configured number of
+	 * propagations out of the heap
+	 *
+	 * @return The number of jump functions that have been spilled
+	 */
+	public long spillColdPartitions() {
+		if (spillFailed)
+			return 0;
+
+		long now = clock;
+		long spilled = 0;
+		RecordBuffer buffer = new RecordBuffer();
+		for (Partition<D> partition : partitions.values()) {
+			if (now - partition.lastAccess < coldPropagations)
+				continue;
+			synchronized (partition) {
+				EdgeTable<D> table = partition.table;
+				if (table == null || table.size() == 0 || now - partition.lastAccess < coldPropagations)
+					continue;
+
+				List<D> facts = new ArrayList<>();
+				try {
+					buffer.reset();
+					encode(table, facts, new DataOutputStream(buffer));
+					if (buffer.size() > MappedSpillFile.MAX_RECORD_LENGTH) {
+						// Such a partition is far too large to be cold for long, so we
+						// simply keep it on the heap
+						logger.warn("Partition with {} jump functions is too large to be spilled", table.size());
+						continue;
+					}
+					partition.spillHandle = getSpillFile().append(buffer.getBuffer(), buffer.size());
+				} catch (IOException e) {
+					logger.error("Could not spill jump functions, spilling is disabled", e);
+					spillFailed = true;
+					break;
+				}
+				partition.spilledFacts = facts.toArray();
+				partition.spilledSize = table.size();
+				partition.table = null;
+				spilled += partition.spilledSize;
+				spilledPartitions.increment();
+			}
+		}
+		spilledEdges.add(spilled);
+		return spilled;
+	}
+
+	private MappedSpillFile getSpillFile() throws IOException {
+		synchronized (this) {
+			if (spillFile == null)
+				spillFile = new MappedSpillFile(spillDirectory);
+			return spillFile;
+		}
+	}
+
+	/**
+	 * Writes the given table to the given output. The facts are not written, the
+	 * edges refer to them by their index in the given list. Facts are told apart by
+	 * identity, so that the table can be rebuilt with the original objects.
+	 *
+	 * @param table The table to write
+	 * @param facts The list that receives the distinct facts of the table
+	 * @param out   The output to which to write the table
+	 * @throws IOException Thrown if the table cannot be written
+	 */
+	private void encode(EdgeTable<D> table, List<D> facts, DataOutputStream out) throws IOException {
+		Map<D, Integer> factIds = new IdentityHashMap<>();
+		int[] edges = new int[table.size() * 3];
+		int[] pos = new int[1];
+		table.forEach((nodeId, d1, d2) -> {
+			edges[pos[0]++] = nodeId;
+			edges[pos[0]++] = factIds.computeIfAbsent(d1, d -> registerFact(facts, d));
+			edges[pos[0]++] = factIds.computeIfAbsent(d2, d -> registerFact(facts, d));
+		});
+
+		out.writeInt(table.size());
+		for (int edge : edges)
+			out.writeInt(edge);
+		out.flush();
+	}
+
+	private static <D> int registerFact(List<D> facts, D fact) {
+		facts.add(fact);
+		return facts.size() - 1;
+	}
+
+	/**
+	 * Reads a spilled partition back into the heap. The caller must hold the lock
+	 * on the partition.
+	 *
+	 * @param partition The partition to read back
+	 */
+	@SuppressWarnings("unchecked")
+	private void faultIn(Partition<D> partition) {
+		MappedSpillFile file;
+		synchronized (this) {
+			file = spillFile;
+		}
+		ByteBuffer buffer = file.read(partition.spillHandle);
+
+		Object[] facts = partition.spilledFacts;
+		int numEdges = buffer.getInt();
+		EdgeTable<D> table = new EdgeTable<>(numEdges * 2);
+		for (int i = 0; i < numEdges; i++) {
+			int nodeId = buffer.getInt();
+			D d1 = (D) facts[buffer.getInt()];
+			D d2 = (D) facts[buffer.getInt()];
+			table.putIfAbsent(EdgeTable.key(nodeId, d1, d2), d1, d2);
+		}
+
+		file.free(partition.spillHandle);
+		partition.table = table;
+		partition.spilledFacts = null;
+		partition.spillHandle = -1;
+		partition.spilledSize = 0;
+		faultIns.increment();
+	}
+
+	@Override
+	public long size() {
+		long size = 0;
+		for (Partition<D> partition : partitions.values()) {
+			synchronized (partition) {
+				size += partition.table == null ? partition.spilledSize : partition.table.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		partitions.clear();
+		synchronized (this) {
+			if (spillFile != null) {
+				spillFile.close();
+				spillFile = null;
+			}
+		}
+	}
+
+	/**
+	 * Sets the number of jump functions that must have been added to other
+	 * partitions since the last access to a partition before the partition may be
+	 * spilled
+	 *
+	 * @param coldPropagations The minimum age of a partition that may be spilled,
+	 *                         measured in added jump functions
+	 */
+	public void setColdPropagations(long coldPropagations) {
+		this.coldPropagations = coldPropagations;
+	}
+
+	/**
+	 * Gets the number of times a partition has been spilled
+	 *
+	 * @return The number of times a partition has been spilled
+	 */
+	public long getSpilledPartitionCount() {
+		return spilledPartitions.sum();
+	}
+
+	/**
+	 * Gets the total number of jump functions that have been spilled. Jump
+	 * functions that were spilled multiple times are counted multiple times.
+	 *
+	 * @return The total number of spilled jump functions
+	 */
+	public long getSpilledEdgeCount() {
+		return spilledEdges.sum();
+	}
+
+	/**
+	 * Gets the number of times a spilled partition has been read back into the
+	 * heap
+	 *
+	 * @return The number of times a spilled partition has been read back
+	 */
+	public long getFaultInCount() {
+		return faultIns.sum();
+	}
+
+	/**
+	 * Gets the number of bytes in the spill file that belong to partitions that
+	 * are currently spilled
+	 *
+	 * @return The number of bytes of spilled partitions
+	 */
+	public synchronized long getSpilledBytes() {
+		return spillFile == null ? 0 : spillFile.getLiveBytes();
+	}
+
+	/**
+	 * Gets the size of the spill file, including the space of partitions that
+	 * have been read back and that is available for reuse
+	 *
+	 * @return The size of the spill file in bytes
+	 */
+	public synchronized long getSpillFileSize() {
+		return spillFile == null ? 0 : spillFile.getFileSize();
+	}
+
+}
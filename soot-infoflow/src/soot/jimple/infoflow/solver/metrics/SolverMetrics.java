@@ -0,0 +1,286 @@
+package soot.jimple.infoflow.solver.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+import soot.SootMethod;
+
+/**
+ * Registry for metrics that the data flow solvers update while they are
+ * running. Counters are updated on the hot path of the solvers and are
+ * therefore based on {@link LongAdder}s. Values that the solvers already keep
+ * track of, such as the number of jump functions, are registered as gauges and
+ * are only evaluated when the metrics are sampled.
+ *
+ * Clients can plug in their own registry by overwriting the callbacks in this
+ * class.
+ */
+public class SolverMetrics {
+
+	/**
+	 * The default number of methods to include in a report
+	 */
+	public static final int DEFAULT_TOP_METHODS = 20;
+
+	/**
+	 * Current and peak value of a gauge
+	 */
+	private static class Gauge {
+
+		private final DoubleSupplier supplier;
+		private volatile double current = 0;
+		private volatile double peak = 0;
+
+		public Gauge(DoubleSupplier supplier) {
+			this.supplier = supplier;
+		}
+
+		public synchronized void sample() {
+			double value = supplier.getAsDouble();
+			if (Double.isNaN(value))
+				return;
+			current = value;
+			if (value > peak)
+				peak = value;
+		}
+
+	}
+
+	private final LongAdder processedEdges = new LongAdder();
+	private final Map<SootMethod, LongAdder> methodEdges = new ConcurrentHashMap<>();
+	private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+	private volatile long startTime = System.nanoTime();
+	private volatile long stopTime = -1;
+
+	/**
+	 * Resets the time from which the edges per second are computed
+	 */
+	public void start() {
+		this.startTime = System.nanoTime();
+		this.stopTime = -1;
+	}
+
+	/**
+	 * Records the final values of all gauges and stops the clock for computing
+	 * the edges per second. This method must be called before the solvers release
+	 * their data structures.
+	 */
+	public void stop() {
+		sampleGauges();
+		this.stopTime = System.nanoTime();
+	}
+
+	/**
+	 * Callback that is invoked whenever a solver processes a path edge
+	 *
+	 * @param method The method in which the target statement of the edge is
+	 *               located
+	 */
+	public void onEdgeProcessed(SootMethod method) {
+		processedEdges.increment();
+		if (method != null) {
+			LongAdder counter = methodEdges.get(method);
+			if (counter == null)
+				counter = methodEdges.computeIfAbsent(method, m -> new LongAdder());
+			counter.increment();
+		}
+	}
+
+	/**
+	 * Registers a value that shall be included in the metrics. The value is only
+	 * computed when the metrics are sampled. If a gauge with the same name already
+	 * exists, it is replaced.
+	 *
+	 * @param name     The name of the value
+	 * @param supplier The supplier that computes the current value
+	 */
+	public void registerGauge(String name, DoubleSupplier supplier) {
+		gauges.put(name, new Gauge(supplier));
+	}
+
+	/**
+	 * Records the current values of all registered gauges
+	 */
+	public void sampleGauges() {
+		for (Gauge gauge : gauges.values())
+			gauge.sample();
+	}
+
+	/**
+	 * Gets the number of path edges that have been processed so far
+	 *
+	 * @return The number of path edges that have been processed so far
+	 */
+	public long getProcessedEdges() {
+		return processedEdges.sum();
+	}
+
+	/**
+	 * Gets the number of seconds since the metrics have been started, or the
+	 * number of seconds between the start and the end if the metrics have been
+	 * stopped
+	 *
+	 * @return The number of seconds for which the metrics have been recorded
+	 */
+	public double getElapsedSeconds() {
+		long endTime = stopTime < 0 ? System.nanoTime() : stopTime;
+		return (endTime - startTime) / (double) TimeUnit.SECONDS.toNanos(1);
+	}
+
+	/**
+	 * Gets the average number of path edges that have been processed per second
+	 *
+	 * @return The average number of path edges per second
+	 */
+	public double getEdgesPerSecond() {
+		double seconds = getElapsedSeconds();
+		return seconds > 0 ? getProcessedEdges() / seconds : 0;
+	}
+
+	/**
+	 * Gets the last sampled values of all gauges
+	 *
+	 * @return A mapping from the name of each gauge to its last sampled value
+	 */
+	public Map<String, Double> getGaugeValues() {
+		Map<String, Double> values = new ConcurrentSkipListMap<>();
+		for (Entry<String, Gauge> entry : gauges.entrySet())
+			values.put(entry.getKey(), entry.getValue().current);
+		return values;
+	}
+
+	/**
+	 * Gets the peak values of all gauges
+	 *
+	 * @return A mapping from the name of each gauge to its highest sampled value
+	 */
+	public Map<String, Double> getGaugePeaks() {
+		Map<String, Double> values = new ConcurrentSkipListMap<>();
+		for (Entry<String, Gauge> entry : gauges.entrySet())
+			values.put(entry.getKey(), entry.getValue().peak);
+		return values;
+	}
+
+	/**
+	 * Gets the methods in which the most path edges have been processed
+	 *
+	 * @param n The maximum number of methods to return
+	 * @return The methods with the highest number of edges, together with their
+	 *         respective numbers of edges, in descending order
+	 */
+	public List<Entry<SootMethod, Long>> getTopMethods(int n) {
+		List<Entry<SootMethod, Long>> methods = new ArrayList<>(methodEdges.size());
+		for (Entry<SootMethod, LongAdder> entry : methodEdges.entrySet())
+			methods.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()));
+		Collections.sort(methods, (a, b) -> {
+			int c = Long.compare(b.getValue(), a.getValue());
+			return c != 0 ? c : a.getKey().getSignature().compareTo(b.getKey().getSignature());
+		});
+		return methods.size() > n ? methods.subList(0, n) : methods;
+	}
+
+	/**
+	 * Writes the current metrics as a JSON object. The gauges are written with
+	 * their last sampled values.
+	 *
+	 * @param writer     The writer to which to write the metrics
+	 * @param topMethods The maximum number of methods to include in the per-method
+	 *                   edge counts
+	 * @throws IOException Thrown if the metrics could not be written
+	 */
+	public void writeJson(Writer writer, int topMethods) throws IOException {
+		writer.write("{\n");
+		writer.write("  \"elapsedSeconds\": " + formatNumber(getElapsedSeconds()) + ",\n");
+		writer.write("  \"processedEdges\": " + getProcessedEdges() + ",\n");
+		writer.write("  \"edgesPerSecond\": " + formatNumber(getEdgesPerSecond()) + ",\n");
+
+		writer.write("  \"gauges\": {");
+		Map<String, Double> peaks = getGaugePeaks();
+		boolean first = true;
+		for (Entry<String, Double> entry : getGaugeValues().entrySet()) {
+			writer.write(first ? "\n" : ",\n");
+			writer.write("    " + quote(entry.getKey()) + ": { \"current\": " + formatNumber(entry.getValue())
+					+ ", \"peak\": " + formatNumber(peaks.get(entry.getKey())) + " }");
+			first = false;
+		}
+		writer.write(first ? "},\n" : "\n  },\n");
+
+		writer.write("  \"topMethods\": [");
+		first = true;
+		for (Entry<SootMethod, Long> entry : getTopMethods(topMethods)) {
+			writer.write(first ? "\n" : ",\n");
+			writer.write("    { \"method\": " + quote(entry.getKey().getSignature()) + ", \"edges\": "
+					+ entry.getValue() + " }");
+			first = false;
+		}
+		writer.write(first ? "]\n" : "\n  ]\n");
+		writer.write("}\n");
+	}
+
+	private static String formatNumber(Double value) {
+		if (value == null || value.isNaN() || value.isInfinite())
+			return "null";
+		if (value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE)
+			return Long.toString(value.longValue());
+		return String.format(Locale.ROOT, "%.4f", value);
+	}
+
+	private static String quote(String str) {
+		StringBuilder sb = new StringBuilder(str.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20)
+					sb.append(String.format("\\u%04x", (int) c));
+				else
+					sb.append(c);
+			}
+		}
+		sb.append('"');
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ROOT, "%d edges (%.0f edges/s)", getProcessedEdges(),
+				getEdgesPerSecond()));
+		for (Entry<String, Double> entry : getGaugeValues().entrySet()) {
+			sb.append(", ");
+			sb.append(entry.getKey());
+			sb.append('=');
+			sb.append(formatNumber(entry.getValue()));
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,78 @@
+package soot.jimple.infoflow.solver.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import soot.jimple.infoflow.util.ThreadUtils;
+
+/**
+ * Writes the solver metrics to the log in regular intervals while the data flow
+ * analysis is running
+ */
+public class SolverMetricsReporter {
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final SolverMetrics metrics;
+	private final int interval;
+	private volatile boolean stopped = false;
+
+	/**
+	 * Creates a new instance of the {@link SolverMetricsReporter} class
+	 *
+	 * @param metrics  The metrics to report
+	 * @param interval The interval in seconds in which to write the metrics
+	 */
+	public SolverMetricsReporter(SolverMetrics metrics, int interval) {
+		this.metrics = metrics;
+		this.interval = interval;
+	}
+
+	/**
+	 * Starts the reporter
+	 */
+	public void start() {
+		this.stopped = false;
+
+		ThreadUtils.createGenericThread(new Runnable() {
+
+			@Override
+			public void run() {
+				long lastEdges = metrics.getProcessedEdges();
+				long lastTime = System.nanoTime();
+				while (!stopped) {
+					try {
+						Thread.sleep(TimeUnit.SECONDS.toMillis(interval));
+					} catch (InterruptedException e) {
+						// There's little we can do here
+					}
+					if (stopped)
+						break;
+
+					// Report the throughput of the last interval rather than the overall
+					// average, so that we can see when the analysis slows down
+					metrics.sampleGauges();
+					long edges = metrics.getProcessedEdges();
+					long time = System.nanoTime();
+					double seconds = (time - lastTime) / (double) TimeUnit.SECONDS.toNanos(1);
+					logger.info(String.format(Locale.ROOT, "Solver metrics: %.0f edges/s in the last %d seconds, %s",
+							seconds > 0 ? (edges - lastEdges) / seconds : 0, interval, metrics));
+					lastEdges = edges;
+					lastTime = time;
+				}
+			}
+
+		}, "FlowDroid Solver Metrics Reporter", true).start();
+	}
+
+	/**
+	 * Stops the reporter
+	 */
+	public void stop() {
+		this.stopped = true;
+	}
+
+}
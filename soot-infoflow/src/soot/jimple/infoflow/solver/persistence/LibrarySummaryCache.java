@@ -0,0 +1,371 @@
+package soot.jimple.infoflow.solver.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import soot.Body;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.Stmt;
+import soot.jimple.infoflow.InfoflowConfiguration;
+import soot.jimple.infoflow.InfoflowConfiguration.SolverConfiguration;
+import soot.jimple.infoflow.InfoflowManager;
+import soot.jimple.infoflow.data.AccessPath;
+import soot.jimple.infoflow.data.Abstraction;
+import soot.jimple.infoflow.solver.EndSummary;
+import soot.jimple.infoflow.solver.cfg.IInfoflowCFG;
+import soot.jimple.infoflow.sourcesSinks.manager.ISourceSinkManager;
+import soot.jimple.infoflow.taintWrappers.ITaintPropagationWrapper;
+import soot.jimple.infoflow.util.SystemClassHandler;
+
+/**
+ * Connects the data flow solver to a {@link PersistentSummaryStore}. Only the
+ * end summaries of library methods are stored. A library method is cacheable
+ * if all methods that are transitively reachable from it are library methods
+ * as well and none of them contains a sink. The fingerprint of a method covers
+ * the code and the outgoing call edges of all of these methods, i.e., a
+ * summary is no longer used as soon as anything changes in the code on which
+ * it depends.
+ *
+ * Summaries are only stored for active taints without implicit flows. When a
+ * stored summary is applied, the callee does not appear in the propagation
+ * path, similar to a method that is handled by a taint wrapper.
+ */
+public class LibrarySummaryCache {
+
+	/**
+	 * Methods that reach more than this number of other methods are not cached
+	 */
+	private static final int MAX_REACHABLE_METHODS = 1000;
+
+	/**
+	 * The fingerprint-relevant data of a single method
+	 */
+	private static class MethodInfo {
+
+		private final boolean isLibrary;
+		private final boolean containsSink;
+		private final byte[] hash;
+
+		public MethodInfo(boolean isLibrary, boolean containsSink, byte[] hash) {
+			this.isLibrary = isLibrary;
+			this.containsSink = containsSink;
+			this.hash = hash;
+		}
+
+	}
+
+	private final InfoflowManager manager;
+	private final PersistentSummaryStore store;
+
+	private final Map<SootMethod, MethodInfo> methodInfos = new ConcurrentHashMap<>();
+	private final Map<SootMethod, String> fingerprints = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public LibrarySummaryCache(InfoflowManager manager, PersistentSummaryStore store) {
+		this.manager = manager;
+		this.store = store;
+	}
+
+	/**
+	 * Computes a hash of all configuration options that have an effect on the
+	 * end summaries of methods
+	 *
+	 * @param config       The data flow configuration
+	 * @param taintWrapper The taint wrapper that is used by the data flow
+	 *                     analysis, or null if no taint wrapper is used. The
+	 *                     taint wrapper must be able to describe its
+	 *                     configuration.
+	 * @return The hash of the relevant configuration options
+	 * @see ITaintPropagationWrapper#getConfigurationFingerprint()
+	 */
+	public static long getConfigurationHash(InfoflowConfiguration config, ITaintPropagationWrapper taintWrapper) {
+		// Enum constants do not have a stable hash code across runs, so we hash
+		// the textual representation
+		SolverConfiguration solverConfig = config.getSolverConfiguration();
+		StringBuilder sb = new StringBuilder();
+		sb.append(config.getAccessPathConfiguration().hashCode()).append(';');
+		sb.append(config.getImplicitFlowMode()).append(';');
+		sb.append(config.getStaticFieldTrackingMode()).append(';');
+		sb.append(config.getAliasingAlgorithm()).append(';');
+		sb.append(config.getFlowSensitiveAliasing()).append(';');
+		sb.append(config.getEnableExceptionTracking()).append(';');
+		sb.append(config.getEnableArrayTracking()).append(';');
+		sb.append(config.getEnableArraySizeTainting()).append(';');
+		sb.append(config.getEnableTypeChecking()).append(';');
+		sb.append(config.getIgnoreFlowsInSystemPackages()).append(';');
+		sb.append(config.getDataFlowDirection()).append(';');
+		sb.append(solverConfig.getMaxJoinPointAbstractions()).append(';');
+		sb.append(solverConfig.getMaxCalleesPerCallSite()).append(';');
+		sb.append(solverConfig.getMaxAbstractionPathLength()).append(';');
+		sb.append(taintWrapper == null ? "" : taintWrapper.getConfigurationFingerprint());
+
+		byte[] digest = createDigest().digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+		long hash = 0;
+		for (int i = 0; i < 8; i++)
+			hash = (hash << 8) | (digest[i] & 0xFF);
+		return hash;
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 is not available", e);
+		}
+	}
+
+	/**
+	 * Checks whether the end summaries of the given callee can be taken from the
+	 * cache or be stored in it. This check is cheap once the callee has been
+	 * checked for the first time.
+	 *
+	 * @param callee The callee
+	 * @param d3     The abstraction at the start point of the callee
+	 * @return True if the end summaries of the given callee for the given
+	 *         abstraction are cacheable, otherwise false
+	 */
+	public boolean isCacheable(SootMethod callee, Abstraction d3) {
+		return isCacheable(d3) && getFingerprint(callee) != null;
+	}
+
+	/**
+	 * Gets the stored end summaries for the given callee
+	 *
+	 * @param callee The callee
+	 * @param d3     The abstraction at the start point of the callee
+	 * @return The end summaries of the callee for the given abstraction, or null
+	 *         if no summaries are available
+	 */
+	public Set<EndSummary<Unit, Abstraction>> getSummaries(SootMethod callee, Abstraction d3) {
+		if (!isCacheable(d3))
+			return null;
+		String fingerprint = getFingerprint(callee);
+		if (fingerprint == null)
+			return null;
+
+		Body body = callee.getActiveBody();
+		StoredAccessPath entry = StoredAccessPath.fromAccessPath(d3.getAccessPath(), body);
+		if (entry == null)
+			return null;
+		List<StoredEndSummary> storedSummaries = store.get(callee.getSignature(), fingerprint, entry.toString());
+		if (storedSummaries == null) {
+			misses.increment();
+			return null;
+		}
+
+		List<Unit> units = new ArrayList<>(body.getUnits());
+		Set<EndSummary<Unit, Abstraction>> summaries = new HashSet<>(storedSummaries.size());
+		for (StoredEndSummary storedSummary : storedSummaries) {
+			if (storedSummary.getExitPoint() >= units.size())
+				return null;
+			Stmt exitPoint = (Stmt) units.get(storedSummary.getExitPoint());
+			AccessPath ap = storedSummary.getAccessPath().toAccessPath(body, manager.getAccessPathFactory());
+			if (ap == null) {
+				misses.increment();
+				return null;
+			}
+
+			Abstraction d4 = d3.deriveNewAbstraction(ap, exitPoint);
+			if (d4 != null && storedSummary.getExceptionThrown())
+				d4 = d4.deriveNewAbstractionOnThrow(exitPoint);
+			if (d4 != null)
+				summaries.add(new EndSummary<>(exitPoint, d4, d3));
+		}
+		hits.increment();
+		return summaries;
+	}
+
+	/**
+	 * Stores the end summaries that the solver has computed for the given callee
+	 *
+	 * @param callee    The callee
+	 * @param d3        The abstraction at the start point of the callee
+	 * @param summaries The end summaries of the callee for the given abstraction
+	 */
+	public void putSummaries(SootMethod callee, Abstraction d3, Collection<EndSummary<Unit, Abstraction>> summaries) {
+		if (!isCacheable(d3))
+			return;
+		String fingerprint = getFingerprint(callee);
+		if (fingerprint == null)
+			return;
+
+		Body body = callee.getActiveBody();
+		StoredAccessPath entry = StoredAccessPath.fromAccessPath(d3.getAccessPath(), body);
+		if (entry == null)
+			return;
+
+		Map<Unit, Integer> unitIndices = null;
+		List<StoredEndSummary> storedSummaries = new ArrayList<>(summaries.size());
+		for (EndSummary<Unit, Abstraction> summary : summaries) {
+			Abstraction d4 = summary.d4;
+			if (!d4.isAbstractionActive() || d4.isImplicit() || d4.getTopPostdominator() != null)
+				return;
+			StoredAccessPath ap = StoredAccessPath.fromAccessPath(d4.getAccessPath(), body);
+			if (ap == null)
+				return;
+
+			if (unitIndices == null) {
+				unitIndices = new HashMap<>();
+				int idx = 0;
+				for (Unit u : body.getUnits())
+					unitIndices.put(u, idx++);
+			}
+			Integer exitPoint = unitIndices.get(summary.eP);
+			if (exitPoint == null)
+				return;
+			storedSummaries.add(new StoredEndSummary(exitPoint, ap, d4.getExceptionThrown()));
+		}
+		store.put(callee.getSignature(), fingerprint, entry.toString(), storedSummaries);
+	}
+
+	/**
+	 * Checks whether the end summaries for the given callee-side abstraction can
+	 * be stored
+	 *
+	 * @param d3 The abstraction at the start point of the callee
+	 * @return True if the end summaries for the given abstraction can be stored,
+	 *         otherwise false
+	 */
+	private boolean isCacheable(Abstraction d3) {
+		return d3.getAccessPath() != null && !d3.getAccessPath().isEmpty() && d3.isAbstractionActive()
+				&& !d3.isImplicit() && d3.getTopPostdominator() == null && !d3.getExceptionThrown();
+	}
+
+	/**
+	 * Gets the fingerprint of the code on which the end summaries of the given
+	 * method depend
+	 *
+	 * @param sm The method
+	 * @return The fingerprint of the given method, or null if the method is not
+	 *         cacheable
+	 */
+	private String getFingerprint(SootMethod sm) {
+		String fingerprint = fingerprints.get(sm);
+		if (fingerprint == null) {
+			fingerprint = computeFingerprint(sm);
+			String existing = fingerprints.putIfAbsent(sm, fingerprint);
+			if (existing != null)
+				fingerprint = existing;
+		}
+		return fingerprint.isEmpty() ? null : fingerprint;
+	}
+
+	private String computeFingerprint(SootMethod method) {
+		if (!method.hasActiveBody())
+			return "";
+
+		// Collect all methods that are transitively reachable
+		IInfoflowCFG icfg = manager.getICFG();
+		Set<SootMethod> reachable = new HashSet<>();
+		Deque<SootMethod> worklist = new ArrayDeque<>();
+		reachable.add(method);
+		worklist.add(method);
+		while (!worklist.isEmpty()) {
+			SootMethod sm = worklist.poll();
+			MethodInfo info = getMethodInfo(sm);
+			if (!info.isLibrary || info.containsSink)
+				return "";
+			if (sm.hasActiveBody()) {
+				for (Unit callSite : icfg.getCallsFromWithin(sm)) {
+					for (SootMethod callee : icfg.getCalleesOfCallAt(callSite)) {
+						if (reachable.add(callee)) {
+							if (reachable.size() > MAX_REACHABLE_METHODS)
+								return "";
+							worklist.add(callee);
+						}
+					}
+				}
+			}
+		}
+
+		// Combine the hashes of the methods in a stable order
+		List<SootMethod> sortedMethods = new ArrayList<>(reachable);
+		sortedMethods.sort(Comparator.comparing(SootMethod::getSignature));
+		MessageDigest digest = createDigest();
+		for (SootMethod sm : sortedMethods)
+			digest.update(getMethodInfo(sm).hash);
+
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest())
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+
+	private MethodInfo getMethodInfo(SootMethod sm) {
+		MethodInfo info = methodInfos.get(sm);
+		if (info == null) {
+			info = computeMethodInfo(sm);
+			methodInfos.putIfAbsent(sm, info);
+		}
+		return info;
+	}
+
+	private MethodInfo computeMethodInfo(SootMethod sm) {
+		boolean isLibrary = sm.getDeclaringClass().isLibraryClass()
+				|| SystemClassHandler.v().isClassInSystemPackage(sm.getDeclaringClass());
+
+		MessageDigest digest = createDigest();
+		digest.update(sm.getSignature().getBytes(StandardCharsets.UTF_8));
+		if (!sm.hasActiveBody())
+			return new MethodInfo(isLibrary, false, digest.digest());
+
+		IInfoflowCFG icfg = manager.getICFG();
+		ISourceSinkManager sourceSinkManager = manager.getSourceSinkManager();
+		boolean containsSink = false;
+		for (Unit u : sm.getActiveBody().getUnits()) {
+			digest.update(u.toString().getBytes(StandardCharsets.UTF_8));
+			if (sourceSinkManager != null && u instanceof Stmt
+					&& sourceSinkManager.getSinkInfo((Stmt) u, manager, null) != null)
+				containsSink = true;
+
+			// The summary also depends on the call graph, which may be different in
+			// another analysis run
+			if (icfg.isCallStmt(u)) {
+				List<String> callees = new ArrayList<>();
+				for (SootMethod callee : icfg.getCalleesOfCallAt(u))
+					callees.add(callee.getSignature());
+				Collections.sort(callees);
+				for (String callee : callees)
+					digest.update(callee.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		return new MethodInfo(isLibrary, containsSink, digest.digest());
+	}
+
+	/**
+	 * Gets the number of callees for which stored summaries have been applied
+	 *
+	 * @return The number of cache hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of cacheable callees for which no stored summaries were
+	 * available
+	 *
+	 * @return The number of cache misses
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+}
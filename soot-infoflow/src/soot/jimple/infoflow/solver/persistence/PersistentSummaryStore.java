@@ -0,0 +1,396 @@
+package soot.jimple.infoflow.solver.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * File-based store for the end summaries of methods that survives across
+ * analysis runs. The summaries are keyed by the signature of the method, a
+ * fingerprint of the code that the summaries depend on, and the access path
+ * with which the method was entered.
+ *
+ * The existing file is kept open while the store is in use. When the store is
+ * opened, only the keys are read. The summaries for a key are read from the
+ * file on first access. The file is not memory-mapped, because a mapping
+ * cannot be released deterministically and would keep us from replacing the
+ * file on some platforms. New summaries are kept in memory and are written to disk when
+ * the store is closed. All summaries in the file are discarded if the file has
+ * been created with a different configuration. If a method is seen with a new
+ * fingerprint, the summaries for the old fingerprint are dropped.
+ */
+public class PersistentSummaryStore {
+
+	private static final int MAGIC = 0x46445353;
+	private static final int VERSION = 1;
+
+	private static final Logger logger = LoggerFactory.getLogger(PersistentSummaryStore.class);
+
+	/**
+	 * Position of the summaries for one key in the mapped file
+	 */
+	private static class IndexEntry {
+
+		private final String method;
+		private final String fingerprint;
+		private final String entry;
+		private final int offset;
+		private final int length;
+
+		public IndexEntry(String method, String fingerprint, String entry, int offset, int length) {
+			this.method = method;
+			this.fingerprint = fingerprint;
+			this.entry = entry;
+			this.offset = offset;
+			this.length = length;
+		}
+
+	}
+
+	/**
+	 * Summaries that have been added in the current analysis run
+	 */
+	private static class AddedEntry {
+
+		private final String method;
+		private final String fingerprint;
+		private final String entry;
+		private final List<StoredEndSummary> summaries;
+
+		public AddedEntry(String method, String fingerprint, String entry, List<StoredEndSummary> summaries) {
+			this.method = method;
+			this.fingerprint = fingerprint;
+			this.entry = entry;
+			this.summaries = summaries;
+		}
+
+	}
+
+	private final File file;
+	private final long configHash;
+	private FileChannel channel;
+	private final Map<String, IndexEntry> index;
+	private final Map<String, List<StoredEndSummary>> decoded = new ConcurrentHashMap<>();
+	private final Map<String, AddedEntry> added = new ConcurrentHashMap<>();
+	private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+	private PersistentSummaryStore(File file, long configHash, FileChannel channel, Map<String, IndexEntry> index) {
+		this.file = file;
+		this.configHash = configHash;
+		this.channel = channel;
+		this.index = index;
+	}
+
+	/**
+	 * Opens the summary store in the given file. If the file does not exist, an
+	 * empty store is created.
+	 *
+	 * @param file       The file in which the summaries are stored
+	 * @param configHash A hash of all configuration options that have an effect
+	 *                   on the summaries
+	 * @return The summary store
+	 * @throws IOException Thrown if the file exists, but could not be read
+	 */
+	public static PersistentSummaryStore open(File file, long configHash) throws IOException {
+		if (!file.exists() || file.length() == 0)
+			return new PersistentSummaryStore(file, configHash, null, Collections.emptyMap());
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		boolean keepOpen = false;
+		try {
+			// Check whether the summaries in the file are still valid. We must not
+			// close this stream, because that would close the channel as well.
+			DataInputStream reader = new DataInputStream(
+					new BufferedInputStream(Channels.newInputStream(channel)));
+			if (reader.readInt() != MAGIC || reader.readInt() != VERSION) {
+				logger.warn("Ignoring summary store {} with unknown format", file);
+				return new PersistentSummaryStore(file, configHash, null, Collections.emptyMap());
+			}
+			if (reader.readLong() != configHash) {
+				logger.info("Configuration has changed, discarding the summaries in {}", file);
+				return new PersistentSummaryStore(file, configHash, null, Collections.emptyMap());
+			}
+
+			// Read the keys
+			int numEntries = reader.readInt();
+			long position = 20;
+			Map<String, IndexEntry> index = new HashMap<>(numEntries);
+			for (int i = 0; i < numEntries; i++) {
+				String method = readString(reader);
+				String fingerprint = readString(reader);
+				String entry = readString(reader);
+				int length = reader.readInt();
+				position += getStringSize(method) + getStringSize(fingerprint) + getStringSize(entry) + 4;
+				if (length < 0 || position + length > Integer.MAX_VALUE)
+					throw new IllegalArgumentException("Invalid entry length");
+				index.put(getKey(method, fingerprint, entry),
+						new IndexEntry(method, fingerprint, entry, (int) position, length));
+				skipFully(reader, length);
+				position += length;
+			}
+			logger.info("Loaded {} persistent end summaries from {}", numEntries, file);
+			keepOpen = true;
+			return new PersistentSummaryStore(file, configHash, channel, index);
+		} catch (EOFException | IllegalArgumentException | NegativeArraySizeException e) {
+			logger.warn("Ignoring corrupt summary store {}", file);
+			return new PersistentSummaryStore(file, configHash, null, Collections.emptyMap());
+		} finally {
+			if (!keepOpen)
+				channel.close();
+		}
+	}
+
+	private static void skipFully(DataInputStream in, int length) throws IOException {
+		int remaining = length;
+		while (remaining > 0) {
+			int skipped = in.skipBytes(remaining);
+			if (skipped <= 0)
+				throw new EOFException();
+			remaining -= skipped;
+		}
+	}
+
+	private static int getStringSize(String str) {
+		return str == null ? 4 : 4 + str.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	private static String getKey(String method, String fingerprint, String entry) {
+		return method + "\n" + fingerprint + "\n" + entry;
+	}
+
+	/**
+	 * Gets the end summaries for the given method
+	 *
+	 * @param method      The signature of the method
+	 * @param fingerprint The fingerprint of the code on which the summaries
+	 *                    depend
+	 * @param entry       The access path with which the method is entered
+	 * @return The end summaries for the given method, or null if no summaries are
+	 *         available
+	 */
+	public List<StoredEndSummary> get(String method, String fingerprint, String entry) {
+		fingerprints.put(method, fingerprint);
+
+		String key = getKey(method, fingerprint, entry);
+		AddedEntry addedEntry = added.get(key);
+		if (addedEntry != null)
+			return addedEntry.summaries;
+
+		IndexEntry indexEntry = index.get(key);
+		if (indexEntry == null)
+			return null;
+		return decoded.computeIfAbsent(key, k -> decode(indexEntry));
+	}
+
+	private List<StoredEndSummary> decode(IndexEntry indexEntry) {
+		ByteBuffer reader;
+		try {
+			reader = readBlock(indexEntry);
+		} catch (IOException e) {
+			logger.error("Could not read the persistent summaries of {}", indexEntry.method, e);
+			return null;
+		}
+		int numSummaries = reader.getInt();
+		List<StoredEndSummary> summaries = new ArrayList<>(numSummaries);
+		for (int i = 0; i < numSummaries; i++)
+			summaries.add(StoredEndSummary.read(reader));
+		return summaries;
+	}
+
+	/**
+	 * Reads the data block of the given entry from the file
+	 *
+	 * @param indexEntry The entry whose data block to read
+	 * @return A buffer that contains exactly the data block
+	 * @throws IOException Thrown if the file could not be read
+	 */
+	private synchronized ByteBuffer readBlock(IndexEntry indexEntry) throws IOException {
+		if (channel == null)
+			throw new IOException("The summary store has already been closed");
+		ByteBuffer block = ByteBuffer.allocate(indexEntry.length);
+		long position = indexEntry.offset;
+		while (block.hasRemaining()) {
+			int read = channel.read(block, position);
+			if (read < 0)
+				throw new EOFException();
+			position += read;
+		}
+		block.flip();
+		return block;
+	}
+
+	/**
+	 * Adds the end summaries for the given method to this store
+	 *
+	 * @param method      The signature of the method
+	 * @param fingerprint The fingerprint of the code on which the summaries
+	 *                    depend
+	 * @param entry       The access path with which the method is entered
+	 * @param summaries   The end summaries of the method
+	 */
+	public void put(String method, String fingerprint, String entry, List<StoredEndSummary> summaries) {
+		fingerprints.put(method, fingerprint);
+
+		String key = getKey(method, fingerprint, entry);
+		if (!index.containsKey(key))
+			added.put(key, new AddedEntry(method, fingerprint, entry, summaries));
+	}
+
+	/**
+	 * Gets the number of keys for which this store contains summaries
+	 *
+	 * @return The number of keys for which this store contains summaries
+	 */
+	public int size() {
+		return index.size() + added.size();
+	}
+
+	/**
+	 * Writes all summaries to disk if the store has been modified and releases
+	 * the file
+	 *
+	 * @throws IOException Thrown if the summaries could not be written
+	 */
+	public synchronized void close() throws IOException {
+		try {
+			writeChanges();
+		} finally {
+			closeChannel();
+		}
+	}
+
+	private void closeChannel() throws IOException {
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	private void writeChanges() throws IOException {
+		// Drop the summaries of methods whose code has changed
+		List<IndexEntry> retained = new ArrayList<>(index.size());
+		for (IndexEntry entry : index.values()) {
+			String fingerprint = fingerprints.get(entry.method);
+			if (fingerprint == null || fingerprint.equals(entry.fingerprint))
+				retained.add(entry);
+		}
+		if (added.isEmpty() && retained.size() == index.size())
+			return;
+
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		File tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(configHash);
+			out.writeInt(retained.size() + added.size());
+
+			// The summaries that we keep are copied from the old file as-is
+			for (IndexEntry entry : retained) {
+				writeString(out, entry.method);
+				writeString(out, entry.fingerprint);
+				writeString(out, entry.entry);
+				out.writeInt(entry.length);
+				ByteBuffer block = readBlock(entry);
+				out.write(block.array(), 0, entry.length);
+			}
+
+			// New summaries are prefixed with their length, so that we can skip them
+			// when loading the index
+			ByteArrayOutputStream blockData = new ByteArrayOutputStream();
+			for (AddedEntry entry : added.values()) {
+				writeString(out, entry.method);
+				writeString(out, entry.fingerprint);
+				writeString(out, entry.entry);
+
+				blockData.reset();
+				DataOutputStream block = new DataOutputStream(blockData);
+				block.writeInt(entry.summaries.size());
+				for (StoredEndSummary summary : entry.summaries)
+					summary.write(block);
+				block.flush();
+				out.writeInt(blockData.size());
+				blockData.writeTo(out);
+			}
+		}
+
+		// The old file must no longer be open when we replace it
+		closeChannel();
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		logger.info("Wrote {} persistent end summaries to {}", retained.size() + added.size(), file);
+	}
+
+	/**
+	 * Writes the given string to the given stream
+	 *
+	 * @param out The stream to write to
+	 * @param str The string to write, may be null
+	 * @throws IOException Thrown if the string could not be written
+	 */
+	static void writeString(DataOutputStream out, String str) throws IOException {
+		if (str == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] data = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(data.length);
+		out.write(data);
+	}
+
+	/**
+	 * Reads a string from the given stream
+	 *
+	 * @param in The stream to read from
+	 * @return The string that was read, may be null
+	 * @throws IOException Thrown if the string could not be read
+	 */
+	static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0)
+			return null;
+		byte[] data = new byte[length];
+		in.readFully(data);
+		return new String(data, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads a string from the current position of the given buffer
+	 *
+	 * @param buffer The buffer to read from
+	 * @return The string that was read, may be null
+	 */
+	static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0)
+			return null;
+		byte[] data = new byte[length];
+		buffer.get(data);
+		return new String(data, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,232 @@
+package soot.jimple.infoflow.solver.persistence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import soot.Body;
+import soot.Local;
+import soot.Scene;
+import soot.SootField;
+import soot.Type;
+import soot.jimple.infoflow.data.AccessPath;
+import soot.jimple.infoflow.data.AccessPath.ArrayTaintType;
+import soot.jimple.infoflow.data.AccessPathFactory;
+import soot.jimple.infoflow.data.AccessPathFragment;
+
+/**
+ * Representation of an access path that does not depend on the Soot objects of
+ * a specific analysis run. The base local is identified by its position in the
+ * body of the method, fields and types are identified by their signatures.
+ */
+public class StoredAccessPath {
+
+	private final int baseLocal;
+	private final String baseType;
+	private final String[] fields;
+	private final String[] fieldTypes;
+	private final boolean taintSubFields;
+	private final ArrayTaintType arrayTaintType;
+	private final boolean canHaveImmutableAliases;
+
+	StoredAccessPath(int baseLocal, String baseType, String[] fields, String[] fieldTypes, boolean taintSubFields,
+			ArrayTaintType arrayTaintType, boolean canHaveImmutableAliases) {
+		this.baseLocal = baseLocal;
+		this.baseType = baseType;
+		this.fields = fields;
+		this.fieldTypes = fieldTypes;
+		this.taintSubFields = taintSubFields;
+		this.arrayTaintType = arrayTaintType;
+		this.canHaveImmutableAliases = canHaveImmutableAliases;
+	}
+
+	/**
+	 * Creates the stored representation of the given access path
+	 *
+	 * @param ap   The access path
+	 * @param body The body of the method in which the access path is valid
+	 * @return The stored representation of the given access path, or null if the
+	 *         access path cannot be stored
+	 */
+	public static StoredAccessPath fromAccessPath(AccessPath ap, Body body) {
+		if (ap == null || ap.isEmpty())
+			return null;
+
+		int baseLocal = -1;
+		Local plainValue = ap.getPlainValue();
+		if (plainValue != null) {
+			baseLocal = indexOf(body, plainValue);
+			if (baseLocal < 0)
+				return null;
+		}
+
+		AccessPathFragment[] fragments = ap.getFragments();
+		int numFragments = fragments == null ? 0 : fragments.length;
+		String[] fields = new String[numFragments];
+		String[] fieldTypes = new String[numFragments];
+		for (int i = 0; i < numFragments; i++) {
+			// Context-sensitive access paths are specific to a single analysis run
+			if (fragments[i].getContext() != null)
+				return null;
+			fields[i] = fragments[i].getField().getSignature();
+			fieldTypes[i] = fragments[i].getFieldType().toString();
+		}
+
+		Type baseType = ap.getBaseType();
+		return new StoredAccessPath(baseLocal, baseType == null ? null : baseType.toString(), fields, fieldTypes,
+				ap.getTaintSubFields(), ap.getArrayTaintType(), ap.getCanHaveImmutableAliases());
+	}
+
+	/**
+	 * Creates an access path from this stored representation
+	 *
+	 * @param body    The body of the method in which the access path is valid
+	 * @param factory The factory for creating the access path
+	 * @return The access path, or null if the fields or types of the stored access
+	 *         path do not exist in the current scene
+	 */
+	public AccessPath toAccessPath(Body body, AccessPathFactory factory) {
+		Local plainValue = null;
+		if (baseLocal >= 0) {
+			plainValue = getLocal(body, baseLocal);
+			if (plainValue == null)
+				return null;
+		}
+
+		Scene scene = Scene.v();
+		AccessPathFragment[] fragments = null;
+		if (fields.length > 0) {
+			fragments = new AccessPathFragment[fields.length];
+			for (int i = 0; i < fields.length; i++) {
+				SootField field = scene.grabField(fields[i]);
+				Type fieldType = scene.getTypeUnsafe(fieldTypes[i]);
+				if (field == null || fieldType == null)
+					return null;
+				fragments[i] = new AccessPathFragment(field, fieldType);
+			}
+		}
+
+		Type type = null;
+		if (baseType != null) {
+			type = scene.getTypeUnsafe(baseType);
+			if (type == null)
+				return null;
+		}
+		return factory.createAccessPath(plainValue, type, fragments, taintSubFields, false, true, arrayTaintType,
+				canHaveImmutableAliases);
+	}
+
+	private static int indexOf(Body body, Local local) {
+		int idx = 0;
+		for (Local l : body.getLocals()) {
+			if (l == local)
+				return idx;
+			idx++;
+		}
+		return -1;
+	}
+
+	private static Local getLocal(Body body, int index) {
+		int idx = 0;
+		for (Local l : body.getLocals()) {
+			if (idx++ == index)
+				return l;
+		}
+		return null;
+	}
+
+	/**
+	 * Writes this access path to the given stream
+	 *
+	 * @param out The stream to write to
+	 * @throws IOException Thrown if the access path could not be written
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(baseLocal);
+		PersistentSummaryStore.writeString(out, baseType);
+		out.writeInt(fields.length);
+		for (int i = 0; i < fields.length; i++) {
+			PersistentSummaryStore.writeString(out, fields[i]);
+			PersistentSummaryStore.writeString(out, fieldTypes[i]);
+		}
+		out.writeBoolean(taintSubFields);
+		out.writeByte(arrayTaintType.ordinal());
+		out.writeBoolean(canHaveImmutableAliases);
+	}
+
+	/**
+	 * Reads an access path from the current position of the given buffer
+	 *
+	 * @param buffer The buffer to read from
+	 * @return The access path that was read
+	 */
+	static StoredAccessPath read(ByteBuffer buffer) {
+		int baseLocal = buffer.getInt();
+		String baseType = PersistentSummaryStore.readString(buffer);
+		int numFields = buffer.getInt();
+		String[] fields = new String[numFields];
+		String[] fieldTypes = new String[numFields];
+		for (int i = 0; i < numFields; i++) {
+			fields[i] = PersistentSummaryStore.readString(buffer);
+			fieldTypes[i] = PersistentSummaryStore.readString(buffer);
+		}
+		boolean taintSubFields = buffer.get() != 0;
+		ArrayTaintType arrayTaintType = ArrayTaintType.values()[buffer.get()];
+		boolean canHaveImmutableAliases = buffer.get() != 0;
+		return new StoredAccessPath(baseLocal, baseType, fields, fieldTypes, taintSubFields, arrayTaintType,
+				canHaveImmutableAliases);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(baseLocal);
+		if (baseType != null) {
+			sb.append(':');
+			sb.append(baseType);
+		}
+		for (int i = 0; i < fields.length; i++) {
+			sb.append('.');
+			sb.append(fields[i]);
+			sb.append(':');
+			sb.append(fieldTypes[i]);
+		}
+		if (taintSubFields)
+			sb.append(" *");
+		sb.append(' ');
+		sb.append(arrayTaintType);
+		if (canHaveImmutableAliases)
+			sb.append(" immutable");
+		return sb.toString();
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + baseLocal;
+		result = prime * result + Objects.hashCode(baseType);
+		result = prime * result + Arrays.hashCode(fields);
+		result = prime * result + Arrays.hashCode(fieldTypes);
+		result = prime * result + (taintSubFields ? 1231 : 1237);
+		result = prime * result + Objects.hashCode(arrayTaintType);
+		result = prime * result + (canHaveImmutableAliases ? 1231 : 1237);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		StoredAccessPath other = (StoredAccessPath) obj;
+		return baseLocal == other.baseLocal && Objects.equals(baseType, other.baseType)
+				&& Arrays.equals(fields, other.fields) && Arrays.equals(fieldTypes, other.fieldTypes)
+				&& taintSubFields == other.taintSubFields && arrayTaintType == other.arrayTaintType
+				&& canHaveImmutableAliases == other.canHaveImmutableAliases;
+	}
+
+}
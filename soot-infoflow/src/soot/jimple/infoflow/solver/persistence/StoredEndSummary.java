@@ -0,0 +1,93 @@
+package soot.jimple.infoflow.solver.persistence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * End summary of a method in a representation that does not depend on the Soot
+ * objects of a specific analysis run
+ */
+public class StoredEndSummary {
+
+	private final int exitPoint;
+	private final StoredAccessPath accessPath;
+	private final boolean exceptionThrown;
+
+	/**
+	 * Creates a new stored end summary
+	 *
+	 * @param exitPoint       The position of the exit statement in the method body
+	 * @param accessPath      The access path that is tainted at the exit statement
+	 * @param exceptionThrown True if the taint leaves the method as an exception
+	 */
+	public StoredEndSummary(int exitPoint, StoredAccessPath accessPath, boolean exceptionThrown) {
+		this.exitPoint = exitPoint;
+		this.accessPath = accessPath;
+		this.exceptionThrown = exceptionThrown;
+	}
+
+	/**
+	 * Gets the position of the exit statement in the method body
+	 *
+	 * @return The position of the exit statement in the method body
+	 */
+	public int getExitPoint() {
+		return exitPoint;
+	}
+
+	/**
+	 * Gets the access path that is tainted at the exit statement
+	 *
+	 * @return The access path that is tainted at the exit statement
+	 */
+	public StoredAccessPath getAccessPath() {
+		return accessPath;
+	}
+
+	/**
+	 * Gets whether the taint leaves the method as an exception
+	 *
+	 * @return True if the taint leaves the method as an exception, otherwise
+	 *         false
+	 */
+	public boolean getExceptionThrown() {
+		return exceptionThrown;
+	}
+
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(exitPoint);
+		accessPath.write(out);
+		out.writeBoolean(exceptionThrown);
+	}
+
+	static StoredEndSummary read(ByteBuffer buffer) {
+		int exitPoint = buffer.getInt();
+		StoredAccessPath accessPath = StoredAccessPath.read(buffer);
+		boolean exceptionThrown = buffer.get() != 0;
+		return new StoredEndSummary(exitPoint, accessPath, exceptionThrown);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(accessPath, exceptionThrown, exitPoint);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		StoredEndSummary other = (StoredEndSummary) obj;
+		return exitPoint == other.exitPoint && exceptionThrown == other.exceptionThrown
+				&& Objects.equals(accessPath, other.accessPath);
+	}
+
+	@Override
+	public String toString() {
+		return exitPoint + ": " + accessPath + (exceptionThrown ? " (thrown)" : "");
+	}
+
+}
@@ -45,6 +45,27 @@ public class SparseInfoflowSolver extends InfoflowSolver {
         }
     }
 
+    /**
+     * Gets the strategy that decides to which statements a fact is propagated
+     *
+     * @return The propagation strategy of this solver
+     */
+    public IPropagationStrategy<Unit, Abstraction, BiDiInterproceduralCFG<Unit, SootMethod>> getPropagationStrategy() {
+        return propagationStrategy;
+    }
+
+    /**
+     * Builds the sparse value-flow graph of the given methods ahead of time, if the
+     * propagation strategy uses one
+     *
+     * @param methods    The methods whose graph shall be built
+     * @param numThreads The number of threads to use
+     */
+    public void precomputeValueFlowGraph(Collection<SootMethod> methods, int numThreads) {
+        if (propagationStrategy instanceof SimpleSparsePropagation)
+            ((SimpleSparsePropagation) propagationStrategy).getValueFlowGraph().precompute(methods, numThreads);
+    }
+
     @Override
     protected void processNormalFlow(PathEdge<Unit, Abstraction> edge) {
         // Fallback for implicit flows, which always need the successor statement
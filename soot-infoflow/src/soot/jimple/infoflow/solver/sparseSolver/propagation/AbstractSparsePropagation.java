@@ -10,6 +10,7 @@ import soot.Unit;
 import soot.jimple.*;
 import soot.jimple.infoflow.data.Abstraction;
 import soot.jimple.infoflow.problems.AbstractInfoflowProblem;
+import soot.jimple.infoflow.solver.cfg.DefUseIndex;
 import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
 
 /**
@@ -129,6 +130,7 @@ public abstract class AbstractSparsePropagation implements IPropagationStrategy<
 
     protected final BiDiInterproceduralCFG<Unit, SootMethod> iCfg;
     protected final AbstractInfoflowProblem problem;
+    protected final DefUseIndex defUseIndex;
 
     // Maps nodes to successors
     private final ConcurrentHashMap<SCFGNode, Collection<Unit>> sparseCfg = new ConcurrentHashMap<>();
@@ -136,6 +138,7 @@ public abstract class AbstractSparsePropagation implements IPropagationStrategy<
     protected AbstractSparsePropagation(AbstractInfoflowProblem problem) {
         this.problem = problem;
         this.iCfg = problem.interproceduralCFG();
+        this.defUseIndex = problem.interproceduralCFG().getDefUseIndex();
     }
 
     /**
@@ -12,6 +12,7 @@ import soot.jimple.Stmt;
 import soot.jimple.infoflow.aliasing.Aliasing;
 import soot.jimple.infoflow.data.Abstraction;
 import soot.jimple.infoflow.problems.AbstractInfoflowProblem;
+import soot.jimple.infoflow.solver.cfg.DefUseIndex.MethodDefUse;
 
 /**
  * Sparse propagation based on (Unit, (Local|Field), FlowSensitivityUnit)-triples
@@ -28,16 +29,21 @@ public class SimpleSparsePropagation extends AbstractSparsePropagation {
                     abs.getActivationUnit(), abs.getTurnUnit());
         }
 
+        LocalNode(Unit unit, Local local) {
+            super(unit, local, null, null, null);
+        }
+
         @Override
         protected boolean isAffectedByInternal(Unit unit) {
-            Stmt stmt = (Stmt) unit;
+            MethodDefUse defUse = defUseIndex.getDefUse(iCfg.getMethodOf(unit));
+            if (defUse.isUsedAt(unit, local))
+                return true;
+
             Aliasing aliasing = problem.getManager().getAliasing();
             if (aliasing == null)
-                return stmt.getUseAndDefBoxes().stream().anyMatch(vb -> vb.getValue() == local);
-            else
-                return stmt.getUseBoxes().stream().anyMatch(vb -> vb.getValue() == local)
-                        || stmt.getDefBoxes().stream().anyMatch(vb -> vb.getValue() instanceof Local
-                        && aliasing.mustAlias(local, (Local) vb.getValue(), (Stmt) unit));
+                return defUse.isDefinedAt(unit, local);
+            Local def = defUse.getDefinedLocal(unit);
+            return def != null && aliasing.mustAlias(local, def, (Stmt) unit);
         }
     }
 
@@ -63,8 +69,50 @@ public class SimpleSparsePropagation extends AbstractSparsePropagation {
         }
     }
 
+    private final SparseValueFlowGraph valueFlowGraph;
+
     public SimpleSparsePropagation(AbstractInfoflowProblem problem) {
         super(problem);
+        this.valueFlowGraph = new SparseValueFlowGraph(problem);
+    }
+
+    /**
+     * Gets the precomputed value-flow graph for facts on locals
+     *
+     * @return The value-flow graph of this propagation strategy
+     */
+    public SparseValueFlowGraph getValueFlowGraph() {
+        return valueFlowGraph;
+    }
+
+    /**
+     * Gets the successors of a fact on a local. Facts without flow-sensitivity
+     * units are looked up in the value-flow graph. All others need the on-demand
+     * search.
+     *
+     * @param unit        current unit
+     * @param abstraction fact on a local
+     * @return collection of successors
+     */
+    private Collection<Unit> getLocalSuccessors(Unit unit, Abstraction abstraction) {
+        if (abstraction.getActivationUnit() == null && abstraction.getTurnUnit() == null) {
+            Collection<Unit> succs = valueFlowGraph.getSuccsOf(unit, abstraction.getAccessPath().getPlainValue());
+            if (succs != null)
+                return succs;
+        }
+        return getSuccessors(new LocalNode(unit, abstraction));
+    }
+
+    /**
+     * Gets the successors of a fact on a local without flow-sensitivity units
+     * with the on-demand search, i.e., without consulting the value-flow graph
+     *
+     * @param unit  current unit
+     * @param local local on which the fact is
+     * @return collection of successors
+     */
+    public Collection<Unit> getSuccsOfOnDemand(Unit unit, Local local) {
+        return getSuccessors(new LocalNode(unit, local));
     }
 
     @Override
@@ -77,7 +125,7 @@ public class SimpleSparsePropagation extends AbstractSparsePropagation {
         if (abstraction.getAccessPath().isStaticFieldRef())
             return getSuccessors(new StaticNode(unit, abstraction));
 
-        return getSuccessors(new LocalNode(unit, abstraction));
+        return getLocalSuccessors(unit, abstraction);
     }
 
     @Override
@@ -95,7 +143,7 @@ public class SimpleSparsePropagation extends AbstractSparsePropagation {
                     .collect(Collectors.toSet());
 
         return iCfg.getStartPointsOf(sm).stream()
-                .flatMap(sP -> getSuccessors(new LocalNode(sP, abstraction)).stream())
+                .flatMap(sP -> getLocalSuccessors(sP, abstraction).stream())
                 .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,321 @@
+package soot.jimple.infoflow.solver.sparseSolver.propagation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import soot.Local;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.Stmt;
+import soot.jimple.infoflow.aliasing.Aliasing;
+import soot.jimple.infoflow.problems.AbstractInfoflowProblem;
+import soot.jimple.infoflow.solver.cfg.DefUseIndex;
+import soot.jimple.infoflow.solver.cfg.DefUseIndex.MethodDefUse;
+import soot.jimple.infoflow.util.ThreadUtils;
+import soot.jimple.toolkits.ide.icfg.BiDiInterproceduralCFG;
+
+/**
+ * Sparse value-flow graph that maps a statement and a local to the next
+ * statements that use or overwrite the local. The control flow of each method is
+ * kept in flat arrays that can be built ahead of time. The successors of a
+ * local are computed for all statements of the method at once when the local is
+ * first queried.
+ *
+ * The graph of a method is rebuilt when the method has changed, i.e., when the
+ * control-flow graph has invalidated its def/use information.
+ *
+ * The graph only covers facts without activation and turn units. Facts that
+ * have to visit certain statements to keep the analysis flow-sensitive need the
+ * on-demand search in {@link AbstractSparsePropagation}.
+ */
+public class SparseValueFlowGraph {
+
+    /**
+     * The control flow of a single method and the successors of all locals that
+     * have been queried so far
+     */
+    private final class MethodGraph {
+        private final MethodDefUse defUse;
+
+        // The successors of unit i are succIds[succOffsets[i]..succOffsets[i+1]-1]
+        private final int[] succOffsets;
+        private final int[] succIds;
+
+        // The predecessors of unit i are predIds[predOffsets[i]..predOffsets[i+1]-1]
+        private final int[] predOffsets;
+        private final int[] predIds;
+
+        private final BitSet exits;
+        private final AtomicReferenceArray<LocalSuccessors> localSuccs;
+
+        private MethodGraph(MethodDefUse defUse) {
+            this.defUse = defUse;
+            int unitCount = defUse.getUnitCount();
+
+            this.succOffsets = new int[unitCount + 1];
+            this.exits = new BitSet(unitCount);
+            int[] predCounts = new int[unitCount];
+            int[] succs = new int[unitCount + 1];
+            int numSuccs = 0;
+            for (int i = 0; i < unitCount; i++) {
+                Unit u = defUse.getUnit(i);
+                succOffsets[i] = numSuccs;
+                for (Unit succ : iCfg.getSuccsOf(u)) {
+                    int succId = defUse.getUnitId(succ);
+                    if (succId >= 0) {
+                        if (numSuccs == succs.length)
+                            succs = Arrays.copyOf(succs, succs.length * 2);
+                        succs[numSuccs++] = succId;
+                        predCounts[succId]++;
+                    }
+                }
+                if (iCfg.isExitStmt(u))
+                    exits.set(i);
+            }
+            succOffsets[unitCount] = numSuccs;
+            this.succIds = Arrays.copyOf(succs, numSuccs);
+
+            // Invert the successor relation
+            this.predOffsets = new int[unitCount + 1];
+            for (int i = 0; i < unitCount; i++)
+                predOffsets[i + 1] = predOffsets[i] + predCounts[i];
+            this.predIds = new int[numSuccs];
+            int[] fill = Arrays.copyOf(predOffsets, unitCount);
+            for (int i = 0; i < unitCount; i++)
+                for (int j = succOffsets[i]; j < succOffsets[i + 1]; j++)
+                    predIds[fill[succIds[j]]++] = i;
+
+            this.localSuccs = new AtomicReferenceArray<>(defUse.getLocalCount());
+        }
+
+        private Collection<Unit> getSuccsOf(Unit unit, Local local) {
+            int unitId = defUse.getUnitId(unit);
+            int localId = defUse.getLocalId(local);
+            if (unitId < 0 || localId < 0)
+                return null;
+
+            LocalSuccessors succs = localSuccs.get(localId);
+            if (succs == null) {
+                // If two threads compute the same local, both get the same result
+                localSuccs.compareAndSet(localId, null, computeLocalSuccessors(localId));
+                succs = localSuccs.get(localId);
+            }
+            return succs.sets[succs.setIds[unitId]];
+        }
+
+        /**
+         * Checks whether the given statement is relevant for the given local, i.e.,
+         * whether a fact on the local must be propagated to the statement
+         *
+         * @param unitId   The id of the statement
+         * @param localId  The id of the local
+         * @param aliasing The aliasing, or null to only consider the local itself
+         * @return True if the statement is relevant for the local, otherwise false
+         */
+        private boolean isAffectedBy(int unitId, int localId, Aliasing aliasing) {
+            // We always need the return flow function to decide whether and how to map
+            // the fact back into the caller
+            if (exits.get(unitId))
+                return true;
+            if (defUse.isUsedAt(unitId, localId))
+                return true;
+
+            int defId = defUse.getDefinedLocalId(unitId);
+            if (defId < 0)
+                return false;
+            if (defId == localId)
+                return true;
+            return aliasing != null && aliasing.mustAlias(defUse.getLocal(localId), defUse.getLocal(defId),
+                    (Stmt) defUse.getUnit(unitId));
+        }
+
+        /**
+         * Computes the next relevant statements of the given local for all
+         * statements of the method. The relevant statements that are reachable from
+         * a statement without passing through another relevant statement are
+         * collected as bit sets with a standard backwards data flow analysis.
+         *
+         * @param localId The id of the local
+         * @return The successors of the local
+         */
+        private LocalSuccessors computeLocalSuccessors(int localId) {
+            int unitCount = defUse.getUnitCount();
+            Aliasing aliasing = problem.getManager().getAliasing();
+
+            // Number the relevant statements, so that the bit sets only need as many
+            // bits as there are relevant statements
+            int[] rank = new int[unitCount];
+            List<Unit> affected = new ArrayList<>();
+            for (int i = 0; i < unitCount; i++) {
+                if (isAffectedBy(i, localId, aliasing)) {
+                    rank[i] = affected.size();
+                    affected.add(defUse.getUnit(i));
+                } else
+                    rank[i] = -1;
+            }
+
+            // The bits of unit i are reach[i*words..(i+1)*words-1]
+            int words = (affected.size() + 63) >>> 6;
+            long[] reach = new long[unitCount * words];
+            if (words > 0) {
+                boolean[] queued = new boolean[unitCount];
+                int[] worklist = new int[unitCount];
+                int head = 0;
+                int size = 0;
+                for (int i = unitCount - 1; i >= 0; i--) {
+                    queued[i] = true;
+                    worklist[size++] = i;
+                }
+
+                long[] cur = new long[words];
+                while (size > 0) {
+                    int idx = worklist[head];
+                    head = (head + 1) % unitCount;
+                    size--;
+                    queued[idx] = false;
+
+                    // A relevant successor stops the search, all others pass on what
+                    // they reach
+                    Arrays.fill(cur, 0);
+                    for (int j = succOffsets[idx]; j < succOffsets[idx + 1]; j++) {
+                        int succ = succIds[j];
+                        if (rank[succ] >= 0)
+                            cur[rank[succ] >>> 6] |= 1L << rank[succ];
+                        else
+                            for (int w = 0; w < words; w++)
+                                cur[w] |= reach[succ * words + w];
+                    }
+
+                    boolean changed = false;
+                    int base = idx * words;
+                    for (int w = 0; w < words; w++) {
+                        if (reach[base + w] != cur[w]) {
+                            reach[base + w] = cur[w];
+                            changed = true;
+                        }
+                    }
+
+                    // Only predecessors that search through this statement depend on it
+                    if (changed && rank[idx] < 0) {
+                        for (int j = predOffsets[idx]; j < predOffsets[idx + 1]; j++) {
+                            int pred = predIds[j];
+                            if (!queued[pred]) {
+                                queued[pred] = true;
+                                worklist[(head + size++) % unitCount] = pred;
+                            }
+                        }
+                    }
+                }
+            }
+
+            // Many statements share the same successors, so we only keep each
+            // distinct set once
+            int[] setIds = new int[unitCount];
+            List<Collection<Unit>> sets = new ArrayList<>();
+            Map<BitSet, Integer> setToId = new HashMap<>();
+            for (int i = 0; i < unitCount; i++) {
+                BitSet bits = BitSet.valueOf(Arrays.copyOfRange(reach, i * words, (i + 1) * words));
+                Integer setId = setToId.get(bits);
+                if (setId == null) {
+                    setId = sets.size();
+                    setToId.put(bits, setId);
+                    List<Unit> units = new ArrayList<>(bits.cardinality());
+                    for (int b = bits.nextSetBit(0); b >= 0; b = bits.nextSetBit(b + 1))
+                        units.add(affected.get(b));
+                    sets.add(Collections.unmodifiableList(units));
+                }
+                setIds[i] = setId;
+            }
+
+            @SuppressWarnings("unchecked")
+            Collection<Unit>[] setArray = sets.toArray(new Collection[sets.size()]);
+            return new LocalSuccessors(setIds, setArray);
+        }
+    }
+
+    /**
+     * The successors of a single local for all statements of a method
+     */
+    private static final class LocalSuccessors {
+        private final int[] setIds;
+        private final Collection<Unit>[] sets;
+
+        private LocalSuccessors(int[] setIds, Collection<Unit>[] sets) {
+            this.setIds = setIds;
+            this.sets = sets;
+        }
+    }
+
+    private final AbstractInfoflowProblem problem;
+    private final BiDiInterproceduralCFG<Unit, SootMethod> iCfg;
+    private final DefUseIndex defUseIndex;
+    private final ConcurrentHashMap<SootMethod, MethodGraph> methodGraphs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new sparse value-flow graph
+     *
+     * @param problem The problem whose control-flow graph and aliasing shall be
+     *                used
+     */
+    public SparseValueFlowGraph(AbstractInfoflowProblem problem) {
+        this.problem = problem;
+        this.iCfg = problem.interproceduralCFG();
+        this.defUseIndex = problem.interproceduralCFG().getDefUseIndex();
+    }
+
+    /**
+     * Gets the next statements after the given statement that use or overwrite the
+     * given local
+     *
+     * @param unit  The statement at which the local holds a fact
+     * @param local The local
+     * @return The next statements that are relevant for the local, or null if the
+     *         graph does not contain the statement or the local
+     */
+    public Collection<Unit> getSuccsOf(Unit unit, Local local) {
+        SootMethod method = iCfg.getMethodOf(unit);
+        if (method == null)
+            return null;
+        return getMethodGraph(method).getSuccsOf(unit, local);
+    }
+
+    private MethodGraph getMethodGraph(SootMethod method) {
+        // The control-flow graph invalidates the def/use information of methods
+        // that have changed, so a graph on outdated def/use information must be
+        // rebuilt
+        MethodDefUse defUse = defUseIndex.getDefUse(method);
+        MethodGraph graph = methodGraphs.get(method);
+        if (graph == null || graph.defUse != defUse)
+            graph = methodGraphs.compute(method,
+                    (m, g) -> g != null && g.defUse == defUse ? g : new MethodGraph(defUse));
+        return graph;
+    }
+
+    /**
+     * Builds the control flow of the given methods in parallel
+     *
+     * @param methods    The methods to add to the graph
+     * @param numThreads The number of threads to use
+     */
+    public void precompute(Collection<SootMethod> methods, int numThreads) {
+        ThreadUtils.runInParallel(methods, this::getMethodGraph, numThreads, "FlowDroid Sparse Value-Flow Graph");
+    }
+
+    /**
+     * Gets the number of methods in this graph
+     *
+     * @return The number of methods in this graph
+     */
+    public int size() {
+        return methodGraphs.size();
+    }
+
+}
@@ -24,6 +24,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -665,6 +667,34 @@ public class EasyTaintWrapper extends AbstractTaintWrapper implements IReversibl
 		methods.add(subSignature);
 	}
 
+	@Override
+	public String getConfigurationFingerprint() {
+		StringBuilder sb = new StringBuilder(getClass().getName());
+		sb.append(';').append(toSortedString(classList));
+		sb.append(';').append(toSortedString(excludeList));
+		sb.append(';').append(toSortedString(killList));
+		sb.append(';').append(includeList == null ? "" : new TreeSet<>(includeList));
+		sb.append(';').append(aggressiveMode);
+		sb.append(';').append(alwaysModelEqualsHashCode);
+		return sb.toString();
+	}
+
+	/**
+	 * Converts the given map into a string that does not depend on the iteration
+	 * order of the map and its values
+	 * 
+	 * @param map The map to convert
+	 * @return The string representation of the map
+	 */
+	private static String toSortedString(Map<String, Set<String>> map) {
+		if (map == null)
+			return "";
+		Map<String, Set<String>> sorted = new TreeMap<>();
+		for (Map.Entry<String, Set<String>> entry : map.entrySet())
+			sorted.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+		return sorted.toString();
+	}
+
 	@Override
 	public EasyTaintWrapper clone() {
 		return new EasyTaintWrapper(this);
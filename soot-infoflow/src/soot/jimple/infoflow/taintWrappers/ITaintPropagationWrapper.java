@@ -126,4 +126,18 @@ public interface ITaintPropagationWrapper {
 	 */
 	public int getWrapperMisses();
 
+	/**
+	 * Gets a textual description of everything that influences the taints that
+	 * this wrapper produces, e.g., the list of wrapped methods. Two wrappers with
+	 * the same description must produce the same taints for the same code. This
+	 * description is used to decide whether data flow results of a previous run
+	 * can be reused.
+	 * 
+	 * @return The description of the configuration of this taint wrapper, or null
+	 *         if the configuration cannot be described
+	 */
+	public default String getConfigurationFingerprint() {
+		return null;
+	}
+
 }
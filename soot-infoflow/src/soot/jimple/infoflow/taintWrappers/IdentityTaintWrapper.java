@@ -108,4 +108,10 @@ public class IdentityTaintWrapper extends AbstractTaintWrapper {
 		return null;
 	}
 
+	@Override
+	public String getConfigurationFingerprint() {
+		// This wrapper does not have any configuration
+		return getClass().getName();
+	}
+
 }
@@ -108,6 +108,20 @@ public class TaintWrapperSet implements IReversibleTaintWrapper {
 		return misses.get();
 	}
 
+	@Override
+	public String getConfigurationFingerprint() {
+		// The order of the wrappers in the set is not relevant
+		List<String> fingerprints = new ArrayList<>(wrappers.size());
+		for (ITaintPropagationWrapper wrapper : wrappers) {
+			String fingerprint = wrapper.getConfigurationFingerprint();
+			if (fingerprint == null)
+				return null;
+			fingerprints.add(fingerprint);
+		}
+		Collections.sort(fingerprints);
+		return getClass().getName() + fingerprints;
+	}
+
 	@Override
 	public Set<Abstraction> getAliasesForMethod(Stmt stmt, Abstraction d1, Abstraction taintedPath) {
 		Set<Abstraction> resList = new HashSet<Abstraction>();
@@ -4,8 +4,10 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import soot.jimple.infoflow.InfoflowConfiguration;
+import soot.jimple.infoflow.InfoflowConfiguration.SolverExecutorMode;
 import soot.jimple.infoflow.solver.executors.InterruptableExecutor;
 import soot.jimple.infoflow.solver.executors.SetPoolExecutor;
+import soot.jimple.infoflow.solver.executors.WorkStealingExecutor;
 
 /**
  * Default implementation of a factory for thread pool executors
@@ -22,14 +24,19 @@ public class DefaultExecutorFactory implements IExecutorFactory {
 	@Override
 	public InterruptableExecutor createExecutor(int numThreads, boolean allowSetSemantics,
 			InfoflowConfiguration config) {
+		int maxThreads = config.getMaxThreadNum() == -1 ? numThreads : Math.min(config.getMaxThreadNum(), numThreads);
+
+		// The work-stealing executor does not merge equal tasks, which is fine,
+		// because set semantics are only an optimization
+		if (config.getSolverConfiguration().getExecutorMode() == SolverExecutorMode.WorkStealing)
+			return new WorkStealingExecutor(maxThreads);
+
 		if (allowSetSemantics) {
-			return new SetPoolExecutor(
-					config.getMaxThreadNum() == -1 ? numThreads : Math.min(config.getMaxThreadNum(), numThreads),
-					Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+			return new SetPoolExecutor(maxThreads, Integer.MAX_VALUE, 30, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>());
 		} else {
-			return new InterruptableExecutor(
-					config.getMaxThreadNum() == -1 ? numThreads : Math.min(config.getMaxThreadNum(), numThreads),
-					Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+			return new InterruptableExecutor(maxThreads, Integer.MAX_VALUE, 30, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>());
 		}
 	}
 
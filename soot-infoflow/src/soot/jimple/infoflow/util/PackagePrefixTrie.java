@@ -0,0 +1,136 @@
+package soot.jimple.infoflow.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie over package prefixes for checking whether a fully-qualified class name
+ * lies within one of a given set of packages or their sub-packages. A lookup
+ * walks the class name at most once and does not allocate any objects for
+ * ASCII class names.
+ *
+ * Package prefixes may be given as "java.lang", "java.lang." or "java.lang.*".
+ * All three forms denote the package java.lang and its sub-packages.
+ */
+public class PackagePrefixTrie {
+
+	private static class Node {
+
+		/**
+		 * Class names are almost always plain ASCII, so the children for ASCII
+		 * characters are kept in an array that is indexed by the character
+		 */
+		private final Node[] asciiChildren = new Node[128];
+		private Map<Character, Node> otherChildren = null;
+		private boolean terminal = false;
+
+		private Node getChild(char c) {
+			if (c < 128)
+				return asciiChildren[c];
+			return otherChildren == null ? null : otherChildren.get(c);
+		}
+
+		private Node getOrCreateChild(char c) {
+			Node child = getChild(c);
+			if (child == null) {
+				child = new Node();
+				if (c < 128)
+					asciiChildren[c] = child;
+				else {
+					if (otherChildren == null)
+						otherChildren = new HashMap<>();
+					otherChildren.put(c, child);
+				}
+			}
+			return child;
+		}
+
+	}
+
+	private final Node root = new Node();
+	private final List<String> prefixes = new ArrayList<>();
+
+	/**
+	 * Creates a new, empty trie
+	 */
+	public PackagePrefixTrie() {
+		//
+	}
+
+	/**
+	 * Creates a new trie that contains the given package prefixes
+	 *
+	 * @param prefixes The package prefixes to add to the trie
+	 */
+	public PackagePrefixTrie(Collection<String> prefixes) {
+		for (String prefix : prefixes)
+			add(prefix);
+	}
+
+	/**
+	 * Adds a package prefix to this trie
+	 *
+	 * @param prefix The package prefix to add
+	 */
+	public void add(String prefix) {
+		prefix = normalize(prefix);
+		if (prefix.isEmpty() || prefixes.contains(prefix))
+			return;
+
+		Node node = root;
+		for (int i = 0; i < prefix.length(); i++)
+			node = node.getOrCreateChild(prefix.charAt(i));
+		node.terminal = true;
+		prefixes.add(prefix);
+	}
+
+	/**
+	 * Brings the given package prefix into the canonical form that ends with a
+	 * single dot
+	 *
+	 * @param prefix The package prefix to normalize
+	 * @return The normalized package prefix
+	 */
+	private static String normalize(String prefix) {
+		prefix = prefix.trim();
+		if (prefix.endsWith("*"))
+			prefix = prefix.substring(0, prefix.length() - 1);
+		if (!prefix.isEmpty() && !prefix.endsWith("."))
+			prefix = prefix + ".";
+		return prefix;
+	}
+
+	/**
+	 * Checks whether the given class name lies within one of the packages in this
+	 * trie or one of their sub-packages
+	 *
+	 * @param className The fully-qualified name of the class to check
+	 * @return True if the given class is contained in one of the packages in this
+	 *         trie, otherwise false
+	 */
+	public boolean matches(String className) {
+		Node node = root;
+		for (int i = 0; i < className.length(); i++) {
+			node = node.getChild(className.charAt(i));
+			if (node == null)
+				return false;
+			if (node.terminal)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the package prefixes in this trie
+	 *
+	 * @return The package prefixes in this trie in their normalized form that ends
+	 *         with a dot
+	 */
+	public List<String> getPrefixes() {
+		return prefixes;
+	}
+
+}
@@ -1,5 +1,14 @@
 package soot.jimple.infoflow.util;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import soot.Body;
 import soot.RefType;
 import soot.SootClass;
@@ -14,16 +23,78 @@ import soot.jimple.infoflow.data.AccessPath;
 import soot.jimple.infoflow.data.AccessPathFragment;
 
 /**
- * Utility class for checking whether methods belong to system classes
+ * Utility class for checking whether methods belong to system classes. The
+ * default system packages are checked with a fixed chain of prefix
+ * comparisons. Custom system packages are kept in a {@link PackagePrefixTrie}.
+ * The result for a {@link SootClass} is computed only once and then cached.
  * 
  * @author Steven Arzt
  */
 public class SystemClassHandler {
 
+	/**
+	 * The packages that are considered to be system packages by default
+	 */
+	public static final List<String> DEFAULT_SYSTEM_PACKAGES = Collections
+			.unmodifiableList(Arrays.asList("android.", "java.", "javax.", "sun.", "org.omg.", "org.w3c.dom.",
+					"com.google.", "com.android."));
+
+	/**
+	 * The classes that are not considered to be system classes by default, even
+	 * though they are in a system package
+	 */
+	public static final List<String> DEFAULT_NON_SYSTEM_CLASSES = Collections
+			.singletonList("android.app.NativeActivity");
+
 	private static SystemClassHandler instance;
 
 	private boolean excludeSystemComponents = true;
 
+	/**
+	 * Cached result for a single class. The reference to the class is weak, so
+	 * that classes of an old Soot instance do not remain in the cache.
+	 */
+	private static class ClassEntry extends WeakReference<SootClass> {
+
+		private final boolean isSystemClass;
+
+		public ClassEntry(SootClass clazz, boolean isSystemClass) {
+			super(clazz);
+			this.isSystemClass = isSystemClass;
+		}
+
+	}
+
+	private volatile PackagePrefixTrie systemPackages;
+	private volatile Set<String> nonSystemClasses;
+
+	/**
+	 * The cached results, indexed by the number that the scene assigned to the
+	 * class. Races between threads only lead to the result being computed again.
+	 */
+	private volatile ClassEntry[] classCache = new ClassEntry[0];
+
+	/**
+	 * Creates a new system class handler with the default system packages
+	 */
+	public SystemClassHandler() {
+		this(DEFAULT_SYSTEM_PACKAGES, DEFAULT_NON_SYSTEM_CLASSES);
+	}
+
+	/**
+	 * Creates a new system class handler
+	 * 
+	 * @param systemPackages   The packages whose classes shall be considered to be
+	 *                         system classes, including their sub-packages
+	 * @param nonSystemClasses The fully-qualified names of the classes that shall
+	 *                         not be considered to be system classes, even though
+	 *                         they are in a system package
+	 */
+	public SystemClassHandler(Collection<String> systemPackages, Collection<String> nonSystemClasses) {
+		this.systemPackages = new PackagePrefixTrie(systemPackages);
+		this.nonSystemClasses = new HashSet<>(nonSystemClasses);
+	}
+
 	/**
 	 * Gets the global system class handler instance
 	 * 
@@ -51,7 +122,30 @@ public class SystemClassHandler {
 	 * @return True if the given class belongs to a system package, otherwise false
 	 */
 	public boolean isClassInSystemPackage(SootClass clazz) {
-		return clazz != null && isClassInSystemPackage(clazz.getName());
+		if (clazz == null || !excludeSystemComponents)
+			return false;
+
+		// Classes that are not in the scene do not have a number
+		int number = clazz.getNumber();
+		ClassEntry[] cache = classCache;
+		if (number > 0 && number < cache.length) {
+			ClassEntry entry = cache[number];
+			if (entry != null && entry.get() == clazz)
+				return entry.isSystemClass;
+		}
+
+		boolean isSystem = isSystemClassName(clazz.getName());
+		if (number > 0)
+			cacheClass(number, new ClassEntry(clazz, isSystem));
+		return isSystem;
+	}
+
+	private synchronized void cacheClass(int number, ClassEntry entry) {
+		ClassEntry[] cache = classCache;
+		if (number >= cache.length)
+			cache = Arrays.copyOf(cache, Math.max(number + 1, cache.length * 2));
+		cache[number] = entry;
+		classCache = cache;
 	}
 
 	/**
@@ -62,13 +156,56 @@ public class SystemClassHandler {
 	 *         false
 	 */
 	public boolean isClassInSystemPackage(String className) {
-		if(className.equals("android.app.NativeActivity")){
-			return false;
-		}
-		return (className.startsWith("android.") || className.startsWith("java.") || className.startsWith("javax.")
-				|| className.startsWith("sun.") || className.startsWith("org.omg.")
-				|| className.startsWith("org.w3c.dom.") || className.startsWith("com.google.")
-				|| className.startsWith("com.android.")) && this.excludeSystemComponents;
+		return excludeSystemComponents && isSystemClassName(className);
+	}
+
+	private boolean isSystemClassName(String className) {
+		return systemPackages.matches(className) && !nonSystemClasses.contains(className);
+	}
+
+	/**
+	 * Adds a package to the system packages. Classes in this package and its
+	 * sub-packages are considered to be system classes afterwards.
+	 * 
+	 * @param packageName The name of the package to add, e.g., "org.apache."
+	 */
+	public synchronized void addSystemPackage(String packageName) {
+		List<String> packages = new ArrayList<>(systemPackages.getPrefixes());
+		packages.add(packageName);
+		setSystemPackages(packages);
+	}
+
+	/**
+	 * Replaces the system packages. Classes in these packages and their
+	 * sub-packages are considered to be system classes afterwards.
+	 * 
+	 * @param packageNames The names of the system packages
+	 */
+	public synchronized void setSystemPackages(Collection<String> packageNames) {
+		this.systemPackages = new PackagePrefixTrie(packageNames);
+		this.classCache = new ClassEntry[0];
+	}
+
+	/**
+	 * Gets the system packages
+	 * 
+	 * @return The names of the system packages, each ending with a dot
+	 */
+	public List<String> getSystemPackages() {
+		return Collections.unmodifiableList(systemPackages.getPrefixes());
+	}
+
+	/**
+	 * Adds a class that shall not be considered to be a system class, even though
+	 * it is in a system package
+	 * 
+	 * @param className The fully-qualified name of the class
+	 */
+	public synchronized void addNonSystemClass(String className) {
+		Set<String> classes = new HashSet<>(nonSystemClasses);
+		classes.add(className);
+		this.nonSystemClasses = classes;
+		this.classCache = new ClassEntry[0];
 	}
 
 	/**
@@ -79,7 +216,7 @@ public class SystemClassHandler {
 	 */
 	public boolean isClassInSystemPackage(Type type) {
 		if (type instanceof RefType)
-			return isClassInSystemPackage(((RefType) type).getSootClass().getName());
+			return isClassInSystemPackage(((RefType) type).getSootClass());
 		return false;
 	}
 
@@ -104,7 +241,7 @@ public class SystemClassHandler {
 			return true;
 
 		// User code can cast objects to arbitrary user and system types
-		if (!isClassInSystemPackage(method.getDeclaringClass().getName()))
+		if (!isClassInSystemPackage(method.getDeclaringClass()))
 			return true;
 
 		// Check whether we have a system-defined field followed by a user-defined field
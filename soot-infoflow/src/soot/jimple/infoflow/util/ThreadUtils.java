@@ -1,5 +1,14 @@
 package soot.jimple.infoflow.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
 /**
  * This class can be used to create threads.
  * Own implementations may provide their own factory if they wish.
@@ -40,4 +49,49 @@ public class ThreadUtils {
 	public static Thread createGenericThread(Runnable r, String name, boolean daemon) {
 		return threadFactory.createGenericThread(r, name, daemon);
 	}
+
+	/**
+	 * Creates a fixed-size pool of daemon threads
+	 * @param numThreads the number of threads
+	 * @param name the name of the threads
+	 * @return the executor
+	 */
+	public static ExecutorService createDaemonExecutor(int numThreads, String name) {
+		return Executors.newFixedThreadPool(numThreads, r -> createGenericThread(r, name, true));
+	}
+
+	/**
+	 * Runs the given task for each of the given elements on a pool of daemon threads
+	 * and waits until all tasks have finished. With a single thread or a single
+	 * element, the tasks run on the calling thread.
+	 * @param elements the elements to process
+	 * @param task the task to run for each element
+	 * @param numThreads the maximum number of threads
+	 * @param name the name of the threads
+	 * @throws RuntimeException if a task has failed or the calling thread has been interrupted
+	 */
+	public static <T> void runInParallel(Collection<T> elements, Consumer<? super T> task, int numThreads,
+			String name) {
+		if (numThreads <= 1 || elements.size() <= 1) {
+			for (T element : elements)
+				task.accept(element);
+			return;
+		}
+
+		ExecutorService executor = createDaemonExecutor(Math.min(numThreads, elements.size()), name);
+		try {
+			List<Future<?>> futures = new ArrayList<>(elements.size());
+			for (T element : elements)
+				futures.add(executor.submit(() -> task.accept(element)));
+			for (Future<?> future : futures)
+				future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for " + name, e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Task of " + name + " failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
@@ -40,6 +40,20 @@ public class HeapTestCode {
 		cm.publish(b.f);
 	}
 
+	public void lateCallerAliasTest() {
+		String taint = TelephonyManager.getDeviceId();
+		Y a = new Y();
+		a.set(taint);
+
+		// The second call reaches set() in the same context as the first one, i.e.,
+		// after the alias query in set() has already been issued
+		Y c = new Y();
+		Y d = c;
+		c.set(taint);
+		ConnectionManager cm = new ConnectionManager();
+		cm.publish(d.f);
+	}
+
 	public void argumentTest() {
 		ClassWithField x = new ClassWithField();
 		run(x);
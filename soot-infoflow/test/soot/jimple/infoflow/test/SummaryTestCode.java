@@ -0,0 +1,38 @@
+package soot.jimple.infoflow.test;
+
+import soot.jimple.infoflow.test.android.ConnectionManager;
+import soot.jimple.infoflow.test.android.TelephonyManager;
+import soot.jimple.infoflow.test.summaries.Holder;
+import soot.jimple.infoflow.test.summaries.SummaryLibrary;
+
+/**
+ * Test code for the persistent library summaries. All calls go into
+ * {@link SummaryLibrary}, which the tests treat as library code.
+ */
+public class SummaryTestCode {
+
+	public void libraryCopyTest() {
+		String tainted = TelephonyManager.getDeviceId();
+		String copy = SummaryLibrary.copy(tainted);
+		ConnectionManager cm = new ConnectionManager();
+		cm.publish(copy);
+	}
+
+	public void libraryNoLeakTest() {
+		String tainted = TelephonyManager.getDeviceId();
+		SummaryLibrary.copy(tainted);
+		String untainted = SummaryLibrary.copy("foo");
+		ConnectionManager cm = new ConnectionManager();
+		cm.publish(untainted);
+	}
+
+	public void libraryAliasTest() {
+		Holder holder = new Holder();
+		Holder alias = holder;
+		String tainted = TelephonyManager.getDeviceId();
+		SummaryLibrary.store(holder, tainted);
+		ConnectionManager cm = new ConnectionManager();
+		cm.publish(alias.value);
+	}
+
+}
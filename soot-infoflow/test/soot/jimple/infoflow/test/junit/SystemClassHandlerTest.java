@@ -0,0 +1,98 @@
+package soot.jimple.infoflow.test.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import soot.G;
+import soot.Scene;
+import soot.SootClass;
+import soot.jimple.infoflow.util.PackagePrefixTrie;
+import soot.jimple.infoflow.util.SystemClassHandler;
+
+public class SystemClassHandlerTest {
+
+	@Test
+	public void prefixTrieTest() {
+		PackagePrefixTrie trie = new PackagePrefixTrie(Arrays.asList("java.", "javax.crypto", "org.w3c.dom.*"));
+		assertTrue(trie.matches("java.lang.String"));
+		assertTrue(trie.matches("javax.crypto.Cipher"));
+		assertTrue(trie.matches("javax.crypto.spec.SecretKeySpec"));
+		assertTrue(trie.matches("org.w3c.dom.Node"));
+		assertFalse(trie.matches("javax.net.SocketFactory"));
+		assertFalse(trie.matches("javafx.Application"));
+		assertFalse(trie.matches("java"));
+		assertFalse(trie.matches("org.w3c.Foo"));
+		assertFalse(trie.matches(""));
+	}
+
+	@Test
+	public void defaultPackagesTest() {
+		SystemClassHandler handler = new SystemClassHandler();
+		assertTrue(handler.isClassInSystemPackage("android.app.Activity"));
+		assertTrue(handler.isClassInSystemPackage("com.google.gson.Gson"));
+		assertTrue(handler.isClassInSystemPackage("java.util.HashMap"));
+		assertFalse(handler.isClassInSystemPackage("android.app.NativeActivity"));
+		assertFalse(handler.isClassInSystemPackage("androidx.appcompat.app.AppCompatActivity"));
+		assertFalse(handler.isClassInSystemPackage("com.example.MainActivity"));
+
+		handler.setExcludeSystemComponents(false);
+		assertFalse(handler.isClassInSystemPackage("android.app.Activity"));
+	}
+
+	@Test
+	public void customPackagesTest() {
+		G.reset();
+		SootClass okhttp = new SootClass("okhttp3.OkHttpClient");
+		SootClass activity = new SootClass("android.app.Activity");
+		Scene.v().addClass(okhttp);
+		Scene.v().addClass(activity);
+
+		SystemClassHandler handler = new SystemClassHandler(Collections.singletonList("okhttp3"),
+				Collections.emptyList());
+		assertTrue(handler.isClassInSystemPackage(okhttp));
+		assertFalse(handler.isClassInSystemPackage(activity));
+		assertTrue(handler.isClassInSystemPackage(okhttp));
+
+		// Changing the packages must invalidate the cached results
+		handler.addSystemPackage("android.");
+		assertTrue(handler.isClassInSystemPackage(activity));
+		handler.addNonSystemClass("android.app.Activity");
+		assertFalse(handler.isClassInSystemPackage(activity));
+		handler.setSystemPackages(Collections.emptyList());
+		assertFalse(handler.isClassInSystemPackage(okhttp));
+	}
+
+	@Test
+	public void defaultConfigurationTest() {
+		// Adding a custom package must not change the results for the default
+		// packages
+		SystemClassHandler handler = new SystemClassHandler();
+		List<String> packages = new ArrayList<>(SystemClassHandler.DEFAULT_SYSTEM_PACKAGES);
+		packages.add("org.lib.");
+		SystemClassHandler custom = new SystemClassHandler(packages, SystemClassHandler.DEFAULT_NON_SYSTEM_CLASSES);
+		for (String className : Arrays.asList("android.app.Activity", "android.app.NativeActivity",
+				"androidx.core.Foo", "java.lang.String", "javax.crypto.Cipher", "javafx.Application",
+				"sun.misc.Unsafe", "org.omg.CORBA.ORB", "org.w3c.dom.Node", "org.w3c.Foo", "com.google.gson.Gson",
+				"com.android.internal.Foo", "com.example.MainActivity", "java"))
+			assertEquals(className, handler.isClassInSystemPackage(className),
+					custom.isClassInSystemPackage(className));
+		assertTrue(custom.isClassInSystemPackage("org.lib.Util"));
+		assertFalse(handler.isClassInSystemPackage("org.lib.Util"));
+
+		// Changing the configuration takes effect immediately
+		handler.addNonSystemClass("android.app.Activity");
+		assertFalse(handler.isClassInSystemPackage("android.app.Activity"));
+		assertTrue(handler.isClassInSystemPackage("android.app.Service"));
+		handler.addSystemPackage("org.lib");
+		assertTrue(handler.isClassInSystemPackage("org.lib.Util"));
+	}
+
+}
@@ -0,0 +1,18 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+
+/**
+ * Runs the heap tests with interned access paths
+ */
+public class AccessPathInterningTests extends soot.jimple.infoflow.test.junit.HeapTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getAccessPathConfiguration().setUseAccessPathInterning(true);
+		return infoflow;
+	}
+
+}
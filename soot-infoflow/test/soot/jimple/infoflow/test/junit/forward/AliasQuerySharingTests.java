@@ -0,0 +1,19 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+
+/**
+ * Runs the heap tests with alias queries that are shared between calling
+ * contexts
+ */
+public class AliasQuerySharingTests extends soot.jimple.infoflow.test.junit.HeapTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().setShareAliasQueries(true);
+		return infoflow;
+	}
+
+}
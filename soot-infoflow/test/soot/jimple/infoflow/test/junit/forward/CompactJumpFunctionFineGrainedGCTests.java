@@ -0,0 +1,22 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
+import soot.jimple.infoflow.InfoflowConfiguration.JumpFunctionStoreMode;
+
+/**
+ * Runs the basic tests with the fine-grained garbage-collecting solver on the compact jump
+ * function store
+ */
+public class CompactJumpFunctionFineGrainedGCTests extends soot.jimple.infoflow.test.junit.BasicTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setDataFlowSolver(DataFlowSolver.FineGrainedGC);
+		infoflow.getConfig().getSolverConfiguration().setJumpFunctionStoreMode(JumpFunctionStoreMode.Compact);
+		return infoflow;
+	}
+
+}
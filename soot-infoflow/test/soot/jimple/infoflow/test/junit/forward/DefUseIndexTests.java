@@ -0,0 +1,160 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import soot.Body;
+import soot.Local;
+import soot.MethodOrMethodContext;
+import soot.Scene;
+import soot.SootMethod;
+import soot.Unit;
+import soot.ValueBox;
+import soot.jimple.AssignStmt;
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.IInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.solver.cfg.BackwardsInfoflowCFG;
+import soot.jimple.infoflow.solver.cfg.DefUseIndex.MethodDefUse;
+import soot.jimple.infoflow.solver.cfg.IInfoflowCFG;
+import soot.jimple.infoflow.test.junit.JUnitTests;
+import soot.jimple.infoflow.util.preanalyses.SingleLiveVariableAnalysis;
+import soot.util.queue.QueueReader;
+
+/**
+ * Compares the def/use index with the analyses that it replaces
+ */
+public class DefUseIndexTests extends JUnitTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		return new Infoflow("", false, null);
+	}
+
+	/**
+	 * Runs the data flow analysis on some test cases with loops and exceptional
+	 * control flow and returns the control-flow graph
+	 *
+	 * @return The interprocedural control-flow graph of the test cases
+	 */
+	private IInfoflowCFG buildCFG() {
+		IInfoflow infoflow = initInfoflow();
+		final List<IInfoflowCFG> cfgs = new ArrayList<>();
+		infoflow.addResultsAvailableHandler((cfg, results) -> cfgs.add(cfg));
+
+		List<String> epoints = new ArrayList<String>();
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void simpleTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void testForLoop()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void testForWrapper()>");
+		epoints.add("<soot.jimple.infoflow.test.ExceptionTestCode: void exceptionControlFlowTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.ExceptionTestCode: void exceptionControlFlowTest3()>");
+		epoints.add("<soot.jimple.infoflow.test.ExceptionTestCode: void exceptionDataFlowTest1()>");
+		infoflow.computeInfoflow(appPath, libPath, epoints, sources, sinks);
+
+		assertEquals(1, cfgs.size());
+		return cfgs.get(0);
+	}
+
+	/**
+	 * Gets the reachable methods of the test cases
+	 *
+	 * @return The reachable test methods that have a body
+	 */
+	private List<SootMethod> getTestMethods() {
+		List<SootMethod> methods = new ArrayList<>();
+		for (QueueReader<MethodOrMethodContext> rdr = Scene.v().getReachableMethods().listener(); rdr.hasNext();) {
+			SootMethod sm = rdr.next().method();
+			if (sm.getDeclaringClass().getName().startsWith("soot.jimple.infoflow.test.") && sm.hasActiveBody())
+				methods.add(sm);
+		}
+		assertFalse(methods.isEmpty());
+		return methods;
+	}
+
+	/**
+	 * Checks the liveness from the index against the single live variable
+	 * analysis without a turn unit
+	 *
+	 * @param icfg The control-flow graph whose index to check
+	 */
+	private void checkLiveness(IInfoflowCFG icfg) {
+		for (SootMethod sm : getTestMethods()) {
+			MethodDefUse defUse = icfg.getDefUseIndex().getDefUse(sm);
+			for (Local l : sm.getActiveBody().getLocals()) {
+				SingleLiveVariableAnalysis slva = new SingleLiveVariableAnalysis(icfg.getOrCreateUnitGraph(sm), l,
+						null);
+				for (Unit u : sm.getActiveBody().getUnits())
+					assertEquals(sm + " / " + l + " / " + u, !slva.canOmitAlias(u), defUse.isLiveBefore(u, l));
+			}
+		}
+	}
+
+	@Test(timeout = 300000)
+	public void livenessTest() {
+		checkLiveness(buildCFG());
+	}
+
+	@Test(timeout = 300000)
+	public void backwardsLivenessTest() {
+		checkLiveness(new BackwardsInfoflowCFG(buildCFG()));
+	}
+
+	@Test(timeout = 300000)
+	public void readsAndWritesTest() {
+		IInfoflowCFG icfg = buildCFG();
+		for (SootMethod sm : getTestMethods()) {
+			Body body = sm.getActiveBody();
+
+			// The parameters that are used anywhere and the "this" local
+			Set<Local> reads = new HashSet<>();
+			for (Unit u : body.getUnits())
+				for (ValueBox vb : u.getUseBoxes())
+					for (int i = 0; i < sm.getParameterCount(); i++)
+						if (body.getParameterLocal(i) == vb.getValue())
+							reads.add(body.getParameterLocal(i));
+			if (!sm.isStatic())
+				reads.add(body.getThisLocal());
+
+			// The locals on the left side of an assignment
+			Set<Local> writes = new HashSet<>();
+			for (Unit u : body.getUnits())
+				if (u instanceof AssignStmt && ((AssignStmt) u).getLeftOp() instanceof Local)
+					writes.add((Local) ((AssignStmt) u).getLeftOp());
+
+			for (Local l : body.getLocals()) {
+				assertEquals(sm + " / " + l, reads.contains(l), icfg.methodReadsValue(sm, l));
+				assertEquals(sm + " / " + l, writes.contains(l), icfg.methodWritesValue(sm, l));
+			}
+		}
+	}
+
+	@Test(timeout = 300000)
+	public void usesAndDefinitionsTest() {
+		IInfoflowCFG icfg = buildCFG();
+		for (SootMethod sm : getTestMethods()) {
+			MethodDefUse defUse = icfg.getDefUseIndex().getDefUse(sm);
+			for (Unit u : sm.getActiveBody().getUnits()) {
+				Local defined = null;
+				for (ValueBox vb : u.getDefBoxes())
+					if (vb.getValue() instanceof Local)
+						defined = (Local) vb.getValue();
+				assertEquals(sm + " / " + u, defined, defUse.getDefinedLocal(u));
+
+				for (Local l : sm.getActiveBody().getLocals()) {
+					boolean used = false;
+					for (ValueBox vb : u.getUseBoxes())
+						used |= vb.getValue() == l;
+					assertEquals(sm + " / " + u + " / " + l, used, defUse.isUsedAt(u, l));
+				}
+			}
+		}
+	}
+
+}
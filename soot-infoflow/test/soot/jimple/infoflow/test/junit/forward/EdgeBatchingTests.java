@@ -0,0 +1,18 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+
+/**
+ * Runs the basic tests with the solvers submitting their edges in batches
+ */
+public class EdgeBatchingTests extends soot.jimple.infoflow.test.junit.BasicTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setEdgeBatchSize(8);
+		return infoflow;
+	}
+
+}
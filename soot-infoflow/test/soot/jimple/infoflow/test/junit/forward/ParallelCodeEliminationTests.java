@@ -0,0 +1,123 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.IInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.CodeEliminationMode;
+import soot.jimple.infoflow.sourcesSinks.manager.ISourceSinkManager;
+import soot.jimple.infoflow.test.junit.JUnitTests;
+
+/**
+ * Runs the code elimination on the constant test cases with one and with
+ * several threads and checks that the method bodies and the callgraph after
+ * the code elimination do not depend on the number of threads. The cleanup uses
+ * at most one thread per available processor, so this test only exercises the
+ * parallel cleanup on machines with several processors.
+ */
+public class ParallelCodeEliminationTests extends JUnitTests {
+
+	private int numThreads = 1;
+	private CodeEliminationMode codeEliminationMode = CodeEliminationMode.PropagateConstants;
+
+	private Map<String, String> bodies;
+	private int callgraphEdges;
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null) {
+
+			@Override
+			protected void eliminateDeadCode(ISourceSinkManager sourcesSinks) {
+				super.eliminateDeadCode(sourcesSinks);
+				recordCode();
+			}
+
+		};
+		infoflow.getConfig().setMaxThreadNum(numThreads);
+		infoflow.getConfig().setParallelCodeElimination(numThreads > 1);
+		infoflow.getConfig().setCodeEliminationMode(codeEliminationMode);
+		return infoflow;
+	}
+
+	/**
+	 * Records the Jimple code of all application methods and the size of the
+	 * callgraph right after the code elimination
+	 */
+	private void recordCode() {
+		bodies = new TreeMap<>();
+		for (SootClass sc : Scene.v().getApplicationClasses())
+			for (SootMethod sm : sc.getMethods())
+				if (sm.hasActiveBody())
+					bodies.put(sm.getSignature(), sm.getActiveBody().toString());
+		callgraphEdges = Scene.v().getCallGraph().size();
+	}
+
+	private List<String> getEntryPoints() {
+		List<String> epoints = new ArrayList<String>();
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void easyConstantFieldTest()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void easyConstantVarTest()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void constantArrayTest()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void constantStaticArrayTest()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void constantFieldArrayTest()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void constantFieldTest()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void fpConstIntraproceduralTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void fpConstInterproceduralTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void fpConstInterproceduralTest2()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void fpConstInterproceduralTest3()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void fpConstInterproceduralTest4()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void fpConstInterproceduralTest5()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void fpConstInterproceduralTest6()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void constRecursiveTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void constantExceptionTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void allocSiteTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void multiLevelConstTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.ConstantTestCode: void multiLevelReturnTest1()>");
+		return epoints;
+	}
+
+	private void checkThreadCounts(CodeEliminationMode mode) {
+		codeEliminationMode = mode;
+		List<String> epoints = getEntryPoints();
+
+		numThreads = 1;
+		soot.G.reset();
+		IInfoflow infoflow = initInfoflow();
+		infoflow.computeInfoflow(appPath, libPath, epoints, sources, sinks);
+		Map<String, String> expectedBodies = bodies;
+		int expectedEdges = callgraphEdges;
+		assertFalse(expectedBodies.isEmpty());
+
+		numThreads = 8;
+		soot.G.reset();
+		infoflow = initInfoflow();
+		infoflow.computeInfoflow(appPath, libPath, epoints, sources, sinks);
+		assertEquals(expectedBodies.keySet(), bodies.keySet());
+		for (String sig : expectedBodies.keySet())
+			assertEquals(sig, expectedBodies.get(sig), bodies.get(sig));
+		assertEquals(expectedEdges, callgraphEdges);
+	}
+
+	@Test(timeout = 600000)
+	public void propagateConstantsTest() {
+		checkThreadCounts(CodeEliminationMode.PropagateConstants);
+	}
+
+	@Test(timeout = 600000)
+	public void removeSideEffectFreeCodeTest() {
+		checkThreadCounts(CodeEliminationMode.RemoveSideEffectFreeCode);
+	}
+
+}
@@ -0,0 +1,149 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.IInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.AliasingAlgorithm;
+import soot.jimple.infoflow.results.DataFlowResult;
+import soot.jimple.infoflow.results.InfoflowPerformanceData;
+import soot.jimple.infoflow.results.InfoflowResults;
+import soot.jimple.infoflow.test.junit.JUnitTests;
+import soot.jimple.infoflow.util.SystemClassHandler;
+
+/**
+ * Runs the same analysis twice against one persistent summary store and checks
+ * that the second run re-uses the library summaries of the first one without
+ * changing the results. The library code is the
+ * <code>soot.jimple.infoflow.test.summaries</code> package, which these tests
+ * register as a system package.
+ */
+public class PersistentSummaryTests extends JUnitTests {
+
+	private static final String LIBRARY_PACKAGE = "soot.jimple.infoflow.test.summaries.";
+
+	private File summaryStore;
+	private AliasingAlgorithm aliasingAlgorithm = AliasingAlgorithm.PtsBased;
+
+	@Before
+	public void createSummaryStore() throws IOException {
+		summaryStore = File.createTempFile("flowdroid-summaries", ".bin");
+		summaryStore.delete();
+
+		List<String> systemPackages = new ArrayList<>(SystemClassHandler.DEFAULT_SYSTEM_PACKAGES);
+		systemPackages.add(LIBRARY_PACKAGE);
+		SystemClassHandler.setInstance(
+				new SystemClassHandler(systemPackages, SystemClassHandler.DEFAULT_NON_SYSTEM_CLASSES));
+	}
+
+	@After
+	public void deleteSummaryStore() {
+		summaryStore.delete();
+		SystemClassHandler.setInstance(null);
+	}
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setSummaryStoreFile(summaryStore.getAbsolutePath());
+		infoflow.getConfig().setAliasingAlgorithm(aliasingAlgorithm);
+		return infoflow;
+	}
+
+	/**
+	 * Runs the data flow analysis on the given entry point
+	 * 
+	 * @param epoint The entry point to analyze
+	 * @return The data flow analysis after it has run
+	 */
+	private IInfoflow runAnalysis(String epoint) {
+		soot.G.reset();
+		IInfoflow infoflow = initInfoflow();
+		infoflow.computeInfoflow(appPath, libPath, Collections.singletonList(epoint), sources, sinks);
+		assertTrue(infoflow.isResultAvailable());
+		return infoflow;
+	}
+
+	/**
+	 * Gets the source and sink statements of all leaks in the given results. The
+	 * statements are compared by their text, because the Soot objects of different
+	 * runs are never equal.
+	 * 
+	 * @param results The data flow results
+	 * @return The leaks as "source -> sink" strings
+	 */
+	private Set<String> getLeaks(InfoflowResults results) {
+		Set<String> leaks = new TreeSet<>();
+		if (results.getResultSet() != null)
+			for (DataFlowResult result : results.getResultSet())
+				leaks.add(result.getSource().getStmt() + " -> " + result.getSink().getStmt());
+		return leaks;
+	}
+
+	/**
+	 * Analyzes the given entry point with an empty summary store and then again
+	 * with the summaries of the first run
+	 * 
+	 * @param epoint       The entry point to analyze
+	 * @param expectedLeak True if the entry point leaks data, otherwise false
+	 * @return The data flow analysis of the second run
+	 */
+	private IInfoflow checkWarmRun(String epoint, boolean expectedLeak) {
+		IInfoflow coldInfoflow = runAnalysis(epoint);
+		Set<String> coldLeaks = getLeaks(coldInfoflow.getResults());
+		assertEquals(expectedLeak, !coldLeaks.isEmpty());
+
+		IInfoflow warmInfoflow = runAnalysis(epoint);
+		assertEquals(coldLeaks, getLeaks(warmInfoflow.getResults()));
+		return warmInfoflow;
+	}
+
+	@Test(timeout = 300000)
+	public void libraryCopyTest() {
+		IInfoflow infoflow = checkWarmRun("<soot.jimple.infoflow.test.SummaryTestCode: void libraryCopyTest()>",
+				true);
+		assertTrue(infoflow.getResults().getPerformanceData().getSummaryStoreHits() > 0);
+	}
+
+	@Test(timeout = 300000)
+	public void libraryNoLeakTest() {
+		IInfoflow infoflow = checkWarmRun("<soot.jimple.infoflow.test.SummaryTestCode: void libraryNoLeakTest()>",
+				false);
+		assertTrue(infoflow.getResults().getPerformanceData().getSummaryStoreHits() > 0);
+	}
+
+	@Test(timeout = 300000)
+	public void libraryAliasTest() {
+		IInfoflow infoflow = checkWarmRun("<soot.jimple.infoflow.test.SummaryTestCode: void libraryAliasTest()>",
+				true);
+		assertTrue(infoflow.getResults().getPerformanceData().getSummaryStoreHits() > 0);
+	}
+
+	@Test(timeout = 300000)
+	public void libraryAliasFlowSensitiveTest() {
+		// The flow-sensitive alias search starts inside the library callee, which a
+		// stored summary would skip. The summary store must not be used at all.
+		aliasingAlgorithm = AliasingAlgorithm.FlowSensitive;
+		IInfoflow infoflow = checkWarmRun("<soot.jimple.infoflow.test.SummaryTestCode: void libraryAliasTest()>",
+				true);
+		InfoflowPerformanceData performanceData = infoflow.getResults().getPerformanceData();
+		assertTrue(performanceData == null || performanceData.getSummaryStoreHits() <= 0);
+		assertFalse(summaryStore.exists());
+	}
+
+}
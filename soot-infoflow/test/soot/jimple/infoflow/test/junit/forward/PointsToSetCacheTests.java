@@ -0,0 +1,136 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import soot.Local;
+import soot.PointsToAnalysis;
+import soot.PointsToSet;
+import soot.RefLikeType;
+import soot.Scene;
+import soot.Unit;
+import soot.Value;
+import soot.ValueBox;
+import soot.jimple.InstanceFieldRef;
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.IInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.AliasingAlgorithm;
+import soot.jimple.infoflow.aliasing.IAliasingStrategy;
+import soot.jimple.infoflow.aliasing.LazyAliasingStrategy;
+import soot.jimple.infoflow.aliasing.PointsToSetCache;
+import soot.jimple.infoflow.aliasing.PtsBasedAliasStrategy;
+import soot.jimple.infoflow.cfg.IInfoflowCFG;
+import soot.jimple.infoflow.data.Abstraction;
+import soot.jimple.infoflow.memory.IMemoryManager;
+import soot.jimple.infoflow.solver.executors.InterruptableExecutor;
+import soot.jimple.infoflow.sourcesSinks.manager.ISourceSinkManager;
+
+/**
+ * Runs the points-to-based heap tests with a points-to set cache that is so
+ * small that it evicts its entries all the time, and checks the lazy aliasing
+ * strategy and the cache itself against the points-to analysis
+ */
+public class PointsToSetCacheTests extends soot.jimple.infoflow.test.junit.HeapTestsPtsAliasing {
+
+	/**
+	 * Data flow analysis that gives the points-to-based aliasing strategies a
+	 * cache of the configured size
+	 */
+	private static class CacheSizeInfoflow extends Infoflow {
+
+		private int maxEntries = 2;
+		private PointsToSetCache cache;
+
+		public CacheSizeInfoflow() {
+			super("", false, null);
+		}
+
+		@Override
+		protected IAliasingStrategy createAliasAnalysis(ISourceSinkManager sourcesSinks, IInfoflowCFG iCfg,
+				InterruptableExecutor executor, IMemoryManager<Abstraction, Unit> memoryManager) {
+			cache = new PointsToSetCache(Scene.v().getPointsToAnalysis(), maxEntries, maxEntries);
+			switch (getConfig().getAliasingAlgorithm()) {
+			case PtsBased:
+				return new PtsBasedAliasStrategy(manager, cache);
+			case Lazy:
+				return new LazyAliasingStrategy(manager, cache);
+			default:
+				return super.createAliasAnalysis(sourcesSinks, iCfg, executor, memoryManager);
+			}
+		}
+
+	}
+
+	private static final String[] ALIAS_TESTS = { "simpleTest", "arrayAliasTest", "doubleAliasTest",
+			"negativeSingleAliasTest" };
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		return new CacheSizeInfoflow();
+	}
+
+	private int runLazyAliasing(String testMethod, int maxEntries) {
+		CacheSizeInfoflow infoflow = (CacheSizeInfoflow) initInfoflow();
+		infoflow.maxEntries = maxEntries;
+		infoflow.getConfig().setAliasingAlgorithm(AliasingAlgorithm.Lazy);
+		List<String> epoints = Collections
+				.singletonList("<soot.jimple.infoflow.test.HeapTestCode: void " + testMethod + "()>");
+		infoflow.computeInfoflow(appPath, libPath, epoints, sources, sinks);
+		return infoflow.isResultAvailable() ? infoflow.getResults().size() : 0;
+	}
+
+	@Test(timeout = 300000)
+	public void lazyAliasingTest() {
+		for (String testMethod : ALIAS_TESTS)
+			assertEquals(testMethod, runLazyAliasing(testMethod, PointsToSetCache.DEFAULT_MAX_ENTRIES),
+					runLazyAliasing(testMethod, 2));
+	}
+
+	@Test(timeout = 300000)
+	public void cacheMatchesPointsToAnalysisTest() {
+		IInfoflow infoflow = initInfoflow();
+		infoflow.getConfig().setAliasingAlgorithm(AliasingAlgorithm.PtsBased);
+		List<String> epoints = new ArrayList<String>();
+		for (String testMethod : ALIAS_TESTS)
+			epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void " + testMethod + "()>");
+		infoflow.computeInfoflow(appPath, libPath, epoints, sources, sinks);
+
+		// Collect all heap references in the test methods
+		List<Value> values = new ArrayList<>();
+		for (String epoint : epoints) {
+			for (Local local : Scene.v().getMethod(epoint).getActiveBody().getLocals())
+				if (local.getType() instanceof RefLikeType)
+					values.add(local);
+			for (Unit u : Scene.v().getMethod(epoint).getActiveBody().getUnits())
+				for (ValueBox vb : u.getUseAndDefBoxes())
+					if (vb.getValue() instanceof InstanceFieldRef
+							&& vb.getValue().getType() instanceof RefLikeType)
+						values.add(vb.getValue());
+		}
+
+		// The cache must give the same answers as the points-to analysis, even if
+		// it has to evict its entries
+		PointsToAnalysis pta = Scene.v().getPointsToAnalysis();
+		PointsToSetCache cache = ((CacheSizeInfoflow) infoflow).cache;
+		for (Value v1 : values)
+			for (Value v2 : values) {
+				boolean expected = reachingObjects(pta, v1).hasNonEmptyIntersection(reachingObjects(pta, v2));
+				boolean actual = cache.hasNonEmptyIntersection(cache.getPointsToSet(v1), cache.getPointsToSet(v2));
+				assertEquals(v1 + " / " + v2, expected, actual);
+			}
+	}
+
+	private static PointsToSet reachingObjects(PointsToAnalysis pta, Value value) {
+		if (value instanceof Local)
+			return pta.reachingObjects((Local) value);
+		InstanceFieldRef iref = (InstanceFieldRef) value;
+		return pta.reachingObjects((Local) iref.getBase(), iref.getField());
+	}
+
+}
@@ -0,0 +1,19 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.SchedulingStrategy;
+
+/**
+ * Runs the heap tests with the solvers processing their edges by priority
+ */
+public class PrioritySchedulingTests extends soot.jimple.infoflow.test.junit.HeapTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setSchedulingStrategy(SchedulingStrategy.Priority);
+		return infoflow;
+	}
+
+}
@@ -0,0 +1,75 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Test;
+
+import soot.SootMethod;
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.solver.metrics.SolverMetrics;
+import soot.jimple.infoflow.test.junit.JUnitTests;
+
+/**
+ * Checks that the data flow solvers record their metrics
+ */
+public class SolverMetricsTests extends JUnitTests {
+
+	private File metricsFile;
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setMetricsFile(metricsFile.getAbsolutePath());
+		return infoflow;
+	}
+
+	@Test(timeout = 300000)
+	public void metricsTest() throws IOException {
+		metricsFile = File.createTempFile("flowdroid-metrics", ".json");
+		try {
+			AbstractInfoflow infoflow = (AbstractInfoflow) initInfoflow();
+			List<String> epoints = new ArrayList<String>();
+			epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void methodTest1()>");
+			infoflow.computeInfoflow(appPath, libPath, epoints, sources, sinks);
+			checkInfoflow(infoflow, 1);
+
+			// The solvers must have processed edges in the entry point
+			SolverMetrics metrics = infoflow.getSolverMetrics();
+			assertNotNull(metrics);
+			assertTrue(metrics.getProcessedEdges() > 0);
+			boolean found = false;
+			for (Entry<SootMethod, Long> entry : metrics.getTopMethods(Integer.MAX_VALUE)) {
+				if (entry.getKey().getSignature().equals(epoints.get(0))) {
+					assertTrue(entry.getValue() > 0);
+					found = true;
+				}
+			}
+			assertTrue(found);
+
+			// The gauges must have been sampled before the solvers were cleaned up
+			Map<String, Double> peaks = metrics.getGaugePeaks();
+			assertTrue(peaks.get("infoflow.jumpFunctions") > 0);
+			assertEquals(1, metrics.getTopMethods(1).size());
+
+			String json = new String(Files.readAllBytes(metricsFile.toPath()), StandardCharsets.UTF_8);
+			assertTrue(json.contains("\"processedEdges\": " + metrics.getProcessedEdges()));
+			assertTrue(json.contains("\"infoflow.flowFunctionCacheHitRate\""));
+			assertTrue(json.contains(epoints.get(0)));
+		} finally {
+			metricsFile.delete();
+		}
+	}
+
+}
@@ -0,0 +1,21 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
+import soot.jimple.infoflow.InfoflowConfiguration.SparsePropagationStrategy;
+
+/**
+ * Runs the basic tests with the sparse solver on the precomputed value-flow graph
+ */
+public class SparseBasicTests extends soot.jimple.infoflow.test.junit.BasicTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setDataFlowSolver(DataFlowSolver.SparseContextFlowSensitive);
+		infoflow.getConfig().getSolverConfiguration().setSparsePropagationStrategy(SparsePropagationStrategy.Simple);
+		return infoflow;
+	}
+
+}
@@ -0,0 +1,21 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
+import soot.jimple.infoflow.InfoflowConfiguration.SparsePropagationStrategy;
+
+/**
+ * Runs the heap tests with the sparse solver on the precomputed value-flow graph
+ */
+public class SparseHeapTests extends soot.jimple.infoflow.test.junit.HeapTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setDataFlowSolver(DataFlowSolver.SparseContextFlowSensitive);
+		infoflow.getConfig().getSolverConfiguration().setSparsePropagationStrategy(SparsePropagationStrategy.Simple);
+		return infoflow;
+	}
+
+}
@@ -0,0 +1,163 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import soot.Local;
+import soot.MethodOrMethodContext;
+import soot.Scene;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.IInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.DataFlowSolver;
+import soot.jimple.infoflow.InfoflowConfiguration.SparsePropagationStrategy;
+import soot.jimple.infoflow.InfoflowManager;
+import soot.jimple.infoflow.data.Abstraction;
+import soot.jimple.infoflow.handlers.TaintPropagationHandler;
+import soot.jimple.infoflow.solver.sparseSolver.SparseInfoflowSolver;
+import soot.jimple.infoflow.solver.sparseSolver.propagation.SimpleSparsePropagation;
+import soot.jimple.infoflow.solver.sparseSolver.propagation.SparseValueFlowGraph;
+import soot.jimple.infoflow.test.junit.JUnitTests;
+import soot.util.queue.QueueReader;
+
+/**
+ * Compares the precomputed sparse value-flow graph with the on-demand search of
+ * the simple sparse propagation
+ */
+public class SparseValueFlowGraphTests extends JUnitTests {
+
+	/**
+	 * Propagation handler that records the data flow manager of the analysis
+	 */
+	private static class ManagerRecorder implements TaintPropagationHandler {
+
+		private InfoflowManager manager;
+
+		@Override
+		public void notifyFlowIn(Unit stmt, Abstraction taint, InfoflowManager manager, FlowFunctionType type) {
+			this.manager = manager;
+		}
+
+		@Override
+		public Set<Abstraction> notifyFlowOut(Unit stmt, Abstraction d1, Abstraction incoming,
+				Set<Abstraction> outgoing, InfoflowManager manager, FlowFunctionType type) {
+			return outgoing;
+		}
+
+	}
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setDataFlowSolver(DataFlowSolver.SparseContextFlowSensitive);
+		infoflow.getConfig().getSolverConfiguration().setSparsePropagationStrategy(SparsePropagationStrategy.Simple);
+		return infoflow;
+	}
+
+	/**
+	 * Runs the data flow analysis on some test cases and returns the data flow
+	 * manager
+	 *
+	 * @return The data flow manager of the analysis
+	 */
+	private InfoflowManager runAnalysis() {
+		IInfoflow infoflow = initInfoflow();
+		ManagerRecorder recorder = new ManagerRecorder();
+		infoflow.setTaintPropagationHandler(recorder);
+
+		List<String> epoints = new ArrayList<String>();
+		epoints.add("<soot.jimple.infoflow.test.BasicTestCode: void overwriteInCalleeTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void simpleTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void testForLoop()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void testForWrapper()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void arrayAliasTest()>");
+		infoflow.computeInfoflow(appPath, libPath, epoints, sources, sinks);
+
+		assertNotNull(recorder.manager);
+		return recorder.manager;
+	}
+
+	private static SimpleSparsePropagation getPropagation(InfoflowManager manager) {
+		return (SimpleSparsePropagation) ((SparseInfoflowSolver) manager.getMainSolver()).getPropagationStrategy();
+	}
+
+	/**
+	 * Gets the reachable methods of the test cases
+	 *
+	 * @return The reachable test methods that have a body
+	 */
+	private List<SootMethod> getTestMethods() {
+		List<SootMethod> methods = new ArrayList<>();
+		for (QueueReader<MethodOrMethodContext> rdr = Scene.v().getReachableMethods().listener(); rdr.hasNext();) {
+			SootMethod sm = rdr.next().method();
+			if (sm.getDeclaringClass().getName().startsWith("soot.jimple.infoflow.test.") && sm.hasActiveBody())
+				methods.add(sm);
+		}
+		assertFalse(methods.isEmpty());
+		return methods;
+	}
+
+	@Test(timeout = 300000)
+	public void graphMatchesOnDemandSearchTest() {
+		SimpleSparsePropagation propagation = getPropagation(runAnalysis());
+		SparseValueFlowGraph graph = propagation.getValueFlowGraph();
+		int compared = 0;
+		for (SootMethod sm : getTestMethods()) {
+			for (Unit u : sm.getActiveBody().getUnits()) {
+				for (Local l : sm.getActiveBody().getLocals()) {
+					Collection<Unit> actual = graph.getSuccsOf(u, l);
+					if (actual == null)
+						continue;
+					Collection<Unit> expected = propagation.getSuccsOfOnDemand(u, l);
+					assertEquals(sm + " / " + u + " / " + l, new HashSet<>(expected), new HashSet<>(actual));
+					compared++;
+				}
+			}
+		}
+		assertTrue(compared > 0);
+	}
+
+	@Test(timeout = 300000)
+	public void methodChangedTest() {
+		InfoflowManager manager = runAnalysis();
+		SparseValueFlowGraph graph = getPropagation(manager).getValueFlowGraph();
+		SootMethod sm = Scene.v().getMethod("<soot.jimple.infoflow.test.HeapTestCode: void testForLoop()>");
+
+		// Find a local that has successors at the first statement
+		Unit u = sm.getActiveBody().getUnits().getFirst();
+		Collection<Unit> before = null;
+		Local l = null;
+		for (Local local : sm.getActiveBody().getLocals()) {
+			before = graph.getSuccsOf(u, local);
+			if (before != null && !before.isEmpty()) {
+				l = local;
+				break;
+			}
+		}
+		assertNotNull(l);
+
+		// The graph is kept as long as the method does not change
+		assertSame(before, graph.getSuccsOf(u, l));
+
+		// Once the method has changed, the graph must be rebuilt
+		manager.getICFG().notifyMethodChanged(sm);
+		Collection<Unit> after = graph.getSuccsOf(u, l);
+		assertNotSame(before, after);
+		assertEquals(new HashSet<>(before), new HashSet<>(after));
+	}
+
+}
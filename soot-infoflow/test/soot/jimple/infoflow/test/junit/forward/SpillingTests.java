@@ -0,0 +1,51 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import java.util.Set;
+
+import soot.Unit;
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowManager;
+import soot.jimple.infoflow.data.Abstraction;
+import soot.jimple.infoflow.handlers.TaintPropagationHandler;
+import soot.jimple.infoflow.memory.ISpillableSolver;
+
+/**
+ * Runs the heap tests with a solver that spills its jump functions to disk all
+ * the time, i.e., most jump functions are read back from the spill file at
+ * least once
+ */
+public class SpillingTests extends soot.jimple.infoflow.test.junit.HeapTests {
+
+	/**
+	 * Propagation handler that asks the main solver to spill its cold jump
+	 * functions after every few propagations
+	 */
+	private static class SpillingHandler implements TaintPropagationHandler {
+
+		private int counter = 0;
+
+		@Override
+		public void notifyFlowIn(Unit stmt, Abstraction taint, InfoflowManager manager, FlowFunctionType type) {
+			if (++counter % 5 == 0 && manager.getMainSolver() instanceof ISpillableSolver)
+				((ISpillableSolver) manager.getMainSolver()).spillColdData();
+		}
+
+		@Override
+		public Set<Abstraction> notifyFlowOut(Unit stmt, Abstraction d1, Abstraction incoming,
+				Set<Abstraction> outgoing, InfoflowManager manager, FlowFunctionType type) {
+			return outgoing;
+		}
+
+	}
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setSpillJumpFunctions(true);
+		infoflow.getConfig().getSolverConfiguration().setSpillColdPropagations(2);
+		infoflow.setTaintPropagationHandler(new SpillingHandler());
+		return infoflow;
+	}
+
+}
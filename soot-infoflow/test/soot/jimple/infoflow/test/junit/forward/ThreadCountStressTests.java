@@ -0,0 +1,101 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.IInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.results.DataFlowResult;
+import soot.jimple.infoflow.results.InfoflowResults;
+import soot.jimple.infoflow.test.junit.JUnitTests;
+
+/**
+ * Runs the same analysis with an increasing number of solver threads and checks
+ * that the results do not depend on the degree of parallelism
+ */
+public class ThreadCountStressTests extends JUnitTests {
+
+	private static final int MAX_THREADS = 128;
+
+	private int numThreads = 1;
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().setMaxThreadNum(numThreads);
+		return infoflow;
+	}
+
+	/**
+	 * Computes a representation of the results that does not depend on the Soot
+	 * objects of a specific analysis run
+	 *
+	 * @param results The results of the data flow analysis
+	 * @return The source-sink connections in the results
+	 */
+	private Set<String> getConnections(InfoflowResults results) {
+		Set<String> connections = new TreeSet<>();
+		Set<DataFlowResult> resultSet = results.getResultSet();
+		if (resultSet != null) {
+			for (DataFlowResult res : resultSet)
+				connections.add(res.getSource().getStmt() + " -> " + res.getSink().getStmt());
+		}
+		return connections;
+	}
+
+	private void checkThreadCounts(List<String> epoints) {
+		Set<String> expected = null;
+		for (numThreads = 1; numThreads <= MAX_THREADS; numThreads *= 2) {
+			soot.G.reset();
+			IInfoflow infoflow = initInfoflow();
+			infoflow.computeInfoflow(appPath, libPath, epoints, sources, sinks);
+			assertTrue(infoflow.isResultAvailable());
+
+			Set<String> connections = getConnections(infoflow.getResults());
+			if (expected == null) {
+				expected = connections;
+				assertFalse(expected.isEmpty());
+			} else
+				assertEquals("Different results with " + numThreads + " threads", expected, connections);
+		}
+	}
+
+	@Test(timeout = 1800000)
+	public void heapTests() {
+		List<String> epoints = new ArrayList<String>();
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void simpleTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void argumentTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void doubleCallTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void methodReturn()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void twoLevelTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void multiAliasTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void functionAliasTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void multiLevelTaint()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void recursionTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void activationUnitTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void returnAliasTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void callPerformanceTest()>");
+		epoints.add("<soot.jimple.infoflow.test.HeapTestCode: void aliasPerformanceTest()>");
+		checkThreadCounts(epoints);
+	}
+
+	@Test(timeout = 1800000)
+	public void multiTests() {
+		List<String> epoints = new ArrayList<String>();
+		epoints.add("<soot.jimple.infoflow.test.MultiTestCode: void multiSourceCode()>");
+		epoints.add("<soot.jimple.infoflow.test.MultiTestCode: void multiSourceCode2()>");
+		epoints.add("<soot.jimple.infoflow.test.MultiTestCode: void multiSinkTest1()>");
+		epoints.add("<soot.jimple.infoflow.test.MultiTestCode: void multiSinkTest2()>");
+		checkThreadCounts(epoints);
+	}
+
+}
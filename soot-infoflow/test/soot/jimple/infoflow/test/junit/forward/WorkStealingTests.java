@@ -0,0 +1,19 @@
+package soot.jimple.infoflow.test.junit.forward;
+
+import soot.jimple.infoflow.AbstractInfoflow;
+import soot.jimple.infoflow.Infoflow;
+import soot.jimple.infoflow.InfoflowConfiguration.SolverExecutorMode;
+
+/**
+ * Runs the basic tests on the work-stealing executor
+ */
+public class WorkStealingTests extends soot.jimple.infoflow.test.junit.BasicTests {
+
+	@Override
+	protected AbstractInfoflow createInfoflowInstance() {
+		AbstractInfoflow infoflow = new Infoflow("", false, null);
+		infoflow.getConfig().getSolverConfiguration().setExecutorMode(SolverExecutorMode.WorkStealing);
+		return infoflow;
+	}
+
+}
@@ -0,0 +1,77 @@
+package soot.jimple.infoflow.test.solver;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import soot.jimple.infoflow.memory.MemoryWarningSystem;
+import soot.jimple.infoflow.solver.gcSolver.AdaptiveGarbageCollectionPolicy;
+
+/**
+ * Tests for the memory-pressure-adaptive garbage collection policy
+ */
+public class AdaptiveGarbageCollectionPolicyTest {
+
+	@Test(timeout = 30000)
+	public void thresholdReachedTest() throws InterruptedException {
+		AdaptiveGarbageCollectionPolicy policy = new AdaptiveGarbageCollectionPolicy();
+		try {
+			// The high watermark cannot be reached, so the JVM must not notify the
+			// policy on its own
+			policy.setLowWatermark(2);
+			policy.setHighWatermark(3);
+			policy.setMaxGcOverhead(0);
+			assertFalse(policy.isWarningSystemArmed());
+
+			// A notification overrides the sampled occupancy, but only once. We wait
+			// until the policy samples again, so that the second call really checks
+			// the memory pressure.
+			policy.onThresholdReached(0, 0);
+			assertTrue(policy.shouldCollect());
+			Thread.sleep(AdaptiveGarbageCollectionPolicy.MIN_CHECK_INTERVAL_MILLIS * 5);
+			assertFalse(policy.shouldCollect());
+		} finally {
+			policy.close();
+		}
+	}
+
+	@Test(timeout = 30000)
+	public void headroomTest() throws InterruptedException {
+		AdaptiveGarbageCollectionPolicy policy = new AdaptiveGarbageCollectionPolicy();
+		try {
+			// No heap occupancy ever reaches the low watermark
+			policy.setLowWatermark(2);
+			policy.setHighWatermark(3);
+			policy.setMaxGcOverhead(0);
+			assertFalse(policy.isWarningSystemArmed());
+			Thread.sleep(AdaptiveGarbageCollectionPolicy.MIN_CHECK_INTERVAL_MILLIS * 5);
+			assertFalse(policy.shouldCollect());
+		} finally {
+			policy.close();
+		}
+	}
+
+	@Test(timeout = 30000)
+	public void sharedThresholdTest() {
+		// Every solver has its own policy, and all policies use the same high
+		// watermark by default
+		MemoryWarningSystem ws1 = new MemoryWarningSystem();
+		MemoryWarningSystem ws2 = new MemoryWarningSystem();
+		try {
+			ws1.setWarningThreshold(AdaptiveGarbageCollectionPolicy.DEFAULT_HIGH_WATERMARK);
+			ws2.setWarningThreshold(AdaptiveGarbageCollectionPolicy.DEFAULT_HIGH_WATERMARK);
+			assertTrue(ws1.isRegistered());
+			assertTrue(ws2.isRegistered());
+
+			// Closing one warning system must not unregister the other one
+			ws1.close();
+			assertFalse(ws1.isRegistered());
+			assertTrue(ws2.isRegistered());
+		} finally {
+			ws1.close();
+			ws2.close();
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package soot.jimple.infoflow.test.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import heros.solver.Pair;
+import soot.SootMethod;
+import soot.jimple.infoflow.solver.gcSolver.fpc.CompactAbstractionDependencyGraph;
+
+/**
+ * Tests for the compact abstraction dependency graph of the fine-grained GC
+ * solver
+ */
+public class CompactAbstractionDependencyGraphTest {
+
+	private static Pair<SootMethod, String> node(String context) {
+		return new Pair<>(null, context);
+	}
+
+	@Test
+	public void reachabilityTest() {
+		CompactAbstractionDependencyGraph<String> graph = new CompactAbstractionDependencyGraph<>();
+		graph.addEdge(node("a"), node("b"));
+		graph.addEdge(node("b"), node("c"));
+		graph.addEdge(node("c"), node("a"));
+		graph.addEdge(node("d"), node("a"));
+		graph.addEdge(node("a"), node("b"));
+
+		assertEquals(4, graph.nodeSize());
+		assertEquals(4, graph.edgeSize());
+
+		Set<Pair<SootMethod, String>> expected = new HashSet<>();
+		expected.add(node("a"));
+		expected.add(node("b"));
+		expected.add(node("c"));
+		assertEquals(expected, graph.reachableClosure(node("a")));
+
+		assertTrue(graph.reachesAny(node("d"), n -> n.getO2().equals("c")));
+		assertFalse(graph.reachesAny(node("a"), n -> n.getO2().equals("d")));
+		assertTrue(graph.reachesAny(node("x"), n -> n.getO2().equals("x")));
+
+		Set<Pair<SootMethod, String>> preds = new HashSet<>();
+		preds.add(node("c"));
+		preds.add(node("d"));
+		assertEquals(preds, graph.predsOf(node("a")));
+
+		graph.remove(node("a"));
+		assertEquals(1, graph.edgeSize());
+		assertFalse(graph.contains(node("a")));
+		assertFalse(graph.reachesAny(node("d"), n -> n.getO2().equals("b")));
+	}
+
+	@Test(timeout = 60000)
+	public void concurrentAddTest() throws InterruptedException {
+		final CompactAbstractionDependencyGraph<String> graph = new CompactAbstractionDependencyGraph<>();
+		final int numNodes = 5000;
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				// All threads add the same chain, so that they race on every node and
+				// edge
+				for (int i = 0; i < numNodes - 1; i++)
+					graph.addEdge(node("n" + i), node("n" + (i + 1)));
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+
+		assertEquals(numNodes, graph.nodeSize());
+		assertEquals(numNodes - 1, graph.edgeSize());
+		assertEquals(numNodes, graph.reachableClosure(node("n0")).size());
+		assertTrue(graph.reachesAny(node("n0"), n -> n.getO2().equals("n" + (numNodes - 1))));
+	}
+
+}
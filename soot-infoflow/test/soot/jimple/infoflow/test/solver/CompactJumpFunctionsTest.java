@@ -0,0 +1,167 @@
+package soot.jimple.infoflow.test.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import heros.solver.PathEdge;
+import soot.jimple.infoflow.solver.jumpFunctions.CompactJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.CompactPartitionedJumpFunctions;
+import soot.jimple.infoflow.solver.jumpFunctions.NodeNumberer;
+
+/**
+ * Tests for the jump function stores on open-addressing tables. Statements are
+ * strings of the form "method:statement".
+ */
+public class CompactJumpFunctionsTest {
+
+	/**
+	 * Fact that is compared by its name, but whose hash code can be chosen freely
+	 * to provoke collisions in the tables
+	 */
+	private static class Fact {
+
+		private final String name;
+		private final int hashCode;
+
+		public Fact(String name) {
+			this(name, name.hashCode());
+		}
+
+		public Fact(String name, int hashCode) {
+			this.name = name;
+			this.hashCode = hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Fact && ((Fact) obj).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+
+	}
+
+	private final Fact zero = new Fact("zero");
+
+	@Test
+	public void collidingFactsTest() {
+		// All facts have the same hash code, so all jump functions for the same
+		// statement have the same key and must be told apart by their facts
+		CompactJumpFunctions<String, Fact> jumpFunctions = new CompactJumpFunctions<>(new NodeNumberer<>(), 1);
+		Fact[] facts = new Fact[200];
+		for (int i = 0; i < facts.length; i++) {
+			facts[i] = new Fact("x" + i, 42);
+			assertNull(jumpFunctions.addFunction(zero, "a:1", facts[i]));
+		}
+		assertEquals(facts.length, jumpFunctions.size());
+
+		for (int i = 0; i < facts.length; i++)
+			assertSame(facts[i], jumpFunctions.addFunction(zero, "a:1", new Fact("x" + i, 42)));
+		assertEquals(facts.length, jumpFunctions.size());
+	}
+
+	@Test
+	public void resizeTest() {
+		// The tables start with 64 slots per stripe, so this grows them many times
+		CompactJumpFunctions<String, Fact> jumpFunctions = new CompactJumpFunctions<>(new NodeNumberer<>(), 1);
+		Fact[] facts = new Fact[10000];
+		for (int i = 0; i < facts.length; i++) {
+			facts[i] = new Fact("x" + i);
+			assertNull(jumpFunctions.addFunction(zero, "a:" + (i % 100), facts[i]));
+		}
+		assertEquals(facts.length, jumpFunctions.size());
+
+		for (int i = 0; i < facts.length; i++)
+			assertSame(facts[i], jumpFunctions.addFunction(zero, "a:" + (i % 100), new Fact("x" + i)));
+		assertEquals(facts.length, jumpFunctions.size());
+
+		jumpFunctions.clear();
+		assertEquals(0, jumpFunctions.size());
+		assertNull(jumpFunctions.addFunction(zero, "a:1", new Fact("x1")));
+	}
+
+	@Test
+	public void matchesSetTest() {
+		// Random jump functions with few distinct hash codes, checked against a set
+		CompactJumpFunctions<String, Fact> jumpFunctions = new CompactJumpFunctions<>();
+		Map<String, Fact> expected = new HashMap<>();
+		Random random = new Random(4711);
+		for (int i = 0; i < 50000; i++) {
+			String d1 = "s" + random.nextInt(10);
+			String target = "m" + random.nextInt(20) + ":" + random.nextInt(20);
+			String d2 = "f" + random.nextInt(50);
+			Fact fact = new Fact(d2, d2.hashCode() % 7);
+
+			String key = d1 + "/" + target + "/" + d2;
+			Fact existing = jumpFunctions.addFunction(new Fact(d1, 0), target, fact);
+			Fact expectedExisting = expected.get(key);
+			if (expectedExisting == null) {
+				assertNull(key, existing);
+				expected.put(key, fact);
+			} else
+				assertSame(key, expectedExisting, existing);
+		}
+		assertEquals(expected.size(), jumpFunctions.size());
+	}
+
+	@Test
+	public void partitionsTest() {
+		CompactPartitionedJumpFunctions<String, String, Fact> jumpFunctions = new CompactPartitionedJumpFunctions<>(
+				(d1, n) -> n.substring(0, n.indexOf(':')));
+
+		// The partitions start with 8 slots, so this grows them
+		Set<String> expectedA = new HashSet<>();
+		for (int i = 0; i < 1000; i++) {
+			assertNull(jumpFunctions.addFunction(zero, "a:" + (i % 10), new Fact("x" + i, i % 3)));
+			expectedA.add(zero + "/a:" + (i % 10) + "/x" + i);
+		}
+		assertNull(jumpFunctions.addFunction(zero, "b:1", new Fact("y")));
+		assertEquals(1000, jumpFunctions.getFunctionCount("a"));
+		assertEquals(1, jumpFunctions.getFunctionCount("b"));
+		assertEquals(1001, jumpFunctions.size());
+		assertEquals(new HashSet<>(Arrays.asList("a", "b")), jumpFunctions.getPartitions());
+
+		// All jump functions survive the resizing
+		Set<String> actualA = new HashSet<>();
+		for (PathEdge<String, Fact> edge : jumpFunctions.getFunctions("a"))
+			actualA.add(edge.factAtSource() + "/" + edge.getTarget() + "/" + edge.factAtTarget());
+		assertEquals(expectedA, actualA);
+
+		// Removing a partition only removes its own jump functions
+		assertTrue(jumpFunctions.removeFunctions("a"));
+		assertFalse(jumpFunctions.removeFunctions("a"));
+		assertEquals(0, jumpFunctions.getFunctionCount("a"));
+		assertTrue(jumpFunctions.getFunctions("a").isEmpty());
+		assertEquals(1, jumpFunctions.size());
+		List<PathEdge<String, Fact>> edgesB = new ArrayList<>(jumpFunctions.getFunctions("b"));
+		assertEquals(1, edgesB.size());
+		assertEquals("b:1", edgesB.get(0).getTarget());
+
+		// Removed jump functions can be added again
+		assertNull(jumpFunctions.addFunction(zero, "a:1", new Fact("x1", 1)));
+		assertEquals(2, jumpFunctions.size());
+	}
+
+}
@@ -0,0 +1,207 @@
+package soot.jimple.infoflow.test.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import heros.solver.PathEdge;
+import soot.jimple.infoflow.solver.gcSolver.AbstractReferenceCountingGarbageCollector;
+import soot.jimple.infoflow.solver.gcSolver.GarbageCollectionTrigger;
+import soot.jimple.infoflow.solver.gcSolver.IGCReferenceProvider;
+import soot.jimple.infoflow.solver.jumpFunctions.MultiMapJumpFunctions;
+
+/**
+ * Tests for the incremental mode of the reference-counting garbage collector.
+ * Statements are strings of the form "method:statement".
+ */
+public class IncrementalGarbageCollectorTest {
+
+	private static class TestGarbageCollector extends AbstractReferenceCountingGarbageCollector<String, String, String> {
+
+		private final Map<String, String> callees = new HashMap<>();
+
+		public TestGarbageCollector(MultiMapJumpFunctions<String, String, String> jumpFunctions) {
+			super(null, jumpFunctions, null);
+			setIncremental(true);
+		}
+
+		@Override
+		protected String genAbstraction(PathEdge<String, String> edge) {
+			return getMethod(edge.getTarget());
+		}
+
+		@Override
+		protected IGCReferenceProvider<String> createReferenceProvider() {
+			return null;
+		}
+
+		@Override
+		public boolean hasActiveDependencies(String method) {
+			if (jumpFnCounter.get(method) > 0)
+				return true;
+			String callee = callees.get(method);
+			return callee != null && jumpFnCounter.get(callee) > 0;
+		}
+
+		@Override
+		public void gc() {
+		}
+
+		@Override
+		public void notifySolverTerminated() {
+		}
+
+		public void collect() {
+			gcIncremental();
+		}
+
+	}
+
+	private static String getMethod(String stmt) {
+		return stmt.substring(0, stmt.indexOf(':'));
+	}
+
+	private final MultiMapJumpFunctions<String, String, String> jumpFunctions = new MultiMapJumpFunctions<>(
+			(d1, n) -> getMethod(n));
+	private final TestGarbageCollector gc = new TestGarbageCollector(jumpFunctions);
+
+	private PathEdge<String, String> schedule(String target) {
+		PathEdge<String, String> edge = new PathEdge<>("zero", target, "x");
+		jumpFunctions.addFunction(edge);
+		gc.notifyEdgeSchedule(edge);
+		return edge;
+	}
+
+	private void process(PathEdge<String, String> edge) {
+		gc.notifyTaskStarted(edge);
+		gc.notifyTaskProcessed(edge);
+	}
+
+	@Test(timeout = 30000)
+	public void collectProcessedMethodTest() {
+		PathEdge<String, String> edge1 = schedule("a:1");
+		PathEdge<String, String> edge2 = schedule("a:2");
+
+		process(edge1);
+		gc.collect();
+		gc.collect();
+		assertEquals(2, jumpFunctions.getFunctionCount("a"));
+
+		process(edge2);
+		gc.collect();
+		assertEquals(0, jumpFunctions.getFunctionCount("a"));
+		assertEquals(1, gc.getGcedAbstractions());
+		assertEquals(2, gc.getGcedEdges());
+		assertEquals(1, gc.getCollectionCount());
+	}
+
+	@Test(timeout = 30000)
+	public void waitForRunningTasksTest() throws InterruptedException, ExecutionException {
+		PathEdge<String, String> edgeA = schedule("a:1");
+		PathEdge<String, String> edgeB = schedule("b:1");
+
+		// A task that has been started before the method "b" was released may still
+		// propagate edges into "b"
+		ExecutorService worker = Executors.newSingleThreadExecutor();
+		try {
+			worker.submit(() -> gc.notifyTaskStarted(edgeA)).get();
+			process(edgeB);
+			gc.collect();
+			gc.collect();
+			assertEquals(1, jumpFunctions.getFunctionCount("b"));
+
+			worker.submit(() -> gc.notifyTaskProcessed(edgeA)).get();
+			gc.collect();
+			assertEquals(0, jumpFunctions.getFunctionCount("a"));
+			assertEquals(0, jumpFunctions.getFunctionCount("b"));
+		} finally {
+			worker.shutdown();
+		}
+	}
+
+	@Test(timeout = 30000)
+	public void rescheduledMethodTest() {
+		PathEdge<String, String> edge1 = schedule("a:1");
+		process(edge1);
+
+		// The method becomes active again before the garbage collector runs
+		PathEdge<String, String> edge2 = schedule("a:2");
+		gc.collect();
+		assertEquals(2, jumpFunctions.getFunctionCount("a"));
+
+		process(edge2);
+		gc.collect();
+		assertEquals(0, jumpFunctions.getFunctionCount("a"));
+	}
+
+	@Test(timeout = 30000)
+	public void activeDependencyTest() {
+		gc.callees.put("caller", "callee");
+		PathEdge<String, String> callerEdge = schedule("caller:1");
+		PathEdge<String, String> calleeEdge = schedule("callee:1");
+
+		process(callerEdge);
+		gc.collect();
+		gc.collect();
+		assertTrue(jumpFunctions.getFunctionCount("caller") > 0);
+
+		// Once the callee is done, the caller must be collected without any further
+		// edges
+		process(calleeEdge);
+		for (int i = 0; i < 3; i++)
+			gc.collect();
+		assertFalse(jumpFunctions.getPartitions().contains("caller"));
+		assertFalse(jumpFunctions.getPartitions().contains("callee"));
+	}
+
+	@Test(timeout = 30000)
+	public void methodThresholdTest() {
+		gc.setTrigger(GarbageCollectionTrigger.MethodThreshold);
+		gc.setMethodThreshold(1);
+		process(schedule("a:1"));
+		gc.collect();
+		assertEquals(1, jumpFunctions.getFunctionCount("a"));
+
+		// The second released method exceeds the threshold
+		process(schedule("b:1"));
+		gc.collect();
+		gc.collect();
+		assertEquals(0, jumpFunctions.getFunctionCount("a"));
+		assertEquals(0, jumpFunctions.getFunctionCount("b"));
+	}
+
+	@Test(timeout = 30000)
+	public void neverTriggerTest() {
+		gc.setTrigger(GarbageCollectionTrigger.Never);
+		process(schedule("a:1"));
+		gc.collect();
+		gc.collect();
+		assertEquals(1, jumpFunctions.getFunctionCount("a"));
+	}
+
+	@Test(timeout = 30000)
+	public void terminatedThreadTest() throws InterruptedException {
+		PathEdge<String, String> edgeA = schedule("a:1");
+		PathEdge<String, String> edgeB = schedule("b:1");
+
+		// A worker thread that dies in the middle of a task must not keep the
+		// garbage collector from collecting anything forever
+		Thread worker = new Thread(() -> gc.notifyTaskStarted(edgeA));
+		worker.start();
+		worker.join();
+
+		process(edgeB);
+		gc.collect();
+		gc.collect();
+		assertEquals(0, jumpFunctions.getFunctionCount("b"));
+	}
+
+}
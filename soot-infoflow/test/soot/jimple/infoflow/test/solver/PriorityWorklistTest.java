@@ -0,0 +1,106 @@
+package soot.jimple.infoflow.test.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Test;
+
+import soot.jimple.infoflow.solver.fastSolver.PriorityWorklist;
+import soot.jimple.infoflow.solver.fastSolver.SchedulingPriorities;
+
+/**
+ * Tests for the relaxed priority worklist of the fast solver. Statements are
+ * integers that are their own priorities.
+ */
+public class PriorityWorklistTest {
+
+	/**
+	 * Priorities that do not need a control-flow graph
+	 */
+	private static class IdentityPriorities extends SchedulingPriorities<Integer> {
+
+		public IdentityPriorities() {
+			super(null, Collections.<Integer>emptySet());
+		}
+
+		@Override
+		public long getPriority(Integer node) {
+			return node;
+		}
+
+	}
+
+	@Test
+	public void exactOrderTest() {
+		// With a single heap, the order is exact and FIFO among equal priorities
+		PriorityWorklist<Integer> worklist = new PriorityWorklist<>(new IdentityPriorities(), 1);
+		List<String> order = new ArrayList<>();
+		int[] priorities = { 5, 3, 9, 3, 1 };
+		for (int i = 0; i < priorities.length; i++) {
+			final String name = priorities[i] + "/" + i;
+			worklist.add(priorities[i], () -> order.add(name));
+		}
+		for (int i = 0; i < priorities.length; i++)
+			worklist.runNext();
+		assertEquals(Arrays.asList("1/4", "3/1", "3/3", "5/0", "9/2"), order);
+	}
+
+	@Test(timeout = 60000)
+	public void concurrentTest() throws InterruptedException {
+		// Every task must run exactly once, no matter which heap it lands in
+		final int numTasks = 100000;
+		final PriorityWorklist<Integer> worklist = new PriorityWorklist<>(new IdentityPriorities(), 16);
+		final AtomicIntegerArray runs = new AtomicIntegerArray(numTasks);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int t = 0; t < 4; t++) {
+			final int offset = t;
+			executor.execute(() -> {
+				for (int i = offset; i < numTasks; i += 4) {
+					final int id = i;
+					worklist.add(id % 100, () -> runs.incrementAndGet(id));
+					executor.execute(worklist::runNext);
+				}
+			});
+		}
+
+		// The producers submit all consumers before the executor shuts down
+		while (true) {
+			int done = 0;
+			for (int i = 0; i < numTasks; i++)
+				done += runs.get(i) > 0 ? 1 : 0;
+			if (done == numTasks)
+				break;
+			Thread.sleep(10);
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		for (int i = 0; i < numTasks; i++)
+			assertEquals(1, runs.get(i));
+	}
+
+	@Test(timeout = 10000)
+	public void clearTest() {
+		PriorityWorklist<Integer> worklist = new PriorityWorklist<>(new IdentityPriorities(), 4);
+		List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			final int id = i;
+			worklist.add(i, () -> order.add(id));
+		}
+		worklist.clear();
+
+		// The pending calls must return instead of waiting for a task
+		for (int i = 0; i < 10; i++)
+			worklist.runNext();
+		assertTrue(order.isEmpty());
+	}
+
+}
@@ -0,0 +1,131 @@
+package soot.jimple.infoflow.test.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import soot.jimple.infoflow.solver.jumpFunctions.SpillableJumpFunctions;
+
+/**
+ * Tests for the jump function store that spills cold partitions to disk.
+ * Statements are strings of the form "method:statement".
+ */
+public class SpillableJumpFunctionsTest {
+
+	/**
+	 * Fact that is compared by its name only and that records its neighbors like
+	 * a taint abstraction
+	 */
+	private static class Fact {
+
+		private final String name;
+		private final List<Fact> neighbors = new ArrayList<>();
+
+		public Fact(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Fact && ((Fact) obj).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+
+	}
+
+	private final SpillableJumpFunctions<String, String, Fact> jumpFunctions = new SpillableJumpFunctions<>(
+			(d1, n) -> n.substring(0, n.indexOf(':')), null);
+
+	private final Fact zero = new Fact("zero");
+
+	@After
+	public void cleanup() {
+		jumpFunctions.clear();
+	}
+
+	@Test
+	public void spillAndFaultInTest() {
+		jumpFunctions.setColdPropagations(2);
+		Fact[] facts = new Fact[100];
+		for (int i = 0; i < 100; i++) {
+			facts[i] = new Fact("x" + i);
+			assertNull(jumpFunctions.addFunction(zero, "a:" + i, facts[i]));
+		}
+		jumpFunctions.addFunction(zero, "b:1", new Fact("y"));
+		jumpFunctions.addFunction(zero, "b:2", new Fact("y"));
+
+		// Only the partition of method "a" is cold
+		assertEquals(100, jumpFunctions.spillColdPartitions());
+		assertEquals(102, jumpFunctions.size());
+
+		// Adding a known jump function reads the partition back in and yields the
+		// original fact
+		Fact existing = jumpFunctions.addFunction(zero, "a:5", new Fact("x5"));
+		assertSame(facts[5], existing);
+		assertEquals(1, jumpFunctions.getFaultInCount());
+
+		assertNull(jumpFunctions.addFunction(zero, "a:5", new Fact("z")));
+		assertEquals(103, jumpFunctions.size());
+	}
+
+	@Test
+	public void neighborSurvivesSpillTest() {
+		jumpFunctions.setColdPropagations(1);
+		Fact x = new Fact("x");
+		jumpFunctions.addFunction(zero, "a:1", x);
+
+		for (int i = 0; i < 3; i++) {
+			// Move the partition out of the heap
+			jumpFunctions.addFunction(zero, "b:" + i, new Fact("y"));
+			assertEquals(1, jumpFunctions.spillColdPartitions());
+
+			// The solver merges an alternative path into the existing fact
+			Fact existing = jumpFunctions.addFunction(zero, "a:1", new Fact("x"));
+			assertSame(x, existing);
+			existing.neighbors.add(new Fact("x"));
+		}
+		assertEquals(3, x.neighbors.size());
+		assertEquals(3, jumpFunctions.getFaultInCount());
+	}
+
+	@Test
+	public void spillFileReuseTest() {
+		jumpFunctions.setColdPropagations(1);
+		for (int i = 0; i < 10; i++)
+			jumpFunctions.addFunction(zero, "a:" + i, new Fact("x" + i));
+
+		jumpFunctions.addFunction(zero, "b:0", new Fact("y"));
+		jumpFunctions.spillColdPartitions();
+		long fileSize = jumpFunctions.getSpillFileSize();
+		long spilledBytes = jumpFunctions.getSpilledBytes();
+
+		// Reading the partition back and spilling it again must reuse the space
+		for (int i = 1; i < 5; i++) {
+			jumpFunctions.addFunction(zero, "a:0", new Fact("x0"));
+			assertEquals(0, jumpFunctions.getSpilledBytes());
+			jumpFunctions.addFunction(zero, "b:" + i, new Fact("y"));
+			jumpFunctions.spillColdPartitions();
+			assertEquals(spilledBytes, jumpFunctions.getSpilledBytes());
+			assertEquals(fileSize, jumpFunctions.getSpillFileSize());
+		}
+	}
+
+	@Test
+	public void hotPartitionTest() {
+		jumpFunctions.setColdPropagations(1000);
+		jumpFunctions.addFunction(zero, "a:1", new Fact("x"));
+		assertEquals(0, jumpFunctions.spillColdPartitions());
+		assertEquals(0, jumpFunctions.getSpilledBytes());
+	}
+
+}
@@ -0,0 +1,11 @@
+package soot.jimple.infoflow.test.summaries;
+
+/**
+ * Simple data object of the library that is used by the persistent summary
+ * tests
+ */
+public class Holder {
+
+	public String value;
+
+}
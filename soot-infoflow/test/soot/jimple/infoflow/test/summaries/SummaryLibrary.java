@@ -0,0 +1,28 @@
+package soot.jimple.infoflow.test.summaries;
+
+/**
+ * Library code for the persistent summary tests. The tests register this
+ * package as a system package, so that the end summaries of these methods can
+ * be stored and re-used in later runs.
+ */
+public class SummaryLibrary {
+
+	public static Holder wrap(String value) {
+		Holder holder = new Holder();
+		store(holder, value);
+		return holder;
+	}
+
+	public static String unwrap(Holder holder) {
+		return holder.value;
+	}
+
+	public static String copy(String value) {
+		return unwrap(wrap(value));
+	}
+
+	public static void store(Holder holder, String value) {
+		holder.value = value;
+	}
+
+}